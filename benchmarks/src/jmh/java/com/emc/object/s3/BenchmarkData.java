@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canned response bodies shared by the benchmarks and {@link StubS3Server}.
+ */
+final class BenchmarkData {
+    static final String XML_NAMESPACE = "http://s3.amazonaws.com/doc/2006-03-01/";
+
+    /**
+     * A list-objects page with <code>count</code> keys, shaped like an ECS response
+     */
+    static byte[] listObjectsXml(String bucketName, int count) {
+        StringBuilder xml = new StringBuilder(256 + count * 384);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .append("<ListBucketResult xmlns=\"").append(XML_NAMESPACE).append("\">")
+                .append("<Name>").append(bucketName).append("</Name>")
+                .append("<Prefix>some/dir/</Prefix><Marker></Marker><MaxKeys>").append(count).append("</MaxKeys>")
+                .append("<IsTruncated>false</IsTruncated>");
+        for (int i = 0; i < count; i++) {
+            xml.append("<Contents>")
+                    .append("<Key>some/dir/object-key-").append(String.format("%06d", i)).append(".dat</Key>")
+                    .append("<LastModified>2009-10-12T17:50:30.000Z</LastModified>")
+                    .append("<ETag>\"b6d81b360a5672d80c27430f39153e2c\"</ETag>")
+                    .append("<Size>").append(1024L * i).append("</Size>")
+                    .append("<StorageClass>STANDARD</StorageClass>")
+                    .append("<Owner><ID>benchmark-user</ID><DisplayName>benchmark-user</DisplayName></Owner>")
+                    .append("</Contents>");
+        }
+        xml.append("</ListBucketResult>");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private BenchmarkData() {
+    }
+}
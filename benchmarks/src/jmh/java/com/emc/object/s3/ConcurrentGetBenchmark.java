@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.jersey.S3JerseyAsyncClient;
+import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.util.VirtualThreads;
+import com.emc.rest.smart.jersey.SmartClientFactory;
+import org.glassfish.jersey.client.ClientProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Issues <code>requests</code> small GETs at once against {@link StubS3Server} and waits for all of them. Compares a
+ * fixed pool of platform threads (the pre-virtual-thread approach), one virtual thread per request and the async
+ * client. All modes share the same connection limit, so the difference is the cost of parking waiting requests.
+ * Divide <code>requests</code> by the reported time per operation for requests per second.
+ * <p>
+ * The <code>virtual</code> mode needs a JDK with virtual threads (21+). On older JDKs it fails in setup instead of
+ * silently measuring platform threads, and the other modes still run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentGetBenchmark {
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String KEY = "some/dir/small-object.dat";
+    private static final int OBJECT_SIZE = 1024;
+    private static final int MAX_CONNECTIONS = 200;
+
+    @Param({"platform", "virtual", "async"})
+    public String mode;
+
+    @Param({"10000"})
+    public int requests;
+
+    private StubS3Server server;
+    private S3JerseyClient client;
+    private S3JerseyAsyncClient asyncClient;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws IOException {
+        // checked before the server starts, since tear-down does not run after a failed setup
+        if ("virtual".equals(mode) && !VirtualThreads.isSupported())
+            throw new IllegalStateException("the virtual mode needs a JDK with virtual threads (21+); running on "
+                    + System.getProperty("java.version"));
+
+        server = new StubS3Server(OBJECT_SIZE, 1);
+        S3Config s3Config = new S3Config(server.getEndpoint())
+                .withIdentity("benchmark-user").withSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD");
+        s3Config.setProperty(SmartClientFactory.MAX_CONNECTIONS, MAX_CONNECTIONS);
+        s3Config.setProperty(SmartClientFactory.MAX_CONNECTIONS_PER_HOST, MAX_CONNECTIONS);
+        s3Config.setProperty(ClientProperties.ASYNC_THREADPOOL_SIZE, MAX_CONNECTIONS);
+        client = new S3JerseyClient(s3Config);
+        asyncClient = new S3JerseyAsyncClient(client);
+
+        if ("platform".equals(mode)) executor = VirtualThreads.newFixedThreadPool(MAX_CONNECTIONS, false, "get-");
+        else if ("virtual".equals(mode)) executor = VirtualThreads.newCachedThreadPool(true, "get-");
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor != null) executor.shutdownNow();
+        asyncClient.destroy();
+        client.destroy();
+        server.close();
+    }
+
+    @Benchmark
+    public long readObjects() {
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            if (executor == null) futures.add(asyncClient.readObject(BUCKET, KEY, byte[].class));
+            else futures.add(CompletableFuture.supplyAsync(() -> client.readObject(BUCKET, KEY, byte[].class), executor));
+        }
+        long total = 0;
+        for (CompletableFuture<byte[]> future : futures) {
+            total += future.join().length;
+        }
+        return total;
+    }
+}
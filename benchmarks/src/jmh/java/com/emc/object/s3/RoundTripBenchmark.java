@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.request.GetObjectMetadataRequest;
+import com.emc.object.util.RestUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Full client round trips (filters, signing, connector and parsing) against {@link StubS3Server} on the loopback
+ * interface. Useful for spotting per-request overhead in the client; absolute numbers depend heavily on the host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundTripBenchmark {
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String KEY = "some/dir/object-key.dat";
+    private static final int OBJECT_SIZE = 4 * 1024;
+    private static final int LIST_SIZE = 1000;
+    private static final int BATCH_SIZE = 100;
+
+    private StubS3Server server;
+    private S3Client client;
+    private S3Client jaxbClient;
+    private byte[] content;
+    private List<GetObjectMetadataRequest> metadataRequests;
+    private List<String> deleteKeys;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StubS3Server(OBJECT_SIZE, LIST_SIZE);
+        S3Config s3Config = new S3Config(server.getEndpoint())
+                .withIdentity("benchmark-user").withSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD");
+        client = new S3JerseyClient(s3Config);
+        jaxbClient = new S3JerseyClient(new S3Config(s3Config).withUseStreamingListParser(false));
+
+        content = new byte[OBJECT_SIZE];
+        new Random(0).nextBytes(content);
+        metadataRequests = new ArrayList<>();
+        deleteKeys = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            metadataRequests.add(new GetObjectMetadataRequest(BUCKET, KEY + "-" + i));
+        }
+        IntStream.range(0, LIST_SIZE).forEach(i -> deleteKeys.add(KEY + "-" + i));
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.destroy();
+        jaxbClient.destroy();
+        server.close();
+    }
+
+    @Benchmark
+    public void putObject() {
+        client.putObject(BUCKET, KEY, content, RestUtil.TYPE_APPLICATION_OCTET_STREAM);
+    }
+
+    @Benchmark
+    public byte[] readObject() {
+        return client.readObject(BUCKET, KEY, byte[].class);
+    }
+
+    @Benchmark
+    public S3ObjectMetadata getObjectMetadata() {
+        return client.getObjectMetadata(BUCKET, KEY);
+    }
+
+    @Benchmark
+    public long getObjectMetadataBatch() {
+        try (ObjectMetadataBatch batch = client.getObjectMetadata(metadataRequests)) {
+            return batch.stream().count();
+        }
+    }
+
+    @Benchmark
+    public ListObjectsResult listObjects() {
+        return client.listObjects(BUCKET);
+    }
+
+    @Benchmark
+    public ListObjectsResult listObjectsJaxb() {
+        return jaxbClient.listObjects(BUCKET);
+    }
+
+    @Benchmark
+    public BulkDeleteResult bulkDelete() {
+        return new BulkDeleter(client, BUCKET).deleteKeys(deleteKeys.stream());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.util.RestUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds object metadata from a typical HEAD/GET response header map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class S3ObjectMetadataBenchmark {
+    @Param({"0", "10"})
+    public int userMetadataCount;
+
+    private Map<String, List<String>> headers;
+
+    @Setup
+    public void setup() {
+        headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        put(RestUtil.HEADER_CONTENT_LENGTH, "1048576");
+        put(RestUtil.HEADER_CONTENT_TYPE, RestUtil.TYPE_APPLICATION_OCTET_STREAM);
+        put(RestUtil.HEADER_ETAG, "\"b6d81b360a5672d80c27430f39153e2c\"");
+        put(RestUtil.HEADER_LAST_MODIFIED, "Tue, 15 Nov 1994 08:12:31 GMT");
+        put(RestUtil.HEADER_DATE, "Tue, 15 Nov 1994 08:12:32 GMT");
+        put(RestUtil.EMC_MTIME, "784887151000");
+        put(S3Constants.AMZ_VERSION_ID, "1510345423617");
+        headers.put(S3Constants.AMZ_EXPIRATION, Arrays.asList(
+                S3ObjectMetadata.EXPIRY_DATE + "\"Sun, 23 Dec 2012 00:00:00 GMT\"", S3ObjectMetadata.RULE_ID + "\"expire-logs\""));
+        for (int i = 0; i < userMetadataCount; i++) {
+            put(S3Constants.AMZ_META_PREFIX + "key-" + i, "value-" + i);
+        }
+    }
+
+    private void put(String name, String value) {
+        headers.put(name, Collections.singletonList(value));
+    }
+
+    @Benchmark
+    public S3ObjectMetadata fromHeaders() {
+        return S3ObjectMetadata.fromHeaders(headers);
+    }
+}
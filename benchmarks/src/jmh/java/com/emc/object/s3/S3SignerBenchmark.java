@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.Method;
+import com.emc.object.s3.request.PresignedUrlRequest;
+import com.emc.object.util.RestUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs and pre-signs a typical object request with both signer versions. Headers are reused between invocations
+ * since re-signing replaces the date and authorization headers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class S3SignerBenchmark {
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String KEY = "path/to/some object-key.dat";
+
+    @Param({"V2", "V4"})
+    public String version;
+
+    private S3Signer signer;
+    private URI uri;
+    private String resource;
+    private Map<String, String> parameters;
+    private Map<String, List<Object>> headers;
+    private Date expiration;
+    private PresignedUrlGenerator presignedUrlGenerator;
+
+    @Setup
+    public void setup() throws Exception {
+        S3Config s3Config = new S3Config(new URI("http://10.1.1.1:9020"))
+                .withIdentity("benchmark-user").withSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD")
+                .withUseV2Signer("V2".equals(version));
+        signer = s3Config.isUseV2Signer() ? new S3SignerV2(s3Config) : new S3SignerV4(s3Config);
+
+        uri = new URI("http://10.1.1.1:9020/" + BUCKET + "/" + RestUtil.urlEncode(KEY).replace("%2F", "/") + "?acl");
+        resource = RestUtil.getEncodedPath(uri);
+        parameters = RestUtil.getQueryParameterMap(uri.getRawQuery());
+
+        headers = new HashMap<>();
+        RestUtil.putSingle(headers, RestUtil.HEADER_CONTENT_TYPE, RestUtil.TYPE_APPLICATION_XML);
+        RestUtil.putSingle(headers, RestUtil.HEADER_CONTENT_MD5, "1B2M2Y8AsgTpgAmY7PhCfg==");
+        RestUtil.putSingle(headers, RestUtil.EMC_NAMESPACE, "benchmark-ns");
+        RestUtil.putSingle(headers, S3Constants.AMZ_META_PREFIX + "color", "blue");
+        RestUtil.putSingle(headers, S3Constants.AMZ_META_PREFIX + "size", "large");
+
+        expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        presignedUrlGenerator = signer.newPresignedUrlGenerator(Method.GET, BUCKET, expiration);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> sign() {
+        signer.resign("PUT", uri, resource, parameters, headers);
+        return headers;
+    }
+
+    @Benchmark
+    public URL presign() {
+        return signer.generatePresignedUrl(new PresignedUrlRequest(Method.GET, BUCKET, KEY, expiration));
+    }
+
+    @Benchmark
+    public URL presignWithGenerator() {
+        return presignedUrlGenerator.generate(KEY);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.util.RestUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * V4 request signing (and the signing key lookup on its own) with the signing key cache (the current
+ * {@link S3SignerV4}) and without it (a subclass that derives the key with four HMACs on every request, as the signer
+ * did before the cache was added).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SigningKeyCacheBenchmark {
+    @Param({"cached", "uncached"})
+    public String signingKey;
+
+    private static final String DATE = "20250101";
+
+    private S3Signer signer;
+    private URI uri;
+    private String resource;
+    private Map<String, String> parameters;
+    private Map<String, List<Object>> headers;
+
+    @Setup
+    public void setup() throws Exception {
+        S3Config s3Config = new S3Config(new URI("http://10.1.1.1:9020"))
+                .withIdentity("benchmark-user").withSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD");
+        signer = "cached".equals(signingKey) ? new S3SignerV4(s3Config) : new UncachedSignerV4(s3Config);
+
+        uri = new URI("http://10.1.1.1:9020/benchmark-bucket/path/to/object-key.dat");
+        resource = RestUtil.getEncodedPath(uri);
+        parameters = RestUtil.getQueryParameterMap(uri.getRawQuery());
+
+        headers = new HashMap<>();
+        RestUtil.putSingle(headers, RestUtil.HEADER_CONTENT_TYPE, RestUtil.TYPE_APPLICATION_OCTET_STREAM);
+        RestUtil.putSingle(headers, RestUtil.EMC_NAMESPACE, "benchmark-ns");
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> sign() {
+        signer.resign("GET", uri, resource, parameters, headers);
+        return headers;
+    }
+
+    // the key lookup alone (a cache hit versus the four HMACs it replaces)
+    @Benchmark
+    public byte[] getSigningKey() {
+        return ((S3SignerV4) signer).getSigningKey(DATE, S3Constants.AWS_SERVICE_S3);
+    }
+
+    static class UncachedSignerV4 extends S3SignerV4 {
+        UncachedSignerV4(S3Config s3Config) {
+            super(s3Config);
+        }
+
+        @Override
+        protected byte[] getSigningKey(String date, String service) {
+            byte[] key = (S3Constants.AWS_V4 + s3Config.getSecretKey()).getBytes(StandardCharsets.UTF_8);
+            key = hmac(S3Constants.HMAC_SHA_256, key, date);
+            key = hmac(S3Constants.HMAC_SHA_256, key, S3Constants.AWS_DEFAULT_REGION);
+            key = hmac(S3Constants.HMAC_SHA_256, key, service);
+            return hmac(S3Constants.HMAC_SHA_256, key, S3Constants.AWS_V4_TERMINATOR);
+        }
+    }
+}
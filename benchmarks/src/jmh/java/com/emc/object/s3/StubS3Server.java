@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.util.RestUtil;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal in-process S3 endpoint for round-trip benchmarks. Requests are not authenticated or stored; every object
+ * has the same content and every bucket lists the same page, so only the client side (and the loopback) is measured.
+ * Supports PUT, GET and HEAD on objects, GET (list) on buckets and POST <code>?delete</code>.
+ */
+class StubS3Server implements AutoCloseable {
+    private static final byte[] DELETE_RESULT = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<DeleteResult xmlns=\"" + BenchmarkData.XML_NAMESPACE + "\"></DeleteResult>").getBytes(StandardCharsets.UTF_8);
+    private static final DateTimeFormatter HTTP_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+    private static final String ETAG = "\"b6d81b360a5672d80c27430f39153e2c\"";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] objectContent;
+    private final byte[] listResult;
+    private final String lastModified = httpDate();
+
+    StubS3Server(int objectSize, int listSize) throws IOException {
+        objectContent = new byte[objectSize];
+        new Random(0).nextBytes(objectContent);
+        listResult = BenchmarkData.listObjectsXml("benchmark-bucket", listSize);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI getEndpoint() {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            drain(exchange.getRequestBody());
+            String path = exchange.getRequestURI().getRawPath();
+            String query = exchange.getRequestURI().getRawQuery();
+            boolean bucketRequest = path.indexOf('/', 1) < 0 || path.indexOf('/', 1) == path.length() - 1;
+            Headers headers = exchange.getResponseHeaders();
+            headers.set(RestUtil.HEADER_DATE, httpDate());
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT":
+                    headers.set(RestUtil.HEADER_ETAG, ETAG);
+                    exchange.sendResponseHeaders(200, -1);
+                    break;
+                case "HEAD":
+                    setObjectHeaders(headers);
+                    exchange.sendResponseHeaders(200, -1);
+                    break;
+                case "GET":
+                    if (bucketRequest) {
+                        send(exchange, RestUtil.TYPE_APPLICATION_XML, listResult);
+                    } else {
+                        setObjectHeaders(headers);
+                        send(exchange, RestUtil.TYPE_APPLICATION_OCTET_STREAM, objectContent);
+                    }
+                    break;
+                case "POST":
+                    if (query != null && query.startsWith("delete")) {
+                        send(exchange, RestUtil.TYPE_APPLICATION_XML, DELETE_RESULT);
+                        break;
+                    }
+                    // fall through
+                default:
+                    exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void setObjectHeaders(Headers headers) {
+        headers.set(RestUtil.HEADER_ETAG, ETAG);
+        headers.set(RestUtil.HEADER_LAST_MODIFIED, lastModified);
+        headers.set(S3Constants.AMZ_META_PREFIX + "color", "blue");
+    }
+
+    private void send(HttpExchange exchange, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set(RestUtil.HEADER_CONTENT_TYPE, contentType);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String httpDate() {
+        return HTTP_DATE_FORMAT.format(ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (in.read(buffer) != -1) {
+            // discard
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
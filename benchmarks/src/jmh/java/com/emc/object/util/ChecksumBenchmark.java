@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming checksum and buffering throughput on the upload/download data path. Divide <code>size</code> by the
+ * reported time per operation for bytes per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChecksumBenchmark {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Param({"65536", "8388608"})
+    public int size;
+
+    @Param({"MD5"})
+    public ChecksumAlgorithm algorithm;
+
+    private byte[] data;
+    private byte[] readBuffer;
+    private Path file;
+    private FileChannel channel;
+
+    @Setup
+    public void setup() throws IOException {
+        data = new byte[size];
+        new Random(0).nextBytes(data);
+        readBuffer = new byte[CHUNK_SIZE];
+        file = Files.createTempFile("checksum-benchmark", ".dat");
+        Files.write(file, data);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String runningChecksum() throws NoSuchAlgorithmException {
+        RunningChecksum checksum = new RunningChecksum(algorithm);
+        for (int offset = 0; offset < size; offset += CHUNK_SIZE) {
+            checksum.update(data, offset, Math.min(CHUNK_SIZE, size - offset));
+        }
+        return checksum.getHexValue();
+    }
+
+    @Benchmark
+    public String checksummedInputStream() throws IOException, NoSuchAlgorithmException {
+        RunningChecksum checksum = new RunningChecksum(algorithm);
+        try (InputStream in = new ChecksummedInputStream(new ByteArrayInputStream(data), checksum)) {
+            drain(in);
+        }
+        return checksum.getHexValue();
+    }
+
+    @Benchmark
+    public long fileChannelInputStream() throws IOException {
+        try (InputStream in = new FileChannelInputStream(channel, 0, size, false)) {
+            return drain(in);
+        }
+    }
+
+    @Benchmark
+    public long spillingBuffer() throws IOException {
+        // limit is half the data, so larger sizes exercise the spill to disk
+        try (SpillingBuffer buffer = new SpillingBuffer(size / 2)) {
+            for (int offset = 0; offset < size; offset += CHUNK_SIZE) {
+                buffer.write(data, offset, Math.min(CHUNK_SIZE, size - offset));
+            }
+            buffer.writeTo(OutputStream.nullOutputStream());
+            return buffer.getSize();
+        }
+    }
+
+    private long drain(InputStream in) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = in.read(readBuffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-format date parsing (response headers and list results) compared with the formatter it replaces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateUtilBenchmark {
+    private static final String HTTP_DATE = "Tue, 15 Nov 1994 08:12:31 GMT";
+    private static final String ISO_8601_DATE_TIME = "2009-10-12T17:50:30.000Z";
+    private static final String AMZ_DATE = "20130524T000000Z";
+
+    @Benchmark
+    public Date parseHttpDate() {
+        return DateUtil.parseHttpDate(HTTP_DATE);
+    }
+
+    @Benchmark
+    public Date parseHttpDateFormatter() {
+        return Date.from(Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(HTTP_DATE)));
+    }
+
+    @Benchmark
+    public Date parseIso8601DateTime() {
+        return DateUtil.parseIso8601DateTime(ISO_8601_DATE_TIME);
+    }
+
+    @Benchmark
+    public Date parseIso8601DateTimeFormatter() {
+        return Date.from(Instant.from(DateTimeFormatter.ISO_INSTANT.parse(ISO_8601_DATE_TIME)));
+    }
+
+    @Benchmark
+    public Date parseAmzDate() {
+        return DateUtil.parseAmzDate(AMZ_DATE);
+    }
+}
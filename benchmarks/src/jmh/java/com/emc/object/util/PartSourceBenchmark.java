@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads one upload part of a file the way the large file uploader does now (a {@link FileChannelInputStream} over one
+ * shared channel) and the way it used to (a new {@link FileInputStream} per part, positioned by
+ * {@link InputStreamSegment}). Each invocation reads the next part, so run with several threads (<code>-t</code>) to
+ * model concurrent part uploads and with <code>-prof gc</code> to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartSourceBenchmark {
+    private static final int PART_COUNT = 8;
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Param({"1048576", "8388608"})
+    public int partSize;
+
+    private Path file;
+    private FileChannel channel;
+    private final AtomicInteger nextPart = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ReadBuffer {
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        byte[] data = new byte[partSize * PART_COUNT];
+        new Random(0).nextBytes(data);
+        file = Files.createTempFile("part-source-benchmark", ".dat");
+        Files.write(file, data);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long fileChannelInputStream(ReadBuffer readBuffer) throws IOException {
+        try (InputStream in = new FileChannelInputStream(channel, nextOffset(), partSize, false)) {
+            return drain(in, readBuffer.buffer);
+        }
+    }
+
+    @Benchmark
+    public long inputStreamSegment(ReadBuffer readBuffer) throws IOException {
+        try (InputStream in = new InputStreamSegment(new FileInputStream(file.toFile()), nextOffset(), partSize)) {
+            return drain(in, readBuffer.buffer);
+        }
+    }
+
+    private long nextOffset() {
+        return (long) Math.floorMod(nextPart.getAndIncrement(), PART_COUNT) * partSize;
+    }
+
+    private long drain(InputStream in, byte[] buffer) throws IOException {
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query string and URI helpers that run at least once per request (most of them in the signers).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestUtilBenchmark {
+    private static final String RAW_QUERY = "prefix=some%2Fdir%2F&delimiter=%2F&marker=some%2Fdir%2Fkey%20000123&max-keys=1000&versions";
+    private static final String PATH = "/benchmark-bucket/some/dir/a key with spaces+plus&\u00fcmlaut.dat";
+
+    private URI uri;
+    private Map<String, String> parameters;
+    private String encodedPath;
+    private Date date;
+
+    @Setup
+    public void setup() throws URISyntaxException {
+        uri = RestUtil.buildUri("http", "10.1.1.1", 9020, PATH, RAW_QUERY, null);
+        parameters = RestUtil.getQueryParameterMap(RAW_QUERY);
+        encodedPath = RestUtil.getEncodedPath(uri);
+        date = new Date();
+    }
+
+    @Benchmark
+    public Map<String, String> getQueryParameterMap() {
+        return RestUtil.getQueryParameterMap(RAW_QUERY);
+    }
+
+    @Benchmark
+    public String generateRawQueryString() {
+        return RestUtil.generateRawQueryString(parameters);
+    }
+
+    @Benchmark
+    public String getEncodedPath() {
+        return RestUtil.getEncodedPath(uri);
+    }
+
+    @Benchmark
+    public String urlEncode() {
+        return RestUtil.urlEncode(PATH);
+    }
+
+    @Benchmark
+    public String urlDecode() {
+        return RestUtil.urlDecode(encodedPath);
+    }
+
+    @Benchmark
+    public URI buildUri() throws URISyntaxException {
+        return RestUtil.buildUri("http", "10.1.1.1", 9020, PATH, RAW_QUERY, null);
+    }
+
+    @Benchmark
+    public String toASCIIString() {
+        return RestUtil.toASCIIString(uri);
+    }
+
+    @Benchmark
+    public URI replaceHost() throws URISyntaxException {
+        return RestUtil.replaceHost(uri, "10.1.1.2");
+    }
+
+    @Benchmark
+    public String headerFormat() {
+        return RestUtil.headerFormat(date);
+    }
+}
@@ -26,8 +26,11 @@
  */
 package com.emc.object;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
@@ -40,14 +43,16 @@ import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.emc.object.jfr.RequestEvent;
 import com.emc.object.util.RestUtil;
-import com.emc.rest.smart.jersey.SizeOverrideWriter;
 
 public abstract class AbstractJerseyClient {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractJerseyClient.class);
 
     public static final String PROP_RETRY_COUNT = "com.emc.object.retryCount";
+    // the stream most recently opened from an EntitySupplier (closed before the next attempt opens another)
+    private static final String PROP_SUPPLIED_STREAM = "com.emc.object.suppliedStream";
 
     protected ObjectConfig objectConfig;
 
@@ -61,64 +66,179 @@ public abstract class AbstractJerseyClient {
         return response;
     }
 
-    @SuppressWarnings("unchecked")
     protected Response executeRequest(Client client, ObjectRequest request) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) return invokeRequest(client, request, SYNC_INVOKER);
+
+        startEvent(event, request);
         try {
-            if (request.getMethod().isRequiresEntity()) {
-                String contentType = RestUtil.DEFAULT_CONTENT_TYPE;
-                Object entity = new byte[0];
-                if (request instanceof EntityRequest) {
-                    EntityRequest entityRequest = (EntityRequest) request;
-
-                    if (entityRequest.getContentType() != null) contentType = entityRequest.getContentType();
-
-                    if (entityRequest.getEntity() != null) entity = entityRequest.getEntity();
-
-                    // if content-length is set (perhaps by user), force jersey to use it
-                    if (entityRequest.getContentLength() != null) {
-                        log.debug("enabling content-length override ({})", entityRequest.getContentLength().toString());
-                        SizeOverrideWriter.setEntitySize(entityRequest.getContentLength());
-
-                        // otherwise chunked encoding will be used. if the request does not support it, try to ensure
-                        // that the entity is buffered (will set content length from buffered write)
-                    } else if (!entityRequest.isChunkable()) {
-                        log.debug("no content-length and request is not chunkable, attempting to enable buffering");
-                        request.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
-                        request.property(ClientProperties.CHUNKED_ENCODING_SIZE, null);
-                    }
-                } else {
+            Response response = invokeRequest(client, request, SYNC_INVOKER);
+            event.setBytesReceived(response.getLength());
+            return response;
+        } catch (RuntimeException e) {
+            event.setError(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
 
-                    // no entity, but make sure the apache handler doesn't mess up the content-length somehow
-                    // (i.e. if content-encoding is set)
-                    request.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+    /**
+     * Executes the request without blocking the calling thread. The request goes through the same filter chain as
+     * {@link #executeRequest(Client, ObjectRequest)}.
+     */
+    protected CompletionStage<Response> executeRequestAsync(Client client, ObjectRequest request) {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) return invokeRequest(client, request, ASYNC_INVOKER);
+
+        startEvent(event, request);
+        CompletionStage<Response> stage;
+        try {
+            stage = invokeRequest(client, request, ASYNC_INVOKER);
+        } catch (RuntimeException e) {
+            event.setError(e);
+            event.commit();
+            throw e;
+        }
+        return stage.whenComplete((response, t) -> {
+            if (response != null) event.setBytesReceived(response.getLength());
+            event.setError(t);
+            event.commit();
+        });
+    }
+
+    /**
+     * Returns the operation name used in diagnostic events (by default, the simple name of the request class)
+     */
+    protected String getOperationName(ObjectRequest request) {
+        return request.getClass().getSimpleName();
+    }
+
+    private void startEvent(RequestEvent event, ObjectRequest request) {
+        event.setMethod(request.getMethod().toString());
+        event.setOperation(getOperationName(request));
+        Integer retries = (Integer) request.getProperties().get(PROP_RETRY_COUNT);
+        if (retries != null) event.setRetryNumber(retries);
+        if (request instanceof EntityRequest && ((EntityRequest) request).getContentLength() != null)
+            event.setBytesSent(((EntityRequest) request).getContentLength());
+        request.property(RequestEvent.PROP_EVENT, event); // filters add the host and status
+        event.begin();
+    }
+
+    private static final RequestInvoker<Response> SYNC_INVOKER = new RequestInvoker<Response>() {
+        @Override
+        public Response invoke(Invocation.Builder builder, String method) {
+            return builder.method(method);
+        }
+
+        @Override
+        public Response invoke(Invocation.Builder builder, String method, Entity<?> entity) {
+            return builder.method(method, entity);
+        }
+    };
+
+    private static final RequestInvoker<CompletionStage<Response>> ASYNC_INVOKER =
+            new RequestInvoker<CompletionStage<Response>>() {
+                @Override
+                public CompletionStage<Response> invoke(Invocation.Builder builder, String method) {
+                    return builder.rx().method(method);
+                }
 
-                    String headerContentType = RestUtil.getFirstAsString(request.getHeaders(), RestUtil.HEADER_CONTENT_TYPE);
-                    if (headerContentType != null) contentType = headerContentType;
+                @Override
+                public CompletionStage<Response> invoke(Invocation.Builder builder, String method, Entity<?> entity) {
+                    return builder.rx().method(method, entity);
                 }
+            };
 
-                Invocation.Builder builder = buildRequest(client, request);
+    /**
+     * Sends a prepared request (synchronously or not)
+     */
+    protected interface RequestInvoker<R> {
+        R invoke(Invocation.Builder builder, String method);
 
-                // jersey requires content-type for entity requests
-                // NOTE: Jersey 2's JerseyInvocation.storeEntity(Entity) calls request.variant(entity.getVariant()),
-                // which in turn REMOVES the Content-Encoding header when the variant encoding is null.
-                // Preserve any Content-Encoding header by pushing it into the Entity's Variant.
-                String contentEncoding = RestUtil.getFirstAsString(request.getHeaders(), RestUtil.HEADER_CONTENT_ENCODING);
-                javax.ws.rs.core.Variant variant = new javax.ws.rs.core.Variant(
-                        javax.ws.rs.core.MediaType.valueOf(contentType), (String) null, contentEncoding);
-                return builder.method(request.getMethod().toString(), Entity.entity(entity, variant));
-            } else { // non-entity request method
+        R invoke(Invocation.Builder builder, String method, Entity<?> entity);
+    }
+
+    /**
+     * Closes the stream opened from an {@link EntitySupplier} for the last attempt of a request, if any. Jersey closes
+     * the stream once it is written, but not if the attempt fails before that (i.e. in a request filter).
+     */
+    protected void closeSuppliedStream(ObjectRequest request) {
+        InputStream stream = (InputStream) request.getProperties().remove(PROP_SUPPLIED_STREAM);
+        if (stream == null) return;
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.warn("could not close request entity stream", e);
+        }
+    }
+
+    protected <R> R invokeRequest(Client client, ObjectRequest request, RequestInvoker<R> invoker) {
+        // all per-request state is carried in request properties (no thread-locals), so the request may be written by
+        // any thread
+        request.property(RestUtil.PROPERTY_ENTITY_SIZE, null);
+        if (request.getMethod().isRequiresEntity()) {
+            String contentType = RestUtil.DEFAULT_CONTENT_TYPE;
+            Object entity = new byte[0];
+            if (request instanceof EntityRequest) {
+                EntityRequest entityRequest = (EntityRequest) request;
+
+                if (entityRequest.getContentType() != null) contentType = entityRequest.getContentType();
+
+                if (entityRequest.getEntity() != null) entity = entityRequest.getEntity();
+
+                // re-openable entities get a fresh stream for every attempt
+                if (entity instanceof EntitySupplier) {
+                    closeSuppliedStream(request);
+                    try {
+                        entity = ((EntitySupplier) entity).openStream();
+                        request.property(PROP_SUPPLIED_STREAM, entity);
+                    } catch (IOException e) {
+                        throw new RuntimeException("could not open request entity", e);
+                    }
+                }
 
-                // can't send content with non-entity methods (GET, HEAD, etc.)
-                if (request instanceof EntityRequest)
-                    throw new UnsupportedOperationException("an entity request is using a non-entity method (" + request.getMethod() + ")");
+                // if content-length is set (perhaps by user), force jersey to use it
+                if (entityRequest.getContentLength() != null) {
+                    log.debug("enabling content-length override ({})", entityRequest.getContentLength().toString());
+                    request.property(RestUtil.PROPERTY_ENTITY_SIZE, entityRequest.getContentLength());
 
-                Invocation.Builder builder = buildRequest(client, request);
+                    // otherwise chunked encoding will be used. if the request does not support it, try to ensure
+                    // that the entity is buffered (will set content length from buffered write)
+                } else if (!entityRequest.isChunkable()) {
+                    log.debug("no content-length and request is not chunkable, attempting to enable buffering");
+                    request.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+                    request.property(ClientProperties.CHUNKED_ENCODING_SIZE, null);
+                }
+            } else {
 
-                return builder.method(request.getMethod().toString());
+                // no entity, but make sure the apache handler doesn't mess up the content-length somehow
+                // (i.e. if content-encoding is set)
+                request.property(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.BUFFERED);
+
+                String headerContentType = RestUtil.getFirstAsString(request.getHeaders(), RestUtil.HEADER_CONTENT_TYPE);
+                if (headerContentType != null) contentType = headerContentType;
             }
-        } finally {
-            // make sure we clear the content-length override for this thread
-            SizeOverrideWriter.setEntitySize(null);
+
+            Invocation.Builder builder = buildRequest(client, request);
+
+            // jersey requires content-type for entity requests
+            // NOTE: Jersey 2's JerseyInvocation.storeEntity(Entity) calls request.variant(entity.getVariant()),
+            // which in turn REMOVES the Content-Encoding header when the variant encoding is null.
+            // Preserve any Content-Encoding header by pushing it into the Entity's Variant.
+            String contentEncoding = RestUtil.getFirstAsString(request.getHeaders(), RestUtil.HEADER_CONTENT_ENCODING);
+            javax.ws.rs.core.Variant variant = new javax.ws.rs.core.Variant(
+                    javax.ws.rs.core.MediaType.valueOf(contentType), (String) null, contentEncoding);
+            return invoker.invoke(builder, request.getMethod().toString(), Entity.entity(entity, variant));
+        } else { // non-entity request method
+
+            // can't send content with non-entity methods (GET, HEAD, etc.)
+            if (request instanceof EntityRequest)
+                throw new UnsupportedOperationException("an entity request is using a non-entity method (" + request.getMethod() + ")");
+
+            Invocation.Builder builder = buildRequest(client, request);
+
+            return invoker.invoke(builder, request.getMethod().toString());
         }
     }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The transfer of one part of a large file upload or download. The duration covers the transfer only (not time spent
+ * waiting for a transfer slot), including any retries within the part.
+ */
+@Name("com.emc.object.PartTransfer")
+@Label("Part Transfer")
+@Category({"ECS Object Client", "Large File Transfers"})
+@Description("Upload or download of a part of a large object")
+@StackTrace(false)
+public class PartTransferEvent extends Event {
+    public static final String UPLOAD = "upload";
+    public static final String DOWNLOAD = "download";
+
+    @Label("Direction")
+    private final String direction;
+
+    @Label("Bucket")
+    private final String bucket;
+
+    @Label("Key")
+    private final String key;
+
+    @Label("Part Number")
+    @Description("Part number (-1 if the range is not a numbered part)")
+    private final int partNumber;
+
+    @Label("Offset")
+    @DataAmount
+    private final long offset;
+
+    @Label("Length")
+    @DataAmount
+    private final long length;
+
+    @Label("Bytes Transferred")
+    @DataAmount
+    private long bytesTransferred;
+
+    @Label("Throughput")
+    @DataAmount(DataAmount.BYTES)
+    @Frequency
+    @Description("Bytes transferred per second")
+    private long throughput;
+
+    @Label("Hedge")
+    @Description("Whether this was a hedge request for a slow download part")
+    private boolean hedge;
+
+    @Label("Success")
+    private boolean success;
+
+    private transient long startNanos;
+
+    public PartTransferEvent(String direction, String bucket, String key, int partNumber, long offset, long length) {
+        this.direction = direction;
+        this.bucket = bucket;
+        this.key = key;
+        this.partNumber = partNumber;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Begins timing the transfer
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        begin();
+    }
+
+    public void setHedge(boolean hedge) {
+        this.hedge = hedge;
+    }
+
+    /**
+     * Ends the transfer and commits the event (if recording)
+     */
+    public void complete(long bytesTransferred, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.bytesTransferred = bytesTransferred;
+            this.success = success;
+            long nanos = Math.max(1, System.nanoTime() - startNanos);
+            this.throughput = (long) (bytesTransferred * 1_000_000_000.0 / nanos);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A single HTTP request attempt (each retry is a separate event). The duration covers sending the request and
+ * receiving the response headers; reading the response body is not included.
+ */
+@Name("com.emc.object.Request")
+@Label("Object Request")
+@Category({"ECS Object Client", "Requests"})
+@Description("An HTTP request attempt made by the object client")
+@StackTrace(false)
+public class RequestEvent extends Event {
+    /**
+     * Request property holding the event for the current attempt, so that filters can add the host and status
+     */
+    public static final String PROP_EVENT = "com.emc.object.jfr.requestEvent";
+
+    @Label("Method")
+    private String method;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Host")
+    @Description("The host the request was sent to")
+    private String host;
+
+    @Label("Status")
+    @Description("HTTP status of the response (0 if no response was received)")
+    private int status;
+
+    @Label("Retry Number")
+    @Description("Number of retries before this attempt")
+    private int retryNumber;
+
+    @Label("Bytes Sent")
+    @Description("Content-length of the request (-1 if unknown)")
+    @DataAmount
+    private long bytesSent = -1;
+
+    @Label("Bytes Received")
+    @Description("Content-length of the response (-1 if unknown)")
+    @DataAmount
+    private long bytesReceived = -1;
+
+    @Label("Error")
+    private String error;
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setRetryNumber(int retryNumber) {
+        this.retryNumber = retryNumber;
+    }
+
+    public void setBytesSent(long bytesSent) {
+        this.bytesSent = bytesSent;
+    }
+
+    public void setBytesReceived(long bytesReceived) {
+        this.bytesReceived = bytesReceived;
+    }
+
+    public void setError(Throwable error) {
+        this.error = error == null ? null : error.toString();
+    }
+}
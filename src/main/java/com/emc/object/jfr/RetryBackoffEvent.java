@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The wait between a failed request attempt and its retry
+ */
+@Name("com.emc.object.RetryBackoff")
+@Label("Retry Backoff")
+@Category({"ECS Object Client", "Requests"})
+@Description("Backoff delay before retrying a failed request")
+@StackTrace(false)
+public class RetryBackoffEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Retry Number")
+    @Description("The retry that follows this delay (1 for the first retry)")
+    private int retryNumber;
+
+    @Label("Planned Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    private long plannedDelay;
+
+    @Label("Error")
+    @Description("The error that caused the retry")
+    private String error;
+
+    /**
+     * Ends the backoff and commits the event (if recording)
+     *
+     * @param retryNumber the retry that follows this delay (1 for the first retry)
+     */
+    public void complete(String operation, int retryNumber, long plannedDelay, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.retryNumber = retryNumber;
+            this.plannedDelay = plannedDelay;
+            this.error = error == null ? null : error.toString();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.DeleteError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of a {@link BulkDeleter} run. Counts are updated while the run is in progress, so an instance may be polled
+ * from another thread. To poll a run, create an instance and pass it to the run (i.e.
+ * {@link BulkDeleter#deletePrefix(String, BulkDeleteResult)}).
+ */
+public class BulkDeleteResult {
+    private volatile long startTime = System.nanoTime();
+    private volatile long endTime;
+    private final AtomicLong deletedCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final List<DeleteError> errors = Collections.synchronizedList(new ArrayList<>());
+
+    void addDeleted(long count) {
+        deletedCount.addAndGet(count);
+    }
+
+    void addRetried(long count) {
+        retriedCount.addAndGet(count);
+    }
+
+    void addBatch() {
+        batchCount.incrementAndGet();
+    }
+
+    void addError(DeleteError error) {
+        errors.add(error);
+    }
+
+    void start() {
+        startTime = System.nanoTime();
+    }
+
+    void complete() {
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Number of keys (or versions) deleted so far
+     */
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    /**
+     * Number of keys that failed with a retryable error and were sent again (a key retried twice counts twice)
+     */
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    /**
+     * Number of delete-objects requests sent (including retries)
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Number of keys that could not be deleted
+     */
+    public long getFailedCount() {
+        return errors.size();
+    }
+
+    /**
+     * The keys that could not be deleted, with the last error for each
+     */
+    public List<DeleteError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public boolean isComplete() {
+        return endTime != 0;
+    }
+
+    /**
+     * Elapsed time of the run (so far, if it is not complete)
+     */
+    public long getDurationMillis() {
+        return ((isComplete() ? endTime : System.nanoTime()) - startTime) / 1_000_000;
+    }
+
+    /**
+     * Deletion rate of the run (so far, if it is not complete)
+     */
+    public double getKeysPerSecond() {
+        long nanos = (isComplete() ? endTime : System.nanoTime()) - startTime;
+        return nanos > 0 ? getDeletedCount() * 1_000_000_000d / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkDeleteResult{" +
+                "deletedCount=" + getDeletedCount() +
+                ", failedCount=" + getFailedCount() +
+                ", retriedCount=" + getRetriedCount() +
+                ", batchCount=" + getBatchCount() +
+                ", durationMillis=" + getDurationMillis() +
+                ", keysPerSecond=" + String.format("%.1f", getKeysPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.*;
+import com.emc.object.s3.request.DeleteObjectsRequest;
+import com.emc.object.s3.request.ListObjectsRequest;
+import com.emc.object.s3.request.ListVersionsRequest;
+import com.emc.object.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Deletes large numbers of keys (or versions) in a bucket using batched, concurrent delete-objects calls.
+ * <p>
+ * Keys are read from an iterator or stream (a listing, the lines of a file, etc.) and packed into batches of
+ * <code>batchSize</code> keys (up to {@value #MAX_BATCH_SIZE}, the S3 limit). Up to <code>threads</code> batches are
+ * sent at a time in quiet mode, so responses only contain failures. While batches are in flight, the source keeps
+ * being read; listings returned by {@link S3Client#streamObjects(ListObjectsRequest)} and
+ * {@link S3Client#streamVersions(ListVersionsRequest)} prefetch their next pages in the background, so listing and
+ * deleting overlap. At most <code>threads</code> additional batches are buffered ahead of the workers.
+ * <p>
+ * Keys that fail with a retryable error code (see {@link #setRetryableErrorCodes(Set)}) are re-sent as a smaller
+ * batch after a backoff, up to <code>maxRetries</code> times. If a whole delete-objects call fails, the entire batch
+ * is retried the same way, as is a call that fails with a transport error (reported as
+ * {@value #TRANSPORT_ERROR_CODE}). All other failures are collected in the {@link BulkDeleteResult}; they do not stop
+ * the run. Pass in a result to poll its counts from another thread while the run is in progress.
+ * <p>
+ * To empty a versioned bucket, use {@link #deleteAllVersions(String)}, which deletes every version and delete marker.
+ */
+public class BulkDeleter {
+    private static final Logger log = LoggerFactory.getLogger(BulkDeleter.class);
+
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_THREADS = 8;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_RETRY_DELAY = 500; // ms
+    /**
+     * Error code reported for keys in a delete-objects call that failed without a response (i.e. a connection reset)
+     */
+    public static final String TRANSPORT_ERROR_CODE = "TransportError";
+    /**
+     * Error code reported for null keys, which are not sent
+     */
+    public static final String INVALID_KEY_ERROR_CODE = "InvalidArgument";
+    public static final Set<String> DEFAULT_RETRYABLE_ERROR_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "InternalError", "ServiceUnavailable", "SlowDown", "RequestTimeout", "OperationAborted",
+            TRANSPORT_ERROR_CODE)));
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private int batchSize = MAX_BATCH_SIZE;
+    private int threads = DEFAULT_THREADS;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long retryDelay = DEFAULT_RETRY_DELAY;
+    private Set<String> retryableErrorCodes = DEFAULT_RETRYABLE_ERROR_CODES;
+    private Boolean bypassGovernanceRetention;
+    private boolean useVirtualThreads = VirtualThreads.isEnabledByDefault();
+
+    public BulkDeleter(S3Client s3Client, String bucketName) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Deletes all objects under <code>prefix</code> (the whole bucket if null). In a versioned bucket, this only
+     * creates delete markers; see {@link #deleteAllVersions(String)}
+     */
+    public BulkDeleteResult deletePrefix(String prefix) {
+        return deletePrefix(prefix, new BulkDeleteResult());
+    }
+
+    /**
+     * @see #deletePrefix(String)
+     * @see #delete(Iterator, BulkDeleteResult)
+     */
+    public BulkDeleteResult deletePrefix(String prefix, BulkDeleteResult result) {
+        try (Stream<S3Object> objects = s3Client.streamObjects(new ListObjectsRequest(bucketName).withPrefix(prefix))) {
+            return delete(objects.map(object -> new ObjectKey(object.getKey())), result);
+        }
+    }
+
+    /**
+     * Deletes all versions and delete markers of all objects under <code>prefix</code> (the whole bucket if null)
+     */
+    public BulkDeleteResult deleteAllVersions(String prefix) {
+        return deleteAllVersions(prefix, new BulkDeleteResult());
+    }
+
+    /**
+     * @see #deleteAllVersions(String)
+     * @see #delete(Iterator, BulkDeleteResult)
+     */
+    public BulkDeleteResult deleteAllVersions(String prefix, BulkDeleteResult result) {
+        try (Stream<AbstractVersion> versions = s3Client.streamVersions(new ListVersionsRequest(bucketName).withPrefix(prefix))) {
+            return delete(versions.map(version -> new ObjectKey(version.getKey(), version.getVersionId())), result);
+        }
+    }
+
+    /**
+     * Deletes the latest version of each key in <code>keys</code> (i.e. the lines of a file read with
+     * {@link java.nio.file.Files#lines(java.nio.file.Path)})
+     */
+    public BulkDeleteResult deleteKeys(Stream<String> keys) {
+        return deleteKeys(keys, new BulkDeleteResult());
+    }
+
+    /**
+     * @see #deleteKeys(Stream)
+     * @see #delete(Iterator, BulkDeleteResult)
+     */
+    public BulkDeleteResult deleteKeys(Stream<String> keys, BulkDeleteResult result) {
+        return delete(keys.map(ObjectKey::new), result);
+    }
+
+    /**
+     * Deletes each key (or version, if a version ID is set) in <code>keys</code>
+     */
+    public BulkDeleteResult delete(Stream<ObjectKey> keys) {
+        return delete(keys, new BulkDeleteResult());
+    }
+
+    /**
+     * @see #delete(Stream)
+     * @see #delete(Iterator, BulkDeleteResult)
+     */
+    public BulkDeleteResult delete(Stream<ObjectKey> keys, BulkDeleteResult result) {
+        return delete(keys.iterator(), result);
+    }
+
+    /**
+     * @see #delete(Iterator, BulkDeleteResult)
+     */
+    public BulkDeleteResult delete(Iterator<ObjectKey> keys) {
+        return delete(keys, new BulkDeleteResult());
+    }
+
+    /**
+     * Deletes each key (or version, if a version ID is set) in <code>keys</code>. The iterator is only read from the
+     * calling thread. Returns <code>result</code> when all keys have been processed; its counts are updated as each
+     * batch completes, so it can be polled from another thread while the run is in progress (a result can only be
+     * used for one run). Null keys are not sent, and are reported as errors with the code
+     * {@value #INVALID_KEY_ERROR_CODE}. If reading the source or a batch fails with an unexpected exception (not an
+     * {@link S3Exception} or a transport error), no more batches are started and the exception is thrown once
+     * in-flight batches complete
+     */
+    public BulkDeleteResult delete(Iterator<ObjectKey> keys, BulkDeleteResult result) {
+        if (result.isComplete()) throw new IllegalArgumentException("result is from a completed run");
+        result.start();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        // bounds the number of batches (running + queued) so the source is not read too far ahead
+        int maxBatches = threads * 2;
+        Semaphore permits = new Semaphore(maxBatches);
+        ExecutorService executor = VirtualThreads.newFixedThreadPool(threads, useVirtualThreads, "bulk-delete-");
+        try {
+            try {
+                while (keys.hasNext() && failure.get() == null) {
+                    List<ObjectKey> batch = new ArrayList<>(batchSize);
+                    while (batch.size() < batchSize && keys.hasNext()) {
+                        ObjectKey key = keys.next();
+                        if (key == null || key.getKey() == null) result.addError(invalidKeyError(key));
+                        else batch.add(key);
+                    }
+                    if (batch.isEmpty()) continue;
+                    permits.acquire();
+                    executor.execute(() -> {
+                        try {
+                            deleteBatch(batch, result);
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                // the source failed; batches that were already started still complete
+                failure.compareAndSet(null, e);
+            }
+            // wait for all in-flight batches
+            permits.acquire(maxBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new RuntimeException("interrupted while deleting keys", e);
+        } finally {
+            executor.shutdown(); // all batches are complete at this point (unless interrupted)
+            result.complete();
+        }
+        if (failure.get() != null) throw failure.get();
+        log.debug("bulk delete in bucket {} finished: {}", bucketName, result);
+        return result;
+    }
+
+    private static DeleteError invalidKeyError(ObjectKey key) {
+        DeleteError error = new DeleteError();
+        if (key != null) error.setVersionId(key.getVersionId());
+        error.setCode(INVALID_KEY_ERROR_CODE);
+        error.setMessage("key cannot be null");
+        return error;
+    }
+
+    void deleteBatch(List<ObjectKey> batch, BulkDeleteResult result) {
+        for (int attempt = 0; !batch.isEmpty(); attempt++) {
+            if (attempt > 0) {
+                result.addRetried(batch.size());
+                sleep(retryDelay << Math.min(attempt - 1, 16));
+            }
+            List<DeleteError> errors = sendBatch(batch);
+            result.addBatch();
+            result.addDeleted(batch.size() - errors.size());
+
+            List<ObjectKey> retryKeys = new ArrayList<>();
+            for (DeleteError error : errors) {
+                // the code may be null (i.e. a failed call with no error body), which some sets cannot look up
+                String code = error.getCode();
+                if (attempt < maxRetries && code != null && retryableErrorCodes.contains(code)) {
+                    retryKeys.add(new ObjectKey(error.getKey(), error.getVersionId()));
+                } else {
+                    log.debug("failed to delete {} (version {}): {} {}",
+                            error.getKey(), error.getVersionId(), error.getCode(), error.getMessage());
+                    result.addError(error);
+                }
+            }
+            batch = retryKeys;
+        }
+    }
+
+    /**
+     * Sends one delete-objects call and returns the failed keys. A failure of the whole call (an error response or a
+     * transport error) is reported as a failure of every key in the batch
+     */
+    private List<DeleteError> sendBatch(List<ObjectKey> batch) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName).withKeys(batch);
+        request.getDeleteObjects().setQuiet(true);
+        if (bypassGovernanceRetention != null) request.setBypassGovernanceRetention(bypassGovernanceRetention);
+        List<DeleteError> errors = new ArrayList<>();
+        try {
+            DeleteObjectsResult deleteResult = s3Client.deleteObjects(request);
+            if (deleteResult != null && deleteResult.getResults() != null) {
+                for (AbstractDeleteResult entry : deleteResult.getResults()) {
+                    if (entry instanceof DeleteError) errors.add((DeleteError) entry);
+                }
+            }
+        } catch (S3Exception e) {
+            log.warn("delete-objects call for {} keys in bucket {} failed: {}", batch.size(), bucketName, e.getMessage());
+            // 5xx responses without a code are retryable
+            String code = e.getErrorCode() != null ? e.getErrorCode() : e.getHttpCode() >= 500 ? "InternalError" : null;
+            addBatchErrors(batch, code, e.getMessage(), errors);
+        } catch (RuntimeException e) {
+            if (!isTransportError(e)) throw e;
+            log.warn("delete-objects call for {} keys in bucket {} failed: {}", batch.size(), bucketName, e.toString());
+            addBatchErrors(batch, TRANSPORT_ERROR_CODE, e.toString(), errors);
+        }
+        return errors;
+    }
+
+    private static void addBatchErrors(List<ObjectKey> batch, String code, String message, List<DeleteError> errors) {
+        for (ObjectKey key : batch) {
+            DeleteError error = new DeleteError();
+            error.setKey(key.getKey());
+            error.setVersionId(key.getVersionId());
+            error.setCode(code);
+            error.setMessage(message);
+            errors.add(error);
+        }
+    }
+
+    // the call failed without a response (Jersey wraps IO errors in a ProcessingException)
+    static boolean isTransportError(Throwable t) {
+        for (; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof ProcessingException || t instanceof IOException) return true;
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while waiting to retry", e);
+        }
+    }
+
+    public S3Client getS3Client() {
+        return s3Client;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the number of keys sent in each delete-objects call. Default (and maximum) is {@value #MAX_BATCH_SIZE}
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        this.batchSize = batchSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of concurrent delete-objects calls. Default is {@value #DEFAULT_THREADS}
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be > 0");
+        this.threads = threads;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets the number of times a key that failed with a retryable error is re-sent. Default is
+     * {@value #DEFAULT_MAX_RETRIES}
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) throw new IllegalArgumentException("maxRetries must be >= 0");
+        this.maxRetries = maxRetries;
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Sets the delay in milliseconds before the first retry of a batch. The delay doubles with each further retry.
+     * Default is {@value #DEFAULT_RETRY_DELAY}
+     */
+    public void setRetryDelay(long retryDelay) {
+        if (retryDelay < 0) throw new IllegalArgumentException("retryDelay must be >= 0");
+        this.retryDelay = retryDelay;
+    }
+
+    public Set<String> getRetryableErrorCodes() {
+        return retryableErrorCodes;
+    }
+
+    /**
+     * Sets the error codes (from delete-objects error entries or failed calls) that cause a key to be retried. Default
+     * is {@link #DEFAULT_RETRYABLE_ERROR_CODES}
+     */
+    public void setRetryableErrorCodes(Set<String> retryableErrorCodes) {
+        this.retryableErrorCodes = retryableErrorCodes == null ? Collections.emptySet() : retryableErrorCodes;
+    }
+
+    public Boolean getBypassGovernanceRetention() {
+        return bypassGovernanceRetention;
+    }
+
+    /**
+     * If set, sent with every delete-objects call (see
+     * {@link DeleteObjectsRequest#setBypassGovernanceRetention(Boolean)})
+     */
+    public void setBypassGovernanceRetention(Boolean bypassGovernanceRetention) {
+        this.bypassGovernanceRetention = bypassGovernanceRetention;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * If true, delete-objects calls run on virtual threads (Java 21+). The number of concurrent calls is still limited
+     * by <code>threads</code>. Default is the value of the {@value VirtualThreads#PROPERTY_USE_VIRTUAL_THREADS} system
+     * property
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
+    /**
+     * @see #setBatchSize(int)
+     */
+    public BulkDeleter withBatchSize(int batchSize) {
+        setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * @see #setThreads(int)
+     */
+    public BulkDeleter withThreads(int threads) {
+        setThreads(threads);
+        return this;
+    }
+
+    /**
+     * @see #setMaxRetries(int)
+     */
+    public BulkDeleter withMaxRetries(int maxRetries) {
+        setMaxRetries(maxRetries);
+        return this;
+    }
+
+    /**
+     * @see #setRetryDelay(long)
+     */
+    public BulkDeleter withRetryDelay(long retryDelay) {
+        setRetryDelay(retryDelay);
+        return this;
+    }
+
+    /**
+     * @see #setRetryableErrorCodes(Set)
+     */
+    public BulkDeleter withRetryableErrorCodes(Set<String> retryableErrorCodes) {
+        setRetryableErrorCodes(retryableErrorCodes);
+        return this;
+    }
+
+    /**
+     * @see #setBypassGovernanceRetention(Boolean)
+     */
+    public BulkDeleter withBypassGovernanceRetention(Boolean bypassGovernanceRetention) {
+        setBypassGovernanceRetention(bypassGovernanceRetention);
+        return this;
+    }
+
+    /**
+     * @see #setUseVirtualThreads(boolean)
+     */
+    public BulkDeleter withUseVirtualThreads(boolean useVirtualThreads) {
+        setUseVirtualThreads(useVirtualThreads);
+        return this;
+    }
+}
@@ -27,9 +27,15 @@
 package com.emc.object.s3;
 
 import com.emc.object.Range;
-import com.emc.object.util.ProgressInputStream;
+import com.emc.object.jfr.PartTransferEvent;
+import com.emc.object.s3.bean.GetObjectResult;
+import com.emc.object.s3.lfd.LargeFileDownloaderJournal;
+import com.emc.object.s3.lfu.PartBufferPool;
+import com.emc.object.s3.request.GetObjectRequest;
+import com.emc.object.util.AimdConcurrencyController;
 import com.emc.object.util.ProgressListener;
 import com.emc.object.util.ProgressOutputStream;
+import com.emc.object.util.VirtualThreads;
 import com.emc.rest.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,12 +43,25 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -59,19 +78,47 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
     public static final int DEFAULT_PART_SIZE = 32 * 1024 * 1024; // 32MB
 
     public static final int DEFAULT_THREADS = 8;
+    public static final int DEFAULT_PART_RETRIES = 3;
+    public static final long PART_RETRY_DELAY_MS = 500;
+
+    public static final double DEFAULT_HEDGE_MULTIPLE = 3.0;
+    static final int HEDGE_MIN_SAMPLES = 3;
+    static final int HEDGE_MAX_SAMPLES = 64;
+    static final long HEDGE_CHECK_INTERVAL_MS = 100;
 
     private S3Client s3Client;
     private String bucket;
     private String key;
     private File file;
     private Long objectSize;
+    private String eTag;
+    private String versionId;
     private AtomicLong bytesTransferred = new AtomicLong();
 
     private long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
     private long partSize = DEFAULT_PART_SIZE;
     private int threads = DEFAULT_THREADS;
     private ExecutorService executorService;
+    private boolean useVirtualThreads = VirtualThreads.isEnabledByDefault();
     private ProgressListener progressListener;
+    private boolean adaptive = false;
+    private AimdConcurrencyController concurrencyController;
+    private int partRetries = DEFAULT_PART_RETRIES;
+    private File journalFile;
+    private LargeFileDownloaderJournal journal;
+    private boolean hedging = false;
+    private double hedgeMultiple = DEFAULT_HEDGE_MULTIPLE;
+
+    // parts in progress (cancelled if the download fails or the stream is closed, and checked for stragglers)
+    private final Set<PartState> activeParts = ConcurrentHashMap.newKeySet();
+
+    // hedging state
+    private final double[] partTimeSamples = new double[HEDGE_MAX_SAMPLES]; // nanos per byte of completed parts
+    private int partTimeSampleCount;
+    private ExecutorService hedgeExecutor;
+    private ScheduledExecutorService hedgeMonitor;
+    private final AtomicInteger hedgeCount = new AtomicInteger();
+    private final AtomicLong hedgedBytes = new AtomicLong();
 
     /**
      * Creates a new LargeFileDownloader instance that will use <code>s3Client</code> to download
@@ -84,6 +131,14 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         this.file = file;
     }
 
+    /**
+     * Creates a new LargeFileDownloader instance that will use <code>s3Client</code> to read
+     * <code>bucket/key</code> via {@link #openStream()}.
+     */
+    public LargeFileDownloader(S3Client s3Client, String bucket, String key) {
+        this(s3Client, bucket, key, null);
+    }
+
     @Override
     public void progress(long completed, long total) {
     }
@@ -111,10 +166,9 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
      * proportionately.
      */
     public void download() {
+        if (file == null) throw new IllegalStateException("no target file specified (use openStream() instead)");
         try {
-            // get object metadata (for size)
-            S3ObjectMetadata metadata = s3Client.getObjectMetadata(bucket, key);
-            objectSize = metadata.getContentLength();
+            readMetadata();
             if (objectSize >= parallelThreshold)
                 doParallelDownload();
             else
@@ -124,12 +178,69 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         }
     }
 
+    /**
+     * Opens the object for sequential reading, while downloading the next <code>threads</code> parts in parallel
+     * into a bounded set of memory buffers (one per thread plus the part being read, each {@link #setPartSize(long)
+     * partSize} bytes). Bytes are returned in order, so consumers that must process data sequentially (i.e.
+     * decompressors, parsers or proxies) get parallel-download throughput without staging to a file. Each part
+     * request is pinned to the object version and retried individually, as with {@link #download()}. The stream
+     * must be closed to stop any outstanding part requests. The parallel threshold and journal file are ignored.
+     */
+    public InputStream openStream() {
+        readMetadata();
+        checkPartSize();
+        if (partSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("part size is too large to buffer in memory: " + partSize);
+        setUpConcurrencyController();
+        startHedging();
+        return new ReadAheadInputStream();
+    }
+
+    // get object metadata (for size) and pin all reads to the object version we see now
+    private void readMetadata() {
+        S3ObjectMetadata metadata = s3Client.getObjectMetadata(bucket, key);
+        objectSize = metadata.getContentLength();
+        eTag = metadata.getETag();
+        versionId = metadata.getVersionId();
+    }
+
+    private void checkPartSize() {
+        if (partSize < MIN_PART_SIZE) {
+            log.warn(String.format("%,dk is below the minimum part size (%,dk). the minimum will be used instead",
+                    partSize / 1024, MIN_PART_SIZE / 1024));
+            partSize = MIN_PART_SIZE;
+        }
+    }
+
+    private void setUpConcurrencyController() {
+        if (adaptive) {
+            concurrencyController = new AimdConcurrencyController(1, 2, threads, this::reportPartSettings);
+            reportPartSettings(concurrencyController.getLimit());
+        } else {
+            concurrencyController = null;
+        }
+    }
+
     protected void doSingleDownload() throws IOException {
         OutputStream os = new FileOutputStream(file);
 
         os = new ProgressOutputStream(os, this);
 
-        StreamUtil.copy(s3Client.readObjectStream(bucket, key, null), os, objectSize);
+        StreamUtil.copy(readObjectStream(null), os, objectSize);
+    }
+
+    /**
+     * Opens a stream to the object (or a range of it), pinned to the version and ETag seen at HEAD time. If the object
+     * has been overwritten since then, an {@link S3Exception} with a 412 status is thrown.
+     */
+    protected InputStream readObjectStream(Range range) {
+        GetObjectRequest<?> request = new GetObjectRequest<>(bucket, key)
+                .withVersionId(versionId).withIfMatch(eTag).withRange(range);
+        GetObjectResult<InputStream> result = s3Client.getObject(request, InputStream.class);
+        if (result == null)
+            throw new S3Exception("object " + bucket + "/" + key + " has changed (ETag no longer matches "
+                    + eTag + ")", 412, "PreconditionFailed", null);
+        return result.getObject();
     }
 
     protected void doParallelDownload() throws Exception {
@@ -137,49 +248,191 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         if (file.exists() && !file.canWrite())
             throw new IllegalArgumentException("cannot write to file: " + file.getPath());
 
-        if (partSize < MIN_PART_SIZE) {
-            log.warn(String.format("%,dk is below the minimum part size (%,dk). the minimum will be used instead",
-                    partSize / 1024, MIN_PART_SIZE / 1024));
-            partSize = MIN_PART_SIZE;
+        checkPartSize();
+
+        // resume from the journal if it matches this object and the file is still there
+        journal = loadJournal();
+        if (journal != null) {
+            partSize = journal.getPartSize();
+            log.info("resuming download of {}/{} from journal {} ({} parts already complete)",
+                    bucket, key, journalFile, journal.getCompletedParts().size());
+        } else if (adaptive) {
+            partSize = AimdConcurrencyController.choosePartSize(objectSize, threads, MIN_PART_SIZE, DEFAULT_PART_SIZE, Integer.MAX_VALUE);
+            log.debug(String.format("adaptive part size chosen as %,dk", partSize / 1024));
         }
 
+        setUpConcurrencyController();
+        startHedging();
+
         // set up thread pool
         boolean shutdownThreadPool = false;
         if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(threads);
+            executorService = VirtualThreads.newFixedThreadPool(threads, useVirtualThreads, "lfd-part-");
             shutdownThreadPool = true;
         }
         List<Future<Void>> futures = new ArrayList<Future<Void>>();
 
+        // open file for random write
+        RandomAccessFile raFile = new RandomAccessFile(file, "rw");
         try {
-            // open file for random write
-            RandomAccessFile raFile = new RandomAccessFile(file, "rw");
             raFile.setLength(objectSize);
             FileChannel channel = raFile.getChannel();
 
+            if (journal != null) journal.openForAppend();
+            else if (journalFile != null) journal = LargeFileDownloaderJournal.create(journalFile, bucket, key,
+                    versionId, eTag, objectSize, partSize);
 
-            // submit all download tasks
+            // submit download tasks for all parts that are not already complete
             long offset = 0, length = partSize;
-            while (offset < objectSize) {
+            for (int partIndex = 0; offset < objectSize; partIndex++) {
                 if (offset + length > objectSize) length = objectSize - offset;
-                futures.add(executorService.submit(new DownloadPartTask(Range.fromOffsetLength(offset, length), channel)));
+                if (journal == null || !journal.isPartCompleted(partIndex))
+                    futures.add(executorService.submit(new DownloadPartTask(partIndex, Range.fromOffsetLength(offset, length), channel)));
                 offset += length;
             }
 
-            // wait for threads to finish
-            for (Future<Void> future : futures) {
-                future.get();
+            // wait for threads to finish (each part is retried individually, so any failure here is final)
+            try {
+                for (Future<Void> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                cancelActiveParts();
+                for (Future<Void> future : futures) {
+                    future.cancel(true);
+                }
+                throw e;
             }
 
             // close file
             raFile.close();
+
+            // download is complete
+            if (journal != null) journal.delete();
         } finally {
+            try {
+                raFile.close();
+            } catch (Throwable t) {
+                log.warn("could not close file", t);
+            }
+
+            // keep the journal (if any) so the download can be resumed
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (Throwable t) {
+                    log.warn("could not close journal", t);
+                }
+            }
 
             // make sure all spawned threads are shut down
+            stopHedging();
             if (shutdownThreadPool) executorService.shutdown();
         }
     }
 
+    private LargeFileDownloaderJournal loadJournal() {
+        if (journalFile == null) return null;
+        try {
+            LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.load(journalFile);
+            if (journal == null) return null;
+            if (journal.matches(bucket, key, versionId, eTag, objectSize) && journal.getPartSize() >= MIN_PART_SIZE
+                    && file.exists() && file.length() == objectSize)
+                return journal;
+            log.info("journal {} does not match this download; it will be replaced", journalFile);
+        } catch (IOException e) {
+            log.warn("could not read journal " + journalFile + "; starting over", e);
+        }
+        return null;
+    }
+
+    private void journalPart(int partIndex, FileChannel channel) throws IOException {
+        if (journal == null) return;
+        // the part data must be durable before we record it as complete
+        channel.force(false);
+        journal.partCompleted(partIndex);
+    }
+
+    // reports part data as it is written (duplicate bytes from hedge requests are not counted as progress)
+    private void partTransferred(long size, long newBytes, boolean hedge) {
+        long totalTransferred = bytesTransferred.addAndGet(newBytes);
+        if (hedge) hedgedBytes.addAndGet(size);
+
+        if (progressListener != null) {
+            progressListener.transferred(newBytes);
+            progressListener.progress(totalTransferred, objectSize);
+        }
+    }
+
+    private void startHedging() {
+        activeParts.clear();
+        synchronized (partTimeSamples) {
+            partTimeSampleCount = 0;
+        }
+        hedgeCount.set(0);
+        hedgedBytes.set(0);
+        if (!hedging) return;
+
+        // hedge requests get their own threads, so they do not queue behind the parts they are meant to rescue
+        hedgeExecutor = VirtualThreads.newCachedThreadPool(useVirtualThreads, "lfd-hedge-");
+        hedgeMonitor = Executors.newSingleThreadScheduledExecutor();
+        hedgeMonitor.scheduleWithFixedDelay(this::checkStragglers,
+                HEDGE_CHECK_INTERVAL_MS, HEDGE_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopHedging() {
+        if (hedgeMonitor != null) hedgeMonitor.shutdownNow();
+        if (hedgeExecutor != null) hedgeExecutor.shutdown();
+        hedgeMonitor = null;
+        hedgeExecutor = null;
+        if (hedgeCount.get() > 0)
+            log.debug(String.format("%d hedge requests transferred %,d bytes", hedgeCount.get(), hedgedBytes.get()));
+    }
+
+    // stops all attempts of parts in progress (i.e. when the download has failed or the stream is closed)
+    private void cancelActiveParts() {
+        for (PartState state : activeParts) {
+            state.done.completeExceptionally(new CancellationException("download cancelled"));
+            state.closeStreams();
+        }
+    }
+
+    private void recordPartTime(long nanos, long length) {
+        synchronized (partTimeSamples) {
+            partTimeSamples[partTimeSampleCount++ % HEDGE_MAX_SAMPLES] = (double) nanos / length;
+        }
+    }
+
+    // returns the median time per byte of recently completed parts, or -1 if there are not enough samples yet
+    private double medianPartTime() {
+        double[] samples;
+        synchronized (partTimeSamples) {
+            if (partTimeSampleCount < HEDGE_MIN_SAMPLES) return -1;
+            samples = Arrays.copyOf(partTimeSamples, Math.min(partTimeSampleCount, HEDGE_MAX_SAMPLES));
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private void checkStragglers() {
+        try {
+            double median = medianPartTime();
+            if (median < 0) return;
+            long now = System.nanoTime();
+            for (PartState state : activeParts) {
+                long length = state.range.getLast() - state.range.getFirst() + 1;
+                if (state.isStarted() && now - state.startNanos > hedgeMultiple * median * length)
+                    state.hedge();
+            }
+        } catch (Throwable t) {
+            log.warn("error checking for straggling parts", t);
+        }
+    }
+
+    private void reportPartSettings(int concurrency) {
+        if (progressListener != null) progressListener.partSettingsChanged(partSize, concurrency);
+    }
+
     public S3Client getS3Client() {
         return s3Client;
     }
@@ -200,6 +453,28 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         return objectSize;
     }
 
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    /**
+     * Returns the number of hedge requests issued by the last download (see {@link #setHedging(boolean)})
+     */
+    public int getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * Returns the number of bytes received by hedge requests in the last download (see {@link #setHedging(boolean)})
+     */
+    public long getHedgedBytes() {
+        return hedgedBytes.get();
+    }
+
     public long getBytesTransferred() {
         return bytesTransferred.get();
     }
@@ -253,6 +528,19 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         this.executorService = executorService;
     }
 
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * If true, internal executors run parts (and hedge requests) on virtual threads (Java 21+). The number of
+     * concurrent parts is still limited by <code>threads</code>. On older runtimes, platform threads are used. Default
+     * is the value of the {@value VirtualThreads#PROPERTY_USE_VIRTUAL_THREADS} system property
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+    }
+
     public ProgressListener getProgressListener() {
         return progressListener;
     }
@@ -261,6 +549,82 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         this.progressListener = progressListener;
     }
 
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Enables adaptive mode, where the part size is chosen based on the size of the object, and the number of parts
+     * transferred in parallel is adjusted during the download based on measured throughput and latency (AIMD). In
+     * this mode, <code>threads</code> is the maximum concurrency, and the configured part size is ignored. The chosen
+     * settings are reported via {@link ProgressListener#partSettingsChanged(long, int)}. Default is false
+     *
+     * @see AimdConcurrencyController
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public int getPartRetries() {
+        return partRetries;
+    }
+
+    /**
+     * Sets the number of times a failed part (range) is retried before the download fails. Retries resume from the
+     * last byte written, and do not affect other parts. Client errors (4xx), including a 412 when the object has been
+     * overwritten since the download started, are not retried. Default is {@link #DEFAULT_PART_RETRIES}
+     */
+    public void setPartRetries(int partRetries) {
+        this.partRetries = partRetries;
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * Enables a crash-safe resume journal for parallel downloads. The object version, part size and every part that
+     * has been written to the target file are durably recorded in <code>journalFile</code>. If the file already
+     * exists and matches the object (same ETag, versionId and size) and the target file is still there, only the
+     * missing parts are downloaded. The journal is deleted when the download completes, and kept if it fails.
+     * <p>
+     * Use {@link LargeFileDownloaderJournal#journalFileFor(File)} to put the journal next to the target file.
+     *
+     * @see LargeFileDownloaderJournal
+     */
+    public void setJournalFile(File journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * Enables hedged requests to mitigate stragglers in parallel downloads. If a part has not finished within
+     * {@link #setHedgeMultiple(double) hedgeMultiple} times the median time of completed parts (scaled to its size),
+     * a duplicate request is issued for the rest of it (with the smart client, this will likely go to another node).
+     * Whichever request finishes first wins, and the other is stopped. At most one hedge is issued per part, and hedge
+     * requests do not count against <code>threads</code>. Hedging starts once a few parts have completed. Hedges are
+     * reported via {@link #getHedgeCount()} and {@link #getHedgedBytes()}. Default is false
+     */
+    public void setHedging(boolean hedging) {
+        this.hedging = hedging;
+    }
+
+    public double getHedgeMultiple() {
+        return hedgeMultiple;
+    }
+
+    /**
+     * Sets how many times the median part time a part may take before it is hedged (see
+     * {@link #setHedging(boolean)}). Default is {@link #DEFAULT_HEDGE_MULTIPLE}
+     */
+    public void setHedgeMultiple(double hedgeMultiple) {
+        if (hedgeMultiple < 1) throw new IllegalArgumentException("hedge multiple must be at least 1");
+        this.hedgeMultiple = hedgeMultiple;
+    }
+
     public LargeFileDownloader withParallelThreshold(long parallelThreshold) {
         setParallelThreshold(parallelThreshold);
         return this;
@@ -281,36 +645,173 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
         return this;
     }
 
+    /**
+     * @see #setUseVirtualThreads(boolean)
+     */
+    public LargeFileDownloader withUseVirtualThreads(boolean useVirtualThreads) {
+        setUseVirtualThreads(useVirtualThreads);
+        return this;
+    }
+
     public LargeFileDownloader withProgressListener(ProgressListener progressListener) {
         setProgressListener(progressListener);
         return this;
     }
 
+    /**
+     * @see #setAdaptive(boolean)
+     */
+    public LargeFileDownloader withAdaptive(boolean adaptive) {
+        setAdaptive(adaptive);
+        return this;
+    }
+
+    /**
+     * @see #setPartRetries(int)
+     */
+    public LargeFileDownloader withPartRetries(int partRetries) {
+        setPartRetries(partRetries);
+        return this;
+    }
+
+    /**
+     * @see #setJournalFile(File)
+     */
+    public LargeFileDownloader withJournalFile(File journalFile) {
+        setJournalFile(journalFile);
+        return this;
+    }
+
+    /**
+     * Destination of downloaded part data (a file channel, or a memory buffer for {@link #openStream()})
+     */
+    protected interface PartWriter {
+        /**
+         * Writes the remaining bytes of <code>src</code> (or some of them) at <code>position</code> in the object.
+         *
+         * @return the number of bytes written
+         */
+        int write(ByteBuffer src, long position) throws IOException;
+    }
+
+    /**
+     * @see #setHedging(boolean)
+     */
+    public LargeFileDownloader withHedging(boolean hedging) {
+        setHedging(hedging);
+        return this;
+    }
+
+    /**
+     * @see #setHedgeMultiple(double)
+     */
+    public LargeFileDownloader withHedgeMultiple(double hedgeMultiple) {
+        setHedgeMultiple(hedgeMultiple);
+        return this;
+    }
+
     protected class DownloadPartTask implements Callable<Void> {
-        private Range range;
-        private FileChannel channel;
+        private PartState state;
+        private long pos;
+        private boolean hedge;
 
-        public DownloadPartTask(Range range, FileChannel channel) {
-            this.range = range;
-            this.channel = channel;
+        public DownloadPartTask(int partIndex, Range range, FileChannel channel) {
+            this.state = new PartState(partIndex, range, channel::write, channel);
+            this.pos = range.getFirst();
+        }
+
+        /**
+         * Creates a task that writes the range via <code>writer</code> (parts downloaded this way are not journaled)
+         */
+        public DownloadPartTask(Range range, PartWriter writer) {
+            this.state = new PartState(-1, range, writer, null);
+            this.pos = range.getFirst();
+        }
+
+        // creates a hedge request for the rest of a part
+        private DownloadPartTask(PartState state, long pos) {
+            this.state = state;
+            this.pos = pos;
+            this.hedge = true;
         }
 
+        /**
+         * Downloads the part and returns when it is complete (whether this request or a hedge finished it).
+         */
         @Override
         public Void call() throws Exception {
-            InputStream is = s3Client.readObjectStream(bucket, key, range);
-
+            state.start();
+            long startPos = pos;
+            PartTransferEvent event = new PartTransferEvent(PartTransferEvent.DOWNLOAD, bucket, key,
+                    state.partIndex < 0 ? -1 : state.partIndex + 1, startPos, state.range.getLast() - startPos + 1);
+            event.setHedge(hedge);
+            event.start();
+            boolean finished = false;
             try {
-                is = new ProgressInputStream(is, LargeFileDownloader.this);
+                finished = attempt();
+                state.attemptFinished(finished);
+            } catch (Exception e) {
+                state.attemptFailed(e);
+            }
+            event.complete(pos - startPos, finished);
+            try {
+                return state.done.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+                throw e;
+            } finally {
+                activeParts.remove(state);
+            }
+        }
 
+        // returns true if this attempt wrote the rest of the range, or false if the part was completed elsewhere
+        private boolean attempt() throws Exception {
+            for (int retry = 0; ; retry++) {
+                try {
+                    if (concurrencyController == null || hedge) return transfer();
+                    else return concurrencyController.execute(state.range.getLast() - pos + 1, this::transfer);
+                } catch (Exception e) {
+                    if (state.done.isDone()) return false;
+                    if (retry >= partRetries || !isRetryable(e)) throw e;
+                    log.warn(String.format("error downloading range %s (retry %d of %d); resuming at offset %,d",
+                            state.range, retry + 1, partRetries, pos), e);
+                    Thread.sleep(PART_RETRY_DELAY_MS << retry);
+                }
+            }
+        }
+
+        private boolean isRetryable(Exception e) {
+            if (e instanceof S3Exception) {
+                int httpCode = ((S3Exception) e).getHttpCode();
+                return httpCode < 400 || httpCode >= 500 || httpCode == 408;
+            }
+            return !(e instanceof InterruptedException) && !(e instanceof CancellationException)
+                    && !Thread.currentThread().isInterrupted();
+        }
+
+        // transfers the rest of the range (from pos), so a retry picks up where the last attempt failed
+        private Boolean transfer() throws Exception {
+            InputStream is = readObjectStream(new Range(pos, state.range.getLast()));
+            state.openStreams.add(is);
+
+            try {
                 byte[] buffer = new byte[32 * 1024];
-                long pos = range.getFirst();
                 for (int r = 0; r != -1; r = is.read(buffer)) {
-                    channel.write(ByteBuffer.wrap(buffer, 0, r), pos);
-                    pos += r;
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, r);
+                    while (byteBuffer.hasRemaining()) {
+                        int count = state.write(byteBuffer, pos);
+                        // stop if another request finished this part
+                        if (count < 0) return false;
+                        partTransferred(count, state.advance(pos, count), hedge);
+                        pos += count;
+                    }
                 }
+                if (pos <= state.range.getLast())
+                    throw new EOFException(String.format("range %s ended early at offset %,d", state.range, pos));
 
-                return null;
+                return true;
             } finally {
+                state.openStreams.remove(is);
                 try {
                     is.close();
                 } catch (Throwable t) {
@@ -319,4 +820,282 @@ public class LargeFileDownloader implements Runnable, ProgressListener {
             }
         }
     }
+
+    /**
+     * Tracks a part that may be downloaded by more than one request (the original and a hedge).
+     */
+    private class PartState {
+        private final int partIndex;
+        private final Range range;
+        private final PartWriter writer;
+        private final FileChannel channel;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Set<InputStream> openStreams = ConcurrentHashMap.newKeySet();
+        private volatile long startNanos = -1;
+        private long highWater; // end of the data written so far
+        private int runningAttempts = 1;
+        private boolean hedged;
+        private boolean won;
+        private Exception failure;
+
+        PartState(int partIndex, Range range, PartWriter writer, FileChannel channel) {
+            this.partIndex = partIndex;
+            this.range = range;
+            this.writer = writer;
+            this.channel = channel;
+            this.highWater = range.getFirst();
+        }
+
+        void start() {
+            if (startNanos < 0) startNanos = System.nanoTime();
+            activeParts.add(this);
+        }
+
+        boolean isStarted() {
+            return startNanos >= 0;
+        }
+
+        /**
+         * Writes via the part's writer, unless another request has already won the part, in which case nothing is
+         * written and -1 is returned. The check and the write share the lock that the winner takes before completing
+         * the part, so a losing request can never write into a read-ahead buffer after it is reused for another part.
+         */
+        synchronized int write(ByteBuffer src, long position) throws IOException {
+            if (won || done.isDone()) return -1;
+            return writer.write(src, position);
+        }
+
+        // records a write and returns the number of bytes that had not already been written by another request
+        synchronized long advance(long position, int count) {
+            long end = position + count;
+            if (end <= highWater) return 0;
+            long newBytes = end - Math.max(position, highWater);
+            highWater = end;
+            return newBytes;
+        }
+
+        void hedge() {
+            DownloadPartTask task;
+            synchronized (this) {
+                if (hedged || done.isDone() || highWater > range.getLast() || hedgeExecutor == null) return;
+                hedged = true;
+                runningAttempts++;
+                task = new DownloadPartTask(this, highWater);
+            }
+            hedgeCount.incrementAndGet();
+            log.debug(String.format("range %s is straggling; hedging from offset %,d", range, task.pos));
+            hedgeExecutor.submit(() -> {
+                try {
+                    attemptFinished(task.attempt());
+                } catch (Exception e) {
+                    attemptFailed(e);
+                }
+            });
+        }
+
+        void attemptFinished(boolean completedRange) {
+            if (!completedRange) {
+                synchronized (this) {
+                    runningAttempts--;
+                }
+                return;
+            }
+            synchronized (this) {
+                runningAttempts--;
+                if (won || done.isDone()) return;
+                won = true;
+            }
+            // this request won
+            recordPartTime(System.nanoTime() - startNanos, range.getLast() - range.getFirst() + 1);
+            if (channel != null) {
+                try {
+                    journalPart(partIndex, channel);
+                } catch (IOException e) {
+                    log.warn("could not journal part " + partIndex, e);
+                }
+            }
+            done.complete(null);
+
+            // stop the losing request (if it is blocked in a read, closing its stream is the only way to wake it up)
+            closeStreams();
+        }
+
+        void attemptFailed(Exception e) {
+            synchronized (this) {
+                runningAttempts--;
+                if (failure == null) failure = e;
+                // wait for any other request that is still running
+                if (runningAttempts > 0) return;
+            }
+            done.completeExceptionally(failure);
+        }
+
+        // closes the streams of attempts that are still reading (in the background, since closing may block)
+        void closeStreams() {
+            for (InputStream is : openStreams) {
+                if (!openStreams.remove(is)) continue;
+                Runnable closer = () -> {
+                    try {
+                        is.close();
+                    } catch (Throwable t) {
+                        log.debug("could not close cancelled object stream", t);
+                    }
+                };
+                ExecutorService executor = hedgeExecutor;
+                try {
+                    if (executor == null) closer.run();
+                    else executor.submit(closer);
+                } catch (RejectedExecutionException e) {
+                    closer.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns object data in order, from parts that are downloaded ahead in parallel into pooled buffers.
+     *
+     * @see #openStream()
+     */
+    protected class ReadAheadInputStream extends InputStream {
+        private final ExecutorService readExecutor;
+        private final boolean shutdownThreadPool;
+        private final PartBufferPool bufferPool;
+        private final Deque<BufferedPart> pendingParts = new ArrayDeque<>();
+        private long nextOffset = 0;
+        private BufferedPart currentPart;
+        private int currentPosition;
+        private IOException failure;
+        private boolean closed;
+
+        public ReadAheadInputStream() {
+            if (executorService == null) {
+                executorService = VirtualThreads.newFixedThreadPool(threads, useVirtualThreads, "lfd-part-");
+                shutdownThreadPool = true;
+            } else {
+                shutdownThreadPool = false;
+            }
+            readExecutor = executorService;
+
+            // one buffer for each part in flight, plus the part being read
+            bufferPool = new PartBufferPool((int) Math.min(partSize, Math.max(objectSize, 1)), threads + 1);
+            try {
+                while (pendingParts.size() < threads && nextOffset < objectSize) submitNextPart();
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException("error starting read-ahead", e);
+            }
+        }
+
+        private void submitNextPart() throws IOException {
+            final long offset = nextOffset;
+            final int length = (int) Math.min(partSize, objectSize - offset);
+            final byte[] buffer;
+            try {
+                // the number of parts in flight is bounded, so a buffer should always be available
+                buffer = bufferPool.acquire(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting for a read-ahead buffer");
+            }
+            if (buffer == null) throw new IllegalStateException("no read-ahead buffer available");
+
+            PartWriter writer = (src, position) -> {
+                int count = src.remaining();
+                src.get(buffer, (int) (position - offset), count);
+                return count;
+            };
+            Future<Void> future = readExecutor.submit(new DownloadPartTask(Range.fromOffsetLength(offset, length), writer));
+            pendingParts.add(new BufferedPart(buffer, length, future));
+            nextOffset += length;
+        }
+
+        // moves to the next part, waiting for it to download if necessary; returns false at the end of the object
+        private boolean nextPart() throws IOException {
+            if (currentPart != null) {
+                bufferPool.release(currentPart.buffer);
+                currentPart = null;
+            }
+            BufferedPart part = pendingParts.poll();
+            if (part == null) return false;
+
+            try {
+                part.future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting for object data");
+            } catch (ExecutionException e) {
+                // a part that failed cannot be skipped, so the stream is unusable from here on
+                Throwable cause = e.getCause();
+                failure = cause instanceof IOException ? (IOException) cause
+                        : new IOException("error reading object data", cause);
+                throw failure;
+            }
+            currentPart = part;
+            currentPosition = 0;
+
+            // keep the pipeline full
+            if (nextOffset < objectSize) submitNextPart();
+            return true;
+        }
+
+        private boolean ensureData() throws IOException {
+            if (closed) throw new IOException("stream is closed");
+            if (failure != null) throw failure;
+            while (currentPart == null || currentPosition >= currentPart.length) {
+                if (!nextPart()) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureData()) return -1;
+            return currentPart.buffer[currentPosition++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!ensureData()) return -1;
+            int count = Math.min(len, currentPart.length - currentPosition);
+            System.arraycopy(currentPart.buffer, currentPosition, b, off, count);
+            currentPosition += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return currentPart == null ? 0 : currentPart.length - currentPosition;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+
+            // stop outstanding requests (their buffers may still be written to, so they are not returned to the pool)
+            cancelActiveParts();
+            for (BufferedPart part : pendingParts) {
+                part.future.cancel(true);
+            }
+            pendingParts.clear();
+            currentPart = null;
+
+            stopHedging();
+            if (shutdownThreadPool) readExecutor.shutdown();
+        }
+    }
+
+    private static class BufferedPart {
+        private final byte[] buffer;
+        private final int length;
+        private final Future<Void> future;
+
+        BufferedPart(byte[] buffer, int length, Future<Void> future) {
+            this.buffer = buffer;
+            this.length = length;
+            this.future = future;
+        }
+    }
 }
@@ -26,26 +26,38 @@
  */
 package com.emc.object.s3;
 
+import com.emc.object.EntitySupplier;
 import com.emc.object.Range;
+import com.emc.object.jfr.PartTransferEvent;
 import com.emc.object.s3.bean.*;
 import com.emc.object.s3.lfu.*;
 import com.emc.object.s3.request.*;
+import com.emc.object.util.AimdConcurrencyController;
+import com.emc.object.util.ChecksumAlgorithm;
+import com.emc.object.util.ChecksummedInputStream;
+import com.emc.object.util.RunningChecksum;
 import com.emc.object.util.ProgressInputStream;
 import com.emc.object.util.ProgressListener;
+import com.emc.object.util.VirtualThreads;
 import com.emc.rest.util.SizedInputStream;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -68,6 +80,10 @@ public class LargeFileUploader implements Runnable, ProgressListener {
     public static final long MIN_PART_SIZE = 4 * 1024 * 1024; // 4MB
     public static final long DEFAULT_PART_SIZE = 128 * 1024 * 1024; // 128MB
     public static final int MAX_PARTS = 10000;
+    public static final int DEFAULT_READ_AHEAD_PARTS = 1;
+
+    // the largest part that can be buffered in a byte array
+    private static final long MAX_BUFFERED_PART_SIZE = Integer.MAX_VALUE - 8;
 
     public static String getMpuETag(List<MultipartPartETag> partETags) {
         String aggHexString = partETags.stream().map(MultipartPartETag::getETag).collect(Collectors.joining(""));
@@ -100,14 +116,22 @@ public class LargeFileUploader implements Runnable, ProgressListener {
     private long mpuThreshold = DEFAULT_MPU_THRESHOLD;
     private Long partSize = DEFAULT_PART_SIZE;
     private int threads = DEFAULT_THREADS;
+    private boolean streamBuffering = false;
+    private int readAheadParts = DEFAULT_READ_AHEAD_PARTS;
     private ExecutorService executorService;
     private boolean externalExecutorService;
+    private boolean useVirtualThreads = VirtualThreads.isEnabledByDefault();
     private ProgressListener progressListener;
     private final AtomicBoolean active = new AtomicBoolean(false);
 
     private LargeFileUploaderResumeContext resumeContext;
     private Map<Integer, MultipartPartETag> existingMpuParts = null;
     private boolean abortMpuOnFailure = true;
+    private boolean adaptive = false;
+    private AimdConcurrencyController concurrencyController;
+    private File journalFile;
+    private LargeFileUploaderJournal journal;
+    private Map<Integer, String> journaledStreamMd5s;
 
     /**
      * Creates a new LargeFileUpload instance using the specified <code>s3Client</code> to upload
@@ -119,8 +143,11 @@ public class LargeFileUploader implements Runnable, ProgressListener {
 
     /**
      * Creates a new LargeFileUpload instance using the specified <code>s3Client</code> to upload
-     * from a single <code>stream</code> to <code>bucket/key</code>. Note that this type of upload is
-     * single-threaded and not very efficient.
+     * from a single <code>stream</code> to <code>bucket/key</code>. Note that by default, this type of upload is
+     * single-threaded and not very efficient. Enable {@link #setStreamBuffering(boolean) stream buffering} to transfer
+     * parts in parallel.
+     *
+     * @see #setStreamBuffering(boolean)
      */
     public LargeFileUploader(S3Client s3Client, String bucket, String key, InputStream stream, long size) {
         this.s3Client = s3Client;
@@ -212,6 +239,27 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         return partList;
     }
 
+    // checks that an MPU is still in progress (it can be aborted or expire on the server)
+    private boolean mpuExists(String uploadId) {
+        try {
+            s3Client.listParts(new ListPartsRequest(bucket, key, uploadId).withMaxParts(1));
+            return true;
+        } catch (S3Exception e) {
+            if (isNoSuchUpload(e)) return false;
+            throw e;
+        }
+    }
+
+    static boolean isNoSuchUpload(Throwable t) {
+        for (; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof S3Exception) {
+                S3Exception e = (S3Exception) t;
+                return "NoSuchUpload".equals(e.getErrorCode()) || (e.getHttpCode() == 404 && e.getErrorCode() == null);
+            }
+        }
+        return false;
+    }
+
     protected String initMpu() {
         InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucket, key);
         initRequest.setObjectMetadata(objectMetadata);
@@ -227,6 +275,17 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         return s3Client.uploadPart(request);
     }
 
+    /**
+     * Uploads a part that can be re-opened, so a retry reads the part again from the source instead of rewinding a
+     * stream
+     */
+    protected MultipartPartETag uploadPart(String uploadId, int partNumber, EntitySupplier part, long length) {
+        UploadPartRequest request = new UploadPartRequest(bucket, key, uploadId, partNumber, part);
+        request.setContentLength(length);
+
+        return s3Client.uploadPart(request);
+    }
+
     protected CompleteMultipartUploadResult completeMpu(String uploadId, SortedSet<MultipartPartETag> parts) {
         CompleteMultipartUploadRequest compRequest = new CompleteMultipartUploadRequest(bucket, key, uploadId).withParts(parts);
         return s3Client.completeMultipartUpload(compRequest);
@@ -246,7 +305,9 @@ public class LargeFileUploader implements Runnable, ProgressListener {
      */
     public LargeFileUpload uploadAsync() {
         // start a background thread
-        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService executor = useVirtualThreads
+                ? VirtualThreads.newFixedThreadPool(1, true, "lfu-upload-")
+                : Executors.newSingleThreadExecutor();
         Future<?> future = executor.submit(this::upload);
         executor.shutdown();
 
@@ -288,6 +349,7 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                     abortMpu(resumeContext.getUploadId());
                     resumeContext.setUploadId(null);
                     resumeContext.setUploadedParts(null);
+                    closeJournal(true);
                 }
                 executorService.shutdownNow(); // immediately terminates thread pool and interrupts any running threads
             }
@@ -349,6 +411,100 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         return is;
     }
 
+    // releases any resources held by the source (i.e. a shared file channel)
+    private void closeMultipartSource() {
+        if (multipartSource instanceof Closeable) {
+            try {
+                ((Closeable) multipartSource).close();
+            } catch (Throwable t) {
+                log.warn("could not close multipart source", t);
+            }
+        }
+    }
+
+    // -1 if unknown (only file sources have a modification time)
+    private long getSourceModified() {
+        if (multipartSource instanceof LargeFileMultipartFileSource)
+            return ((LargeFileMultipartFileSource) multipartSource).getFile().lastModified();
+        return -1;
+    }
+
+    // opens the journal to record parts of the current uploadId (creates a new journal if necessary)
+    private void openJournal() throws IOException {
+        if (journal != null && journal.getUploadId().equals(resumeContext.getUploadId())) {
+            journal.openForAppend();
+        } else {
+            journal = LargeFileUploaderJournal.create(journalFile, resumeContext.getUploadId(), bucket, key, partSize,
+                    fullSize, getSourceModified());
+            // record any parts we already trust
+            for (MultipartPartETag part : resumeContext.getUploadedParts().values()) {
+                journal.partCompleted(part.getPartNumber(), part.getETag(), null);
+            }
+        }
+    }
+
+    // a journal failure should not fail the upload, but it means the upload may not be resumable
+    private void journalPart(MultipartPartETag part, String md5) {
+        if (journal == null) return;
+        try {
+            journal.partCompleted(part.getPartNumber(), part.getETag(), md5);
+        } catch (IOException | RuntimeException e) {
+            log.warn("could not journal partNumber " + part.getPartNumber(), e);
+        }
+    }
+
+    private void closeJournal(boolean delete) {
+        if (journal == null) return;
+        try {
+            if (delete) journal.delete();
+            else journal.close();
+        } catch (IOException e) {
+            log.warn("could not close journal " + journal.getFile(), e);
+        }
+        if (delete) journal = null;
+    }
+
+    /*
+     * a stream has no modification time, so the journal cannot tell whether it is the same payload. when a stream is
+     * resumed from a journal, every journaled part is read again and must match its journaled MD5 (or its ETag if the
+     * MD5 is unknown). parts that are not journaled are not checked
+     */
+    private void verifyJournaledStreamPart(int partNumber, String sourceMd5) {
+        String journaledMd5 = journaledStreamMd5s == null ? null : journaledStreamMd5s.get(partNumber);
+        if (journaledMd5 != null && !journaledMd5.equals(sourceMd5))
+            throw new PartMismatchException(partNumber, sourceMd5, journaledMd5);
+    }
+
+    // when journaling, computes the MD5 of the part data as it is sent (rewinds with the stream on retry)
+    private InputStream digestStream(InputStream is) {
+        if (journal == null) return is;
+        try {
+            return new ChecksummedInputStream(is, new RunningChecksum(ChecksumAlgorithm.MD5));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("fatal: MD5 algorithm not found", e);
+        }
+    }
+
+    private static String digestOf(InputStream is) {
+        return is instanceof ChecksummedInputStream ? ((ChecksummedInputStream) is).getChecksum().getHexValue() : null;
+    }
+
+    // in adaptive mode, holds a slot in the concurrency controller while the part is transferred
+    private <T> T controlled(long length, Callable<T> transfer) {
+        try {
+            if (concurrencyController == null) return transfer.call();
+            return concurrencyController.execute(length, transfer);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void reportPartSettings(int concurrency) {
+        if (progressListener != null) progressListener.partSettingsChanged(partSize, concurrency);
+    }
+
     protected InputStream monitorStream(InputStream stream) {
         return new ProgressInputStream(stream, this);
     }
@@ -360,6 +516,8 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             eTag = putObject(is);
         } catch (IOException e) {
             throw new RuntimeException("Error opening file", e);
+        } finally {
+            closeMultipartSource();
         }
     }
 
@@ -412,6 +570,7 @@ public class LargeFileUploader implements Runnable, ProgressListener {
 
     public void doMultipartUpload() {
         configure();
+        if (concurrencyController != null) reportPartSettings(concurrencyController.getLimit());
 
         active.set(true);
 
@@ -420,6 +579,15 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             existingMpuParts = listUploadPartsForResume(resumeContext.getUploadId());
         }
 
+        // the journal's upload may have been aborted, completed or expired since it was written
+        if (journal != null && !mpuExists(journal.getUploadId())) {
+            log.warn("uploadId {} from journal {} no longer exists; starting a new upload",
+                    journal.getUploadId(), journalFile);
+            closeJournal(true);
+            resumeContext = null;
+            journaledStreamMd5s = null;
+        }
+
         // always maintain an accurate resume context in case of interruption
         if (resumeContext == null) resumeContext = new LargeFileUploaderResumeContext();
 
@@ -431,9 +599,12 @@ public class LargeFileUploader implements Runnable, ProgressListener {
 
         List<Future<MultipartPartETag>> futures = new ArrayList<>();
         try {
+            if (journalFile != null) openJournal();
+
             // submit all upload tasks
             int lastPart = (int) ((fullSize - 1) / partSize) + 1;
-            for (int partNumber = 1; partNumber <= lastPart; partNumber++) {
+            if (stream != null && streamBuffering) submitStreamParts(lastPart, futures);
+            else for (int partNumber = 1; partNumber <= lastPart; partNumber++) {
                 long offset = (partNumber - 1) * partSize;
                 long length = partSize;
                 if (offset + length > fullSize) length = fullSize - offset;
@@ -442,6 +613,8 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                 if (resumeContext.getUploadedParts().containsKey(partNumber)) {
                     log.debug("bucket {} key {} partNumber {} provided in resume context; will use the provided ETag and this part will not be verified",
                             bucket, key, partNumber);
+                    // a stream is read in series, so the part must still be read to keep the parts in sequence
+                    if (stream != null) futures.add(executorService.submit(new SkipStreamPartTask(partNumber, length)));
 
                     // reuse existing MPU parts if found
                 } else if (existingMpuParts != null && existingMpuParts.containsKey(partNumber)) {
@@ -460,6 +633,7 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                         log.debug("verifyPartsFoundInTarget is false; not verifying existing part data for partNumber {} (ETag: {})",
                                 partNumber, existingMpuParts.get(partNumber).getETag());
                         resumeContext.getUploadedParts().put(partNumber, new MultipartPartETag(partNumber, existingMpuParts.get(partNumber).getETag()));
+                        journalPart(resumeContext.getUploadedParts().get(partNumber), null);
                     }
 
                     // no existing part to use, so upload this part
@@ -490,9 +664,13 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                 CompleteMultipartUploadResult result = completeMpu(resumeContext.getUploadId(), new TreeSet<>(resumeContext.getUploadedParts().values()));
                 eTag = result.getRawETag();
                 versionId = result.getVersionId();
+                closeJournal(true);
             }
 
         } catch (Exception e) {
+            // a journal for an upload that no longer exists can never be resumed
+            if (isNoSuchUpload(e)) closeJournal(true);
+
             // abort MP upload
             // TODO: are there conditions where the upload should *not* be aborted?
             try {
@@ -500,6 +678,7 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                     abortMpu(resumeContext.getUploadId());
                     resumeContext.setUploadId(null);
                     resumeContext.setUploadedParts(null);
+                    closeJournal(true);
                 }
             } catch (Throwable t) {
                 log.warn("could not abort upload after failure", t);
@@ -512,6 +691,11 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             // make sure all spawned threads are shut down
             if (!externalExecutorService) executorService.shutdownNow();
 
+            closeMultipartSource();
+
+            // keep the journal if the upload was paused or left incomplete
+            closeJournal(false);
+
             // make sure we close the input stream if necessary
             if (stream != null && closeStream) {
                 try {
@@ -530,6 +714,7 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             if (resumeContext.isOverwriteMismatchedParts() && throwable instanceof PartMismatchException) {
                 log.warn(throwable.getMessage()); // log details about the part that was mismatched
                 log.info("overwriting partNumber {} due to ETag mismatch", partNumber);
+                // the part has already been read from a stream, so it cannot be read again
                 if (stream != null) throw (PartMismatchException) throwable;
                 return new UploadPartTask(uploadId, partNumber, offset, length).call();
             } else if (throwable instanceof RuntimeException) {
@@ -538,8 +723,72 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         };
     }
 
+    /*
+     * reads parts from the source stream in series (on the calling thread) into a bounded pool of buffers, and hands
+     * each buffered part to the thread pool, so up to <threads> parts are transferred in parallel while the next
+     * <readAheadParts> parts are read. the buffer pool caps memory at (threads + readAheadParts) * partSize
+     */
+    private void submitStreamParts(int lastPart, List<Future<MultipartPartETag>> futures)
+            throws IOException, InterruptedException {
+        PartBufferPool bufferPool = new PartBufferPool((int) Math.min(partSize, fullSize), threads + readAheadParts);
+        AtomicBoolean failed = new AtomicBoolean(false);
+        for (int partNumber = 1; partNumber <= lastPart; partNumber++) {
+            long offset = (partNumber - 1) * partSize;
+            int length = (int) Math.min(partSize, fullSize - offset);
+
+            // wait for a free buffer (stop reading if we are paused/aborted or a part has failed)
+            byte[] buffer = null;
+            while (buffer == null && active.get() && !failed.get()) {
+                buffer = bufferPool.acquire(1, TimeUnit.SECONDS);
+            }
+            if (buffer == null) {
+                log.debug("no longer reading source stream at partNumber {}", partNumber);
+                break;
+            }
+
+            // every part must be read from the stream (even if it is skipped) to keep the parts in sequence
+            try {
+                readFully(stream, buffer, length);
+            } catch (IOException e) {
+                bufferPool.release(buffer);
+                throw e;
+            }
+
+            String existingETag = null;
+            if (resumeContext.getUploadedParts().containsKey(partNumber)) {
+                log.debug("bucket {} key {} partNumber {} provided in resume context; will use the provided ETag",
+                        bucket, key, partNumber);
+                try {
+                    MessageDigest md5 = DigestUtils.getMd5Digest();
+                    md5.update(buffer, 0, length);
+                    verifyJournaledStreamPart(partNumber, DatatypeConverter.printHexBinary(md5.digest()).toLowerCase());
+                } finally {
+                    bufferPool.release(buffer);
+                }
+                continue;
+            } else if (existingMpuParts != null && existingMpuParts.containsKey(partNumber)) {
+                log.debug("bucket {} key {} partNumber {} already exists, will be verified from the source stream",
+                        bucket, key, partNumber);
+                existingETag = existingMpuParts.get(partNumber).getRawETag();
+            }
+
+            futures.add(executorService.submit(new BufferedPartTask(resumeContext.getUploadId(), partNumber,
+                    buffer, length, existingETag, bufferPool, failed)));
+        }
+    }
+
+    private static void readFully(InputStream is, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int c = is.read(buffer, read, length - read);
+            if (c < 0) throw new IOException(String.format("source stream ended early (expected %d more bytes)", length - read));
+            read += c;
+        }
+    }
+
     public void doByteRangeUpload() {
         configure();
+        if (concurrencyController != null) reportPartSettings(concurrencyController.getLimit());
 
         // create empty object (sets metadata/acl)
         PutObjectRequest request = new PutObjectRequest(bucket, key, null);
@@ -555,7 +804,9 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             while (offset < fullSize) {
                 if (offset + length > fullSize) length = fullSize - offset;
 
-                futures.add(executorService.submit(new PutObjectTask(offset, length)));
+                // a stream must be read in series
+                if (stream != null) eTag = new PutObjectTask(offset, length).call();
+                else futures.add(executorService.submit(new PutObjectTask(offset, length)));
 
                 offset += length;
             }
@@ -578,6 +829,8 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             // make sure all spawned threads are shut down
             if (!externalExecutorService) executorService.shutdown();
 
+            closeMultipartSource();
+
             // make sure we close the input stream if necessary
             if (stream != null && closeStream) {
                 try {
@@ -604,10 +857,6 @@ public class LargeFileUploader implements Runnable, ProgressListener {
 
             // If resuming from raw stream, make sure skipped parts are consumed from source stream
             if (resumeContext != null) resumeContext.setVerifyPartsFoundInTarget(true);
-
-            // must read stream sequentially
-            executorService = null;
-            threads = 1;
         } else if (srcKey != null && srcBucket != null) {
             // If resuming from copied parts, no need to verify the parts found in target
             if (resumeContext != null) resumeContext.setVerifyPartsFoundInTarget(false);
@@ -622,6 +871,47 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         long minPartSize = Math.max(getMinPartSize(), fullSize / MAX_PARTS + 1);
         log.debug(String.format("minimum part size calculated as %,dk", minPartSize / 1024));
 
+        // resume from the journal if it describes this upload
+        if (journalFile != null && resumeContext == null && fullSize >= mpuThreshold) {
+            LargeFileUploaderJournal existing;
+            try {
+                existing = LargeFileUploaderJournal.load(journalFile);
+            } catch (IOException e) {
+                throw new RuntimeException("could not read journal " + journalFile, e);
+            }
+            if (existing != null && existing.matches(bucket, key, fullSize, getSourceModified())) {
+                log.info("resuming uploadId {} from journal {} ({} parts complete)",
+                        existing.getUploadId(), journalFile, existing.getParts().size());
+                partSize = existing.getPartSize();
+                resumeContext = new LargeFileUploaderResumeContext().withUploadId(existing.getUploadId())
+                        .withUploadedParts(new HashMap<>(existing.getParts()));
+                journal = existing;
+                if (stream != null) {
+                    // the stream may be a different payload of the same size, so journaled parts must be verified
+                    journaledStreamMd5s = new HashMap<>();
+                    for (MultipartPartETag part : existing.getParts().values()) {
+                        journaledStreamMd5s.put(part.getPartNumber(), part.getRawETag());
+                    }
+                    journaledStreamMd5s.putAll(existing.getPartMd5s());
+                }
+            } else if (existing != null) {
+                log.warn("journal {} does not match this source and target; starting a new upload", journalFile);
+            }
+        }
+
+        if (adaptive) {
+            if (resumeContext != null) {
+                // existing parts must match the configured part size
+                log.debug("resuming an MPU; adaptive mode will not change the part size");
+            } else {
+                partSize = AimdConcurrencyController.choosePartSize(fullSize, threads, minPartSize, DEFAULT_PART_SIZE, MAX_PARTS);
+                log.debug(String.format("adaptive part size chosen as %,dk", partSize / 1024));
+            }
+            concurrencyController = new AimdConcurrencyController(1, 2, threads, this::reportPartSettings);
+        } else {
+            concurrencyController = null;
+        }
+
         if (partSize == null) partSize = minPartSize;
         if (partSize < minPartSize) {
             log.warn(String.format("%,dk is below the minimum part size (%,dk). the minimum will be used instead",
@@ -629,6 +919,23 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             partSize = minPartSize;
         }
 
+        if (stream != null && streamBuffering && partSize > MAX_BUFFERED_PART_SIZE) {
+            log.warn(String.format("%,dk parts are too large to buffer; the stream will be read without buffering",
+                    partSize / 1024));
+            streamBuffering = false;
+        }
+
+        if (stream != null && !streamBuffering) {
+            // must read stream sequentially
+            threads = 1;
+            concurrencyController = null;
+            if (externalExecutorService) {
+                log.warn("a custom executor service cannot be used to read an unbuffered stream; it will be ignored");
+                executorService = null;
+                externalExecutorService = false;
+            }
+        }
+
         if (resumeContext != null) {
             // we can only resume an MPU if the size of the source is above the MPU threshold
             if (fullSize < mpuThreshold) {
@@ -641,12 +948,9 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             }
         }
 
-        // set up thread pool
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(threads);
-        } else {
-            externalExecutorService = true;
-        }
+        // set up thread pool (a custom executor is flagged as external when it is set)
+        if (executorService == null)
+            executorService = VirtualThreads.newFixedThreadPool(threads, useVirtualThreads, "lfu-part-");
     }
 
     public S3Client getS3Client() {
@@ -761,6 +1065,36 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         this.threads = threads;
     }
 
+    public boolean isStreamBuffering() {
+        return streamBuffering;
+    }
+
+    /**
+     * When uploading from a single stream, enables reading the stream sequentially into a bounded pool of part
+     * buffers, so that up to <code>threads</code> parts can be transferred in parallel. Note that this requires up to
+     * <code>(threads + readAheadParts) * partSize</code> bytes of heap during an MPU. Parts that are too large to
+     * buffer are read without buffering. Default is false, in which case parts are read and transferred one at a time
+     *
+     * @see #setReadAheadParts(int)
+     */
+    public void setStreamBuffering(boolean streamBuffering) {
+        this.streamBuffering = streamBuffering;
+    }
+
+    public int getReadAheadParts() {
+        return readAheadParts;
+    }
+
+    /**
+     * When {@link #setStreamBuffering(boolean) buffering a stream}, sets the number of parts that may be read ahead of
+     * the parts currently being transferred. Each part is buffered in memory, so an MPU from a stream will use up to
+     * <code>(threads + readAheadParts) * partSize</code> bytes of heap. Default is {@link #DEFAULT_READ_AHEAD_PARTS}
+     */
+    public void setReadAheadParts(int readAheadParts) {
+        if (readAheadParts < 0) throw new IllegalArgumentException("readAheadParts must be >= 0");
+        this.readAheadParts = readAheadParts;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -771,6 +1105,20 @@ public class LargeFileUploader implements Runnable, ProgressListener {
      */
     public void setExecutorService(ExecutorService executorService) {
         this.executorService = executorService;
+        this.externalExecutorService = executorService != null;
+    }
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * If true, the internal executor runs parts on virtual threads (Java 21+). The number of concurrent parts is still
+     * limited by <code>threads</code>. On older runtimes, platform threads are used. Ignored if a custom executor
+     * service is set. Default is the value of the {@value VirtualThreads#PROPERTY_USE_VIRTUAL_THREADS} system property
+     */
+    public void setUseVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
     }
 
     public ProgressListener getProgressListener() {
@@ -820,6 +1168,46 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         this.abortMpuOnFailure = abortMpuOnFailure;
     }
 
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Enables adaptive mode, where the part size is chosen based on the size of the source, and the number of parts
+     * transferred in parallel is adjusted during the upload based on measured throughput and latency (AIMD). In this
+     * mode, <code>threads</code> is the maximum concurrency, and the configured part size is ignored (unless resuming
+     * an MPU). The chosen settings are reported via {@link ProgressListener#partSettingsChanged(long, int)}.
+     * Default is false
+     *
+     * @see AimdConcurrencyController
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * Enables a crash-safe resume journal for MPUs. The uploadId, part size, source size/modification time and every
+     * completed part are durably recorded in <code>journalFile</code>. If the file already exists and matches this
+     * source and target, the upload is resumed from the journal, without listing the existing parts or re-reading
+     * them from the source (only missing parts are uploaded). The journal is deleted when the MPU is completed or
+     * aborted, and kept if the upload is paused or fails with {@link #setAbortMpuOnFailure(boolean)} set to false.
+     * <p>
+     * Use {@link LargeFileUploaderJournal#journalFileFor(File)} to put the journal next to a source file, or
+     * {@link LargeFileUploaderJournal#journalFileFor(File, String, String)} to put it in a dedicated directory. Note
+     * that stream sources have no modification time, so when resuming a stream, every journaled part is still read
+     * from the stream and verified against its journaled MD5, and the upload fails with a
+     * {@link PartMismatchException} if they differ. This is ignored if a resume context is set explicitly.
+     *
+     * @see LargeFileUploaderJournal
+     */
+    public void setJournalFile(File journalFile) {
+        this.journalFile = journalFile;
+    }
+
     public String getSourceVersionId() {
         return sourceVersionId;
     }
@@ -863,11 +1251,35 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         return this;
     }
 
+    /**
+     * @see #setStreamBuffering(boolean)
+     */
+    public LargeFileUploader withStreamBuffering(boolean streamBuffering) {
+        setStreamBuffering(streamBuffering);
+        return this;
+    }
+
+    /**
+     * @see #setReadAheadParts(int)
+     */
+    public LargeFileUploader withReadAheadParts(int readAheadParts) {
+        setReadAheadParts(readAheadParts);
+        return this;
+    }
+
     public LargeFileUploader withExecutorService(ExecutorService executorService) {
         setExecutorService(executorService);
         return this;
     }
 
+    /**
+     * @see #setUseVirtualThreads(boolean)
+     */
+    public LargeFileUploader withUseVirtualThreads(boolean useVirtualThreads) {
+        setUseVirtualThreads(useVirtualThreads);
+        return this;
+    }
+
     public LargeFileUploader withProgressListener(ProgressListener progressListener) {
         setProgressListener(progressListener);
         return this;
@@ -889,6 +1301,22 @@ public class LargeFileUploader implements Runnable, ProgressListener {
         return this;
     }
 
+    /**
+     * @see #setAdaptive(boolean)
+     */
+    public LargeFileUploader withAdaptive(boolean adaptive) {
+        setAdaptive(adaptive);
+        return this;
+    }
+
+    /**
+     * @see #setJournalFile(File)
+     */
+    public LargeFileUploader withJournalFile(File journalFile) {
+        setJournalFile(journalFile);
+        return this;
+    }
+
     public LargeFileUploader withSourceVersionId(String sourceVersionId) {
         setSourceVersionId(sourceVersionId);
         return this;
@@ -917,12 +1345,16 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                 CopyPartRequest copyPartRequest = new CopyPartRequest(srcBucket, srcKey, bucket, key, resumeContext.getUploadId(), partNumber)
                         .withSourceRange(new Range(offset, offset + length - 1))
                         .withSourceVersionId(sourceVersionId);
-                try {
-                    CopyPartResult result = s3Client.copyPart(copyPartRequest);
-                    return new MultipartPartETag(result.getPartNumber(), result.getRawETag());
-                } catch (S3Exception e) {
-                    throw new RuntimeException(e);
-                }
+                return controlled(length, () -> {
+                    try {
+                        CopyPartResult result = s3Client.copyPart(copyPartRequest);
+                        MultipartPartETag partETag = new MultipartPartETag(result.getPartNumber(), result.getRawETag());
+                        journalPart(partETag, null);
+                        return partETag;
+                    } catch (S3Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
             }
         }
     }
@@ -948,12 +1380,130 @@ public class LargeFileUploader implements Runnable, ProgressListener {
             } else {
                 log.debug("uploading {}/{}, uploadId: {}, partNumber {} (offset: {}, length: {})",
                         bucket, key, uploadId, partNumber, offset, length);
-                try (InputStream is = monitorStream(getSourcePartDataStream(offset, length))) {
-                    return uploadPart(uploadId, partNumber, is, length);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                return controlled(length, () -> {
+                    PartTransferEvent event = new PartTransferEvent(PartTransferEvent.UPLOAD, bucket, key,
+                            partNumber, offset, length);
+                    event.start();
+                    boolean success = false;
+                    try {
+                        MultipartPartETag partETag = transfer();
+                        success = true;
+                        return partETag;
+                    } finally {
+                        event.complete(success ? length : 0, success);
+                    }
+                });
+            }
+        }
+
+        private MultipartPartETag transfer() throws IOException {
+            if (multipartSource != null) {
+                // the source can re-open any range, so each attempt reads the part fresh from the source
+                AtomicReference<InputStream> digestStream = new AtomicReference<>();
+                EntitySupplier part = () -> {
+                    digestStream.set(digestStream(multipartSource.getPartDataStream(offset, length)));
+                    return monitorStream(digestStream.get());
+                };
+                MultipartPartETag partETag = uploadPart(uploadId, partNumber, part, length);
+                journalPart(partETag, digestOf(digestStream.get()));
+                return partETag;
+            }
+            InputStream digestStream = digestStream(getSourcePartDataStream(offset, length));
+            try (InputStream is = monitorStream(digestStream)) {
+                MultipartPartETag partETag = uploadPart(uploadId, partNumber, is, length);
+                journalPart(partETag, digestOf(digestStream));
+                return partETag;
+            }
+        }
+    }
+
+    /**
+     * Transfers a part that has already been read from the source stream into a pooled buffer. If the part already
+     * exists in the target, it is verified against the buffered data instead of uploaded. The buffer is always
+     * returned to the pool.
+     */
+    private class BufferedPartTask implements Callable<MultipartPartETag> {
+        private final String uploadId;
+        private final int partNumber;
+        private final byte[] buffer;
+        private final int length;
+        private final String existingETag;
+        private final PartBufferPool bufferPool;
+        private final AtomicBoolean failed;
+
+        public BufferedPartTask(String uploadId, int partNumber, byte[] buffer, int length, String existingETag,
+                                PartBufferPool bufferPool, AtomicBoolean failed) {
+            this.uploadId = uploadId;
+            this.partNumber = partNumber;
+            this.buffer = buffer;
+            this.length = length;
+            this.existingETag = existingETag;
+            this.bufferPool = bufferPool;
+            this.failed = failed;
+        }
+
+        @Override
+        public MultipartPartETag call() {
+            try {
+                if (!active.get()) {
+                    // we were paused or aborted, so should not start any more tasks
+                    throw new CancellationException();
+                } else if (existingETag != null) {
+                    log.debug("verifying existing partNumber {} (length: {}) from buffered source data", partNumber, length);
+                    MessageDigest md5 = DigestUtils.getMd5Digest();
+                    md5.update(buffer, 0, length);
+                    String sourceETag = DatatypeConverter.printHexBinary(md5.digest()).toLowerCase();
+                    // a mismatch means the stream is not the source of the existing upload, so we do not overwrite
+                    if (!sourceETag.equals(existingETag)) {
+                        throw new PartMismatchException(partNumber, sourceETag, existingETag);
+                    }
+                    MultipartPartETag partETag = new MultipartPartETag(partNumber, sourceETag);
+                    journalPart(partETag, sourceETag);
+                    return partETag;
+                } else {
+                    log.debug("uploading {}/{}, uploadId: {}, partNumber {} (length: {}) from buffered stream",
+                            bucket, key, uploadId, partNumber, length);
+                    return controlled(length, () -> {
+                        InputStream digestStream = digestStream(new ByteArrayInputStream(buffer, 0, length));
+                        try (InputStream is = monitorStream(digestStream)) {
+                            MultipartPartETag partETag = uploadPart(uploadId, partNumber, is, length);
+                            journalPart(partETag, digestOf(digestStream));
+                            return partETag;
+                        }
+                    });
                 }
+            } catch (CancellationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                failed.set(true); // stop reading the source stream
+                throw e;
+            } finally {
+                bufferPool.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a trusted part from an unbuffered source stream without transferring it, so the following parts are read
+     * from the right position. A part resumed from a journal is verified against its journaled MD5. Returns the
+     * trusted part ETag.
+     */
+    private class SkipStreamPartTask implements Callable<MultipartPartETag> {
+        private final int partNumber;
+        private final long length;
+
+        public SkipStreamPartTask(int partNumber, long length) {
+            this.partNumber = partNumber;
+            this.length = length;
+        }
+
+        @Override
+        public MultipartPartETag call() throws IOException {
+            log.debug("reading trusted partNumber {} (length: {}) from the source stream", partNumber, length);
+            try (InputStream is = getSourcePartDataStream(0, length)) {
+                verifyJournaledStreamPart(partNumber, DigestUtils.md5Hex(is));
             }
+            return resumeContext.getUploadedParts().get(partNumber);
         }
     }
 
@@ -968,15 +1518,15 @@ public class LargeFileUploader implements Runnable, ProgressListener {
 
         @Override
         public String call() {
-            try (InputStream is = monitorStream(getSourcePartDataStream(offset, length))) {
-                Range range = Range.fromOffsetLength(offset, length);
+            return controlled(length, () -> {
+                try (InputStream is = monitorStream(getSourcePartDataStream(offset, length))) {
+                    Range range = Range.fromOffsetLength(offset, length);
 
-                PutObjectRequest request = new PutObjectRequest(bucket, key, is).withRange(range);
+                    PutObjectRequest request = new PutObjectRequest(bucket, key, is).withRange(range);
 
-                return s3Client.putObject(request).getETag();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+                    return s3Client.putObject(request).getETag();
+                }
+            });
         }
     }
 
@@ -1004,7 +1554,9 @@ public class LargeFileUploader implements Runnable, ProgressListener {
                     if (!sourceETag.equals(uploadedETag)) {
                         throw new PartMismatchException(partNumber, sourceETag, uploadedETag);
                     }
-                    return new MultipartPartETag(partNumber, sourceETag);
+                    MultipartPartETag partETag = new MultipartPartETag(partNumber, sourceETag);
+                    journalPart(partETag, sourceETag);
+                    return partETag;
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.GetObjectMetadataResult;
+import com.emc.object.s3.request.GetObjectMetadataRequest;
+import com.emc.object.util.VirtualThreads;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A running batch of get-object-metadata requests (see {@link S3Client#getObjectMetadata(Stream)}).
+ * <p>
+ * Requests are read from the source lazily, from the consuming thread, and up to <code>concurrency</code> of them are
+ * outstanding at a time. Results are delivered in completion order, so one slow request does not hold up the
+ * others. A result counts as outstanding until it is consumed, so a slow consumer throttles the requests instead of
+ * buffering results. Failed requests are reported in their result rather than thrown.
+ * <p>
+ * {@link #getStatistics()} may be called at any time (from any thread) for the latency of the requests completed so
+ * far. Close the batch (or its stream) if you do not consume all results.
+ */
+public class ObjectMetadataBatch implements AutoCloseable {
+    private final Iterator<GetObjectMetadataRequest> requests;
+    private final AutoCloseable source;
+    private final Function<GetObjectMetadataRequest, S3ObjectMetadata> fetcher;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final BlockingQueue<GetObjectMetadataResult> completed = new LinkedBlockingQueue<>();
+    private final long startTime = System.nanoTime();
+    // latencies of completed requests (guarded by this)
+    private long[] latencies = new long[64];
+    private int foundCount, notFoundCount, failedCount;
+    private int outstanding;
+    private volatile boolean closed;
+
+    /**
+     * @param source   the source of <code>requests</code>, closed when the batch is closed (may be null)
+     * @param fetcher  returns the metadata for a request, or null if the object does not exist
+     */
+    public ObjectMetadataBatch(Iterator<GetObjectMetadataRequest> requests, AutoCloseable source,
+                               Function<GetObjectMetadataRequest, S3ObjectMetadata> fetcher, int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be > 0");
+        this.requests = requests;
+        this.source = source;
+        this.fetcher = fetcher;
+        this.concurrency = concurrency;
+        this.executor = VirtualThreads.newFixedDaemonThreadPool(concurrency, VirtualThreads.isEnabledByDefault(),
+                "s3-metadata-");
+        submitRequests();
+    }
+
+    /**
+     * Returns the results in completion order. The stream can only be consumed once, and closing it closes the
+     * batch.
+     */
+    public Stream<GetObjectMetadataResult> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ResultIterator(),
+                Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * Returns a snapshot of the latency statistics of the requests completed so far
+     */
+    public synchronized Statistics getStatistics() {
+        int count = foundCount + notFoundCount + failedCount;
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Statistics(sorted, foundCount, notFoundCount, failedCount, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Stops reading requests and cancels any outstanding requests
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        executor.shutdownNow();
+        if (source != null) {
+            try {
+                source.close();
+            } catch (Exception e) {
+                throw new RuntimeException("could not close request source", e);
+            }
+        }
+    }
+
+    // only called from the consuming thread; if the source fails, the batch is closed and the error is thrown
+    private void submitRequests() {
+        try {
+            while (!closed && outstanding < concurrency && requests.hasNext()) {
+                GetObjectMetadataRequest request = requests.next();
+                outstanding++;
+                executor.execute(() -> fetch(request));
+            }
+        } catch (RuntimeException | Error e) {
+            try {
+                close();
+            } catch (RuntimeException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        if (outstanding == 0) close();
+    }
+
+    // every request must produce a result (even if the fetcher throws an Error), or the consumer would wait forever
+    private void fetch(GetObjectMetadataRequest request) {
+        long start = System.nanoTime();
+        S3ObjectMetadata objectMetadata = null;
+        RuntimeException exception = null;
+        try {
+            objectMetadata = fetcher.apply(request);
+        } catch (RuntimeException e) {
+            exception = e;
+        } catch (Throwable t) {
+            exception = new RuntimeException("metadata request failed", t);
+        }
+        GetObjectMetadataResult result = new GetObjectMetadataResult(request, objectMetadata, exception,
+                System.nanoTime() - start);
+        record(result);
+        completed.add(result);
+    }
+
+    private synchronized void record(GetObjectMetadataResult result) {
+        int count = foundCount + notFoundCount + failedCount;
+        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+        latencies[count] = result.getLatencyNanos();
+        if (result.isFailed()) failedCount++;
+        else if (result.isFound()) foundCount++;
+        else notFoundCount++;
+    }
+
+    private class ResultIterator implements Iterator<GetObjectMetadataResult> {
+        @Override
+        public boolean hasNext() {
+            return outstanding > 0 && !(closed && completed.isEmpty());
+        }
+
+        @Override
+        public GetObjectMetadataResult next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            GetObjectMetadataResult result;
+            try {
+                result = completed.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("interrupted while waiting for metadata results", e);
+            }
+            outstanding--;
+            // start the next request before handing this result to the caller
+            submitRequests();
+            return result;
+        }
+    }
+
+    /**
+     * Latency statistics for a batch. All latencies are per request and include retries.
+     */
+    public static class Statistics {
+        private final long[] sortedLatencies;
+        private final int foundCount, notFoundCount, failedCount;
+        private final long elapsedNanos;
+
+        Statistics(long[] sortedLatencies, int foundCount, int notFoundCount, int failedCount, long elapsedNanos) {
+            this.sortedLatencies = sortedLatencies;
+            this.foundCount = foundCount;
+            this.notFoundCount = notFoundCount;
+            this.failedCount = failedCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getCount() {
+            return sortedLatencies.length;
+        }
+
+        public int getFoundCount() {
+            return foundCount;
+        }
+
+        public int getNotFoundCount() {
+            return notFoundCount;
+        }
+
+        public int getFailedCount() {
+            return failedCount;
+        }
+
+        public double getMinLatencyMillis() {
+            return getPercentileLatencyMillis(0);
+        }
+
+        public double getMaxLatencyMillis() {
+            return getPercentileLatencyMillis(100);
+        }
+
+        public double getMeanLatencyMillis() {
+            if (sortedLatencies.length == 0) return 0;
+            double total = 0;
+            for (long latency : sortedLatencies) {
+                total += latency;
+            }
+            return total / sortedLatencies.length / 1_000_000d;
+        }
+
+        /**
+         * Returns the latency that <code>percentile</code> percent of requests completed within (nearest-rank)
+         */
+        public double getPercentileLatencyMillis(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile must be 0-100");
+            if (sortedLatencies.length == 0) return 0;
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+            return sortedLatencies[Math.max(rank - 1, 0)] / 1_000_000d;
+        }
+
+        /**
+         * Time since the batch started
+         */
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000d;
+        }
+
+        public double getRequestsPerSecond() {
+            return elapsedNanos > 0 ? getCount() * 1_000_000_000d / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Statistics{count=%d, found=%d, notFound=%d, failed=%d, mean=%.2fms, p50=%.2fms, " +
+                            "p99=%.2fms, max=%.2fms, requestsPerSecond=%.1f}", getCount(), foundCount, notFoundCount,
+                    failedCount, getMeanLatencyMillis(), getPercentileLatencyMillis(50),
+                    getPercentileLatencyMillis(99), getMaxLatencyMillis(), getRequestsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.S3Object;
+import com.emc.object.s3.request.ListObjectsRequest;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lists all objects in a bucket (optionally under a prefix) in parallel, by splitting the keyspace on a delimiter.
+ * <p>
+ * The listing starts with a delimited listing of the base prefix. Each common prefix it returns is an independent
+ * sub-listing, which is expanded the same way, recursively. The resulting units of work (sub-listings and pages of
+ * objects) are handed out by a {@link Spliterator}, so they can be processed by a parallel stream. Since common
+ * prefixes partition the keyspace, every key is delivered exactly once. Only objects are delivered (never common
+ * prefixes), and object order follows the order of a normal (un-delimited) listing when {@link #isOrdered() ordered}.
+ * <p>
+ * Parallelism is only possible where keys share delimited prefixes; a flat keyspace is still listed one page at a
+ * time, although the objects in each page are still processed in parallel.
+ * <p>
+ * {@link #stream()} runs on the common fork-join pool. {@link #forEach(Consumer)} uses its own pool of
+ * <code>threads</code> threads.
+ */
+public class ParallelBucketLister {
+    public static final String DEFAULT_DELIMITER = "/";
+    public static final int DEFAULT_THREADS = 8;
+
+    private final S3Client s3Client;
+    private final ListObjectsRequest request;
+    private String delimiter = DEFAULT_DELIMITER;
+    private int threads = DEFAULT_THREADS;
+    private boolean ordered = true;
+
+    /**
+     * Lists the bucket using the bucket name, prefix, max-keys and encoding-type of <code>request</code>. Any
+     * delimiter or marker in <code>request</code> is ignored.
+     */
+    public ParallelBucketLister(S3Client s3Client, ListObjectsRequest request) {
+        this.s3Client = s3Client;
+        this.request = request;
+    }
+
+    /**
+     * Returns a spliterator over all objects in the listing. Each call starts a new listing.
+     */
+    public Spliterator<S3Object> spliterator() {
+        ArrayDeque<Object> units = new ArrayDeque<>();
+        units.add(new PrefixListing(request.getPrefix() == null ? "" : request.getPrefix(), null));
+        return new KeyspaceSpliterator(units);
+    }
+
+    /**
+     * Returns a parallel stream over all objects in the listing.
+     */
+    public Stream<S3Object> stream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Performs <code>action</code> for every object in the listing, using <code>threads</code> threads. The action
+     * may be called concurrently. Returns when all objects have been processed.
+     */
+    public void forEach(Consumer<? super S3Object> action) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // a parallel stream started from inside a fork-join pool runs in that pool
+            pool.submit(() -> stream().forEach(action)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while listing bucket", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ListObjectsResult listPage(PrefixListing listing) {
+        if (listing.lastResult != null) return s3Client.listMoreObjects(listing.lastResult);
+        return s3Client.listObjects(new ListObjectsRequest(request.getBucketName())
+                .withPrefix(listing.prefix)
+                .withDelimiter(delimiter)
+                .withMaxKeys(request.getMaxKeys())
+                .withEncodingType(request.getEncodingType()));
+    }
+
+    /**
+     * Compares by code point, which is the same as the UTF-8 byte order used by listings
+     */
+    static int compareKeys(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            int cpA = a.codePointAt(i), cpB = b.codePointAt(j);
+            if (cpA != cpB) return Integer.compare(cpA, cpB);
+            i += Character.charCount(cpA);
+            j += Character.charCount(cpB);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    public S3Client getS3Client() {
+        return s3Client;
+    }
+
+    public ListObjectsRequest getRequest() {
+        return request;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Sets the delimiter used to split the keyspace into independent sub-listings. Default is
+     * {@value #DEFAULT_DELIMITER}
+     */
+    public void setDelimiter(String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) throw new IllegalArgumentException("delimiter is required");
+        this.delimiter = delimiter;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of threads used by {@link #forEach(Consumer)}. Default is {@value #DEFAULT_THREADS}
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be > 0");
+        this.threads = threads;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * If true (the default), the spliterator reports {@link Spliterator#ORDERED}, so ordered stream operations see
+     * objects in listing order. Set to false if order does not matter, which lets parallel streams skip the cost of
+     * preserving encounter order
+     */
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * @see #setDelimiter(String)
+     */
+    public ParallelBucketLister withDelimiter(String delimiter) {
+        setDelimiter(delimiter);
+        return this;
+    }
+
+    /**
+     * @see #setThreads(int)
+     */
+    public ParallelBucketLister withThreads(int threads) {
+        setThreads(threads);
+        return this;
+    }
+
+    /**
+     * @see #setOrdered(boolean)
+     */
+    public ParallelBucketLister withOrdered(boolean ordered) {
+        setOrdered(ordered);
+        return this;
+    }
+
+    /**
+     * The rest of a delimited listing of <code>prefix</code>, starting after <code>lastResult</code> (or from the
+     * beginning if null)
+     */
+    private static class PrefixListing {
+        final String prefix;
+        final ListObjectsResult lastResult;
+
+        PrefixListing(String prefix, ListObjectsResult lastResult) {
+            this.prefix = prefix;
+            this.lastResult = lastResult;
+        }
+    }
+
+    /**
+     * Holds an ordered sequence of units, each of which is either an {@link S3Object} or a {@link PrefixListing} that
+     * covers a contiguous range of keys. Units are disjoint, so splitting the sequence never duplicates or drops keys.
+     */
+    private class KeyspaceSpliterator implements Spliterator<S3Object> {
+        private final ArrayDeque<Object> units;
+
+        KeyspaceSpliterator(ArrayDeque<Object> units) {
+            this.units = units;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super S3Object> action) {
+            Object unit;
+            while ((unit = units.pollFirst()) != null) {
+                if (unit instanceof S3Object) {
+                    action.accept((S3Object) unit);
+                    return true;
+                }
+                expand((PrefixListing) unit);
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<S3Object> trySplit() {
+            // a lone listing must be fetched before there is anything to split
+            if (units.size() == 1 && units.peekFirst() instanceof PrefixListing)
+                expand((PrefixListing) units.pollFirst());
+            if (units.size() < 2) return null;
+
+            // split off the front half, which precedes the rest in listing order
+            ArrayDeque<Object> front = new ArrayDeque<>();
+            for (int n = units.size() / 2; n > 0; n--) {
+                front.addLast(units.pollFirst());
+            }
+            return new KeyspaceSpliterator(front);
+        }
+
+        /**
+         * Unknown if there is still a listing to expand (so fork-join tasks keep splitting), otherwise the number of
+         * objects left
+         */
+        @Override
+        public long estimateSize() {
+            for (Object unit : units) {
+                if (unit instanceof PrefixListing) return Long.MAX_VALUE;
+            }
+            return units.size();
+        }
+
+        @Override
+        public int characteristics() {
+            return (ordered ? ORDERED : 0) | DISTINCT | NONNULL;
+        }
+
+        /**
+         * Replaces a listing with the contents of its next page (objects and sub-listings, merged in key order),
+         * followed by the rest of the listing if the page is truncated
+         */
+        private void expand(PrefixListing listing) {
+            ListObjectsResult result = listPage(listing);
+
+            List<Object> page = new ArrayList<>();
+            Iterator<S3Object> objects = result.getObjects().iterator();
+            Iterator<String> prefixes = result.getCommonPrefixes().iterator();
+            S3Object object = objects.hasNext() ? objects.next() : null;
+            String prefix = prefixes.hasNext() ? prefixes.next() : null;
+            while (object != null || prefix != null) {
+                if (prefix == null || (object != null && compareKeys(object.getKey(), prefix) < 0)) {
+                    page.add(object);
+                    object = objects.hasNext() ? objects.next() : null;
+                } else {
+                    page.add(new PrefixListing(prefix, null));
+                    prefix = prefixes.hasNext() ? prefixes.next() : null;
+                }
+            }
+            if (result.isTruncated()) page.add(new PrefixListing(listing.prefix, result));
+
+            for (ListIterator<Object> i = page.listIterator(page.size()); i.hasPrevious(); ) {
+                units.addFirst(i.previous());
+            }
+        }
+    }
+}
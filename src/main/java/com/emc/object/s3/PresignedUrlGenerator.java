@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.Method;
+import com.emc.object.s3.request.PresignedUrlRequest;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates pre-signed URLs for many keys in the same bucket, all sharing one method and expiration time.
+ * Signers that support it (i.e. {@link S3SignerV4}) fix the date, scope, credential, signing key and endpoint once
+ * for the whole batch, so that each key only costs one canonical request hash and one HMAC. All generated URLs carry
+ * the same signing date and expire at the same time.
+ * <p>
+ * Instances are thread-safe, so keys may be fed through a parallel stream (see {@link #generate(Stream)}).
+ * Obtain an instance from {@link S3Client#getPresignedUrlGenerator(Method, String, Date)}.
+ */
+public class PresignedUrlGenerator {
+    private final S3Signer signer;
+    private final Method method;
+    private final String bucketName;
+    private final Date expirationTime;
+
+    public PresignedUrlGenerator(S3Signer signer, Method method, String bucketName, Date expirationTime) {
+        if (method == null) throw new IllegalArgumentException("method is required");
+        if (bucketName == null) throw new IllegalArgumentException("bucketName is required");
+        this.signer = signer;
+        this.method = method;
+        this.bucketName = bucketName;
+        this.expirationTime = expirationTime;
+    }
+
+    /**
+     * Generates a pre-signed URL for object <code>key</code> in this batch's bucket
+     */
+    public URL generate(String key) {
+        return generate(key, null);
+    }
+
+    /**
+     * Generates a pre-signed URL for version <code>versionId</code> of object <code>key</code> in this batch's bucket
+     */
+    public URL generate(String key, String versionId) {
+        return signer.generatePresignedUrl(new PresignedUrlRequest(method, bucketName, key, expirationTime)
+                .withVersionId(versionId));
+    }
+
+    /**
+     * Generates a pre-signed URL for <code>request</code>. If the request matches this batch (same method, bucket
+     * and expiration time, and no namespace, headers, metadata or response header overrides), the shared batch
+     * components are used; otherwise the request is signed individually
+     */
+    public URL generate(PresignedUrlRequest request) {
+        if (isBatchRequest(request)) return generate(request.getKey(), request.getVersionId());
+        return signer.generatePresignedUrl(request);
+    }
+
+    /**
+     * Maps each key in <code>keys</code> to its pre-signed URL. The returned stream keeps the characteristics of
+     * <code>keys</code>, so a parallel stream of keys is signed in parallel
+     */
+    public Stream<URL> generate(Stream<String> keys) {
+        return keys.map(this::generate);
+    }
+
+    /**
+     * Generates pre-signed URLs for all <code>keys</code> in parallel. The returned list is in the same order as
+     * <code>keys</code>
+     */
+    public List<URL> generateAll(Collection<String> keys) {
+        return generate(keys.parallelStream()).collect(Collectors.toList());
+    }
+
+    protected boolean isBatchRequest(PresignedUrlRequest request) {
+        return method == request.getMethod()
+                && bucketName.equals(request.getBucketName())
+                && Objects.equals(expirationTime, request.getExpirationTime())
+                && request.getNamespace() == null
+                && request.getSubresource() == null
+                && request.getHeaderOverrides().isEmpty()
+                && request.getHeaders().isEmpty();
+    }
+
+    public S3Signer getSigner() {
+        return signer;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public Date getExpirationTime() {
+        return expirationTime;
+    }
+}
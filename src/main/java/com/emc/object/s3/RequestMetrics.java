@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+/**
+ * Metrics for a single request attempt, reported to a {@link RequestMetricsListener}
+ */
+public class RequestMetrics {
+    private final String operation;
+    private final String bucketName;
+    private final String host;
+    private final int statusCode;
+    private final int retryCount;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long timeToFirstByteNanos;
+    private final long totalTimeNanos;
+    private final Throwable error;
+
+    public RequestMetrics(String operation, String bucketName, String host, int statusCode, int retryCount,
+                          long bytesSent, long bytesReceived, long timeToFirstByteNanos, long totalTimeNanos,
+                          Throwable error) {
+        this.operation = operation;
+        this.bucketName = bucketName;
+        this.host = host;
+        this.statusCode = statusCode;
+        this.retryCount = retryCount;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.totalTimeNanos = totalTimeNanos;
+        this.error = error;
+    }
+
+    /**
+     * The operation, derived from the request class (i.e. "PutObject" for a
+     * {@link com.emc.object.s3.request.PutObjectRequest}). Generic requests are named by HTTP method and subresource
+     * (i.e. "GET ?versioning").
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * The target bucket, or null if the request is not for a bucket
+     */
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    /**
+     * The host the request was sent to, or null if it failed before a host was chosen
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * The HTTP status of the response, or 0 if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * The number of retries before this attempt (0 for the first attempt)
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * The number of request body bytes written to the connection
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * The number of response body bytes read by the client or application
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Time from the start of the attempt until the response headers were received, or -1 if no response was received
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * Time from the start of the attempt until the response body was read or closed, or the attempt failed
+     */
+    public long getTotalTimeNanos() {
+        return totalTimeNanos;
+    }
+
+    /**
+     * The exception the attempt failed with if no response was received (i.e. an IO error), otherwise null. Error
+     * responses are identified by their {@link #getStatusCode() status code}.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "operation='" + operation + '\'' +
+                ", bucketName='" + bucketName + '\'' +
+                ", host='" + host + '\'' +
+                ", statusCode=" + statusCode +
+                ", retryCount=" + retryCount +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                ", timeToFirstByteNanos=" + timeToFirstByteNanos +
+                ", totalTimeNanos=" + totalTimeNanos +
+                ", error=" + error +
+                '}';
+    }
+}
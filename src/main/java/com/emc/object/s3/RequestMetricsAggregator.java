@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.util.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RequestMetricsListener} that keeps running totals and latency histograms per operation. Recording is
+ * lock-free (a map lookup, some {@link LongAdder} increments and two {@link LatencyHistogram} updates), so this can
+ * be left on in production.
+ * <pre>
+ *     RequestMetricsAggregator metrics = new RequestMetricsAggregator();
+ *     S3Client s3Client = new S3JerseyClient(s3Config.withRequestMetricsListener(metrics));
+ *     ...
+ *     OperationStats putStats = metrics.getStats("PutObject");
+ *     double p99 = putStats.getTotalTime().getPercentileMillis(99);
+ * </pre>
+ */
+public class RequestMetricsAggregator implements RequestMetricsListener {
+    private final ConcurrentMap<String, OperationStats> stats = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestCompleted(RequestMetrics metrics) {
+        OperationStats operationStats = stats.get(metrics.getOperation());
+        if (operationStats == null)
+            operationStats = stats.computeIfAbsent(metrics.getOperation(), k -> new OperationStats());
+        operationStats.record(metrics);
+    }
+
+    /**
+     * @return the stats for <code>operation</code>, or null if no requests have been made for that operation
+     */
+    public OperationStats getStats(String operation) {
+        return stats.get(operation);
+    }
+
+    /**
+     * @return the stats for all operations, keyed by operation name
+     */
+    public Map<String, OperationStats> getAllStats() {
+        return new TreeMap<>(stats);
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetricsAggregator" + getAllStats();
+    }
+
+    public static class OperationStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder retryCount = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+        private final LatencyHistogram totalTime = new LatencyHistogram();
+
+        void record(RequestMetrics metrics) {
+            count.increment();
+            if (metrics.getError() != null || metrics.getStatusCode() >= 400) errorCount.increment();
+            if (metrics.getRetryCount() > 0) retryCount.increment();
+            bytesSent.add(metrics.getBytesSent());
+            bytesReceived.add(metrics.getBytesReceived());
+            if (metrics.getTimeToFirstByteNanos() >= 0)
+                timeToFirstByte.record(metrics.getTimeToFirstByteNanos(), TimeUnit.NANOSECONDS);
+            totalTime.record(metrics.getTotalTimeNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the number of attempts (including retries)
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * @return the number of attempts that failed or received an error response
+         */
+        public long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        /**
+         * @return the number of attempts that were retries
+         */
+        public long getRetryCount() {
+            return retryCount.sum();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        /**
+         * @return time from the start of each attempt until its response headers were received (attempts without a
+         * response are not included)
+         */
+        public LatencyHistogram getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        /**
+         * @return time from the start of each attempt until its response body was read or it failed
+         */
+        public LatencyHistogram getTotalTime() {
+            return totalTime;
+        }
+
+        @Override
+        public String toString() {
+            return "OperationStats{" +
+                    "count=" + getCount() +
+                    ", errorCount=" + getErrorCount() +
+                    ", retryCount=" + getRetryCount() +
+                    ", bytesSent=" + getBytesSent() +
+                    ", bytesReceived=" + getBytesReceived() +
+                    ", timeToFirstByte=" + timeToFirstByte +
+                    ", totalTime=" + totalTime +
+                    '}';
+        }
+    }
+}
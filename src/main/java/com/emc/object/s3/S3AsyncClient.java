@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.CopyObjectResult;
+import com.emc.object.s3.bean.GetObjectResult;
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.PutObjectResult;
+import com.emc.object.s3.request.*;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of the object operations in {@link S3Client}. Each method returns immediately with a
+ * {@link CompletableFuture} that completes with the same result (or exception) the corresponding {@link S3Client}
+ * method would return (or throw). Requests go through the same filters (signing, bucket/namespace handling, error
+ * parsing, checksums) and the same retry rules, but retry delays are scheduled rather than slept, so no thread is
+ * held by a request that is waiting to be retried.
+ * <p>
+ * This interface is intended for high volumes of small-object requests. Use {@link LargeFileUploader} and
+ * {@link LargeFileDownloader} for large objects.
+ */
+public interface S3AsyncClient {
+    /**
+     * Always call this method before disposing of the client. This will clean up any background threads and
+     * connection pools (if they are owned by this client).
+     */
+    void destroy();
+
+    /**
+     * @see S3Client#putObject(String, String, Object, String)
+     */
+    CompletableFuture<PutObjectResult> putObject(String bucketName, String key, Object content, String contentType);
+
+    /**
+     * @see S3Client#putObject(PutObjectRequest)
+     */
+    CompletableFuture<PutObjectResult> putObject(PutObjectRequest request);
+
+    /**
+     * @see S3Client#copyObject(CopyObjectRequest)
+     */
+    CompletableFuture<CopyObjectResult> copyObject(CopyObjectRequest request);
+
+    /**
+     * The future completes with <code>null</code> for 304 and 412 responses (failed preconditions).
+     *
+     * @see S3Client#readObject(String, String, Class)
+     */
+    <T> CompletableFuture<T> readObject(String bucketName, String key, Class<T> objectType);
+
+    /**
+     * The future completes with <code>null</code> for 304 and 412 responses (failed preconditions). If requesting an
+     * {@link InputStream}, be sure to close the stream to release the connection.
+     *
+     * @see S3Client#getObject(GetObjectRequest, Class)
+     */
+    <T> CompletableFuture<GetObjectResult<T>> getObject(GetObjectRequest request, Class<T> objectType);
+
+    /**
+     * @see S3Client#getObjectMetadata(String, String)
+     */
+    CompletableFuture<S3ObjectMetadata> getObjectMetadata(String bucketName, String key);
+
+    /**
+     * The future completes with <code>null</code> for 304 and 412 responses (failed preconditions).
+     *
+     * @see S3Client#getObjectMetadata(GetObjectMetadataRequest)
+     */
+    CompletableFuture<S3ObjectMetadata> getObjectMetadata(GetObjectMetadataRequest request);
+
+    /**
+     * @see S3Client#deleteObject(String, String)
+     */
+    CompletableFuture<Void> deleteObject(String bucketName, String key);
+
+    /**
+     * @see S3Client#deleteObject(DeleteObjectRequest)
+     */
+    CompletableFuture<Void> deleteObject(DeleteObjectRequest request);
+
+    /**
+     * @see S3Client#listObjects(String)
+     */
+    CompletableFuture<ListObjectsResult> listObjects(String bucketName);
+
+    /**
+     * @see S3Client#listObjects(ListObjectsRequest)
+     */
+    CompletableFuture<ListObjectsResult> listObjects(ListObjectsRequest request);
+}
@@ -26,6 +26,7 @@
  */
 package com.emc.object.s3;
 
+import com.emc.object.Method;
 import com.emc.object.Protocol;
 import com.emc.object.Range;
 import com.emc.object.s3.bean.*;
@@ -33,7 +34,10 @@ import com.emc.object.s3.request.*;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
 import java.util.Date;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Represents all S3 operations supported by the ECS platform of the corresponding version of this library.  Note that
@@ -252,6 +256,13 @@ public interface S3Client {
      */
     QueryObjectsResult queryMoreObjects(QueryObjectsResult lastResult);
 
+    /**
+     * Lazily streams all objects matching the query in <code>request</code>, across all pages. Subsequent pages are
+     * fetched in the background (up to {@link S3Config#getListPrefetchPages()} pages ahead) while earlier pages are
+     * being processed. Close the stream if you do not consume it completely.
+     */
+    Stream<QueryObject> streamQueryObjects(QueryObjectsRequest request);
+
     /**
      * Lists all objects in <code>bucketName</code> with no restrictions
      */
@@ -267,11 +278,26 @@ public interface S3Client {
      */
     ListObjectsResult listObjects(ListObjectsRequest request);
 
+    /**
+     * Lists one page of objects like {@link #listObjects(ListObjectsRequest)}, but passes each object to
+     * <code>objectConsumer</code> as it is read from the response instead of collecting it, so the page is never held
+     * in memory. The returned result has everything else (markers, common prefixes, etc.) but no objects.
+     */
+    ListObjectsResult listObjects(ListObjectsRequest request, Consumer<S3Object> objectConsumer);
+
     /**
      * Gets the next page of objects using the results of a previous list-objects call
      */
     ListObjectsResult listMoreObjects(ListObjectsResult lastResult);
 
+    /**
+     * Lazily streams all objects in a bucket matching the parameters in <code>request</code>, across all pages.
+     * Subsequent pages are fetched in the background (up to {@link S3Config#getListPrefetchPages()} pages ahead) while
+     * earlier pages are being processed. Common prefixes are not included. Close the stream if you do not consume it
+     * completely.
+     */
+    Stream<S3Object> streamObjects(ListObjectsRequest request);
+
     /**
      * Lists all versions of all objects in <code>bucketName</code> that start with <code>prefix</code>
      */
@@ -282,11 +308,26 @@ public interface S3Client {
      */
     ListVersionsResult listVersions(ListVersionsRequest request);
 
+    /**
+     * Lists one page of versions like {@link #listVersions(ListVersionsRequest)}, but passes each version (or delete
+     * marker) to <code>versionConsumer</code> as it is read from the response instead of collecting it, so the page is
+     * never held in memory. The returned result has everything else (markers, common prefixes, etc.) but no versions.
+     */
+    ListVersionsResult listVersions(ListVersionsRequest request, Consumer<AbstractVersion> versionConsumer);
+
     /**
      * Gets the next page of object versions using the results of a previous list-versions call
      */
     ListVersionsResult listMoreVersions(ListVersionsResult lastResult);
 
+    /**
+     * Lazily streams all versions (and delete markers) in a bucket matching the parameters in <code>request</code>,
+     * across all pages. Subsequent pages are fetched in the background (up to {@link S3Config#getListPrefetchPages()}
+     * pages ahead) while earlier pages are being processed. Common prefixes are not included. Close the stream if you
+     * do not consume it completely.
+     */
+    Stream<AbstractVersion> streamVersions(ListVersionsRequest request);
+
     /**
      * Creates or overwrites an object in <code>bucketName</code> named <code>key</code> containing <code>content</code>
      * and having <code>contentType</code>
@@ -310,6 +351,15 @@ public interface S3Client {
      */
     long appendObject(String bucketName, String key, Object content);
 
+    /**
+     * Opens an OutputStream that writes object <code>key</code> in bucket <code>bucketName</code> when the size of
+     * the content is not known in advance. Small content is written with a single PUT; larger content is written
+     * with a parallel MPU that is completed when the stream is closed.
+     *
+     * @see S3ObjectOutputStream
+     */
+    S3ObjectOutputStream openObjectOutputStream(String bucketName, String key);
+
     /**
      * Remotely copies object <code>sourceKey</code> in bucket <code>sourceBucketName</code> to <code>key</code> in
      * <code>bucketName</code>
@@ -371,6 +421,22 @@ public interface S3Client {
      */
     URL getPresignedUrl(PresignedUrlRequest request);
 
+    /**
+     * Returns a generator of pre-signed URLs to read many objects in bucket <code>bucketName</code>. All URLs will be
+     * valid until <code>expirationTime</code>
+     *
+     * @see #getPresignedUrlGenerator(Method, String, Date)
+     */
+    PresignedUrlGenerator getPresignedUrlGenerator(String bucketName, Date expirationTime);
+
+    /**
+     * Returns a generator of pre-signed URLs for many objects in bucket <code>bucketName</code>, all using
+     * <code>method</code> and valid until <code>expirationTime</code>. The signing components shared by the batch are
+     * computed once, which makes this much cheaper than calling {@link #getPresignedUrl(PresignedUrlRequest)} per key
+     * when generating large numbers of URLs. The generator is thread-safe and may be used with parallel streams
+     */
+    PresignedUrlGenerator getPresignedUrlGenerator(Method method, String bucketName, Date expirationTime);
+
     /**
      * Deletes object <code>key</code> from bucket <code>bucketName</code>
      */
@@ -407,6 +473,19 @@ public interface S3Client {
      */
     S3ObjectMetadata getObjectMetadata(GetObjectMetadataRequest request);
 
+    /**
+     * Gets metadata for many objects concurrently (up to {@link S3Config#getBatchConcurrency()} requests at a time).
+     * <code>requests</code> is read lazily as results are consumed, and results are returned in completion order. A
+     * missing object (404) yields a result without metadata rather than an exception. See {@link ObjectMetadataBatch}
+     * for latency statistics. Close the batch if you do not consume all results.
+     */
+    ObjectMetadataBatch getObjectMetadata(Stream<GetObjectMetadataRequest> requests);
+
+    /**
+     * @see #getObjectMetadata(Stream)
+     */
+    ObjectMetadataBatch getObjectMetadata(Collection<GetObjectMetadataRequest> requests);
+
     void setObjectAcl(String bucketName, String key, AccessControlList acl);
 
     void setObjectAcl(String bucketName, String key, CannedAcl cannedAcl);
@@ -67,6 +67,9 @@ public class S3Config extends ObjectConfig<S3Config> {
     public static final int DEFAULT_INITIAL_RETRY_DELAY = 1000; // ms
     public static final int DEFAULT_RETRY_LIMIT = 3;
     public static final int DEFAULT_RETRY_BUFFER_SIZE = 2 * 1024 * 1024;
+    public static final int DEFAULT_LIST_PREFETCH_PAGES = 2;
+    public static final int DEFAULT_BATCH_CONCURRENCY = 16;
+    public static final int DEFAULT_CIRCUIT_BREAKER_COOL_DOWN = 30000; // ms
 
     protected static int defaultPort(Protocol protocol) {
         if (protocol == Protocol.HTTP) return DEFAULT_HTTP_PORT;
@@ -85,6 +88,14 @@ public class S3Config extends ObjectConfig<S3Config> {
     protected float faultInjectionRate = 0.0f;
     protected boolean signMetadataSearch = true;
     protected boolean useV2Signer = true;
+    protected int listPrefetchPages = DEFAULT_LIST_PREFETCH_PAGES;
+    protected boolean useStreamingListParser = true;
+    protected int batchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+    protected boolean retryJitterEnabled = true;
+    protected float retryBudgetRatio = 0.0f;
+    protected int circuitBreakerThreshold = 0;
+    protected int circuitBreakerCoolDown = DEFAULT_CIRCUIT_BREAKER_COOL_DOWN;
+    protected RequestMetricsListener requestMetricsListener;
 
     /**
      * Empty constructor for internal use only!
@@ -131,6 +142,14 @@ public class S3Config extends ObjectConfig<S3Config> {
         this.faultInjectionRate = other.faultInjectionRate;
         this.signMetadataSearch = other.signMetadataSearch;
         this.useV2Signer = other.useV2Signer;
+        this.listPrefetchPages = other.listPrefetchPages;
+        this.useStreamingListParser = other.useStreamingListParser;
+        this.batchConcurrency = other.batchConcurrency;
+        this.retryJitterEnabled = other.retryJitterEnabled;
+        this.retryBudgetRatio = other.retryBudgetRatio;
+        this.circuitBreakerThreshold = other.circuitBreakerThreshold;
+        this.circuitBreakerCoolDown = other.circuitBreakerCoolDown;
+        this.requestMetricsListener = other.requestMetricsListener;
     }
 
     @Override
@@ -281,6 +300,115 @@ public class S3Config extends ObjectConfig<S3Config> {
         this.useV2Signer = useV2Signer;
     }
 
+    @ConfigUriProperty
+    public int getListPrefetchPages() {
+        return listPrefetchPages;
+    }
+
+    /**
+     * Sets the number of pages that object streams (i.e. {@link S3Client#streamObjects(com.emc.object.s3.request.ListObjectsRequest)})
+     * will fetch in the background while the caller is still processing earlier pages. Set to 0 to fetch each page only
+     * when it is needed. Default is 2
+     */
+    public void setListPrefetchPages(int listPrefetchPages) {
+        if (listPrefetchPages < 0) throw new IllegalArgumentException("listPrefetchPages must be >= 0");
+        this.listPrefetchPages = listPrefetchPages;
+    }
+
+    @ConfigUriProperty
+    public boolean isUseStreamingListParser() {
+        return useStreamingListParser;
+    }
+
+    /**
+     * Sets whether list responses (objects, versions, parts and metadata queries) are read with a streaming (StAX)
+     * parser instead of JAXB. The streaming parser is much cheaper for large pages. Default is true
+     */
+    public void setUseStreamingListParser(boolean useStreamingListParser) {
+        this.useStreamingListParser = useStreamingListParser;
+    }
+
+    @ConfigUriProperty
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    /**
+     * Sets the number of requests that batch operations (i.e. {@link S3Client#getObjectMetadata(java.util.stream.Stream)})
+     * will run concurrently. Default is 16
+     */
+    public void setBatchConcurrency(int batchConcurrency) {
+        if (batchConcurrency < 1) throw new IllegalArgumentException("batchConcurrency must be > 0");
+        this.batchConcurrency = batchConcurrency;
+    }
+
+    @ConfigUriProperty
+    public boolean isRetryJitterEnabled() {
+        return retryJitterEnabled;
+    }
+
+    /**
+     * Set to false to wait exactly the exponential backoff delay before each retry. By default, each delay is
+     * randomized between half and all of that value, so that many clients (or threads) that failed at the same time
+     * do not all retry at the same time
+     */
+    public void setRetryJitterEnabled(boolean retryJitterEnabled) {
+        this.retryJitterEnabled = retryJitterEnabled;
+    }
+
+    @ConfigUriProperty
+    public float getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    /**
+     * Caps retries at this fraction of requests (i.e. 0.1 allows one retry for every 10 requests, after an initial
+     * burst of {@link com.emc.object.util.RetryBudget#DEFAULT_MAX_TOKENS}), so that an outage does not multiply the
+     * load on the service by the retry limit. Disabled (0) by default
+     */
+    public void setRetryBudgetRatio(float retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    @ConfigUriProperty
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    /**
+     * Enables a per-host circuit breaker when &gt; 0. After this many consecutive server or IO errors from a host, the
+     * smart client will avoid that host for {@link #getCircuitBreakerCoolDown()} ms (unless no other host is
+     * available). Has no effect if the smart client is disabled. Disabled (0) by default
+     */
+    public void setCircuitBreakerThreshold(int circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    @ConfigUriProperty
+    public int getCircuitBreakerCoolDown() {
+        return circuitBreakerCoolDown;
+    }
+
+    /**
+     * Number of milliseconds a host is avoided after its circuit breaker opens. Default is 30 seconds
+     */
+    public void setCircuitBreakerCoolDown(int circuitBreakerCoolDown) {
+        this.circuitBreakerCoolDown = circuitBreakerCoolDown;
+    }
+
+    public RequestMetricsListener getRequestMetricsListener() {
+        return requestMetricsListener;
+    }
+
+    /**
+     * Sets a listener to be notified with the {@link RequestMetrics} (operation, bucket, host, status, retries, bytes
+     * and timing) of every request attempt. {@link RequestMetricsAggregator} keeps per-operation totals and latency
+     * histograms. No metrics are collected by default
+     */
+    public void setRequestMetricsListener(RequestMetricsListener requestMetricsListener) {
+        this.requestMetricsListener = requestMetricsListener;
+    }
+
     public S3Config withUseVHost(boolean useVHost) {
         setUseVHost(useVHost);
         return this;
@@ -331,6 +459,46 @@ public class S3Config extends ObjectConfig<S3Config> {
         return this;
     }
 
+    public S3Config withListPrefetchPages(int listPrefetchPages) {
+        setListPrefetchPages(listPrefetchPages);
+        return this;
+    }
+
+    public S3Config withUseStreamingListParser(boolean useStreamingListParser) {
+        setUseStreamingListParser(useStreamingListParser);
+        return this;
+    }
+
+    public S3Config withBatchConcurrency(int batchConcurrency) {
+        setBatchConcurrency(batchConcurrency);
+        return this;
+    }
+
+    public S3Config withRetryJitterEnabled(boolean retryJitterEnabled) {
+        setRetryJitterEnabled(retryJitterEnabled);
+        return this;
+    }
+
+    public S3Config withRetryBudgetRatio(float retryBudgetRatio) {
+        setRetryBudgetRatio(retryBudgetRatio);
+        return this;
+    }
+
+    public S3Config withCircuitBreakerThreshold(int circuitBreakerThreshold) {
+        setCircuitBreakerThreshold(circuitBreakerThreshold);
+        return this;
+    }
+
+    public S3Config withCircuitBreakerCoolDown(int circuitBreakerCoolDown) {
+        setCircuitBreakerCoolDown(circuitBreakerCoolDown);
+        return this;
+    }
+
+    public S3Config withRequestMetricsListener(RequestMetricsListener requestMetricsListener) {
+        setRequestMetricsListener(requestMetricsListener);
+        return this;
+    }
+
     @Override
     public String toString() {
         return "S3Config{" +
@@ -344,6 +512,14 @@ public class S3Config extends ObjectConfig<S3Config> {
                 ", faultInjectionRate=" + faultInjectionRate +
                 ", signMetadataSearch=" + signMetadataSearch +
                 ", useV2Signer=" + useV2Signer +
+                ", listPrefetchPages=" + listPrefetchPages +
+                ", useStreamingListParser=" + useStreamingListParser +
+                ", batchConcurrency=" + batchConcurrency +
+                ", retryJitterEnabled=" + retryJitterEnabled +
+                ", retryBudgetRatio=" + retryBudgetRatio +
+                ", circuitBreakerThreshold=" + circuitBreakerThreshold +
+                ", circuitBreakerCoolDown=" + circuitBreakerCoolDown +
+                ", requestMetricsListener=" + requestMetricsListener +
                 "} " + super.toString();
     }
 }
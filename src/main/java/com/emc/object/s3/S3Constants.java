@@ -101,6 +101,11 @@ public final class S3Constants {
 
     public static final String PROPERTY_BUCKET_NAME = "com.emc.object.s3.bucketName";
     public static final String PROPERTY_OBJECT_KEY = "com.emc.object.s3.objectKey";
+    /**
+     * If true, a 404 response is passed back to the caller instead of being thrown as an {@link S3Exception}. Used
+     * where a missing object is an expected outcome, so misses do not pay for building an exception.
+     */
+    public static final String PROPERTY_ACCEPT_NOT_FOUND = "com.emc.object.s3.acceptNotFound";
 
     public static final String ERROR_NO_SUCH_KEY = "NoSuchKey";
     public static final String ERROR_NO_SUCH_BUCKET = "NoSuchBucket";
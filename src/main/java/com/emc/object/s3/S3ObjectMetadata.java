@@ -64,8 +64,8 @@ public class S3ObjectMetadata {
         objectMetadata.cacheControl = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CACHE_CONTROL);
         objectMetadata.contentDisposition = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_DISPOSITION);
         objectMetadata.contentEncoding = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_ENCODING);
-        if (RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_LENGTH) != null)
-            objectMetadata.contentLength = Long.parseLong(RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_LENGTH));
+        String contentLength = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_LENGTH);
+        if (contentLength != null) objectMetadata.contentLength = Long.parseLong(contentLength);
         objectMetadata.contentMd5 = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_MD5);
         objectMetadata.contentType = RestUtil.getFirstAsString(headers, RestUtil.HEADER_CONTENT_TYPE);
         objectMetadata.eTag = RestUtil.getFirstAsString(headers, RestUtil.HEADER_ETAG, true);
@@ -79,18 +79,16 @@ public class S3ObjectMetadata {
             objectMetadata.lastModified = RestUtil.headerParse(RestUtil.getFirstAsString(headers, RestUtil.HEADER_LAST_MODIFIED));
 
         objectMetadata.versionId = RestUtil.getFirstAsString(headers, S3Constants.AMZ_VERSION_ID);
-        if (RestUtil.getFirstAsString(headers, RestUtil.EMC_RETENTION_PERIOD) != null) {
-            objectMetadata.retentionPeriod = Long.parseLong(RestUtil.getFirstAsString(headers, RestUtil.EMC_RETENTION_PERIOD));
-        }
+        String retentionPeriod = RestUtil.getFirstAsString(headers, RestUtil.EMC_RETENTION_PERIOD);
+        if (retentionPeriod != null) objectMetadata.retentionPeriod = Long.parseLong(retentionPeriod);
         objectMetadata.retentionPolicy = RestUtil.getFirstAsString(headers, RestUtil.EMC_RETENTION_POLICY);
         objectMetadata.expirationDate = getExpirationDate(headers);
         objectMetadata.expirationRuleId = getExpirationRuleId(headers);
         objectMetadata.userMetadata = getUserMetadata(headers);
         objectMetadata.objectLockLegalHold = getObjectLockLegalHold(headers);
         objectMetadata.objectLockRetention = getObjectLockRetention(headers);
-        if (RestUtil.getFirstAsString(headers, S3Constants.AMZ_TAGGING_COUNT) != null) {
-            objectMetadata.taggingCount = Integer.parseInt(RestUtil.getFirstAsString(headers, S3Constants.AMZ_TAGGING_COUNT));
-        }
+        String taggingCount = RestUtil.getFirstAsString(headers, S3Constants.AMZ_TAGGING_COUNT);
+        if (taggingCount != null) objectMetadata.taggingCount = Integer.parseInt(taggingCount);
         objectMetadata.serverSideEncryption = SseAlgorithm.fromHeaderValue(
                 RestUtil.getFirstAsString(headers, S3Constants.AMZ_SERVER_SIDE_ENCRYPTION));
         return objectMetadata;
@@ -124,10 +122,13 @@ public class S3ObjectMetadata {
 
     public static <T> Map<String, String> getUserMetadata(Map<String, List<T>> headers) {
         Map<String, String> userMetadata = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
-        for (String name : headers.keySet()) {
-            String key = getUserMetadataKey(name);
+        for (Map.Entry<String, List<T>> header : headers.entrySet()) {
+            String key = getUserMetadataKey(header.getKey());
             if (key != null) {
-                userMetadata.put(key, RestUtil.getFirstAsString(headers, name));
+                // same as getFirstAsString(), without looking the header up again
+                List<T> values = header.getValue();
+                Object value = values == null || values.isEmpty() ? null : values.get(0);
+                userMetadata.put(key, value == null ? null : value.toString());
             }
         }
         return userMetadata;
@@ -158,6 +159,31 @@ public class S3ObjectMetadata {
         return null;
     }
 
+    // a copy that can be changed (i.e. the content length) without affecting this instance
+    S3ObjectMetadata copy() {
+        S3ObjectMetadata copy = new S3ObjectMetadata();
+        copy.cacheControl = cacheControl;
+        copy.contentDisposition = contentDisposition;
+        copy.contentEncoding = contentEncoding;
+        copy.contentLength = contentLength;
+        copy.contentMd5 = contentMd5;
+        copy.contentType = contentType;
+        copy.eTag = eTag;
+        copy.retentionPeriod = retentionPeriod;
+        copy.retentionPolicy = retentionPolicy;
+        copy.expirationDate = expirationDate;
+        copy.expirationRuleId = expirationRuleId;
+        copy.httpExpires = httpExpires;
+        copy.lastModified = lastModified;
+        copy.versionId = versionId;
+        copy.objectLockLegalHold = objectLockLegalHold;
+        copy.objectLockRetention = objectLockRetention;
+        copy.serverSideEncryption = serverSideEncryption;
+        if (userMetadata != null) copy.userMetadata.putAll(userMetadata);
+        copy.taggingCount = taggingCount;
+        return copy;
+    }
+
     public Map<String, List<Object>> toHeaders() {
         Map<String, List<Object>> headers = new HashMap<String, List<Object>>();
         RestUtil.putSingle(headers, RestUtil.HEADER_CACHE_CONTROL, cacheControl);
@@ -0,0 +1,465 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.*;
+import com.emc.object.s3.lfu.PartBufferPool;
+import com.emc.object.s3.request.AbortMultipartUploadRequest;
+import com.emc.object.s3.request.CompleteMultipartUploadRequest;
+import com.emc.object.s3.request.InitiateMultipartUploadRequest;
+import com.emc.object.s3.request.PutObjectRequest;
+import com.emc.object.s3.request.UploadPartRequest;
+import com.emc.object.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An OutputStream that writes an object of unknown size. The first <code>partSize</code> bytes are buffered in
+ * memory. If the stream is closed before that buffer fills, the object is written with a single PUT. Otherwise, an MPU
+ * is initiated and each part is uploaded in the background as soon as it is full, with up to <code>threads</code>
+ * parts in flight. The MPU is completed when the stream is closed. Writes block when all part buffers are in use, so
+ * memory is capped at <code>(threads + 1) * partSize</code>.
+ * <p>
+ * Note that {@link #close()} always commits the data written so far. If the producer fails and the object should
+ * <em>not</em> be created, call {@link #abort()} instead (a subsequent call to <code>close()</code> is a no-op).
+ * Since the size is unknown, the maximum object size is <code>partSize * {@link LargeFileUploader#MAX_PARTS}</code>.
+ * <p>
+ * Configuration (part size, threads, metadata, ACLs) must be set before the first byte is written.
+ */
+public class S3ObjectOutputStream extends OutputStream {
+
+    private static final Logger log = LoggerFactory.getLogger(S3ObjectOutputStream.class);
+
+    public static final int DEFAULT_PART_SIZE = 32 * 1024 * 1024; // 32MB
+    public static final int DEFAULT_THREADS = 4;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+
+    private int partSize = DEFAULT_PART_SIZE;
+    private int threads = DEFAULT_THREADS;
+    private ExecutorService executorService;
+    private boolean externalExecutorService;
+    private S3ObjectMetadata objectMetadata;
+    private AccessControlList acl;
+    private CannedAcl cannedAcl;
+
+    private PartBufferPool bufferPool;
+    private byte[] buffer;
+    private int position;
+    private long bytesWritten;
+    private int partNumber = 0;
+    private String uploadId;
+    private final List<Future<MultipartPartETag>> futures = new ArrayList<>();
+    private final AtomicBoolean failed = new AtomicBoolean(false);
+    private boolean closed;
+
+    private String eTag;
+    private String versionId;
+
+    public S3ObjectOutputStream(S3Client s3Client, String bucket, String key) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureBuffer();
+        if (position == buffer.length) flushPart();
+        buffer[position++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+        ensureBuffer();
+        while (len > 0) {
+            // only send a full buffer when there is more data, so a stream of exactly partSize bytes is a single PUT
+            if (position == buffer.length) flushPart();
+            int count = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, count);
+            position += count;
+            off += count;
+            len -= count;
+            bytesWritten += count;
+        }
+    }
+
+    /**
+     * Parts can only be sent when they are full, so this is a no-op (other than checking for a failed part upload)
+     */
+    @Override
+    public void flush() throws IOException {
+        if (closed) throw new IOException("stream is closed");
+        checkFailure();
+    }
+
+    /**
+     * Writes any buffered data and commits the object. If the data did not exceed one part, a single PUT is used,
+     * otherwise, the last part is uploaded and the MPU is completed. If any part fails, the MPU is aborted and an
+     * IOException is thrown.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        try {
+            if (uploadId == null) {
+                // never filled the first buffer - write a single object (straight from the buffer)
+                S3ObjectMetadata metadata = objectMetadata == null ? new S3ObjectMetadata() : objectMetadata.copy();
+                metadata.setContentLength((long) position);
+                InputStream data = buffer == null ? new ByteArrayInputStream(new byte[0])
+                        : new ByteArrayInputStream(buffer, 0, position);
+                PutObjectRequest request = new PutObjectRequest(bucket, key, data);
+                request.setObjectMetadata(metadata);
+                request.setAcl(acl);
+                request.setCannedAcl(cannedAcl);
+                PutObjectResult result = s3Client.putObject(request);
+                eTag = result.getRawETag();
+                versionId = result.getVersionId();
+            } else {
+                if (position > 0) submitPart();
+
+                TreeSet<MultipartPartETag> parts = new TreeSet<>();
+                for (Future<MultipartPartETag> future : futures) {
+                    parts.add(future.get());
+                }
+
+                CompleteMultipartUploadResult result = s3Client.completeMultipartUpload(
+                        new CompleteMultipartUploadRequest(bucket, key, uploadId).withParts(parts));
+                eTag = result.getRawETag();
+                versionId = result.getVersionId();
+            }
+        } catch (ExecutionException e) {
+            abortMpu();
+            throw new IOException("error uploading part", e.getCause());
+        } catch (InterruptedException e) {
+            abortMpu();
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for parts to upload", e);
+        } catch (RuntimeException | IOException e) {
+            abortMpu();
+            throw e;
+        } finally {
+            cleanUp();
+        }
+    }
+
+    /**
+     * Discards all data written to this stream. Any in-progress MPU is aborted and no object is created or
+     * overwritten. After this call, {@link #close()} is a no-op.
+     */
+    public void abort() {
+        if (closed) return;
+        closed = true;
+        abortMpu();
+        cleanUp();
+    }
+
+    private void ensureBuffer() throws IOException {
+        if (closed) throw new IOException("stream is closed");
+        if (buffer == null) {
+            bufferPool = new PartBufferPool(partSize, threads + 1);
+            buffer = nextBuffer();
+        }
+    }
+
+    private void flushPart() throws IOException {
+        checkFailure();
+        if (uploadId == null) initMpu();
+        submitPart();
+        buffer = nextBuffer();
+    }
+
+    private void initMpu() {
+        // the caller's metadata is not changed
+        S3ObjectMetadata metadata = objectMetadata == null ? null : objectMetadata.copy();
+        if (metadata != null) metadata.setContentLength(null);
+        InitiateMultipartUploadRequest request = new InitiateMultipartUploadRequest(bucket, key);
+        request.setObjectMetadata(metadata);
+        request.setAcl(acl);
+        request.setCannedAcl(cannedAcl);
+        uploadId = s3Client.initiateMultipartUpload(request).getUploadId();
+        log.debug("initiated MPU for {}/{} (uploadId: {})", bucket, key, uploadId);
+
+        // daemon threads, so a stream that is dropped without close() or abort() does not keep the JVM alive
+        if (executorService == null) executorService = VirtualThreads.newFixedDaemonThreadPool(threads,
+                VirtualThreads.isEnabledByDefault(), "s3-output-");
+    }
+
+    private void submitPart() throws IOException {
+        if (++partNumber > LargeFileUploader.MAX_PARTS)
+            throw new IOException(String.format("object exceeds %d parts of %,d bytes; use a larger part size",
+                    LargeFileUploader.MAX_PARTS, partSize));
+        futures.add(executorService.submit(new PartTask(partNumber, buffer, position)));
+        buffer = null;
+        position = 0;
+    }
+
+    // blocks until a buffer is free (or a part has failed)
+    private byte[] nextBuffer() throws IOException {
+        try {
+            byte[] next = null;
+            while (next == null) {
+                checkFailure();
+                next = bufferPool.acquire(1, TimeUnit.SECONDS);
+            }
+            return next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for a part buffer", e);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (!failed.get()) return;
+        for (Future<MultipartPartETag> future : futures) {
+            if (future.isDone()) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IOException("error uploading part", e.getCause());
+                } catch (InterruptedException | CancellationException e) {
+                    // ignore (look for the real failure)
+                }
+            }
+        }
+        throw new IOException("error uploading part");
+    }
+
+    private void abortMpu() {
+        if (uploadId == null) return;
+        for (Future<MultipartPartETag> future : futures) {
+            future.cancel(true);
+        }
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (Throwable t) {
+            log.warn("could not abort upload after failure", t);
+        }
+    }
+
+    private void cleanUp() {
+        if (executorService != null && !externalExecutorService) executorService.shutdownNow();
+        if (bufferPool != null) bufferPool.release(buffer);
+        buffer = null;
+    }
+
+    /**
+     * Returns the total number of bytes written to this stream
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns the MPU upload ID, or null if an MPU has not been initiated (the data written so far fits in one part)
+     */
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    /**
+     * Returns the result ETag after the stream is successfully closed.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Returns the result versionId after the stream is successfully closed in a version-enabled bucket.
+     */
+    public String getVersionId() {
+        return versionId;
+    }
+
+    public S3Client getS3Client() {
+        return s3Client;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Sets the size of each part (and of the in-memory buffers). Data smaller than this is written with a single PUT.
+     * Default is {@link #DEFAULT_PART_SIZE}. Must be at least {@link LargeFileUploader#MIN_PART_SIZE}
+     */
+    public void setPartSize(int partSize) {
+        if (partSize < LargeFileUploader.MIN_PART_SIZE)
+            throw new IllegalArgumentException("part size must be at least " + LargeFileUploader.MIN_PART_SIZE);
+        checkNotStarted();
+        this.partSize = partSize;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of parts to upload in parallel. Default is {@link #DEFAULT_THREADS}
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be > 0");
+        checkNotStarted();
+        this.threads = threads;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Allows for providing a custom thread executor. Note that the <code>threads</code> property still limits the
+     * number of part buffers, and the executor will not be shut down when the stream is closed.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        checkNotStarted();
+        this.executorService = executorService;
+        this.externalExecutorService = executorService != null;
+    }
+
+    public S3ObjectMetadata getObjectMetadata() {
+        return objectMetadata;
+    }
+
+    public void setObjectMetadata(S3ObjectMetadata objectMetadata) {
+        checkNotStarted();
+        this.objectMetadata = objectMetadata;
+    }
+
+    public AccessControlList getAcl() {
+        return acl;
+    }
+
+    public void setAcl(AccessControlList acl) {
+        checkNotStarted();
+        this.acl = acl;
+    }
+
+    public CannedAcl getCannedAcl() {
+        return cannedAcl;
+    }
+
+    public void setCannedAcl(CannedAcl cannedAcl) {
+        checkNotStarted();
+        this.cannedAcl = cannedAcl;
+    }
+
+    private void checkNotStarted() {
+        if (buffer != null || closed) throw new IllegalStateException("stream has already been written to");
+    }
+
+    /**
+     * @see #setPartSize(int)
+     */
+    public S3ObjectOutputStream withPartSize(int partSize) {
+        setPartSize(partSize);
+        return this;
+    }
+
+    /**
+     * @see #setThreads(int)
+     */
+    public S3ObjectOutputStream withThreads(int threads) {
+        setThreads(threads);
+        return this;
+    }
+
+    /**
+     * @see #setExecutorService(ExecutorService)
+     */
+    public S3ObjectOutputStream withExecutorService(ExecutorService executorService) {
+        setExecutorService(executorService);
+        return this;
+    }
+
+    public S3ObjectOutputStream withObjectMetadata(S3ObjectMetadata objectMetadata) {
+        setObjectMetadata(objectMetadata);
+        return this;
+    }
+
+    public S3ObjectOutputStream withAcl(AccessControlList acl) {
+        setAcl(acl);
+        return this;
+    }
+
+    public S3ObjectOutputStream withCannedAcl(CannedAcl cannedAcl) {
+        setCannedAcl(cannedAcl);
+        return this;
+    }
+
+    private class PartTask implements Callable<MultipartPartETag> {
+        private final int partNumber;
+        private final byte[] buffer;
+        private final int length;
+
+        PartTask(int partNumber, byte[] buffer, int length) {
+            this.partNumber = partNumber;
+            this.buffer = buffer;
+            this.length = length;
+        }
+
+        @Override
+        public MultipartPartETag call() {
+            log.debug("uploading {}/{}, uploadId: {}, partNumber {} (length: {})", bucket, key, uploadId, partNumber, length);
+            try (InputStream is = new ByteArrayInputStream(buffer, 0, length)) {
+                UploadPartRequest request = new UploadPartRequest(bucket, key, uploadId, partNumber, is);
+                request.setContentLength((long) length);
+                return s3Client.uploadPart(request);
+            } catch (IOException | RuntimeException e) {
+                failed.set(true); // fail subsequent writes
+                if (e instanceof RuntimeException) throw (RuntimeException) e;
+                throw new RuntimeException(e);
+            } finally {
+                bufferPool.release(buffer);
+            }
+        }
+    }
+}
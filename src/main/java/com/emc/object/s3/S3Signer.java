@@ -6,24 +6,39 @@ import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import javax.ws.rs.client.ClientRequestContext;
-import javax.xml.bind.DatatypeConverter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.emc.object.Method;
 import com.emc.object.s3.request.PresignedUrlRequest;
+import com.emc.object.util.ObjectPool;
 
 public abstract class S3Signer {
     protected static final Logger log = LoggerFactory.getLogger(S3Signer.class);
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Mac.getInstance and MessageDigest.getInstance go through a provider lookup on every call, so instances are reused
+    private static final Map<String, ObjectPool<Mac>> macPools = new ConcurrentHashMap<>();
+    private static final ObjectPool<MessageDigest> sha256Pool = new ObjectPool<>(() -> {
+        try {
+            return MessageDigest.getInstance(S3Constants.SHA256);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(S3Constants.SHA256 + " algorithm is not supported on this platform", e);
+        }
+    });
+
     protected S3Config s3Config;
 
     S3Signer(S3Config s3Config) {
@@ -60,34 +75,47 @@ public abstract class S3Signer {
      */
     public abstract URL generatePresignedUrl(PresignedUrlRequest request);
 
+    /**
+     * Returns a generator for pre-signed URLs of many keys in <code>bucketName</code> that share
+     * <code>method</code> and <code>expirationTime</code>. By default, each URL is signed individually
+     */
+    public PresignedUrlGenerator newPresignedUrlGenerator(Method method, String bucketName, Date expirationTime) {
+        return new PresignedUrlGenerator(this, method, bucketName, expirationTime);
+    }
+
     protected abstract SortedMap<String, String> getCanonicalizedHeaders(Map<String, List<Object>> headers,
                                                               Map<String, String> parameters);
 
 
     // generalized utility function to get hmac values
     protected byte[] hmac(String algorithm, byte[] secretKey, String message) {
+        ObjectPool<Mac> pool = macPools.computeIfAbsent(algorithm, a -> new ObjectPool<>(() -> {
+            try {
+                return Mac.getInstance(a);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(a + " algorithm is not supported on this platform", e);
+            }
+        }));
+        Mac mac = pool.acquire();
         try {
-            Mac mac = Mac.getInstance(algorithm);
-            mac.init(new SecretKeySpec(secretKey, algorithm));
+            mac.init(new SecretKeySpec(secretKey, algorithm)); // also resets any previous state
             byte[] result = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
             log.debug("hmac of {} and {}:\n{}", secretKey, message, result);
             return result;
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(algorithm + " algorithm is not supported on this platform", e);
         } catch (InvalidKeyException e) {
             throw new RuntimeException("The secret key is not valid", e);
+        } finally {
+            pool.release(mac);
         }
     }
 
     protected static byte[] hash256(String stringToHash) {
-        MessageDigest digest = null;
+        MessageDigest digest = sha256Pool.acquire();
         try {
-            digest = MessageDigest.getInstance(S3Constants.SHA256);
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
+            return digest.digest(stringToHash.getBytes(StandardCharsets.UTF_8)); // digest() resets the instance
+        } finally {
+            sha256Pool.release(digest);
         }
-        byte[] hash = digest.digest(stringToHash.getBytes(StandardCharsets.UTF_8));
-        return hash;
     }
 
 
@@ -95,14 +123,13 @@ public abstract class S3Signer {
      * encode byte string to hex - required for v4 auth
      * */
     protected static String hexEncode(byte[] arg) {
-        String hexString = DatatypeConverter.printHexBinary(arg);
-        if (hexString != null) {
-            // return value of DatatypeConverter.printHexBinary is uppercase,
-            // need to convert to lowercase
-            return hexString.toLowerCase();
-        } else {
-            return null;
+        if (arg == null) return null;
+        char[] hex = new char[arg.length * 2];
+        for (int i = 0; i < arg.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(arg[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[arg[i] & 0xf];
         }
+        return new String(hex);
     }
 
     protected String trimAndJoin(List<Object> values, String delimiter) {
@@ -31,9 +31,7 @@ import com.emc.object.s3.jersey.NamespaceFilter;
 import com.emc.object.s3.request.PresignedUrlRequest;
 import com.emc.object.util.RestUtil;
 import javax.ws.rs.client.ClientRequestContext;
-import org.apache.commons.codec.binary.Base64;
 
-import javax.xml.bind.DatatypeConverter;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
@@ -41,6 +39,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public final class S3SignerV2 extends S3Signer {
+    private static final int STRING_TO_SIGN_CAPACITY = 256;
+
     private SortedSet<String> signedParameters;
 
     public S3SignerV2(S3Config s3Config) {
@@ -86,7 +86,7 @@ public final class S3SignerV2 extends S3Signer {
 
     @Override
     protected String getSignature(String stringToSign, byte[] signingKey) {
-        return DatatypeConverter.printBase64Binary(
+        return Base64.getEncoder().encodeToString(
                 hmac(S3Constants.HMAC_SHA_1,
                         s3Config.getSecretKey().getBytes(StandardCharsets.UTF_8),
                         stringToSign));
@@ -169,7 +169,7 @@ public final class S3SignerV2 extends S3Signer {
 
     String getStringToSign(String method, String resource, Map<String, String> parameters,
                            Map<String, List<Object>> headers) {
-        StringBuilder stringToSign = new StringBuilder();
+        StringBuilder stringToSign = new StringBuilder(STRING_TO_SIGN_CAPACITY);
 
         // method line
         stringToSign.append(method).append("\n");
@@ -190,10 +190,8 @@ public final class S3SignerV2 extends S3Signer {
 
         // canonicalized headers
         // signature v4 requires at least one more header - consider externalizing to abstract function?
-        SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
-        for (String name : canonicalizedHeaders.keySet()) {
-            stringToSign.append(name).append(":").append(canonicalizedHeaders.get(name).trim());
-            stringToSign.append("\n");
+        for (Map.Entry<String, String> header : getCanonicalizedHeaders(headers, parameters).entrySet()) {
+            stringToSign.append(header.getKey()).append(':').append(header.getValue().trim()).append('\n');
         }
 
         // resource path (includes signed parameters)
@@ -209,7 +207,7 @@ public final class S3SignerV2 extends S3Signer {
         }
 
         String stringToSignStr = stringToSign.toString();
-        log.debug("stringToSign:\n" + stringToSignStr);
+        log.debug("stringToSign:\n{}", stringToSignStr);
         return stringToSignStr;
     }
 
@@ -1,5 +1,6 @@
 package com.emc.object.s3;
 
+import com.emc.object.Method;
 import com.emc.object.s3.jersey.BucketFilter;
 import com.emc.object.s3.jersey.NamespaceFilter;
 import com.emc.object.s3.request.PresignedUrlRequest;
@@ -22,9 +23,27 @@ public class S3SignerV4 extends S3Signer {
     //The timestamp must be in UTC and in the following ISO 8601 format: YYYYMMDD'T'HHMMSS'Z'
     private static final String AMZ_DATE_FORMAT = "yyyyMMdd'T'HHmmss'Z'";
     private static final String AMZ_DATE_FORMAT_SHORT = "yyyyMMdd";
+    // formatters are immutable and thread-safe, so build them once
+    private static final DateTimeFormatter HEADER_DATE_FORMATTER = DateTimeFormatter.ofPattern(HEADER_DATE_FORMAT).withLocale(Locale.US);
+    private static final DateTimeFormatter AMZ_DATE_FORMATTER = DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT).withLocale(Locale.US);
+    private static final DateTimeFormatter AMZ_DATE_SHORT_FORMATTER = DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT_SHORT).withLocale(Locale.US);
     private static final long PRESIGN_URL_MAX_EXPIRATION_SECONDS = 60 * 60 * 24 * 7;
     private static final String HASHED_EMPTY_PAYLOAD = hexEncode(hash256(""));
-    
+    private static final int MAX_CACHED_SIGNING_KEYS = 16;
+    private static final int CANONICAL_REQUEST_CAPACITY = 512;
+    private static final String SIGNATURE_PARAM = "X-Amz-Signature";
+
+    // least-recently-used first, so a full cache evicts one stale date at a time. The cache only holds keys for one
+    // secret key, so it is cleared when the secret changes (guarded by itself)
+    final Map<String, byte[]> signingKeyCache =
+            new LinkedHashMap<String, byte[]>(MAX_CACHED_SIGNING_KEYS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > MAX_CACHED_SIGNING_KEYS;
+                }
+            };
+    private String cachedSecretKey;
+
     public S3SignerV4(S3Config s3Config) {
         super(s3Config);
     }
@@ -50,22 +69,17 @@ public class S3SignerV4 extends S3Signer {
         String shortDate = getShortDate(date);
         addHeadersForV4(uri, date, headers);
 
+        // canonical headers are needed for both the canonical request and the authorization header
+        SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
+        String signedHeaders = getSignedHeaders(canonicalizedHeaders);
+
         // #1 Create a canonical request for Signature Version 4
-        String canonicalRequest = getCanonicalRequest(method, uri, parameters, headers, false);
+        String canonicalRequest = getCanonicalRequest(method, uri, parameters, canonicalizedHeaders, signedHeaders, false);
 
         // #2 Create a string to sign for Signature Version 4
-        String stringToSign = getStringToSign(method, resource, parameters, headers, date, serviceType, canonicalRequest);
+        String stringToSign = getStringToSign(date, shortDate, serviceType, canonicalRequest);
         log.debug("StringToSign: {}", stringToSign);
 
-        // Get signed headers
-        SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
-        StringBuilder signedHeaders = new StringBuilder();
-        for (String name : canonicalizedHeaders.keySet()) {
-            if (signedHeaders.length() != 0)
-                signedHeaders.append(";");
-            signedHeaders.append(name);
-        }
-
         // #3 Calculate the signature for AWS Signature Version 4
         byte[] key = getSigningKey(shortDate, serviceType);
         String signature = getSignature(stringToSign, key);
@@ -73,8 +87,7 @@ public class S3SignerV4 extends S3Signer {
 
         // #4 Adding signing information to the authorization header
         RestUtil.putSingle(headers, "Authorization", S3Constants.AWS_HMAC_SHA256_ALGORITHM +
-                " Credential=" + s3Config.getIdentity() + "/" + shortDate +
-                "/" + S3Constants.AWS_DEFAULT_REGION + "/" + serviceType + "/" + S3Constants.AWS_V4_TERMINATOR +
+                " Credential=" + s3Config.getIdentity() + "/" + getScope(shortDate, serviceType) +
                 ", SignedHeaders=" + signedHeaders + ", " + S3Constants.PARAM_SIGNATURE + "=" + signature);
     }
 
@@ -92,6 +105,14 @@ public class S3SignerV4 extends S3Signer {
     }
 
     protected String getCanonicalRequest(String method, URI uri, Map<String, String> parameters, Map<String, List<Object>> headers, Boolean isForPresignedUrl) {
+        SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
+        return getCanonicalRequest(method, uri, parameters, canonicalizedHeaders, getSignedHeaders(canonicalizedHeaders),
+                isForPresignedUrl);
+    }
+
+    private String getCanonicalRequest(String method, URI uri, Map<String, String> parameters,
+                                       SortedMap<String, String> canonicalizedHeaders, String signedHeaders,
+                                       boolean isForPresignedUrl) {
         /*
         CanonicalRequest =
             HTTPRequestMethod + '\n' +
@@ -110,37 +131,21 @@ public class S3SignerV4 extends S3Signer {
             SignedHeaders + '\n' +
             UNSIGNED-PAYLOAD
          */
-        StringBuilder canonicalRequest = new StringBuilder();
-        canonicalRequest.append(method).append("\n");
+        StringBuilder canonicalRequest = new StringBuilder(CANONICAL_REQUEST_CAPACITY);
+        canonicalRequest.append(method).append('\n');
         // Double-slash between endpoint and resource-path is escaped into "/%2F"
         // E.g. /s3-bucket//objectPrefix/testObject1 -> /s3-bucket/%2FobjectPrefix/testObject1
         // However authentication signature is build based on non-encoded double-slash value
-        if (uri != null) {
-            String uriString = uri.toString().replaceAll("%2F", "/");
-            try {
-                uri = new URI(uriString);
-            }
-            catch(URISyntaxException e) {
-                throw new RuntimeException("Invalid URI syntax", e);
-            }
-        }
         String resource = RestUtil.getEncodedPath(uri);
-        canonicalRequest.append(resource).append("\n");
-        canonicalRequest.append(getCanonicalizedQueryString(parameters));
+        if (resource.contains("%2F")) resource = resource.replace("%2F", "/");
+        canonicalRequest.append(resource).append('\n');
+        appendCanonicalizedQueryString(canonicalRequest, parameters);
 
-        SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
-        StringBuilder signedHeaders = new StringBuilder();
-        for (String name : canonicalizedHeaders.keySet()) {
-            canonicalRequest.append(name).append(":").append(canonicalizedHeaders.get(name).trim());
-            canonicalRequest.append("\n");
-            if (signedHeaders.length() != 0)
-                signedHeaders.append(";");
-            signedHeaders.append(name);
+        for (Map.Entry<String, String> header : canonicalizedHeaders.entrySet()) {
+            canonicalRequest.append(header.getKey()).append(':').append(header.getValue().trim()).append('\n');
         }
-        canonicalRequest.append("\n");
-
-        signedHeaders.append("\n");
-        canonicalRequest.append(signedHeaders);
+        canonicalRequest.append('\n');
+        canonicalRequest.append(signedHeaders).append('\n');
 
         if(isForPresignedUrl) {
             canonicalRequest.append(S3Constants.AMZ_UNSIGNED_PAYLOAD);
@@ -152,26 +157,26 @@ public class S3SignerV4 extends S3Signer {
         return canonicalRequest.toString();
     }
 
-    private String getCanonicalizedQueryString(Map<String, String> parameters) {
-        StringBuilder queryString = new StringBuilder();
-        if (parameters != null & parameters.size() != 0) {
-            SortedMap<String, String> sortedParameters = new TreeMap<String, String>();
-
-            for (Map.Entry<String, String> parameter : parameters.entrySet()) {
-                sortedParameters.put(parameter.getKey(), RestUtil.urlEncode(parameter.getValue()));
-            }
-            StringBuilder sortedQueryString = new StringBuilder();
+    private void appendCanonicalizedQueryString(StringBuilder canonicalRequest, Map<String, String> parameters) {
+        if (parameters != null && !parameters.isEmpty()) {
+            // parameters may already be sorted (i.e. for presigned URLs)
+            SortedMap<String, String> sortedParameters = parameters instanceof SortedMap
+                    && ((SortedMap<String, String>) parameters).comparator() == null
+                    ? (SortedMap<String, String>) parameters : new TreeMap<>(parameters);
+            boolean first = true;
             for (Map.Entry<String, String> parameter : sortedParameters.entrySet()) {
-                if (sortedQueryString != null && sortedQueryString.length() != 0)
-                    sortedQueryString.append("&");
-                sortedQueryString.append(parameter.getKey()).append("=");
+                if (!first) canonicalRequest.append('&');
+                first = false;
+                canonicalRequest.append(parameter.getKey()).append('=');
                 if (parameter.getValue() != null)
-                    sortedQueryString.append(parameter.getValue());
+                    canonicalRequest.append(RestUtil.urlEncode(parameter.getValue()));
             }
-            queryString.append(sortedQueryString).append("\n");
-        } else
-            queryString.append("\n");
-        return queryString.toString();
+        }
+        canonicalRequest.append('\n');
+    }
+
+    private String getSignedHeaders(SortedMap<String, String> canonicalizedHeaders) {
+        return String.join(";", canonicalizedHeaders.keySet());
     }
 
     @Override
@@ -195,35 +200,48 @@ public class S3SignerV4 extends S3Signer {
 
     protected String getStringToSign(String method, String resource, Map<String, String> parameters,
                                      Map<String, List<Object>> headers, String date, String service, String canonicalRequest) {
-        StringBuilder stringToSign = new StringBuilder();
-        stringToSign.append(S3Constants.AWS_HMAC_SHA256_ALGORITHM).append("\n");
-        stringToSign.append(date).append("\n");
+        return getStringToSign(date, getShortDate(date), service, canonicalRequest);
+    }
 
-        // convert date format
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT).withLocale(Locale.US);
-        try {
-            LocalDateTime dateTime = LocalDateTime.parse(date, formatter);
-            date = DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT_SHORT).withLocale(Locale.US).format(dateTime);
+    private String getStringToSign(String date, String shortDate, String service, String canonicalRequest) {
+        return S3Constants.AWS_HMAC_SHA256_ALGORITHM + '\n' +
+                date + '\n' +
+                getScope(shortDate, service) + '\n' +
+                hexEncode(hash256(canonicalRequest));
+    }
+
+    /**
+     * Returns the derived signing key for <code>date</code> (yyyyMMdd) and <code>service</code>. The key only changes
+     * once a day, so it is cached (per date and service, for the current secret key) to avoid four HMAC computations
+     * per request. The secret key is compared by reference first, so a cache hit does no hashing.
+     */
+    protected byte[] getSigningKey(String date, String service) {
+        String secretKey = s3Config.getSecretKey();
+        String cacheKey = date + '/' + service;
+        byte[] signingKey;
+        synchronized (signingKeyCache) {
+            if (!Objects.equals(secretKey, cachedSecretKey)) {
+                signingKeyCache.clear();
+                cachedSecretKey = secretKey;
+            }
+            signingKey = signingKeyCache.get(cacheKey);
         }
-        catch(DateTimeException e) {
-            throw new RuntimeException("invalid date header: " + date, e);
+        if (signingKey == null) {
+            signingKey = deriveSigningKey(secretKey, date, service);
+            synchronized (signingKeyCache) {
+                // don't cache a key for a secret that was changed in the meantime
+                if (Objects.equals(secretKey, cachedSecretKey)) signingKeyCache.put(cacheKey, signingKey);
+            }
         }
-        stringToSign.append(getScope(date, service)).append("\n");
-
-        // get hashedCanonicalRequest
-        byte[] hash = hash256(canonicalRequest);
-        String hashedRequest = hexEncode(hash);
-
-        stringToSign.append(hashedRequest);
-        return stringToSign.toString();
+        return signingKey.clone();
     }
 
-    protected byte[] getSigningKey(String date, String service) {
+    private byte[] deriveSigningKey(String secretKey, String date, String service) {
         return hmac(S3Constants.HMAC_SHA_256,
                 hmac(S3Constants.HMAC_SHA_256,
                         hmac(S3Constants.HMAC_SHA_256,
                                 hmac(S3Constants.HMAC_SHA_256,
-                                        (S3Constants.AWS_V4 + s3Config.getSecretKey()).getBytes(StandardCharsets.UTF_8), date),
+                                        (S3Constants.AWS_V4 + secretKey).getBytes(StandardCharsets.UTF_8), date),
                                 S3Constants.AWS_DEFAULT_REGION),
                         service),
                 S3Constants.AWS_V4_TERMINATOR
@@ -246,10 +264,8 @@ public class S3SignerV4 extends S3Signer {
         }
 
         // convert date format
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(HEADER_DATE_FORMAT).withLocale(Locale.US);
         try {
-            LocalDateTime dateTime = LocalDateTime.parse(date, formatter);
-            return DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT).withLocale(Locale.US).format(dateTime);
+            return AMZ_DATE_FORMATTER.format(LocalDateTime.parse(date, HEADER_DATE_FORMATTER));
         }
         catch(DateTimeException e) {
             throw new RuntimeException("invalid date header: " + date, e);
@@ -259,10 +275,8 @@ public class S3SignerV4 extends S3Signer {
     protected String getShortDate(String date) {
         // Date must be consistent with timestamp, so extract it
         // from previous date time format instead of get current date
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT).withLocale(Locale.US);
         try {
-            LocalDateTime dateTime = LocalDateTime.parse(date, formatter);
-            return DateTimeFormatter.ofPattern(AMZ_DATE_FORMAT_SHORT).withLocale(Locale.US).format(dateTime);
+            return AMZ_DATE_SHORT_FORMATTER.format(LocalDateTime.parse(date, AMZ_DATE_FORMATTER));
         }
         catch(DateTimeException e) {
             throw new RuntimeException("invalid date: " + date, e);
@@ -330,17 +344,9 @@ public class S3SignerV4 extends S3Signer {
         String shortDate = getShortDate(date);
 
         SortedMap<String, String> canonicalizedHeaders = getCanonicalizedHeaders(headers, parameters);
-        StringBuilder signedHeaders = new StringBuilder();
-        for (String name : canonicalizedHeaders.keySet()) {
-            if (signedHeaders.length() != 0)
-                signedHeaders.append(";");
-            signedHeaders.append(name);
-        }
+        String signedHeaders = getSignedHeaders(canonicalizedHeaders);
 
-        SortedMap<String, String> sortedParameters = new TreeMap();
-        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
-            sortedParameters.put(parameter.getKey(), parameter.getValue());
-        }
+        SortedMap<String, String> sortedParameters = new TreeMap<>(parameters);
 
         sortedParameters.put("Action", method);
         sortedParameters.put("X-Amz-Algorithm", S3Constants.AWS_HMAC_SHA256_ALGORITHM);
@@ -349,14 +355,13 @@ public class S3SignerV4 extends S3Signer {
                 S3Constants.AWS_V4_TERMINATOR));
         sortedParameters.put("X-Amz-Date", date);
         sortedParameters.put("X-Amz-Expires", Long.toString(generateExpiration(request.getExpirationTime())));
-        sortedParameters.put("X-Amz-SignedHeaders", RestUtil.urlDecode(signedHeaders.toString()));
+        sortedParameters.put("X-Amz-SignedHeaders", RestUtil.urlDecode(signedHeaders));
 
         // #1 Create a canonical request for Signature Version 4
-        String canonicalRequest = getCanonicalRequest(method, uri, sortedParameters, headers, true);
-        log.debug("CanonicalRequest: {}", canonicalRequest);
+        String canonicalRequest = getCanonicalRequest(method, uri, sortedParameters, canonicalizedHeaders, signedHeaders, true);
 
         // #2 Create a string to sign for Signature Version 4
-        String stringToSign = getStringToSign(method, resource, parameters, headers, date, serviceType, canonicalRequest);
+        String stringToSign = getStringToSign(date, shortDate, serviceType, canonicalRequest);
         log.debug("StringToSign: {}", stringToSign);
 
         // #3 Calculate the signature for AWS Signature Version 4
@@ -364,7 +369,7 @@ public class S3SignerV4 extends S3Signer {
         String signature = getSignature(stringToSign, key);
         log.debug("Signature: {}", signature);
 
-        sortedParameters.put("X-Amz-Signature", signature);
+        sortedParameters.put(SIGNATURE_PARAM, signature);
         String rawQueryString = RestUtil.generateRawQueryString(sortedParameters);
 
         URI newUri = null;
@@ -382,6 +387,110 @@ public class S3SignerV4 extends S3Signer {
         }
     }
 
+    /**
+     * Returns a generator that fixes the signing date, scope, credential, signing key and endpoint once for the whole
+     * batch, so each key only needs its canonical path, one SHA-256 and one HMAC
+     */
+    @Override
+    public PresignedUrlGenerator newPresignedUrlGenerator(Method method, String bucketName, Date expirationTime) {
+        return new BatchPresignedUrlGenerator(method, bucketName, expirationTime);
+    }
+
+    private class BatchPresignedUrlGenerator extends PresignedUrlGenerator {
+        private final String scheme;
+        private final String host;
+        private final int port;
+        private final String rootContext;
+        private final String bucketPath; // null when the bucket is in the host (vhost)
+        private final String canonicalRequestPrefix;
+        private final String canonicalQuery;
+        private final String canonicalRequestSuffix;
+        private final String stringToSignPrefix;
+        private final byte[] signingKey;
+        private final String queryPrefix;
+        private final String querySuffix;
+
+        BatchPresignedUrlGenerator(Method method, String bucketName, Date expirationTime) {
+            super(S3SignerV4.this, method, bucketName, expirationTime);
+
+            // resolve the endpoint once (same steps as generatePresignedUrl)
+            String namespace = s3Config.getNamespace();
+            URI uri = s3Config.resolvePath("/", null);
+            if (namespace != null) {
+                if (s3Config.isUseVHost()) {
+                    uri = NamespaceFilter.insertNamespace(uri, namespace);
+                } else {
+                    log.warn("vHost namespace is disabled, so there is no way to specify a namespace in a pre-signed URL");
+                }
+            }
+            uri = BucketFilter.insertBucket(uri, bucketName, s3Config.isUseVHost());
+            scheme = uri.getScheme();
+            host = uri.getHost();
+            port = uri.getPort();
+            rootContext = s3Config.getRootContext() != null ? s3Config.getRootContext() : "";
+            bucketPath = s3Config.isUseVHost() ? null : "/" + bucketName;
+
+            String date = getDate(Collections.<String, String>emptyMap(), Collections.<String, List<Object>>emptyMap());
+            String shortDate = getShortDate(date);
+            String serviceType = getServiceType();
+            signingKey = getSigningKey(shortDate, serviceType);
+            stringToSignPrefix = S3Constants.AWS_HMAC_SHA256_ALGORITHM + '\n' + date + '\n'
+                    + getScope(shortDate, serviceType) + '\n';
+
+            // batch requests carry no headers, so nothing is signed besides the query
+            String signedHeaders = "";
+            SortedMap<String, String> parameters = new TreeMap<>();
+            parameters.put("Action", method.name());
+            parameters.put("X-Amz-Algorithm", S3Constants.AWS_HMAC_SHA256_ALGORITHM);
+            parameters.put("X-Amz-Credential", RestUtil.urlDecode(s3Config.getIdentity() + "/"
+                    + getScope(shortDate, serviceType)));
+            parameters.put("X-Amz-Date", date);
+            parameters.put("X-Amz-Expires", Long.toString(generateExpiration(expirationTime)));
+            parameters.put("X-Amz-SignedHeaders", signedHeaders);
+
+            // versionId sorts after all of the above, so it is simply appended per key
+            StringBuilder query = new StringBuilder();
+            appendCanonicalizedQueryString(query, parameters);
+            canonicalQuery = query.substring(0, query.length() - 1); // drop the newline
+            canonicalRequestPrefix = method.name() + '\n';
+            canonicalRequestSuffix = "\n\n" + signedHeaders + '\n' + S3Constants.AMZ_UNSIGNED_PAYLOAD;
+
+            queryPrefix = RestUtil.generateRawQueryString(parameters.headMap(SIGNATURE_PARAM))
+                    + "&" + SIGNATURE_PARAM + "=";
+            querySuffix = "&" + RestUtil.generateRawQueryString(parameters.tailMap(SIGNATURE_PARAM));
+        }
+
+        @Override
+        public URL generate(String key, String versionId) {
+            String path = rootContext + "/" + key;
+            if (bucketPath != null) path = "/".equals(path) ? bucketPath : bucketPath + path;
+            try {
+                URI uri = RestUtil.buildUri(scheme, host, port, path, null, null);
+
+                // see getCanonicalRequest
+                String canonicalPath = RestUtil.getEncodedPath(uri);
+                if (canonicalPath.contains("%2F")) canonicalPath = canonicalPath.replace("%2F", "/");
+                String versionParam = versionId == null ? null
+                        : "&" + S3Constants.PARAM_VERSION_ID + "=" + RestUtil.urlEncode(versionId);
+
+                StringBuilder canonicalRequest = new StringBuilder(CANONICAL_REQUEST_CAPACITY);
+                canonicalRequest.append(canonicalRequestPrefix).append(canonicalPath).append('\n').append(canonicalQuery);
+                if (versionParam != null) canonicalRequest.append(versionParam);
+                canonicalRequest.append(canonicalRequestSuffix);
+
+                String signature = getSignature(stringToSignPrefix + hexEncode(hash256(canonicalRequest.toString())),
+                        signingKey);
+
+                StringBuilder url = new StringBuilder(uri.toString()).append('?')
+                        .append(queryPrefix).append(signature).append(querySuffix);
+                if (versionParam != null) url.append(versionParam);
+                return new URL(url.toString());
+            } catch (URISyntaxException | MalformedURLException e) {
+                throw new RuntimeException("generated URL is not well-formed", e);
+            }
+        }
+    }
+
     private long generateExpiration(Date expirationDate) {
         long expirationInSeconds = expirationDate != null ? ((expirationDate
                 .getTime() - System.currentTimeMillis()) / 1000L)
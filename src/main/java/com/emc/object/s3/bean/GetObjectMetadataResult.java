@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.bean;
+
+import com.emc.object.s3.S3ObjectMetadata;
+import com.emc.object.s3.request.GetObjectMetadataRequest;
+
+/**
+ * The outcome of one request in a batch metadata fetch. Exactly one of these is true: the object was
+ * {@link #isFound() found}, it was absent (404, or a failed If-* precondition), or the request
+ * {@link #isFailed() failed}.
+ */
+public class GetObjectMetadataResult {
+    private final GetObjectMetadataRequest request;
+    private final S3ObjectMetadata objectMetadata;
+    private final RuntimeException exception;
+    private final long latencyNanos;
+
+    public GetObjectMetadataResult(GetObjectMetadataRequest request, S3ObjectMetadata objectMetadata,
+                                   RuntimeException exception, long latencyNanos) {
+        this.request = request;
+        this.objectMetadata = objectMetadata;
+        this.exception = exception;
+        this.latencyNanos = latencyNanos;
+    }
+
+    public GetObjectMetadataRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * The object's metadata, or null if it was not found or the request failed
+     */
+    public S3ObjectMetadata getObjectMetadata() {
+        return objectMetadata;
+    }
+
+    /**
+     * The exception thrown by the request, or null if it completed (including if the object was not found)
+     */
+    public RuntimeException getException() {
+        return exception;
+    }
+
+    /**
+     * Time taken by the request, including any retries
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public boolean isFound() {
+        return objectMetadata != null;
+    }
+
+    public boolean isFailed() {
+        return exception != null;
+    }
+}
@@ -4,6 +4,7 @@ import javax.xml.bind.annotation.adapters.XmlAdapter;
 import java.time.ZonedDateTime;
 import java.util.Date;
 
+import com.emc.object.util.DateUtil;
 import com.emc.object.util.RestUtil;
 
 //DateTime Adaptor for AWS Object Lock Retention
@@ -16,6 +17,9 @@ public class Iso8601MillisecondAdapter extends XmlAdapter<String, Date> {
 
     @Override
     public Date unmarshal(String v) throws Exception {
+        // the formatter requires milliseconds, so only that form can take the fast path
+        Date date = v != null && v.length() == 24 ? DateUtil.parseIso8601DateTime(v) : null;
+        if (date != null) return date;
         return Date.from(ZonedDateTime.parse(v, RestUtil.iso8601MillisecondFormatter).toInstant());
     }
 
@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.bean;
+
+import com.emc.object.util.Iso8601DateTimeAdapter;
+import com.emc.object.util.RestUtil;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.function.Consumer;
+
+/**
+ * Pull (StAX) parser for the list responses that carry up to thousands of entries per page:
+ * {@link ListObjectsResult}, {@link ListVersionsResult}, {@link ListPartsResult} and {@link QueryObjectsResult}.
+ * It produces the same beans as the JAXB binding without reflective binding, and can optionally pass each entry to a
+ * callback instead of collecting it in the page.
+ * <p>
+ * Like JAXB, elements are matched by local name only and unknown elements are skipped.
+ */
+public final class ListResultParser {
+    private static final XMLInputFactory xmlInputFactory = createInputFactory();
+    private static final Iso8601DateTimeAdapter dateAdapter = new Iso8601DateTimeAdapter();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Returns true if <code>type</code> can be read by {@link #parse(Class, InputStream)}
+     */
+    public static boolean isSupported(Class<?> type) {
+        return type == ListObjectsResult.class || type == ListVersionsResult.class
+                || type == ListPartsResult.class || type == QueryObjectsResult.class;
+    }
+
+    /**
+     * Parses a response of the given (supported) <code>type</code>. The stream is not closed
+     */
+    public static <T> T parse(Class<T> type, InputStream in) throws XMLStreamException {
+        if (type == ListObjectsResult.class) return type.cast(parseListObjects(in, null, null));
+        if (type == ListVersionsResult.class) return type.cast(parseListVersions(in, null, null));
+        if (type == ListPartsResult.class) return type.cast(parseListParts(in));
+        if (type == QueryObjectsResult.class) return type.cast(parseQueryObjects(in));
+        throw new IllegalArgumentException("unsupported type: " + type.getName());
+    }
+
+    /**
+     * Parses a list-objects page. If <code>objectConsumer</code> is not null, each object is passed to it (already
+     * decoded) instead of being added to the result. ECS sends the encoding type at the end of the page, so in that
+     * case <code>encodingType</code> must be the encoding that was requested
+     */
+    public static ListObjectsResult parseListObjects(InputStream in, EncodingType encodingType,
+                                                     Consumer<S3Object> objectConsumer) throws XMLStreamException {
+        XMLStreamReader reader = openRoot(in, "ListBucketResult");
+        try {
+            ListObjectsResult result = new ListObjectsResult();
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "Name":
+                        result.setBucketName(reader.getElementText());
+                        break;
+                    case "Prefix":
+                        result.setPrefix(reader.getElementText());
+                        break;
+                    case "Delimiter":
+                        result.setDelimiter(reader.getElementText());
+                        break;
+                    case "MaxKeys":
+                        result.setMaxKeys(readInteger(reader));
+                        break;
+                    case "EncodingType":
+                        result.setEncodingType(readEnum(reader, EncodingType.class));
+                        break;
+                    case "Marker":
+                        result.setMarker(reader.getElementText());
+                        break;
+                    case "NextMarker":
+                        result.setNextMarker(reader.getElementText());
+                        break;
+                    case "IsTruncated":
+                        result.setTruncated(readBoolean(reader));
+                        break;
+                    case "Contents":
+                        S3Object object = readObject(reader);
+                        if (objectConsumer == null) {
+                            result.getObjects().add(object);
+                        } else {
+                            if (isUrlEncoded(encodingType, result.getEncodingType()))
+                                object.setKey(RestUtil.urlDecode(object.getKey(), false));
+                            objectConsumer.accept(object);
+                        }
+                        break;
+                    case "CommonPrefixes":
+                        result.get_commonPrefixes().add(readCommonPrefix(reader));
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+            }
+            result.afterUnmarshal(null, null);
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Parses a list-versions page. If <code>versionConsumer</code> is not null, each version and delete marker is
+     * passed to it (already decoded) instead of being added to the result. ECS sends the encoding type at the end of
+     * the page, so in that case <code>encodingType</code> must be the encoding that was requested
+     */
+    public static ListVersionsResult parseListVersions(InputStream in, EncodingType encodingType,
+                                                       Consumer<AbstractVersion> versionConsumer) throws XMLStreamException {
+        XMLStreamReader reader = openRoot(in, "ListVersionsResult");
+        try {
+            ListVersionsResult result = new ListVersionsResult();
+            while (nextChild(reader)) {
+                AbstractVersion version = null;
+                switch (reader.getLocalName()) {
+                    case "Name":
+                        result.setBucketName(reader.getElementText());
+                        break;
+                    case "Prefix":
+                        result.setPrefix(reader.getElementText());
+                        break;
+                    case "Delimiter":
+                        result.setDelimiter(reader.getElementText());
+                        break;
+                    case "MaxKeys":
+                        result.setMaxKeys(readInteger(reader));
+                        break;
+                    case "EncodingType":
+                        result.setEncodingType(readEnum(reader, EncodingType.class));
+                        break;
+                    case "KeyMarker":
+                        result.setKeyMarker(reader.getElementText());
+                        break;
+                    case "VersionIdMarker":
+                        result.setVersionIdMarker(reader.getElementText());
+                        break;
+                    case "NextKeyMarker":
+                        result.setNextKeyMarker(reader.getElementText());
+                        break;
+                    case "NextVersionIdMarker":
+                        result.setNextVersionIdMarker(reader.getElementText());
+                        break;
+                    case "IsTruncated":
+                        result.setTruncated(readBoolean(reader));
+                        break;
+                    case "Version":
+                        version = readVersion(reader, new Version());
+                        break;
+                    case "DeleteMarker":
+                        version = readVersion(reader, new DeleteMarker());
+                        break;
+                    case "CommonPrefixes":
+                        result.get_commonPrefixes().add(readCommonPrefix(reader));
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+                if (version != null) {
+                    if (versionConsumer == null) {
+                        result.getVersions().add(version);
+                    } else {
+                        if (isUrlEncoded(encodingType, result.getEncodingType()))
+                            version.setKey(RestUtil.urlDecode(version.getKey(), false));
+                        versionConsumer.accept(version);
+                    }
+                }
+            }
+            result.afterUnmarshal(null, null);
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    public static ListPartsResult parseListParts(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = openRoot(in, "ListPartsResult");
+        try {
+            ListPartsResult result = new ListPartsResult();
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "Bucket":
+                        result.setBucketName(reader.getElementText());
+                        break;
+                    case "Key":
+                        result.setKey(reader.getElementText());
+                        break;
+                    case "UploadId":
+                        result.setUploadId(reader.getElementText());
+                        break;
+                    case "Prefix":
+                        result.setPrefix(reader.getElementText());
+                        break;
+                    case "Delimiter":
+                        result.setDelimiter(reader.getElementText());
+                        break;
+                    case "MaxParts":
+                        result.setMaxParts(readInteger(reader));
+                        break;
+                    case "EncodingType":
+                        result.setEncodingType(readEnum(reader, EncodingType.class));
+                        break;
+                    case "PartNumberMarker":
+                        result.setPartNumberMarker(reader.getElementText());
+                        break;
+                    case "NextPartNumberMarker":
+                        result.setNextPartNumberMarker(reader.getElementText());
+                        break;
+                    case "IsTruncated":
+                        result.setTruncated(readBoolean(reader));
+                        break;
+                    case "Initiator":
+                        result.setInitiator(readUser(reader));
+                        break;
+                    case "Owner":
+                        result.setOwner(readUser(reader));
+                        break;
+                    case "StorageClass":
+                        result.setStorageClass(readEnum(reader, StorageClass.class));
+                        break;
+                    case "Part":
+                        result.getParts().add(readPart(reader));
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+            }
+            result.afterUnmarshal(null, null);
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    public static QueryObjectsResult parseQueryObjects(InputStream in) throws XMLStreamException {
+        XMLStreamReader reader = openRoot(in, "BucketQueryResult");
+        try {
+            QueryObjectsResult result = new QueryObjectsResult();
+            while (nextChild(reader)) {
+                switch (reader.getLocalName()) {
+                    case "Name":
+                        result.setBucketName(reader.getElementText());
+                        break;
+                    case "Marker":
+                        result.setMarker(reader.getElementText());
+                        break;
+                    case "NextMarker":
+                        result.setNextMarker(reader.getElementText());
+                        break;
+                    case "MaxKeys":
+                        result.setMaxKeys(readInteger(reader));
+                        break;
+                    case "ObjectMatches":
+                        while (nextChild(reader)) {
+                            if ("object".equals(reader.getLocalName())) result.getObjects().add(readQueryObject(reader));
+                            else skipElement(reader);
+                        }
+                        break;
+                    case "CommonPrefixMatches":
+                        while (nextChild(reader)) {
+                            if ("PrefixGroups".equals(reader.getLocalName()))
+                                result.getPrefixGroups().add(reader.getElementText());
+                            else skipElement(reader);
+                        }
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+            }
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static S3Object readObject(XMLStreamReader reader) throws XMLStreamException {
+        S3Object object = new S3Object();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Key":
+                    object.setKey(reader.getElementText());
+                    break;
+                case "LastModified":
+                    object.setLastModified(readDate(reader));
+                    break;
+                case "ETag":
+                    object.setETag(reader.getElementText());
+                    break;
+                case "Size":
+                    object.setSize(readLong(reader));
+                    break;
+                case "StorageClass":
+                    object.setStorageClass(readEnum(reader, StorageClass.class));
+                    break;
+                case "Owner":
+                    object.setOwner(readUser(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return object;
+    }
+
+    private static <V extends AbstractVersion> V readVersion(XMLStreamReader reader, V version) throws XMLStreamException {
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "Key":
+                    version.setKey(reader.getElementText());
+                    break;
+                case "VersionId":
+                    version.setVersionId(reader.getElementText());
+                    break;
+                case "IsLatest":
+                    version.setLatest(readBoolean(reader));
+                    break;
+                case "LastModified":
+                    version.setLastModified(readDate(reader));
+                    break;
+                case "Owner":
+                    version.setOwner(readUser(reader));
+                    break;
+                case "ETag":
+                    if (version instanceof Version) ((Version) version).setETag(reader.getElementText());
+                    else skipElement(reader);
+                    break;
+                case "Size":
+                    if (version instanceof Version) ((Version) version).setSize(readLong(reader));
+                    else skipElement(reader);
+                    break;
+                case "StorageClass":
+                    if (version instanceof Version)
+                        ((Version) version).setStorageClass(readEnum(reader, StorageClass.class));
+                    else skipElement(reader);
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return version;
+    }
+
+    private static MultipartPart readPart(XMLStreamReader reader) throws XMLStreamException {
+        MultipartPart part = new MultipartPart();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "PartNumber":
+                    part.setPartNumber(readInteger(reader));
+                    break;
+                case "ETag":
+                    part.setETag(reader.getElementText());
+                    break;
+                case "LastModified":
+                    part.setLastModified(readDate(reader));
+                    break;
+                case "Size":
+                    part.setSize(readLong(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return part;
+    }
+
+    private static QueryObject readQueryObject(XMLStreamReader reader) throws XMLStreamException {
+        QueryObject object = new QueryObject();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "objectName":
+                    object.setObjectName(reader.getElementText());
+                    break;
+                case "objectId":
+                    object.setObjectId(reader.getElementText());
+                    break;
+                case "versionId":
+                    object.setVersionId(reader.getElementText());
+                    break;
+                case "queryMds":
+                    object.getQueryMds().add(readQueryMetadata(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return object;
+    }
+
+    private static QueryMetadata readQueryMetadata(XMLStreamReader reader) throws XMLStreamException {
+        QueryMetadata metadata = new QueryMetadata();
+        while (nextChild(reader)) {
+            switch (reader.getLocalName()) {
+                case "type":
+                    metadata.setType(readEnum(reader, QueryMetadataType.class));
+                    break;
+                case "mdMap":
+                    while (nextChild(reader)) {
+                        if ("entry".equals(reader.getLocalName())) readMapEntry(reader, metadata);
+                        else skipElement(reader);
+                    }
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return metadata;
+    }
+
+    private static void readMapEntry(XMLStreamReader reader, QueryMetadata metadata) throws XMLStreamException {
+        String key = null, value = null;
+        while (nextChild(reader)) {
+            if ("key".equals(reader.getLocalName())) key = reader.getElementText();
+            else if ("value".equals(reader.getLocalName())) value = reader.getElementText();
+            else skipElement(reader);
+        }
+        metadata.getMdMap().put(key, value);
+    }
+
+    private static CanonicalUser readUser(XMLStreamReader reader) throws XMLStreamException {
+        CanonicalUser user = new CanonicalUser();
+        while (nextChild(reader)) {
+            if ("ID".equals(reader.getLocalName())) user.setId(reader.getElementText());
+            else if ("DisplayName".equals(reader.getLocalName())) user.setDisplayName(reader.getElementText());
+            else skipElement(reader);
+        }
+        return user;
+    }
+
+    private static CommonPrefix readCommonPrefix(XMLStreamReader reader) throws XMLStreamException {
+        CommonPrefix prefix = new CommonPrefix();
+        while (nextChild(reader)) {
+            if ("Prefix".equals(reader.getLocalName())) prefix.setPrefix(reader.getElementText());
+            else skipElement(reader);
+        }
+        return prefix;
+    }
+
+    private static boolean isUrlEncoded(EncodingType requested, EncodingType received) {
+        return requested == EncodingType.url || received == EncodingType.url;
+    }
+
+    private static XMLStreamReader openRoot(InputStream in, String rootElement) throws XMLStreamException {
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+        while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+            // skip prolog
+        }
+        if (!reader.isStartElement() || !rootElement.equals(reader.getLocalName())) {
+            String found = reader.isStartElement() ? reader.getLocalName() : null;
+            reader.close();
+            throw new XMLStreamException("expected root element " + rootElement + " but found " + found);
+        }
+        return reader;
+    }
+
+    /**
+     * Advances to the next child of the current element. Returns false when the end of the current element is reached
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) return true;
+            if (event == XMLStreamConstants.END_ELEMENT) return false;
+        }
+        return false;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+
+    private static Integer readInteger(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("invalid integer: " + text, reader.getLocation(), e);
+        }
+    }
+
+    private static Long readLong(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : Long.valueOf(text);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("invalid long: " + text, reader.getLocation(), e);
+        }
+    }
+
+    private static boolean readBoolean(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        return "true".equals(text) || "1".equals(text);
+    }
+
+    private static Date readDate(XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : dateAdapter.unmarshal(text);
+        } catch (Exception e) {
+            throw new XMLStreamException("invalid date: " + text, reader.getLocation(), e);
+        }
+    }
+
+    // like JAXB, unknown enum values are read as null
+    private static <E extends Enum<E>> E readEnum(XMLStreamReader reader, Class<E> type) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        try {
+            return Enum.valueOf(type, text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ListResultParser() {
+    }
+}
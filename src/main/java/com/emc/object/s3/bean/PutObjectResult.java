@@ -44,6 +44,12 @@ public class PutObjectResult extends ObjectResponse {
     public String getETag() {
         return firstHeader(RestUtil.HEADER_ETAG);
     }
+
+    @XmlTransient
+    public String getRawETag() {
+        return RestUtil.stripQuotes(getETag());
+    }
+
     @XmlTransient
     public Date getExpirationDate() {
         return S3ObjectMetadata.getExpirationDate(getHeaders());
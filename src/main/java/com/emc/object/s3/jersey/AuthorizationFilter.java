@@ -32,6 +32,7 @@ import java.util.Map;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientRequestFilter;
 
+import com.emc.object.jfr.SigningEvent;
 import com.emc.object.s3.S3Config;
 import com.emc.object.s3.S3Constants;
 import com.emc.object.s3.S3Signer;
@@ -75,10 +76,13 @@ public class AuthorizationFilter implements ClientRequestFilter {
                     (String) requestContext.getProperty(S3Constants.PROPERTY_BUCKET_NAME),
                     RestUtil.getEncodedPath(requestContext.getUri()));
 
+            SigningEvent signingEvent = new SigningEvent();
+            signingEvent.begin();
             signer.sign(requestContext,
                     resource,
                     parameters,
                     requestContext.getHeaders());
+            signingEvent.complete(signer.getClass(), requestContext.getMethod(), false);
 
             // Stash signing inputs so a WriterInterceptor can re-sign after mutating the outbound
             // headers (e.g. ChecksumFilter adding Content-MD5). See ChecksumFilter#aroundWriteTo.
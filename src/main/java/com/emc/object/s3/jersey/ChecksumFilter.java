@@ -26,8 +26,11 @@
  */
 package com.emc.object.s3.jersey;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
@@ -40,6 +43,7 @@ import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.ext.WriterInterceptorContext;
 import javax.xml.bind.DatatypeConverter;
 
+import com.emc.object.jfr.SigningEvent;
 import com.emc.object.s3.S3Config;
 import com.emc.object.s3.S3Signer;
 import com.emc.object.util.ChecksumAlgorithm;
@@ -47,10 +51,18 @@ import com.emc.object.util.ChecksumError;
 import com.emc.object.util.ChecksumValueImpl;
 import com.emc.object.util.ChecksummedInputStream;
 import com.emc.object.util.ChecksummedOutputStream;
+import com.emc.object.util.FileChannelInputStream;
 import com.emc.object.util.RestUtil;
 import com.emc.object.util.RunningChecksum;
+import com.emc.object.util.SpillingBuffer;
 
 public class ChecksumFilter implements WriterInterceptor, ClientResponseFilter {
+    /**
+     * Entities that must be buffered to generate a Content-MD5 are kept in memory up to this size, then spilled to a
+     * temporary file
+     */
+    public static final int MD5_BUFFER_MEMORY_LIMIT = 1024 * 1024;
+
     private static final String PROP_WRITE_CHECKSUM = "com.emc.object.checksumFilter.writeChecksum";
 
     private S3Config s3Config;
@@ -65,7 +77,6 @@ public class ChecksumFilter implements WriterInterceptor, ClientResponseFilter {
         Boolean generateMd5 = (Boolean) context.getProperty(RestUtil.PROPERTY_GENERATE_CONTENT_MD5);
 
         RunningChecksum checksum = null;
-        OutputStream originalStream = context.getOutputStream();
 
         try {
             if (verifyWrite != null && verifyWrite) {
@@ -75,35 +86,28 @@ public class ChecksumFilter implements WriterInterceptor, ClientResponseFilter {
             }
 
             if (generateMd5 != null && generateMd5) {
-                // buffer the entity to calculate MD5 before sending
-                RunningChecksum md5Checksum = new RunningChecksum(ChecksumAlgorithm.MD5);
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                context.setOutputStream(new ChecksummedOutputStream(buffer, md5Checksum));
-                context.proceed();
-
-                // add Content-MD5 header (this mutates the outbound headers)
-                context.getHeaders().putSingle(RestUtil.HEADER_CONTENT_MD5,
-                        DatatypeConverter.printBase64Binary(md5Checksum.getByteValue()));
-
-                // re-sign if credentials were available at request time (the Content-MD5 header
-                // is part of the V2 stringToSign and part of the V4 canonical headers, so the
-                // signature computed earlier by AuthorizationFilter is now stale)
-                if (s3Config.getIdentity() != null) {
-                    S3Signer stashedSigner = (S3Signer) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGNER);
-                    if (stashedSigner != null) {
-                        String method = (String) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_METHOD);
-                        java.net.URI uri = (java.net.URI) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_URI);
-                        String resource = (String) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_RESOURCE);
-                        @SuppressWarnings("unchecked")
-                        Map<String, String> parameters = (Map<String, String>) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_PARAMETERS);
-                        @SuppressWarnings({"unchecked", "rawtypes"})
-                        Map<String, List<Object>> signingHeaders = (Map) context.getHeaders();
-                        stashedSigner.resign(method, uri, resource, parameters, signingHeaders);
-                    }
+                // if the codec is encoding the entity, the bytes on the wire are not the entity's bytes
+                Boolean encode = (Boolean) context.getProperty(RestUtil.PROPERTY_ENCODE_ENTITY);
+                byte[] md5 = encode != null && encode ? null : digestRepeatableEntity(context.getEntity());
+                if (md5 != null) {
+                    // the entity can be read twice, so send it straight through
+                    setContentMd5(context, md5);
+                    context.proceed();
+                    return;
                 }
 
-                // write buffered data to original stream
-                originalStream.write(buffer.toByteArray());
+                // otherwise buffer the entity to calculate MD5 before sending (large entities go to a temp file)
+                OutputStream outputStream = context.getOutputStream();
+                RunningChecksum md5Checksum = new RunningChecksum(ChecksumAlgorithm.MD5);
+                try (SpillingBuffer buffer = new SpillingBuffer(MD5_BUFFER_MEMORY_LIMIT)) {
+                    context.setOutputStream(new ChecksummedOutputStream(buffer, md5Checksum));
+                    context.proceed();
+                    setContentMd5(context, md5Checksum.getByteValue());
+
+                    // write buffered data to the real stream
+                    buffer.writeTo(outputStream);
+                }
+                context.setOutputStream(outputStream);
                 return; // already proceeded
             }
         } catch (NoSuchAlgorithmException e) {
@@ -113,6 +117,70 @@ public class ChecksumFilter implements WriterInterceptor, ClientResponseFilter {
         context.proceed();
     }
 
+    /**
+     * Adds the Content-MD5 header and re-signs the request. This must happen before anything is written to the real
+     * output stream, while the headers can still be changed.
+     */
+    private void setContentMd5(WriterInterceptorContext context, byte[] md5) {
+        // add Content-MD5 header (this mutates the outbound headers)
+        context.getHeaders().putSingle(RestUtil.HEADER_CONTENT_MD5, DatatypeConverter.printBase64Binary(md5));
+
+        // re-sign if credentials were available at request time (the Content-MD5 header
+        // is part of the V2 stringToSign and part of the V4 canonical headers, so the
+        // signature computed earlier by AuthorizationFilter is now stale)
+        if (s3Config.getIdentity() != null) {
+            S3Signer stashedSigner = (S3Signer) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGNER);
+            if (stashedSigner != null) {
+                String method = (String) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_METHOD);
+                java.net.URI uri = (java.net.URI) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_URI);
+                String resource = (String) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_RESOURCE);
+                @SuppressWarnings("unchecked")
+                Map<String, String> parameters = (Map<String, String>) context.getProperty(com.emc.object.s3.jersey.AuthorizationFilter.PROP_SIGN_PARAMETERS);
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                Map<String, List<Object>> signingHeaders = (Map) context.getHeaders();
+                SigningEvent signingEvent = new SigningEvent();
+                signingEvent.begin();
+                stashedSigner.resign(method, uri, resource, parameters, signingHeaders);
+                signingEvent.complete(stashedSigner.getClass(), method, true);
+            }
+        }
+    }
+
+    /**
+     * Calculates the MD5 of an entity that can be read ahead of sending without buffering it: a byte array, a file, or
+     * a stream that can be reset for free (a file segment or a byte array). Returns null for any other entity.
+     */
+    static byte[] digestRepeatableEntity(Object entity) throws IOException, NoSuchAlgorithmException {
+        if (entity instanceof byte[]) {
+            byte[] bytes = (byte[]) entity;
+            RunningChecksum md5 = new RunningChecksum(ChecksumAlgorithm.MD5);
+            md5.update(bytes, 0, bytes.length);
+            return md5.getByteValue();
+        } else if (entity instanceof File) {
+            try (InputStream in = new FileInputStream((File) entity)) {
+                return digest(in);
+            }
+        } else if (entity instanceof FileChannelInputStream || entity instanceof ByteArrayInputStream) {
+            // neither stream buffers anything to support mark/reset
+            InputStream in = (InputStream) entity;
+            in.mark(Integer.MAX_VALUE);
+            byte[] md5 = digest(in);
+            in.reset();
+            return md5;
+        }
+        return null;
+    }
+
+    private static byte[] digest(InputStream in) throws IOException, NoSuchAlgorithmException {
+        RunningChecksum md5 = new RunningChecksum(ChecksumAlgorithm.MD5);
+        byte[] buffer = new byte[64 * 1024];
+        int c;
+        while ((c = in.read(buffer)) != -1) {
+            md5.update(buffer, 0, c);
+        }
+        return md5.getByteValue();
+    }
+
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
         // pull etag from response headers
@@ -51,7 +51,6 @@ import com.emc.codec.CodecChain;
 import com.emc.object.s3.S3ObjectMetadata;
 import com.emc.object.s3.S3Signer;
 import com.emc.object.util.RestUtil;
-import com.emc.rest.smart.jersey.SizeOverrideWriter;
 
 @javax.annotation.Priority(javax.ws.rs.Priorities.USER + 100) // must run AFTER ChecksumFilter so that the checksum is computed over the on-the-wire (encoded) bytes on both outbound and inbound
 public class CodecFilter implements WriterInterceptor, ClientResponseFilter, ReaderInterceptor {
@@ -77,14 +76,15 @@ public class CodecFilter implements WriterInterceptor, ClientResponseFilter, Rea
         if (encode != null && encode && userMeta != null) {
 
             // if encoded size is predictable and we know the original size, we can set a content-length and avoid chunked encoding
-            Long originalSize = SizeOverrideWriter.getEntitySize();
+            // (EntitySizeInterceptor applies the size after this interceptor)
+            Long originalSize = (Long) context.getProperty(RestUtil.PROPERTY_ENTITY_SIZE);
             if (encodeChain.isSizePredictable() && originalSize != null) {
                 long encodedSize = encodeChain.getEncodedSize(originalSize);
                 log.debug("updating content-length for encoded data (original: {}, encoded: {})", originalSize, encodedSize);
-                SizeOverrideWriter.setEntitySize(encodedSize);
+                context.setProperty(RestUtil.PROPERTY_ENTITY_SIZE, encodedSize);
             } else {
                 // we don't know what the size will be; this will turn on chunked encoding in the apache client
-                SizeOverrideWriter.setEntitySize(-1L);
+                context.setProperty(RestUtil.PROPERTY_ENTITY_SIZE, -1L);
             }
 
             // backup original metadata in case of an error
@@ -124,9 +124,6 @@ public class CodecFilter implements WriterInterceptor, ClientResponseFilter, Rea
                 userMeta.clear();
                 userMeta.putAll(metaBackup);
                 throw e;
-            } finally {
-                // make sure we clear the content-length override for this thread if we set it
-                SizeOverrideWriter.setEntitySize(null);
             }
         } else {
             context.proceed();
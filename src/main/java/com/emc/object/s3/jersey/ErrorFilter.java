@@ -50,6 +50,9 @@ public class ErrorFilter implements ClientResponseFilter {
     @Override
     public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
 
+        if (responseContext.getStatus() == 404
+                && Boolean.TRUE.equals(requestContext.getProperty(S3Constants.PROPERTY_ACCEPT_NOT_FOUND))) return;
+
         if (responseContext.getStatus() > 299) {
 
             // check for clock skew (can save hours of troubleshooting)
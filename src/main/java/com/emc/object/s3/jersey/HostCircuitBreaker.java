@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.jersey;
+
+import com.emc.rest.smart.Host;
+import com.emc.rest.smart.HostVetoRule;
+import com.emc.rest.smart.LoadBalancer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks consecutive failures per host and, once a host reaches the failure threshold, keeps the smart client's load
+ * balancer away from it for a cool-down period.
+ * <p>
+ * States follow the usual circuit-breaker pattern:
+ * <ul>
+ * <li><em>CLOSED</em>: the host is used normally</li>
+ * <li><em>OPEN</em>: the host has failed <code>failureThreshold</code> times in a row and is vetoed until the
+ * cool-down expires</li>
+ * <li><em>HALF_OPEN</em>: the cool-down has expired and the host is used again; the next success closes the breaker,
+ * but a single failure re-opens it</li>
+ * </ul>
+ * The breaker fails open: if every known host is open, none are vetoed, so requests are never refused outright.
+ * <p>
+ * This class is also a request filter that records which host each attempt was sent to (see
+ * {@link #PROP_ATTEMPT_HOST}), so the retry logic can report the outcome against that host.
+ */
+@javax.annotation.Priority(Integer.MAX_VALUE) // must run after the smart client has chosen a host
+public class HostCircuitBreaker implements HostVetoRule, ClientRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(HostCircuitBreaker.class);
+
+    /**
+     * Request property holding an <code>AtomicReference&lt;String&gt;</code>, which will be set to the host name the
+     * request was sent to
+     */
+    public static final String PROP_ATTEMPT_HOST = "com.emc.object.attemptHost";
+
+    public enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+    private final long coolDownMillis;
+    private final LoadBalancer loadBalancer;
+    private final ConcurrentMap<String, HostState> hostStates = new ConcurrentHashMap<>();
+    private final AtomicLong tripCount = new AtomicLong();
+
+    /**
+     * @param loadBalancer used to check whether any other host is available before vetoing a host; may be null, in
+     *                     which case open hosts are always vetoed
+     */
+    public HostCircuitBreaker(int failureThreshold, long coolDownMillis, LoadBalancer loadBalancer) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("failureThreshold must be >= 1");
+        this.failureThreshold = failureThreshold;
+        this.coolDownMillis = coolDownMillis;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        Object holder = requestContext.getProperty(PROP_ATTEMPT_HOST);
+        if (holder instanceof AtomicReference) {
+            @SuppressWarnings("unchecked")
+            AtomicReference<String> hostRef = (AtomicReference<String>) holder;
+            hostRef.set(requestContext.getUri().getHost());
+        }
+    }
+
+    @Override
+    public boolean shouldVeto(Host host, Map<String, Object> requestProperties) {
+        if (isAvailable(host.getName())) return false;
+
+        // fail open - don't veto if there is nowhere else to go
+        if (loadBalancer != null) {
+            boolean otherAvailable = false;
+            for (Host other : loadBalancer.getAllHosts()) {
+                if (other != host && other.isHealthy() && isAvailable(other.getName())) {
+                    otherAvailable = true;
+                    break;
+                }
+            }
+            if (!otherAvailable) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful response (any response that is not a server error) from <code>hostName</code>
+     */
+    public void recordSuccess(String hostName) {
+        if (hostName == null) return;
+        HostState state = hostStates.get(hostName);
+        if (state != null) state.success();
+    }
+
+    /**
+     * Records a server error or IO failure from <code>hostName</code>. May open the breaker for the host.
+     */
+    public void recordFailure(String hostName) {
+        if (hostName == null) return;
+        if (hostStates.computeIfAbsent(hostName, k -> new HostState()).failure()) {
+            tripCount.incrementAndGet();
+            log.warn("circuit breaker opened for host {} (cool-down: {}ms)", hostName, coolDownMillis);
+        }
+    }
+
+    /**
+     * @return whether requests may currently be sent to <code>hostName</code> (the breaker is not open)
+     */
+    public boolean isAvailable(String hostName) {
+        return getState(hostName) != State.OPEN;
+    }
+
+    public State getState(String hostName) {
+        HostState state = hostStates.get(hostName);
+        return state == null ? State.CLOSED : state.getState();
+    }
+
+    /**
+     * @return the state of every host that has reported a failure, keyed by host name
+     */
+    public Map<String, State> getHostStates() {
+        Map<String, State> states = new TreeMap<>();
+        for (Map.Entry<String, HostState> entry : hostStates.entrySet()) {
+            states.put(entry.getKey(), entry.getValue().getState());
+        }
+        return states;
+    }
+
+    /**
+     * @return the number of hosts whose breaker is currently open
+     */
+    public int getOpenHostCount() {
+        int count = 0;
+        for (HostState state : hostStates.values()) {
+            if (state.getState() == State.OPEN) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of times any breaker has opened
+     */
+    public long getTripCount() {
+        return tripCount.get();
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getCoolDownMillis() {
+        return coolDownMillis;
+    }
+
+    private class HostState {
+        private int consecutiveFailures = 0;
+        private long openUntil = 0; // 0 means the breaker has not been opened since the last success
+
+        synchronized State getState() {
+            if (openUntil == 0) return State.CLOSED;
+            return System.currentTimeMillis() < openUntil ? State.OPEN : State.HALF_OPEN;
+        }
+
+        synchronized void success() {
+            consecutiveFailures = 0;
+            openUntil = 0;
+        }
+
+        /**
+         * @return true if this failure opened the breaker
+         */
+        synchronized boolean failure() {
+            consecutiveFailures++;
+            State state = getState();
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                openUntil = System.currentTimeMillis() + coolDownMillis;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.jersey;
+
+import com.emc.object.AbstractJerseyClient;
+import com.emc.object.ObjectRequest;
+import com.emc.object.s3.RequestMetrics;
+import com.emc.object.s3.RequestMetricsListener;
+import com.emc.object.s3.request.AbstractBucketRequest;
+import com.emc.object.s3.request.GenericBucketEntityRequest;
+import com.emc.object.s3.request.GenericBucketRequest;
+import com.emc.object.s3.request.S3ObjectRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects {@link RequestMetrics} for each request attempt and reports them to the configured
+ * {@link RequestMetricsListener}.
+ * <p>
+ * The client starts a {@link Recorder} for each attempt (see {@link #startAttempt(RequestMetricsListener,
+ * ObjectRequest)}), which travels with the request as a property. This filter records the target host (as a request
+ * filter, after the smart client has chosen it) and the status and time-to-first-byte (as a response filter, before
+ * {@link ErrorFilter} consumes the entity), and counts response bytes as they are read. {@link SentBytesCounter}
+ * counts request bytes. The attempt is reported when its response body is fully read or closed, when there is no
+ * response body, or when the client sees the attempt fail, whichever comes first.
+ */
+@javax.annotation.Priority(Integer.MAX_VALUE) // request: after the smart client picks a host; response: before ErrorFilter
+public class MetricsFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsFilter.class);
+
+    public static final String PROP_METRICS_RECORDER = "com.emc.object.metricsRecorder";
+
+    private static final ClassValue<String> OPERATION_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (type == ObjectRequest.class || type == GenericBucketRequest.class
+                    || type == GenericBucketEntityRequest.class || type == S3ObjectRequest.class) return null;
+            String name = type.getSimpleName();
+            if (name.endsWith("Request")) name = name.substring(0, name.length() - "Request".length());
+            return name.isEmpty() ? null : name;
+        }
+    };
+
+    /**
+     * @return the operation name for <code>request</code>: the request class name without the "Request" suffix, or
+     * the HTTP method and subresource for generic requests
+     */
+    public static String operationName(ObjectRequest request) {
+        String name = OPERATION_NAMES.get(request.getClass());
+        if (name != null) return name;
+        return request.getSubresource() == null
+                ? request.getMethod().toString() : request.getMethod() + " ?" + request.getSubresource();
+    }
+
+    /**
+     * Starts recording an attempt of <code>request</code>.
+     *
+     * @return the recorder, or null if <code>listener</code> is null
+     */
+    public static Recorder startAttempt(RequestMetricsListener listener, ObjectRequest request) {
+        if (listener == null) return null;
+        Recorder recorder = new Recorder(listener, request);
+        request.property(PROP_METRICS_RECORDER, recorder);
+        return recorder;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException {
+        Recorder recorder = (Recorder) requestContext.getProperty(PROP_METRICS_RECORDER);
+        if (recorder != null) recorder.host = requestContext.getUri().getHost();
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException {
+        Recorder recorder = (Recorder) requestContext.getProperty(PROP_METRICS_RECORDER);
+        if (recorder == null) return;
+        recorder.responseReceived(responseContext.getStatus());
+        if (responseContext.hasEntity())
+            responseContext.setEntityStream(new CountingInputStream(responseContext.getEntityStream(), recorder));
+        else recorder.complete(null);
+    }
+
+    /**
+     * Counts request body bytes as they are written to the connection. This must be the outermost writer
+     * interceptor, so that it sees the bytes after any encoding by other interceptors.
+     */
+    @javax.annotation.Priority(Integer.MIN_VALUE)
+    public static class SentBytesCounter implements WriterInterceptor {
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            final Recorder recorder = (Recorder) context.getProperty(PROP_METRICS_RECORDER);
+            if (recorder != null) {
+                context.setOutputStream(new FilterOutputStream(context.getOutputStream()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        recorder.bytesSent.incrementAndGet();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        recorder.bytesSent.addAndGet(len);
+                    }
+                });
+            }
+            context.proceed();
+        }
+    }
+
+    /**
+     * Tracks a single attempt. Completes (and notifies the listener) exactly once.
+     */
+    public static class Recorder {
+        private final RequestMetricsListener listener;
+        private final String operation;
+        private final String bucketName;
+        private final int retryCount;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile String host;
+        private volatile int statusCode;
+        private volatile long timeToFirstByteNanos = -1;
+
+        Recorder(RequestMetricsListener listener, ObjectRequest request) {
+            this.listener = listener;
+            this.operation = operationName(request);
+            this.bucketName = request instanceof AbstractBucketRequest
+                    ? ((AbstractBucketRequest) request).getBucketName() : null;
+            Integer retries = (Integer) request.getProperties().get(AbstractJerseyClient.PROP_RETRY_COUNT);
+            this.retryCount = retries == null ? 0 : retries;
+        }
+
+        void responseReceived(int statusCode) {
+            this.timeToFirstByteNanos = System.nanoTime() - startNanos;
+            this.statusCode = statusCode;
+        }
+
+        /**
+         * Completes the attempt, if it has not already completed.
+         *
+         * @param error the exception the attempt failed with, or null if it succeeded (ignored if a response was
+         *              received)
+         */
+        public void complete(Throwable error) {
+            if (!completed.compareAndSet(false, true)) return;
+            long totalTimeNanos = System.nanoTime() - startNanos;
+            RequestMetrics metrics = new RequestMetrics(operation, bucketName, host, statusCode, retryCount,
+                    bytesSent.get(), bytesReceived.get(), timeToFirstByteNanos, totalTimeNanos,
+                    statusCode == 0 ? error : null);
+            try {
+                listener.requestCompleted(metrics);
+            } catch (RuntimeException e) {
+                log.warn("request metrics listener threw an exception", e);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final Recorder recorder;
+
+        CountingInputStream(InputStream in, Recorder recorder) {
+            super(in);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b == -1) recorder.complete(null);
+            else recorder.bytesReceived.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count == -1) recorder.complete(null);
+            else recorder.bytesReceived.addAndGet(count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long count = super.skip(n);
+            recorder.bytesReceived.addAndGet(count);
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                recorder.complete(null);
+            }
+        }
+    }
+}
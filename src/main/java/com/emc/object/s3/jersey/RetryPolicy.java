@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.jersey;
+
+import com.emc.object.ObjectRequest;
+import com.emc.object.s3.S3Config;
+import com.emc.object.s3.S3Exception;
+import com.emc.object.util.RetryBudget;
+import com.emc.rest.smart.LoadBalancer;
+
+import javax.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decides whether and when failed requests are retried, and keeps retry metrics. One policy is shared by a
+ * {@link S3JerseyClient} and any {@link S3JerseyAsyncClient} created from it, so the budget and breaker state apply to
+ * all of their traffic.
+ * <ul>
+ * <li>Server errors (except 501) and IO errors are retried up to {@link S3Config#getRetryLimit()} times</li>
+ * <li>The delay doubles with each retry, starting at {@link S3Config#getInitialRetryDelay()}. With
+ * {@link S3Config#isRetryJitterEnabled() jitter}, each delay is randomly chosen between half and all of that value,
+ * so clients that failed together don't retry together</li>
+ * <li>If {@link S3Config#getRetryBudgetRatio()} is set, a {@link RetryBudget} caps retries at that fraction of
+ * requests</li>
+ * <li>If {@link S3Config#getCircuitBreakerThreshold()} is set (and the smart client is enabled), a
+ * {@link HostCircuitBreaker} steers requests away from hosts that keep failing</li>
+ * </ul>
+ */
+public class RetryPolicy {
+    private final S3Config s3Config;
+    private final RetryBudget retryBudget;
+    private final HostCircuitBreaker circuitBreaker;
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong retriesExhausted = new AtomicLong();
+    private final AtomicLong retriesRejected = new AtomicLong();
+
+    /**
+     * @param loadBalancer the smart client's load balancer, or null if the smart client is disabled (the circuit
+     *                     breaker is only created when this is non-null)
+     */
+    public RetryPolicy(S3Config s3Config, LoadBalancer loadBalancer) {
+        this.s3Config = s3Config;
+        this.retryBudget = s3Config.getRetryBudgetRatio() > 0 ? new RetryBudget(s3Config.getRetryBudgetRatio()) : null;
+        this.circuitBreaker = loadBalancer != null && s3Config.getCircuitBreakerThreshold() > 0
+                ? new HostCircuitBreaker(s3Config.getCircuitBreakerThreshold(),
+                s3Config.getCircuitBreakerCoolDown(), loadBalancer)
+                : null;
+    }
+
+    /**
+     * Called once per request (not per attempt), before the first attempt
+     */
+    public void requestStarted() {
+        if (retryBudget != null) retryBudget.requestStarted();
+    }
+
+    /**
+     * Called before each attempt. Returns a holder that will receive the host the attempt is sent to, or null if
+     * hosts are not being tracked.
+     */
+    public AtomicReference<String> beforeAttempt(ObjectRequest request) {
+        if (circuitBreaker == null) return null;
+        AtomicReference<String> hostRef = new AtomicReference<>();
+        request.property(HostCircuitBreaker.PROP_ATTEMPT_HOST, hostRef);
+        return hostRef;
+    }
+
+    /**
+     * Called after each attempt with the error it failed with (null if it succeeded)
+     */
+    public void afterAttempt(AtomicReference<String> hostRef, Throwable error) {
+        if (hostRef == null) return;
+        if (error != null && isRetryable(error)) circuitBreaker.recordFailure(hostRef.get());
+        else circuitBreaker.recordSuccess(hostRef.get());
+    }
+
+    /**
+     * @return true if a request that failed with <code>error</code> after <code>retryCount</code> retries should be
+     * retried. A true result consumes a token from the retry budget.
+     */
+    public boolean shouldRetry(Throwable error, int retryCount) {
+        if (!s3Config.isRetryEnabled() || !isRetryable(error)) return false;
+
+        // only retry retryLimit times
+        if (retryCount >= s3Config.getRetryLimit()) {
+            retriesExhausted.incrementAndGet();
+            return false;
+        }
+
+        if (retryBudget != null && !retryBudget.tryRetry()) {
+            retriesRejected.incrementAndGet();
+            return false;
+        }
+
+        retries.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @param retryNumber the retry about to be made (1 for the first retry)
+     * @return the number of milliseconds to wait before that retry
+     */
+    public long getRetryDelay(int retryNumber) {
+        if (s3Config.getInitialRetryDelay() <= 0) return 0;
+        long delay = s3Config.getInitialRetryDelay() * (1L << Math.min(retryNumber - 1, 30));
+        if (s3Config.isRetryJitterEnabled()) {
+            long half = delay / 2;
+            delay = half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+        }
+        return delay;
+    }
+
+    /**
+     * Server errors (except 501 - not implemented) and IO errors are retryable
+     */
+    public boolean isRetryable(Throwable error) {
+        // Jersey 2 wraps exceptions in ProcessingException (Jersey 1 used ClientHandlerException)
+        if (error instanceof ProcessingException && error.getCause() != null) error = error.getCause();
+
+        if (error instanceof S3Exception) {
+            int httpCode = ((S3Exception) error).getHttpCode();
+            return httpCode >= 500 && httpCode != 501;
+        }
+        return error instanceof IOException;
+    }
+
+    /**
+     * @return the retry budget, or null if retries are not budgeted
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * @return the circuit breaker, or null if it is disabled
+     */
+    public HostCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the number of retries made
+     */
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    /**
+     * @return the number of requests that failed after using all of their retries
+     */
+    public long getRetriesExhaustedCount() {
+        return retriesExhausted.get();
+    }
+
+    /**
+     * @return the number of retries that were not made because the retry budget was exhausted
+     */
+    public long getRetriesRejectedCount() {
+        return retriesRejected.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{" +
+                "retries=" + retries +
+                ", retriesExhausted=" + retriesExhausted +
+                ", retriesRejected=" + retriesRejected +
+                ", retryBudget=" + retryBudget +
+                ", circuitBreaker=" + (circuitBreaker == null ? null : circuitBreaker.getHostStates()) +
+                '}';
+    }
+}
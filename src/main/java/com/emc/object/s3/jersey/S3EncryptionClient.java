@@ -28,13 +28,17 @@ package com.emc.object.s3.jersey;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Date;
 import java.util.Map;
 
 import com.emc.codec.CodecChain;
 import com.emc.codec.encryption.DoesNotNeedRekeyException;
 import com.emc.codec.encryption.EncryptionCodec;
 import com.emc.object.EncryptionConfig;
+import com.emc.object.Method;
 import com.emc.object.s3.S3Config;
+import com.emc.object.s3.S3ObjectOutputStream;
+import com.emc.object.s3.PresignedUrlGenerator;
 import com.emc.object.s3.S3ObjectMetadata;
 import com.emc.object.s3.bean.AccessControlList;
 import com.emc.object.s3.bean.CompleteMultipartUploadResult;
@@ -230,11 +234,22 @@ public class S3EncryptionClient extends S3JerseyClient {
         throw new UnsupportedOperationException(UNSUPPORTED_MSG);
     }
 
+    @Override
+    public PresignedUrlGenerator getPresignedUrlGenerator(Method method, String bucketName, Date expirationTime) {
+        throw new UnsupportedOperationException(UNSUPPORTED_MSG);
+    }
+
     @Override
     public void setObjectMetadata(String bucketName, String key, S3ObjectMetadata objectMetadata) {
         throw new UnsupportedOperationException(UNSUPPORTED_MSG);
     }
 
+    @Override
+    public S3ObjectOutputStream openObjectOutputStream(String bucketName, String key) {
+        // parts are uploaded with MPU, which is not supported
+        throw new UnsupportedOperationException(UNSUPPORTED_MSG);
+    }
+
     @Override
     public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
         throw new UnsupportedOperationException(UNSUPPORTED_MSG);
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.jersey;
+
+import com.emc.object.AbstractJerseyClient;
+import com.emc.object.EntityRequest;
+import com.emc.object.ObjectRequest;
+import com.emc.object.jfr.RetryBackoffEvent;
+import com.emc.object.s3.S3AsyncClient;
+import com.emc.object.s3.S3Config;
+import com.emc.object.s3.S3Exception;
+import com.emc.object.s3.S3ObjectMetadata;
+import com.emc.object.s3.bean.CopyObjectResult;
+import com.emc.object.s3.bean.GetObjectResult;
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.PutObjectResult;
+import com.emc.object.s3.request.*;
+import com.emc.object.util.RestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Jersey implementation of {@link S3AsyncClient}. Requests are sent with Jersey's reactive (CompletionStage) invoker
+ * through the filter chain of an {@link S3JerseyClient}, so signing, bucket/namespace handling, checksums, error
+ * parsing and the smart client's load balancing all apply. Retries follow the same rules as {@link S3JerseyClient}
+ * (IO errors and 50x responses other than 501, with exponential backoff), but the delay is scheduled on a single
+ * timer thread instead of sleeping in the request thread.
+ * <p>
+ * Note that the Apache connector itself is blocking, so Jersey runs each request on its async executor. The size of
+ * that pool can be set with the {@link org.glassfish.jersey.client.ClientProperties#ASYNC_THREADPOOL_SIZE} property
+ * in {@link S3Config}. Calling threads are never blocked. This client is intended for small objects.
+ */
+public class S3JerseyAsyncClient extends AbstractJerseyClient implements S3AsyncClient {
+
+    private static final Logger log = LoggerFactory.getLogger(S3JerseyAsyncClient.class);
+
+    protected S3Config s3Config;
+    protected Client client;
+    private final S3JerseyClient syncClient;
+    private final boolean destroySyncClient;
+    private final ScheduledExecutorService retryScheduler;
+    // retries waiting out their backoff, so that destroy() can fail them instead of leaving their futures hanging
+    private final Set<PendingRetry> pendingRetries = ConcurrentHashMap.newKeySet();
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * Creates a new async client with its own connection pool and host list (as if creating a new
+     * {@link S3JerseyClient}).
+     */
+    public S3JerseyAsyncClient(S3Config s3Config) {
+        this(new S3JerseyClient(s3Config), true);
+    }
+
+    /**
+     * Creates an async client that shares the connection pool, filters and load balancer of
+     * <code>s3Client</code>. Destroying this client will not destroy <code>s3Client</code>.
+     * Client-side encryption is not supported.
+     */
+    public S3JerseyAsyncClient(S3JerseyClient s3Client) {
+        this(s3Client, false);
+    }
+
+    private S3JerseyAsyncClient(S3JerseyClient s3Client, boolean destroySyncClient) {
+        super(s3Client.getS3Config());
+        if (s3Client instanceof S3EncryptionClient)
+            throw new IllegalArgumentException("client-side encryption is not supported by the async client");
+        this.s3Config = s3Client.getS3Config();
+        this.client = s3Client.client;
+        this.syncClient = s3Client;
+        this.destroySyncClient = destroySyncClient;
+        this.retryPolicy = s3Client.getRetryPolicy();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "s3-async-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        retryScheduler.shutdownNow();
+        for (PendingRetry retry : pendingRetries) {
+            retry.fail();
+        }
+        if (destroySyncClient) syncClient.destroy();
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResult> putObject(String bucketName, String key, Object content, String contentType) {
+        S3ObjectMetadata metadata = new S3ObjectMetadata().withContentType(contentType);
+        return putObject(new PutObjectRequest(bucketName, key, content).withObjectMetadata(metadata));
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResult> putObject(PutObjectRequest request) {
+        // enable checksum of the object
+        request.property(RestUtil.PROPERTY_VERIFY_WRITE_CHECKSUM, Boolean.TRUE);
+        return executeAndClose(request).thenApply(response -> {
+            PutObjectResult result = new PutObjectResult();
+            fillResponseEntity(result, response);
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<CopyObjectResult> copyObject(CopyObjectRequest request) {
+        return execute(request, CopyObjectResult.class);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> readObject(String bucketName, String key, Class<T> objectType) {
+        return getObject(new GetObjectRequest(bucketName, key), objectType)
+                .thenApply(result -> result == null ? null : result.getObject());
+    }
+
+    @Override
+    public <T> CompletableFuture<GetObjectResult<T>> getObject(GetObjectRequest request, Class<T> objectType) {
+        if (request.getRange() == null) {
+            // enable checksum of the object (verification is handled in interceptor)
+            request.property(RestUtil.PROPERTY_VERIFY_READ_CHECKSUM, Boolean.TRUE);
+        }
+
+        return nullOnFailedPrecondition(execute(request).thenApply(response -> {
+            GetObjectResult<T> result = new GetObjectResult<T>();
+            fillResponseEntity(result, response);
+            result.setObject(response.readEntity(objectType));
+            return result;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<S3ObjectMetadata> getObjectMetadata(String bucketName, String key) {
+        return getObjectMetadata(new GetObjectMetadataRequest(bucketName, key));
+    }
+
+    @Override
+    public CompletableFuture<S3ObjectMetadata> getObjectMetadata(GetObjectMetadataRequest request) {
+        return nullOnFailedPrecondition(executeAndClose(request)
+                .thenApply(response -> S3ObjectMetadata.fromHeaders(response.getStringHeaders())));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(String bucketName, String key) {
+        return deleteObject(new DeleteObjectRequest(bucketName, key));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(DeleteObjectRequest request) {
+        return executeAndClose(request).thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsResult> listObjects(String bucketName) {
+        return listObjects(new ListObjectsRequest(bucketName));
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsResult> listObjects(ListObjectsRequest request) {
+        return execute(request, ListObjectsResult.class).thenApply(result -> {
+            S3JerseyClient.fillNextMarker(result, result.getObjects().isEmpty() ? null
+                    : result.getObjects().get(result.getObjects().size() - 1).getKey());
+            return result;
+        });
+    }
+
+    protected CompletableFuture<Response> executeAndClose(ObjectRequest request) {
+        return execute(request).thenApply(response -> {
+            response.close();
+            return response;
+        });
+    }
+
+    protected <T> CompletableFuture<T> execute(ObjectRequest request, Class<T> responseType) {
+        return execute(request).thenApply(response -> {
+            try {
+                T responseEntity = response.readEntity(responseType);
+                fillResponseEntity(responseEntity, response);
+                return responseEntity;
+            } catch (ProcessingException e) {
+
+                // some S3 responses return a 200 right away, but may fail and include an error XML package instead of
+                // the expected entity. check for that here.
+                S3Exception error;
+                try {
+                    error = ErrorFilter.parseErrorResponse(new StringReader(response.readEntity(String.class)), response.getStatus());
+                } catch (Throwable t) {
+
+                    // must be a reader error
+                    throw e;
+                }
+                throw error;
+            } finally {
+                response.close();
+            }
+        });
+    }
+
+    @Override
+    protected String getOperationName(ObjectRequest request) {
+        return MetricsFilter.operationName(request);
+    }
+
+    /**
+     * Sends the request, retrying as configured. The returned future completes with the response, or with the same
+     * exception {@link S3JerseyClient} would throw.
+     */
+    protected CompletableFuture<Response> execute(ObjectRequest request) {
+        InputStream entityStream = null;
+        if (request instanceof EntityRequest) {
+            Object entity = ((EntityRequest) request).getEntity();
+            if (entity instanceof InputStream) entityStream = (InputStream) entity;
+        }
+
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        if (s3Config.isRetryEnabled()) retryPolicy.requestStarted();
+        attempt(request, entityStream, 0, future);
+        return future;
+    }
+
+    private void attempt(ObjectRequest request, InputStream entityStream, int retryCount,
+                         CompletableFuture<Response> future) {
+        if (future.isDone()) { // i.e. cancelled by the caller
+            closeSuppliedStream(request); // the stream of the previous attempt was never sent
+            return;
+        }
+
+        AtomicReference<String> hostRef = retryPolicy.beforeAttempt(request);
+        MetricsFilter.Recorder recorder = MetricsFilter.startAttempt(s3Config.getRequestMetricsListener(), request);
+        CompletionStage<Response> stage;
+        try {
+            // mark the stream before each attempt so we can rewind on failure
+            if (entityStream != null && entityStream.markSupported())
+                entityStream.mark(s3Config.getRetryBufferSize());
+
+            stage = executeRequestAsync(client, request);
+        } catch (RuntimeException e) {
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            stage = failed;
+        }
+
+        stage.whenComplete((response, t) -> {
+            RuntimeException orig = t == null ? null : unwrap(t);
+            retryPolicy.afterAttempt(hostRef, orig);
+            if (orig != null && recorder != null) recorder.complete(orig);
+            if (orig == null) {
+                // make sure the connection is released if the caller has given up
+                if (!future.complete(response)) response.close();
+                return;
+            }
+
+            if (!shouldRetry(orig, retryCount, entityStream)) {
+                closeSuppliedStream(request);
+                future.completeExceptionally(orig);
+                return;
+            }
+
+            int nextRetry = retryCount + 1;
+            log.info("error received in response [{}], retrying ({} of {})...",
+                    new Object[]{orig, nextRetry, s3Config.getRetryLimit()});
+            // stash retry count so GeoPinningFilter can fail over on reads
+            request.property(PROP_RETRY_COUNT, nextRetry);
+
+            // wait for retry delay with exponential backoff and jitter (without holding a thread)
+            long retryDelay = retryPolicy.getRetryDelay(nextRetry);
+            RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+            backoffEvent.begin();
+            PendingRetry retry = new PendingRetry(request, future, orig, () -> {
+                backoffEvent.complete(getOperationName(request), nextRetry, retryDelay, orig);
+                attempt(request, entityStream, nextRetry, future);
+            });
+            pendingRetries.add(retry);
+            try {
+                log.debug("waiting {}ms before retry", retryDelay);
+                retryScheduler.schedule(retry, retryDelay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // client was destroyed
+                retry.fail();
+            }
+        });
+    }
+
+    /**
+     * A retry waiting for its backoff to elapse. Exactly one of {@link #run()} and {@link #fail()} takes effect.
+     */
+    private class PendingRetry implements Runnable {
+        private final ObjectRequest request;
+        private final CompletableFuture<Response> future;
+        private final RuntimeException error;
+        private final Runnable retry;
+
+        PendingRetry(ObjectRequest request, CompletableFuture<Response> future, RuntimeException error, Runnable retry) {
+            this.request = request;
+            this.future = future;
+            this.error = error;
+            this.retry = retry;
+        }
+
+        @Override
+        public void run() {
+            if (pendingRetries.remove(this)) retry.run();
+        }
+
+        // fails the request with the error that caused the retry (i.e. when the client is destroyed)
+        void fail() {
+            if (!pendingRetries.remove(this)) return;
+            closeSuppliedStream(request);
+            future.completeExceptionally(error);
+        }
+    }
+
+    private boolean shouldRetry(RuntimeException orig, int retryCount, InputStream entityStream) {
+        if (!retryPolicy.shouldRetry(orig, retryCount)) return false;
+
+        // attempt to reset InputStream
+        if (entityStream != null) {
+            try {
+                if (!entityStream.markSupported()) throw new IOException("stream does not support mark/reset");
+                entityStream.reset();
+            } catch (IOException e) {
+                log.warn("could not reset entity stream for retry: " + e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // removes async wrappers, and unwraps errors from ErrorFilter/FaultInjectionFilter (as S3JerseyClient does)
+    private static RuntimeException unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null)
+            t = t.getCause();
+        if (t instanceof ProcessingException) {
+            Throwable cause = t.getCause();
+            if (cause instanceof RuntimeException && S3JerseyClient.isFromErrorFilter(cause))
+                return (RuntimeException) cause;
+        }
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        return new ProcessingException(t);
+    }
+
+    // a 304 or 412 means If-* headers were used and a condition failed
+    private static <T> CompletableFuture<T> nullOnFailedPrecondition(CompletableFuture<T> future) {
+        return future.handle((result, t) -> {
+            if (t == null) return result;
+            RuntimeException e = unwrap(t);
+            if (e instanceof S3Exception) {
+                int httpCode = ((S3Exception) e).getHttpCode();
+                if (httpCode == 304 || httpCode == 412) return null;
+            }
+            throw e;
+        });
+    }
+
+    public S3Config getS3Config() {
+        return s3Config;
+    }
+}
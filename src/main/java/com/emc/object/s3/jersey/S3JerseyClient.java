@@ -27,9 +27,11 @@
 package com.emc.object.s3.jersey;
 
 import com.emc.object.*;
+import com.emc.object.jfr.RetryBackoffEvent;
 import com.emc.object.s3.*;
 import com.emc.object.s3.bean.*;
 import com.emc.object.s3.request.*;
+import com.emc.object.util.PrefetchingPageIterator;
 import com.emc.object.util.RestUtil;
 import com.emc.rest.smart.LoadBalancer;
 import com.emc.rest.smart.SmartConfig;
@@ -46,11 +48,15 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Reference implementation of S3Client.
@@ -128,6 +134,7 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
     protected S3Config s3Config;
     protected Client client;
     protected LoadBalancer loadBalancer;
+    protected RetryPolicy retryPolicy;
     protected S3Signer signer;
 
     protected SmartConfig smartConfig;
@@ -180,11 +187,17 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
             // S.C. - GEO-PINNING
             if (this.s3Config.isGeoPinningEnabled()) loadBalancer.withVetoRules(new GeoPinningRule());
 
+            // S.C. - CIRCUIT BREAKER
+            retryPolicy = new RetryPolicy(this.s3Config, loadBalancer);
+            if (retryPolicy.getCircuitBreaker() != null) loadBalancer.withVetoRules(retryPolicy.getCircuitBreaker());
+
             // S.C. - CLIENT CREATION
             // create a load-balancing jersey client
             client = SmartClientFactory.createSmartClient(smartConfig);
         }
 
+        if (retryPolicy == null) retryPolicy = new RetryPolicy(this.s3Config, null);
+
         // In Jersey 2.x, filters are registered on the client (order matters for request filters:
         // last registered runs first for request, first registered runs first for response)
         // Register request filters (in reverse order of desired execution for requests)
@@ -193,6 +206,14 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         if (this.s3Config.isGeoPinningEnabled()) client.register(new GeoPinningFilter(this.s3Config));
         client.register(new AuthorizationFilter(this.s3Config));
         if (this.s3Config.isChecksumEnabled()) client.register(new ChecksumFilter(this.s3Config));
+        client.register(new EntitySizeInterceptor());
+        client.register(new RequestEventFilter());
+        if (this.s3Config.getRequestMetricsListener() != null) {
+            client.register(new MetricsFilter());
+            client.register(new MetricsFilter.SentBytesCounter());
+        }
+        if (retryPolicy.getCircuitBreaker() != null) client.register(retryPolicy.getCircuitBreaker());
+        if (this.s3Config.isUseStreamingListParser()) client.register(new ListResultReader());
         if (this.s3Config.getFaultInjectionRate() > 0.0f)
             client.register(new FaultInjectionFilter(this.s3Config.getFaultInjectionRate()));
         // Register response filter
@@ -226,18 +247,40 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         return loadBalancer;
     }
 
+    @Override
+    protected String getOperationName(ObjectRequest request) {
+        return MetricsFilter.operationName(request);
+    }
+
+    /**
+     * @return the retry policy, which exposes retry, retry budget and circuit breaker metrics
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     @Override
     protected Response executeRequest(Client client, ObjectRequest request) {
         if (s3Config.isRetryEnabled()) {
             return executeWithRetry(client, request);
         }
-        return unwrapAndExecute(client, request);
+        boolean succeeded = false;
+        try {
+            Response response = attempt(client, request);
+            succeeded = true;
+            return response;
+        } finally {
+            if (!succeeded) closeSuppliedStream(request);
+        }
     }
 
     /**
      * Replicates the retry logic from the original Jersey 1.x RetryFilter.
-     * Handles mark/reset of entity streams, retryability checks, and exponential backoff
-     * in a single method so the flow is easy to follow.
+     * Handles mark/reset of entity streams, retryability checks, and backoff in a single method so the flow is easy
+     * to follow; the decisions themselves (retryability, limit, budget and delay) are made by {@link RetryPolicy}.
+     * Entities that are not streams (byte arrays, files and {@link EntitySupplier}s) are simply sent again; an
+     * EntitySupplier is re-opened for each attempt (the stream from the previous attempt is closed first, and the last
+     * one is closed if the request finally fails).
      */
     private Response executeWithRetry(Client client, ObjectRequest request) {
         int retryCount = 0;
@@ -246,55 +289,72 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
             Object entity = ((EntityRequest) request).getEntity();
             if (entity instanceof InputStream) entityStream = (InputStream) entity;
         }
-        while (true) {
-            try {
-                // mark the stream before each attempt so we can rewind on failure
-                if (entityStream != null && entityStream.markSupported())
-                    entityStream.mark(s3Config.getRetryBufferSize());
-
-                return unwrapAndExecute(client, request);
-            } catch (RuntimeException orig) {
-                Throwable t = orig;
-
-                // Jersey 2 wraps exceptions in ProcessingException (Jersey 1 used ClientHandlerException)
-                if (t instanceof ProcessingException) t = t.getCause();
-
-                if (t instanceof S3Exception) {
-                    S3Exception se = (S3Exception) t;
-                    // retry all 50x errors except 501 (not implemented)
-                    if (se.getHttpCode() < 500 || se.getHttpCode() == 501) throw orig;
-                    // retry all IO exceptions
-                } else if (!(t instanceof IOException)) throw orig;
-
-                // only retry retryLimit times
-                if (++retryCount > s3Config.getRetryLimit()) throw orig;
-
-                // attempt to reset InputStream
-                if (entityStream != null) {
-                    try {
-                        if (!entityStream.markSupported()) throw new IOException("stream does not support mark/reset");
-                        entityStream.reset();
-                    } catch (IOException e) {
-                        log.warn("could not reset entity stream for retry: " + e);
-                        throw orig;
+        retryPolicy.requestStarted();
+        boolean succeeded = false;
+        try {
+            while (true) {
+                try {
+                    // mark the stream before each attempt so we can rewind on failure
+                    if (entityStream != null && entityStream.markSupported())
+                        entityStream.mark(s3Config.getRetryBufferSize());
+
+                    Response response = attempt(client, request);
+                    succeeded = true;
+                    return response;
+                } catch (RuntimeException orig) {
+                    if (!retryPolicy.shouldRetry(orig, retryCount)) throw orig;
+                    retryCount++;
+
+                    // attempt to reset InputStream
+                    if (entityStream != null) {
+                        try {
+                            if (!entityStream.markSupported()) throw new IOException("stream does not support mark/reset");
+                            entityStream.reset();
+                        } catch (IOException e) {
+                            log.warn("could not reset entity stream for retry: " + e);
+                            throw orig;
+                        }
                     }
-                }
 
-                // wait for retry delay with exponential backoff
-                if (s3Config.getInitialRetryDelay() > 0) {
-                    int retryDelay = s3Config.getInitialRetryDelay() * (int) Math.pow(2, retryCount - 1);
-                    try {
-                        log.debug("waiting {}ms before retry", retryDelay);
-                        Thread.sleep(retryDelay);
-                    } catch (InterruptedException e) {
-                        log.warn("interrupted while waiting to retry: " + e.getMessage());
+                    // wait for retry delay with exponential backoff (and jitter)
+                    long retryDelay = retryPolicy.getRetryDelay(retryCount);
+                    if (retryDelay > 0) {
+                        RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+                        backoffEvent.begin();
+                        try {
+                            log.debug("waiting {}ms before retry", retryDelay);
+                            Thread.sleep(retryDelay);
+                        } catch (InterruptedException e) {
+                            log.warn("interrupted while waiting to retry: " + e.getMessage());
+                        }
+                        backoffEvent.complete(getOperationName(request), retryCount, retryDelay, orig);
                     }
-                }
 
-                log.info("error received in response [{}], retrying ({} of {})...", new Object[] { t, retryCount, s3Config.getRetryLimit() });
-                // stash retry count so GeoPinningFilter can fail over on reads
-                request.property(PROP_RETRY_COUNT, retryCount);
+                    log.info("error received in response [{}], retrying ({} of {})...", new Object[] { orig, retryCount, s3Config.getRetryLimit() });
+                    // stash retry count so GeoPinningFilter can fail over on reads
+                    request.property(PROP_RETRY_COUNT, retryCount);
+                }
             }
+        } finally {
+            if (!succeeded) closeSuppliedStream(request);
+        }
+    }
+
+    /**
+     * Makes a single attempt, reporting its outcome to the retry policy (so the circuit breaker sees every host
+     * failure, even when retries are disabled) and to the metrics listener (if any)
+     */
+    private Response attempt(Client client, ObjectRequest request) {
+        AtomicReference<String> hostRef = retryPolicy.beforeAttempt(request);
+        MetricsFilter.Recorder recorder = MetricsFilter.startAttempt(s3Config.getRequestMetricsListener(), request);
+        try {
+            Response response = unwrapAndExecute(client, request);
+            retryPolicy.afterAttempt(hostRef, null);
+            return response;
+        } catch (RuntimeException e) {
+            retryPolicy.afterAttempt(hostRef, e);
+            if (recorder != null) recorder.complete(e);
+            throw e;
         }
     }
 
@@ -315,7 +375,7 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         }
     }
 
-    private static boolean isFromErrorFilter(Throwable cause) {
+    static boolean isFromErrorFilter(Throwable cause) {
         for (StackTraceElement frame : cause.getStackTrace()) {
             String cn = frame.getClassName();
             if ("com.emc.object.s3.jersey.ErrorFilter".equals(cn)) return true;
@@ -561,6 +621,12 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
                 .withMarker(lastResult.getNextMarker()));
     }
 
+    @Override
+    public Stream<QueryObject> streamQueryObjects(QueryObjectsRequest request) {
+        return new PrefetchingPageIterator<>(() -> queryObjects(request), QueryObjectsResult::isTruncated,
+                this::queryMoreObjects, QueryObjectsResult::getObjects, s3Config.getListPrefetchPages()).stream();
+    }
+
     @Override
     public ListObjectsResult listObjects(String bucketName) {
         return listObjects(new ListObjectsRequest(bucketName));
@@ -574,11 +640,57 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
     @Override
     public ListObjectsResult listObjects(ListObjectsRequest request) {
         ListObjectsResult result = executeRequest(client, request, ListObjectsResult.class);
-        if (result.isTruncated() && result.getNextMarker() == null)
-            result.setNextMarker(result.getObjects().get(result.getObjects().size() - 1).getKey());
+        fillNextMarker(result, result.getObjects().isEmpty() ? null
+                : result.getObjects().get(result.getObjects().size() - 1).getKey());
         return result;
     }
 
+    @Override
+    public ListObjectsResult listObjects(ListObjectsRequest request, Consumer<S3Object> objectConsumer) {
+        String[] lastKey = new String[1];
+        ListObjectsResult result = executeListRequest(request, in ->
+                ListResultParser.parseListObjects(in, request.getEncodingType(), object -> {
+                    lastKey[0] = object.getKey();
+                    objectConsumer.accept(object);
+                }));
+        fillNextMarker(result, lastKey[0]);
+        return result;
+    }
+
+    /**
+     * Fills in the next marker of a truncated page if the server did not return one. <code>lastKey</code> is the last
+     * key in the page (null if the page has no keys)
+     */
+    static void fillNextMarker(ListObjectsResult result, String lastKey) {
+        if (result.isTruncated() && result.getNextMarker() == null) {
+            // the next marker is the last entry in the page, which may be a common prefix
+            List<String> prefixes = result.getCommonPrefixes();
+            String lastPrefix = prefixes.isEmpty() ? null : prefixes.get(prefixes.size() - 1);
+            if (lastKey == null || (lastPrefix != null && RestUtil.compareUtf8(lastPrefix, lastKey) > 0)) lastKey = lastPrefix;
+            result.setNextMarker(lastKey);
+        }
+    }
+
+    /**
+     * Executes a list request and parses the response entity directly with <code>parser</code>
+     */
+    private <T> T executeListRequest(ObjectRequest request, ListParser<T> parser) {
+        Response response = executeRequest(client, request);
+        try (InputStream entityStream = response.readEntity(InputStream.class)) {
+            T result = parser.parse(entityStream);
+            fillResponseEntity(result, response);
+            return result;
+        } catch (XMLStreamException | IOException e) {
+            throw new ProcessingException("could not read list response", e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private interface ListParser<T> {
+        T parse(InputStream in) throws XMLStreamException;
+    }
+
     @Override
     public ListObjectsResult listMoreObjects(ListObjectsResult lastResult) {
         return listObjects(new ListObjectsRequest(lastResult.getBucketName())
@@ -589,6 +701,12 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
                 .withMarker(lastResult.getNextMarker()));
     }
 
+    @Override
+    public Stream<S3Object> streamObjects(ListObjectsRequest request) {
+        return new PrefetchingPageIterator<>(() -> listObjects(request), ListObjectsResult::isTruncated,
+                this::listMoreObjects, ListObjectsResult::getObjects, s3Config.getListPrefetchPages()).stream();
+    }
+
     @Override
     public ListVersionsResult listVersions(String bucketName, String prefix) {
         return listVersions(new ListVersionsRequest(bucketName).withPrefix(prefix));
@@ -599,6 +717,12 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         return executeRequest(client, request, ListVersionsResult.class);
     }
 
+    @Override
+    public ListVersionsResult listVersions(ListVersionsRequest request, Consumer<AbstractVersion> versionConsumer) {
+        return executeListRequest(request, in ->
+                ListResultParser.parseListVersions(in, request.getEncodingType(), versionConsumer));
+    }
+
     @Override
     public ListVersionsResult listMoreVersions(ListVersionsResult lastResult) {
         return listVersions(new ListVersionsRequest(lastResult.getBucketName())
@@ -610,6 +734,12 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
                 .withVersionIdMarker(lastResult.getNextVersionIdMarker()));
     }
 
+    @Override
+    public Stream<AbstractVersion> streamVersions(ListVersionsRequest request) {
+        return new PrefetchingPageIterator<>(() -> listVersions(request), ListVersionsResult::isTruncated,
+                this::listMoreVersions, ListVersionsResult::getVersions, s3Config.getListPrefetchPages()).stream();
+    }
+
     @Override
     public void putObject(String bucketName, String key, Object content, String contentType) {
         S3ObjectMetadata metadata = new S3ObjectMetadata().withContentType(contentType);
@@ -636,6 +766,11 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
                 .withRange(Range.fromOffset(-1))).getAppendOffset();
     }
 
+    @Override
+    public S3ObjectOutputStream openObjectOutputStream(String bucketName, String key) {
+        return new S3ObjectOutputStream(this, bucketName, key);
+    }
+
     @Override
     public CopyObjectResult copyObject(String sourceBucketName, String sourceKey, String bucketName, String key) {
         return copyObject(new CopyObjectRequest(sourceBucketName, sourceKey, bucketName, key));
@@ -699,6 +834,16 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         return signer.generatePresignedUrl(request);
     }
 
+    @Override
+    public PresignedUrlGenerator getPresignedUrlGenerator(String bucketName, Date expirationTime) {
+        return getPresignedUrlGenerator(Method.GET, bucketName, expirationTime);
+    }
+
+    @Override
+    public PresignedUrlGenerator getPresignedUrlGenerator(Method method, String bucketName, Date expirationTime) {
+        return signer.newPresignedUrlGenerator(method, bucketName, expirationTime);
+    }
+
     @Override
     public void deleteObject(String bucketName, final String key) {
         deleteObject(new DeleteObjectRequest(bucketName, key));
@@ -741,6 +886,43 @@ public class S3JerseyClient extends AbstractJerseyClient implements S3Client {
         }
     }
 
+    @Override
+    public ObjectMetadataBatch getObjectMetadata(Stream<GetObjectMetadataRequest> requests) {
+        return new ObjectMetadataBatch(requests.iterator(), requests, this::getObjectMetadataIfExists,
+                s3Config.getBatchConcurrency());
+    }
+
+    @Override
+    public ObjectMetadataBatch getObjectMetadata(Collection<GetObjectMetadataRequest> requests) {
+        return getObjectMetadata(requests.stream());
+    }
+
+    /**
+     * Like {@link #getObjectMetadata(GetObjectMetadataRequest)}, but a missing key returns null instead of throwing,
+     * so misses do not pay for parsing an error and building an exception. Only a 404 with a NoSuchKey code (or with
+     * no error body, as for a HEAD) is a miss; any other error, including NoSuchBucket and a failed If-* condition
+     * (304/412), is thrown. The request is left as it was passed in.
+     */
+    protected S3ObjectMetadata getObjectMetadataIfExists(GetObjectMetadataRequest request) {
+        // the property is set on a copy, so concurrent users of the same request never see it
+        GetObjectMetadataRequest headRequest = new GetObjectMetadataRequest(request);
+        headRequest.getCustomHeaders().putAll(request.getCustomHeaders());
+        headRequest.property(S3Constants.PROPERTY_ACCEPT_NOT_FOUND, Boolean.TRUE);
+        Response response = executeRequest(client, headRequest);
+        try {
+            if (response.getStatus() == 404) {
+                if (!response.hasEntity()) return null;
+                S3Exception e = ErrorFilter.parseErrorResponse(
+                        new StringReader(response.readEntity(String.class)), response.getStatus());
+                if ("NoSuchKey".equals(e.getErrorCode())) return null;
+                throw e;
+            }
+            return S3ObjectMetadata.fromHeaders(response.getStringHeaders());
+        } finally {
+            response.close();
+        }
+    }
+
     @Override
     public void setObjectAcl(String bucketName, String key, AccessControlList acl) {
         setObjectAcl(new SetObjectAclRequest(bucketName, key).withAcl(acl));
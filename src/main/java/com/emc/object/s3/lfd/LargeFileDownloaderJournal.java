@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.lfd;
+
+import com.emc.object.util.CrcLineJournal;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An append-only, crash-safe sidecar that records which parts of a parallel download have been written to the target
+ * file, so a restarted download only fetches the missing ranges.
+ * <p>
+ * The first record identifies the object (bucket/key, versionId and ETag seen at HEAD time, size) and the part size,
+ * and each following record is one part index that has been written and forced to disk. A torn or corrupt trailing
+ * record is ignored (see {@link CrcLineJournal}), and that part will be downloaded again.
+ *
+ * @see com.emc.object.s3.LargeFileDownloader#setJournalFile(File)
+ */
+public class LargeFileDownloaderJournal extends CrcLineJournal {
+
+    public static final String JOURNAL_SUFFIX = ".lfd-journal";
+
+    private static final String HEADER_TAG = "LFDJ2";
+    private static final String PART_TAG = "P";
+
+    /**
+     * Returns the default journal location for a target file (next to the file)
+     */
+    public static File journalFileFor(File targetFile) {
+        return new File(targetFile.getPath() + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Returns a journal location in <code>directory</code> that is unique to the source <code>bucket/key</code>
+     */
+    public static File journalFileFor(File directory, String bucket, String key) {
+        return new File(directory, DigestUtils.md5Hex(bucket + "/" + key) + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Starts a new journal, replacing any existing file.
+     */
+    public static LargeFileDownloaderJournal create(File file, String bucket, String key, String versionId,
+                                                    String eTag, long objectSize, long partSize) throws IOException {
+        LargeFileDownloaderJournal journal = new LargeFileDownloaderJournal(file, bucket, key, versionId, eTag,
+                objectSize, partSize);
+        journal.create(HEADER_TAG, encode(bucket), encode(key), encode(versionId), encode(eTag),
+                Long.toString(objectSize), Long.toString(partSize));
+        return journal;
+    }
+
+    /**
+     * Reads an existing journal. Records after the first invalid line are ignored.
+     *
+     * @return the journal, or null if the file does not exist or does not have a valid header
+     */
+    public static LargeFileDownloaderJournal load(File file) throws IOException {
+        return load(file, fields -> {
+            if (fields.length != 7 || !HEADER_TAG.equals(fields[0])) return null;
+            return new LargeFileDownloaderJournal(file, decode(fields[1]), decode(fields[2]),
+                    decode(fields[3]), decode(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+        });
+    }
+
+    private final String bucket;
+    private final String key;
+    private final String versionId;
+    private final String eTag;
+    private final long objectSize;
+    private final long partSize;
+    private final Set<Integer> completedParts = new TreeSet<>();
+
+    private LargeFileDownloaderJournal(File file, String bucket, String key, String versionId, String eTag,
+                                       long objectSize, long partSize) {
+        super(file);
+        if (bucket == null || key == null) throw new IllegalArgumentException("bucket and key are required");
+        this.bucket = bucket;
+        this.key = key;
+        this.versionId = versionId;
+        this.eTag = eTag;
+        this.objectSize = objectSize;
+        this.partSize = partSize;
+    }
+
+    @Override
+    protected boolean loadRecord(String[] fields) {
+        if (fields.length != 2 || !PART_TAG.equals(fields[0])) return false;
+        completedParts.add(Integer.parseInt(fields[1]));
+        return true;
+    }
+
+    /**
+     * Returns whether this journal describes a download of the same object version. An object without an ETag never
+     * matches, since there would be no way to tell if it changed.
+     */
+    public boolean matches(String bucket, String key, String versionId, String eTag, long objectSize) {
+        return eTag != null && this.bucket.equals(bucket) && this.key.equals(key)
+                && Objects.equals(this.versionId, versionId) && eTag.equals(this.eTag)
+                && this.objectSize == objectSize;
+    }
+
+    /**
+     * Durably records a completed part. The part data must already be forced to disk in the target file.
+     */
+    public synchronized void partCompleted(int partIndex) throws IOException {
+        append(PART_TAG, Integer.toString(partIndex));
+        completedParts.add(partIndex);
+    }
+
+    public synchronized boolean isPartCompleted(int partIndex) {
+        return completedParts.contains(partIndex);
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getObjectSize() {
+        return objectSize;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    /**
+     * Returns the indexes of the parts that have been written (the part at index <code>i</code> starts at offset
+     * <code>i * partSize</code>)
+     */
+    public synchronized Set<Integer> getCompletedParts() {
+        return Collections.unmodifiableSet(new TreeSet<>(completedParts));
+    }
+}
@@ -1,14 +1,24 @@
 package com.emc.object.s3.lfu;
 
-import com.emc.object.util.InputStreamSegment;
+import com.emc.object.util.FileChannelInputStream;
 
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
-public class LargeFileMultipartFileSource implements LargeFileMultipartSource {
+/**
+ * Reads parts of a file using positional reads on a single shared {@link FileChannel}, so concurrent part streams do
+ * not each open and seek their own file handle. The channel is opened on first use and should be closed when the
+ * upload is complete (LargeFileUploader does this automatically). If the channel is closed by an interrupted read
+ * (i.e. a cancelled part upload), it is re-opened and the reads of other in-flight parts are repeated on the new
+ * channel.
+ */
+public class LargeFileMultipartFileSource implements LargeFileMultipartSource, Closeable {
     private final File file;
+    private FileChannel channel;
 
     public LargeFileMultipartFileSource(File file) {
         this.file = file;
@@ -17,6 +27,10 @@ public class LargeFileMultipartFileSource implements LargeFileMultipartSource {
             throw new IllegalArgumentException("cannot read file: " + file.getPath());
     }
 
+    public File getFile() {
+        return file;
+    }
+
     @Override
     public long getTotalSize() {
         return file.length();
@@ -24,11 +38,22 @@ public class LargeFileMultipartFileSource implements LargeFileMultipartSource {
 
     @Override
     public InputStream getCompleteDataStream() throws IOException {
-        return new FileInputStream(file);
+        return new FileChannelInputStream(this::getChannel, 0, file.length());
     }
 
     @Override
     public InputStream getPartDataStream(long offset, long length) throws IOException {
-        return new InputStreamSegment(new FileInputStream(file), offset, length);
+        return new FileChannelInputStream(this::getChannel, offset, length);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) channel.close();
+        channel = null;
+    }
+
+    private synchronized FileChannel getChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return channel;
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.lfu;
+
+import com.emc.object.s3.bean.MultipartPartETag;
+import com.emc.object.util.CrcLineJournal;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An append-only, crash-safe record of an MPU in progress, used to resume an upload after the process dies without
+ * listing parts or re-reading the source.
+ * <p>
+ * The first record identifies the upload (uploadId, target bucket/key, part size, and source size/modification time),
+ * and each following record is one completed part (part number, ETag and the MD5 of the data that was sent, if known).
+ * A part is considered journaled once its record is forced to disk; a torn or corrupt trailing record is ignored (see
+ * {@link CrcLineJournal}), and that part will be uploaded again.
+ *
+ * @see com.emc.object.s3.LargeFileUploader#setJournalFile(File)
+ */
+public class LargeFileUploaderJournal extends CrcLineJournal {
+
+    public static final String JOURNAL_SUFFIX = ".lfu-journal";
+
+    private static final String HEADER_TAG = "LFUJ1";
+    private static final String PART_TAG = "P";
+    private static final String NO_MD5 = "-";
+
+    /**
+     * Returns the default journal location for a file source (next to the source file)
+     */
+    public static File journalFileFor(File sourceFile) {
+        return new File(sourceFile.getPath() + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Returns a journal location in <code>directory</code> that is unique to the target <code>bucket/key</code>
+     */
+    public static File journalFileFor(File directory, String bucket, String key) {
+        return new File(directory, DigestUtils.md5Hex(bucket + "/" + key) + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Starts a new journal for <code>uploadId</code>, replacing any existing file.
+     */
+    public static LargeFileUploaderJournal create(File file, String uploadId, String bucket, String key, long partSize,
+                                                  long sourceSize, long sourceModified) throws IOException {
+        LargeFileUploaderJournal journal = new LargeFileUploaderJournal(file, uploadId, bucket, key, partSize,
+                sourceSize, sourceModified);
+        journal.create(HEADER_TAG, uploadId, encode(bucket), encode(key), Long.toString(partSize),
+                Long.toString(sourceSize), Long.toString(sourceModified));
+        return journal;
+    }
+
+    /**
+     * Reads an existing journal. Records after the first invalid line are ignored.
+     *
+     * @return the journal, or null if the file does not exist or does not have a valid header
+     */
+    public static LargeFileUploaderJournal load(File file) throws IOException {
+        return load(file, fields -> {
+            if (fields.length != 7 || !HEADER_TAG.equals(fields[0])) return null;
+            return new LargeFileUploaderJournal(file, fields[1], decode(fields[2]), decode(fields[3]),
+                    Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+        });
+    }
+
+    private final String uploadId;
+    private final String bucket;
+    private final String key;
+    private final long partSize;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final Map<Integer, MultipartPartETag> parts = new TreeMap<>();
+    private final Map<Integer, String> partMd5s = new TreeMap<>();
+
+    private LargeFileUploaderJournal(File file, String uploadId, String bucket, String key, long partSize,
+                                     long sourceSize, long sourceModified) {
+        super(file);
+        this.uploadId = uploadId;
+        this.bucket = bucket;
+        this.key = key;
+        this.partSize = partSize;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+    }
+
+    @Override
+    protected boolean loadRecord(String[] fields) {
+        if (fields.length != 4 || !PART_TAG.equals(fields[0])) return false;
+        int partNumber = Integer.parseInt(fields[1]);
+        parts.put(partNumber, new MultipartPartETag(partNumber, fields[2]));
+        if (!NO_MD5.equals(fields[3])) partMd5s.put(partNumber, fields[3]);
+        return true;
+    }
+
+    /**
+     * Returns whether this journal describes an upload of the same source to the same target. A
+     * <code>sourceModified</code> of -1 (unknown) is only matched by -1.
+     */
+    public boolean matches(String bucket, String key, long sourceSize, long sourceModified) {
+        return this.bucket.equals(bucket) && this.key.equals(key)
+                && this.sourceSize == sourceSize && this.sourceModified == sourceModified;
+    }
+
+    /**
+     * Durably records a completed part. Returns after the record has been forced to disk.
+     *
+     * @param md5 hex MD5 of the part data that was sent (may be null if unknown, i.e. for a remote copy)
+     */
+    public synchronized void partCompleted(int partNumber, String eTag, String md5) throws IOException {
+        append(PART_TAG, Integer.toString(partNumber), eTag, md5 == null ? NO_MD5 : md5);
+        parts.put(partNumber, new MultipartPartETag(partNumber, eTag));
+        if (md5 != null) partMd5s.put(partNumber, md5);
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public long getSourceSize() {
+        return sourceSize;
+    }
+
+    public long getSourceModified() {
+        return sourceModified;
+    }
+
+    /**
+     * Returns the journaled parts (keyed by part number)
+     */
+    public synchronized Map<Integer, MultipartPartETag> getParts() {
+        return Collections.unmodifiableMap(new TreeMap<>(parts));
+    }
+
+    /**
+     * Returns the MD5 of the data sent for each journaled part, where known (keyed by part number)
+     */
+    public synchronized Map<Integer, String> getPartMd5s() {
+        return Collections.unmodifiableMap(new TreeMap<>(partMd5s));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.lfu;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of equally-sized part buffers, used when parts must be read sequentially from a single source stream
+ * but transferred in parallel. Buffers are allocated lazily, so the pool never holds more than
+ * <code>maxBuffers * bufferSize</code> bytes, and only grows that large if the consumers fall behind the reader.
+ */
+public class PartBufferPool {
+    private final int bufferSize;
+    private final int maxBuffers;
+    private final BlockingQueue<byte[]> available = new LinkedBlockingQueue<>();
+    private int allocated = 0;
+
+    public PartBufferPool(int bufferSize, int maxBuffers) {
+        if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be positive");
+        if (maxBuffers <= 0) throw new IllegalArgumentException("maxBuffers must be positive");
+        this.bufferSize = bufferSize;
+        this.maxBuffers = maxBuffers;
+    }
+
+    /**
+     * Returns a free buffer, allocating a new one if the pool has not reached its limit. Otherwise, waits up to
+     * <code>timeout</code> for a buffer to be released.
+     *
+     * @return a buffer, or null if the timeout elapsed before one became available
+     */
+    public byte[] acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        byte[] buffer = available.poll();
+        if (buffer != null) return buffer;
+        synchronized (this) {
+            if (allocated < maxBuffers) {
+                allocated++;
+                return new byte[bufferSize];
+            }
+        }
+        return available.poll(timeout, unit);
+    }
+
+    /**
+     * Returns a buffer to the pool. Must be called exactly once for every buffer acquired.
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) return;
+        available.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBuffers() {
+        return maxBuffers;
+    }
+
+    /**
+     * Returns the number of buffers allocated so far (never more than <code>maxBuffers</code>).
+     */
+    public synchronized int getAllocated() {
+        return allocated;
+    }
+}
@@ -32,4 +32,8 @@ public class GetObjectMetadataRequest extends GetObjectRequest<GetObjectMetadata
     public GetObjectMetadataRequest(String bucketName, String key) {
         super(Method.HEAD, bucketName, key);
     }
+
+    public GetObjectMetadataRequest(GetObjectMetadataRequest other) {
+        super(other);
+    }
 }
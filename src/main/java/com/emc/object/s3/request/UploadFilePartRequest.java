@@ -26,11 +26,12 @@
  */
 package com.emc.object.s3.request;
 
-import com.emc.object.util.InputStreamSegment;
+import com.emc.object.EntitySupplier;
+import com.emc.object.util.FileChannelInputStream;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 public class UploadFilePartRequest extends UploadPartRequest {
     private File file;
@@ -41,13 +42,15 @@ public class UploadFilePartRequest extends UploadPartRequest {
         super(bucketName, key, uploadId, partNumber, null);
     }
 
+    /**
+     * Returns an {@link EntitySupplier} that opens the part of the file for each attempt, so retries never need to
+     * buffer the part
+     */
     @Override
     public Object getEntity() {
-        try {
-            return new InputStreamSegment(new FileInputStream(file), offset, length);
-        } catch (IOException e) {
-            throw new IllegalArgumentException("bad file parameters", e);
-        }
+        // positional read; no need to seek
+        return (EntitySupplier) () ->
+                new FileChannelInputStream(FileChannel.open(file.toPath(), StandardOpenOption.READ), offset, length, true);
     }
 
     @Override
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.function.IntConsumer;
+
+/**
+ * Limits the number of concurrent part transfers and adjusts that limit while a transfer runs, using an
+ * additive-increase/multiplicative-decrease (AIMD) scheme similar to TCP congestion control.
+ * <p>
+ * Transfers are measured in rounds (one round completes when <code>limit</code> parts have finished). After each
+ * round, the aggregate throughput of the round is compared with the best throughput seen so far:
+ * <ul>
+ * <li>if any part failed, or throughput dropped by more than {@link #DEFAULT_DROP_TOLERANCE}, the limit is
+ * multiplied by {@link #DEFAULT_DECREASE_FACTOR}</li>
+ * <li>if per-part latency is more than {@link #DEFAULT_LATENCY_INFLATION} times the lowest seen, and throughput is
+ * not improving, the limit is held (the path is saturated)</li>
+ * <li>otherwise, the limit is doubled (until the first decrease, like TCP slow-start) or increased by one</li>
+ * </ul>
+ */
+public class AimdConcurrencyController {
+
+    private static final Logger log = LoggerFactory.getLogger(AimdConcurrencyController.class);
+
+    public static final double DEFAULT_DECREASE_FACTOR = 0.5;
+    public static final double DEFAULT_DROP_TOLERANCE = 0.2;
+    public static final double DEFAULT_LATENCY_INFLATION = 2.0;
+
+    /**
+     * Number of parts to aim for per concurrent transfer when choosing a part size, so that the controller has
+     * enough rounds to adjust.
+     */
+    public static final int TARGET_PARTS_PER_THREAD = 4;
+
+    /**
+     * Chooses a part size that yields about {@link #TARGET_PARTS_PER_THREAD} parts per concurrent transfer, within
+     * <code>minPartSize</code> and <code>maxPartSize</code>, and never so small that <code>totalSize</code> would need
+     * more than <code>maxParts</code> parts.
+     */
+    public static long choosePartSize(long totalSize, int maxConcurrency, long minPartSize, long maxPartSize, int maxParts) {
+        long partSize = totalSize / ((long) maxConcurrency * TARGET_PARTS_PER_THREAD);
+        partSize = Math.min(maxPartSize, Math.max(minPartSize, partSize));
+        return Math.max(partSize, totalSize / maxParts + 1);
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final IntConsumer limitListener;
+
+    private int limit;
+    private int inFlight = 0;
+    private boolean slowStart = true;
+
+    private long roundStart = System.nanoTime();
+    private int roundCount = 0;
+    private long roundBytes = 0;
+    private long roundLatency = 0;
+    private boolean roundFailed = false;
+
+    private double bestThroughput = 0; // bytes/s
+    private long minLatency = Long.MAX_VALUE; // nanoseconds per part
+
+    /**
+     * @param limitListener notified (outside of any lock) with the new limit every time it changes; may be null
+     */
+    public AimdConcurrencyController(int minLimit, int initialLimit, int maxLimit, IntConsumer limitListener) {
+        if (minLimit < 1 || maxLimit < minLimit)
+            throw new IllegalArgumentException("invalid limits (min: " + minLimit + ", max: " + maxLimit + ")");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limitListener = limitListener;
+    }
+
+    /**
+     * Blocks until a transfer slot is available under the current limit
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) wait();
+        inFlight++;
+    }
+
+    /**
+     * Releases a transfer slot and records the result of the transfer. May adjust the limit.
+     *
+     * @param bytes    number of bytes transferred
+     * @param nanos    time taken by the transfer
+     * @param success  whether the transfer succeeded
+     */
+    public void release(long bytes, long nanos, boolean success) {
+        int oldLimit, newLimit;
+        synchronized (this) {
+            inFlight--;
+            oldLimit = limit;
+
+            roundCount++;
+            roundBytes += bytes;
+            roundLatency += nanos;
+            if (!success) roundFailed = true;
+
+            if (roundCount >= limit) endRound();
+            newLimit = limit;
+            notifyAll();
+        }
+        if (newLimit != oldLimit) {
+            log.debug("concurrency limit changed from {} to {}", oldLimit, newLimit);
+            if (limitListener != null) limitListener.accept(newLimit);
+        }
+    }
+
+    /**
+     * Runs <code>transfer</code> while holding a slot, and records its size, duration and success.
+     *
+     * @throws CancellationException if interrupted while waiting for a slot
+     */
+    public <T> T execute(long bytes, Callable<T> transfer) throws Exception {
+        try {
+            acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted while waiting for a transfer slot");
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = transfer.call();
+            success = true;
+            return result;
+        } finally {
+            release(bytes, System.nanoTime() - start, success);
+        }
+    }
+
+    private void endRound() {
+        long now = System.nanoTime();
+        double throughput = roundBytes * 1_000_000_000.0 / Math.max(1, now - roundStart);
+        long latency = roundLatency / roundCount;
+
+        if (roundFailed || throughput < bestThroughput * (1 - DEFAULT_DROP_TOLERANCE)) {
+            // congestion - back off, and start measuring from the new level
+            limit = Math.max(minLimit, (int) (limit * DEFAULT_DECREASE_FACTOR));
+            slowStart = false;
+            bestThroughput = throughput;
+        } else if (latency > minLatency * DEFAULT_LATENCY_INFLATION && throughput <= bestThroughput) {
+            // saturated - more parts would only queue
+            slowStart = false;
+        } else {
+            limit = Math.min(maxLimit, slowStart ? limit * 2 : limit + 1);
+            bestThroughput = Math.max(bestThroughput, throughput);
+        }
+        minLatency = Math.min(minLatency, latency);
+
+        roundStart = now;
+        roundCount = 0;
+        roundBytes = 0;
+        roundLatency = 0;
+        roundFailed = false;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
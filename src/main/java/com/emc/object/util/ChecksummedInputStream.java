@@ -33,6 +33,7 @@ import java.security.NoSuchAlgorithmException;
 public class ChecksummedInputStream extends InputStream {
     private InputStream delegate;
     private RunningChecksum checksum;
+    private RunningChecksum markChecksum;
     private ChecksumValue verifyChecksum;
 
     public ChecksummedInputStream(InputStream delegate, ChecksumValue verifyChecksum)
@@ -103,19 +104,27 @@ public class ChecksummedInputStream extends InputStream {
         delegate.close();
     }
 
+    /**
+     * Marks the delegate stream and takes a snapshot of the checksum, so that a {@link #reset()} (i.e. for a retry)
+     * rewinds both. Only supported if the delegate stream supports mark.
+     */
     @Override
-    public void mark(int readLimit) {
-        throw new UnsupportedOperationException("mark not supported");
+    public synchronized void mark(int readLimit) {
+        if (!delegate.markSupported()) throw new UnsupportedOperationException("mark not supported");
+        delegate.mark(readLimit);
+        markChecksum = checksum.copy();
     }
 
     @Override
-    public void reset() throws IOException {
-        throw new UnsupportedOperationException("mark not supported");
+    public synchronized void reset() throws IOException {
+        if (markChecksum == null) throw new IOException("stream has not been marked");
+        delegate.reset();
+        checksum = markChecksum.copy();
     }
 
     @Override
     public boolean markSupported() {
-        return false;
+        return delegate.markSupported();
     }
 
     public ChecksumValue getChecksum() {
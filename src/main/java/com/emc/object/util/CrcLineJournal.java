@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Base for append-only, crash-safe journal files. The file is UTF-8 text with one record per line: tab-separated
+ * fields followed by a CRC32 of the line content. Every record is forced to disk before {@link #append(String...)}
+ * returns, and when loading, the first record that is torn or fails its CRC (i.e. from a crash mid-write) ends the
+ * journal; it and anything after it are discarded (and truncated by {@link #openForAppend()}).
+ * <p>
+ * The first record is a header describing the operation. Subclasses define the header and record formats; string
+ * fields that may contain any character should go through {@link #encode(String)}/{@link #decode(String)}.
+ */
+public abstract class CrcLineJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CrcLineJournal.class);
+
+    // URLEncoder never produces "!" (it is always escaped), so this cannot collide with an encoded value
+    private static final String NULL_VALUE = "!";
+
+    private final File file;
+    private long validLength = 0;
+    private FileChannel channel;
+
+    protected CrcLineJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads an existing journal. <code>headerParser</code> creates the journal from the first record (returning null
+     * if the header is not valid), and each following record is passed to {@link #loadRecord(String[])} until one is
+     * invalid.
+     *
+     * @return the journal, or null if the file does not exist or does not have a valid header
+     */
+    protected static <J extends CrcLineJournal> J load(File file, HeaderParser<J> headerParser) throws IOException {
+        if (!file.exists()) return null;
+
+        byte[] content = Files.readAllBytes(file.toPath());
+        J journal = null;
+        int lineStart = 0, validLength = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') continue;
+            String[] fields = parseLine(new String(content, lineStart, i - lineStart, StandardCharsets.UTF_8));
+            if (fields == null) break; // corrupt record; ignore the rest
+
+            try {
+                if (journal == null) {
+                    journal = headerParser.parse(fields);
+                    if (journal == null) break;
+                } else if (!journal.loadRecord(fields)) {
+                    break;
+                }
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            lineStart = i + 1;
+            validLength = lineStart;
+        }
+
+        if (journal == null) {
+            log.warn("journal {} has no valid header", file);
+            return null;
+        }
+        ((CrcLineJournal) journal).validLength = validLength;
+        if (validLength < content.length) {
+            log.info("journal {} has {} bytes of incomplete records; they will be discarded",
+                    file, content.length - validLength);
+        }
+        return journal;
+    }
+
+    /**
+     * Applies a (non-header) record read from the file
+     *
+     * @return false if the record is not valid (it and all following records are discarded)
+     */
+    protected abstract boolean loadRecord(String[] fields);
+
+    /**
+     * Creates (or truncates) the file and writes the header record
+     */
+    protected void create(String... headerFields) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        validLength = 0;
+        append(headerFields);
+    }
+
+    /**
+     * Opens a loaded journal to record more entries. Any incomplete trailing record is truncated first.
+     */
+    public synchronized void openForAppend() throws IOException {
+        if (channel != null) return;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+        channel.truncate(validLength);
+        channel.position(validLength);
+    }
+
+    /**
+     * Durably appends a record. Returns after the record has been forced to disk.
+     */
+    protected synchronized void append(String... fields) throws IOException {
+        if (channel == null) throw new IllegalStateException("journal is not open for writing");
+        String content = String.join("\t", fields);
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        byte[] line = (content + "\t" + Long.toHexString(crc.getValue()) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        channel.force(false);
+        validLength += line.length;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) channel.close();
+        channel = null;
+    }
+
+    /**
+     * Closes and deletes the journal (i.e. after the operation is complete)
+     */
+    public synchronized void delete() throws IOException {
+        close();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    // returns the fields of a line (without the CRC), or null if the CRC does not match
+    private static String[] parseLine(String line) {
+        int crcIndex = line.lastIndexOf('\t');
+        if (crcIndex < 0) return null;
+        String content = line.substring(0, crcIndex);
+        CRC32 crc = new CRC32();
+        crc.update(content.getBytes(StandardCharsets.UTF_8));
+        if (!Long.toHexString(crc.getValue()).equals(line.substring(crcIndex + 1))) return null;
+        return content.split("\t", -1);
+    }
+
+    /**
+     * Encodes a string so it is safe to use as a field (null is preserved)
+     */
+    protected static String encode(String value) {
+        if (value == null) return NULL_VALUE;
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected static String decode(String value) {
+        if (NULL_VALUE.equals(value)) return null;
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface HeaderParser<J extends CrcLineJournal> {
+        /**
+         * @return the journal described by the header record, or null if it is not a valid header
+         */
+        J parse(String[] fields);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.util.Date;
+
+/**
+ * Fixed-format date parsers for the forms that ECS actually sends (listing timestamps, HTTP dates and AWS v4 dates).
+ * These avoid the regular expressions, formatters and calendars of the general parsers, and allocate nothing but the
+ * resulting {@link Date}.
+ * <p>
+ * Each method returns null if the string is not in exactly the expected form (or is not a valid UTC date-time), so that
+ * the caller can fall back to its lenient parser. All dates are UTC, and only years 1583-9999 are handled here (earlier
+ * dates fall back, because {@link java.text.SimpleDateFormat} uses the Julian calendar for them).
+ */
+public final class DateUtil {
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * MILLIS_PER_SECOND;
+    private static final int MIN_YEAR = 1583; // first full year of the Gregorian calendar
+
+    // ISO order (Monday first)
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTH_NAMES = {"Jan", "Feb", "Mar", "Apr", "May", "Jun",
+            "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /**
+     * Parses <code>yyyy-MM-dd'T'HH:mm:ss'Z'</code> or <code>yyyy-MM-dd'T'HH:mm:ss.SSS'Z'</code>
+     */
+    public static Date parseIso8601DateTime(String s) {
+        if (s == null) return null;
+        int length = s.length();
+        if (length != 20 && length != 24) return null;
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T' || s.charAt(13) != ':'
+                || s.charAt(16) != ':' || s.charAt(length - 1) != 'Z') return null;
+        int millis = 0;
+        if (length == 24) {
+            if (s.charAt(19) != '.') return null;
+            millis = digits(s, 20, 3);
+            if (millis < 0) return null;
+        }
+        long time = epochMillis(digits(s, 0, 4), digits(s, 5, 2), digits(s, 8, 2),
+                digits(s, 11, 2), digits(s, 14, 2), digits(s, 17, 2));
+        return time == INVALID ? null : new Date(time + millis);
+    }
+
+    /**
+     * Parses <code>yyyy-MM-dd</code>
+     */
+    public static Date parseIso8601Date(String s) {
+        if (s == null || s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return null;
+        long time = epochMillis(digits(s, 0, 4), digits(s, 5, 2), digits(s, 8, 2), 0, 0, 0);
+        return time == INVALID ? null : new Date(time);
+    }
+
+    /**
+     * Parses the AWS v4 date format <code>yyyyMMdd'T'HHmmss'Z'</code>
+     */
+    public static Date parseAmzDate(String s) {
+        if (s == null || s.length() != 16 || s.charAt(8) != 'T' || s.charAt(15) != 'Z') return null;
+        long time = epochMillis(digits(s, 0, 4), digits(s, 4, 2), digits(s, 6, 2),
+                digits(s, 9, 2), digits(s, 11, 2), digits(s, 13, 2));
+        return time == INVALID ? null : new Date(time);
+    }
+
+    /**
+     * Parses the HTTP (RFC 1123) date format <code>EEE, dd MMM yyyy HH:mm:ss 'GMT'</code>. The day of the week must
+     * match the date
+     */
+    public static Date parseHttpDate(String s) {
+        if (s == null || s.length() != 29 || s.charAt(3) != ',' || s.charAt(4) != ' ' || s.charAt(7) != ' '
+                || s.charAt(11) != ' ' || s.charAt(16) != ' ' || s.charAt(19) != ':' || s.charAt(22) != ':'
+                || s.charAt(25) != ' ' || !s.startsWith("GMT", 26)) return null;
+        int month = -1;
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            if (s.startsWith(MONTH_NAMES[i], 8)) {
+                month = i + 1;
+                break;
+            }
+        }
+        long time = epochMillis(digits(s, 12, 4), month, digits(s, 5, 2),
+                digits(s, 17, 2), digits(s, 20, 2), digits(s, 23, 2));
+        if (time == INVALID) return null;
+        int dayOfWeek = (int) Math.floorMod(Math.floorDiv(time, MILLIS_PER_DAY) + 3, 7L); // 1970-01-01 was a Thursday
+        if (!s.startsWith(DAY_NAMES[dayOfWeek])) return null;
+        return new Date(time);
+    }
+
+    /**
+     * Returns the UTC epoch millis of the given date-time, or {@link #INVALID} if any field is out of range
+     */
+    private static long epochMillis(int year, int month, int day, int hour, int minute, int second) {
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) return INVALID;
+        return epochDay(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60L + minute) * 60L + second) * MILLIS_PER_SECOND;
+    }
+
+    // days since 1970-01-01 in the proleptic Gregorian calendar (year must be positive)
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1; // March-based
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // returns -1 if any character is not an ASCII digit
+    private static int digits(String s, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private DateUtil() {
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a segment of a file using positional reads on a {@link FileChannel}. Unlike {@link InputStreamSegment}, this
+ * does not need a dedicated file handle or a seek, so many segments can be read concurrently from the same channel.
+ * Reads go through a pooled direct buffer, so no per-read native buffers are allocated. Because the position is just
+ * an offset, this stream supports {@link #mark(int)}/{@link #reset()} without buffering any data.
+ * <p>
+ * An interrupted read closes the channel for every stream sharing it. To survive that, construct the stream with a
+ * {@link ChannelProvider}; when a read fails because <em>another</em> thread closed the channel, the stream gets a
+ * (re-opened) channel from the provider and repeats the read. A read interrupted on the calling thread still fails.
+ */
+public class FileChannelInputStream extends InputStream {
+    static final int MAX_REOPEN_ATTEMPTS = 3;
+
+    private FileChannel channel;
+    private final ChannelProvider channelProvider;
+    private final long offset;
+    private final long length;
+    private final boolean closeChannel;
+    private final DirectBufferPool bufferPool;
+    private ByteBuffer buffer;
+    private long position = 0;
+    private long markPosition = 0;
+    private boolean closed = false;
+
+    /**
+     * @param closeChannel whether to close <code>channel</code> when this stream is closed (set to false when the
+     *                     channel is shared)
+     */
+    public FileChannelInputStream(FileChannel channel, long offset, long length, boolean closeChannel) {
+        this(channel, offset, length, closeChannel, DirectBufferPool.getDefault());
+    }
+
+    public FileChannelInputStream(FileChannel channel, long offset, long length, boolean closeChannel,
+                                  DirectBufferPool bufferPool) {
+        this(channel, null, offset, length, closeChannel, bufferPool);
+    }
+
+    /**
+     * Reads from a shared channel that is re-opened by <code>channelProvider</code> if it is closed by another reader.
+     * The channel is never closed by this stream
+     */
+    public FileChannelInputStream(ChannelProvider channelProvider, long offset, long length) throws IOException {
+        this(channelProvider.getChannel(), channelProvider, offset, length, false, DirectBufferPool.getDefault());
+    }
+
+    private FileChannelInputStream(FileChannel channel, ChannelProvider channelProvider, long offset, long length,
+                                   boolean closeChannel, DirectBufferPool bufferPool) {
+        if (offset < 0 || length < 0) throw new IllegalArgumentException("offset and length must be >= 0");
+        this.channel = channel;
+        this.channelProvider = channelProvider;
+        this.offset = offset;
+        this.length = length;
+        this.closeChannel = closeChannel;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int c = read(b, 0, 1);
+        return c < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) throw new IOException("stream is closed");
+        if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException();
+        if (len == 0) return 0;
+        if (position >= length) return -1;
+
+        if (buffer == null) buffer = bufferPool.acquire();
+        int count = readChannel(len);
+        if (count < 0) throw new IOException(String.format("file ended early (expected %d more bytes)", length - position));
+        buffer.flip();
+        buffer.get(b, off, count);
+        position += count;
+        return count;
+    }
+
+    private int readChannel(int len) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            buffer.clear();
+            buffer.limit((int) Math.min(Math.min(len, buffer.capacity()), length - position));
+            try {
+                return channel.read(buffer, offset + position);
+            } catch (ClosedChannelException e) {
+                // if this thread was interrupted, the failure is ours to report
+                if (channelProvider == null || e instanceof ClosedByInterruptException
+                        || Thread.currentThread().isInterrupted() || attempt >= MAX_REOPEN_ATTEMPTS) throw e;
+                channel = channelProvider.getChannel();
+            }
+        }
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) return 0;
+        long skipped = Math.min(n, length - position);
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, length - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        markPosition = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = markPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        bufferPool.release(buffer);
+        buffer = null;
+        if (closeChannel) channel.close();
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Supplies an open channel for the file (re-opening it if it was closed)
+     */
+    @FunctionalInterface
+    public interface ChannelProvider {
+        FileChannel getChannel() throws IOException;
+    }
+}
@@ -40,6 +40,8 @@ public class Iso8601DateAdapter extends XmlAdapter<String, Date> {
 
     @Override
     public Date unmarshal( String s ) throws Exception {
+        Date date = DateUtil.parseIso8601Date( s );
+        if ( date != null ) return date;
         return getFormat().parse( s );
     }
 
@@ -38,20 +38,25 @@ import java.util.regex.Pattern;
 public class Iso8601DateTimeAdapter extends XmlAdapter<String, Date> {
     private static final String ISO_8601_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
+    private static final Pattern TZ_PATTERN = Pattern.compile( "([-+])(\\d{2}):?(\\d{2})?$" );
+    private static final Pattern MILLIS_PATTERN = Pattern.compile( "\\.(\\d{3})Z$" );
+
     // DateFormat is *not* thread-safe!
     private static final ThreadLocal<DateFormat> iso8601Format = new ThreadLocal<DateFormat>();
 
     /**
      * Until Java 7, SimpleDateFormat doesn't support ISO 8601 time zones ('Z', '+0000', '-03', etc.)  This extra
-     * parsing ensures that we can *read* them.
+     * parsing ensures that we can *read* them. The common UTC forms (with or without milliseconds) take a fast path
+     * (see {@link DateUtil#parseIso8601DateTime(String)}).
      */
     @Override
     public Date unmarshal( String s ) throws Exception {
-        int hourOffset = 0, minuteOffset = 0, millis = 0;
+        Date date = DateUtil.parseIso8601DateTime( s );
+        if ( date != null ) return date;
 
-        String tzPattern = "([-+])(\\d{2}):?(\\d{2})?$";
+        int hourOffset = 0, minuteOffset = 0, millis = 0;
 
-        Matcher matcher = Pattern.compile( tzPattern ).matcher( s );
+        Matcher matcher = TZ_PATTERN.matcher( s );
         if ( matcher.find() ) {
 
             hourOffset = Integer.parseInt( matcher.group( 2 ) );
@@ -64,18 +69,16 @@ public class Iso8601DateTimeAdapter extends XmlAdapter<String, Date> {
                 minuteOffset *= -1;
             }
 
-            s = s.replaceAll( tzPattern, "" ) + "Z";
+            s = s.substring( 0, matcher.start() ) + "Z";
         }
 
         // look for milliseconds (SimpleDateFormat does not support optional segments)
-        String millisPattern = "\\.(\\d{3})Z$";
-
-        matcher = Pattern.compile( millisPattern ).matcher( s );
+        matcher = MILLIS_PATTERN.matcher( s );
         if ( matcher.find() ) {
 
             millis = Integer.parseInt( matcher.group( 1 ) );
 
-            s = s.replaceAll( millisPattern, "Z" );
+            s = s.substring( 0, matcher.start() ) + "Z";
         }
 
         Calendar cal = Calendar.getInstance();
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A simple pool of reusable objects that are expensive to create but cheap to reset (i.e. {@link javax.crypto.Mac}
+ * or {@link java.security.MessageDigest}). Unlike a thread-local, a pool works the same for any number of (virtual)
+ * threads. If the pool is empty, a new object is created; released objects beyond <code>maxPooled</code> are dropped.
+ * Callers must reset the state of an object before (or after) using it.
+ */
+public class ObjectPool<T> {
+    public static final int DEFAULT_MAX_POOLED = 64;
+
+    private final Supplier<T> factory;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<T> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public ObjectPool(Supplier<T> factory) {
+        this(factory, DEFAULT_MAX_POOLED);
+    }
+
+    public ObjectPool(Supplier<T> factory, int maxPooled) {
+        this.factory = factory;
+        this.maxPooled = maxPooled;
+    }
+
+    public T acquire() {
+        T object = pool.poll();
+        if (object == null) return factory.get();
+        pooled.decrementAndGet();
+        return object;
+    }
+
+    public void release(T object) {
+        if (object == null) return;
+        if (pooled.incrementAndGet() <= maxPooled) pool.offer(object);
+        else pooled.decrementAndGet();
+    }
+
+    public int getMaxPooled() {
+        return maxPooled;
+    }
+}
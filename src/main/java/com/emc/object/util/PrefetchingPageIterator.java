@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily iterates over the items of a paged listing, fetching up to <code>prefetchPages</code> pages in the background
+ * while the caller is still processing earlier pages. Each page depends on the marker of the previous page, so pages
+ * are always fetched one at a time, in order. Nothing is fetched until the first call to {@link #hasNext()}.
+ * <p>
+ * Fetching stops as soon as the buffer of unprocessed pages is full, so an abandoned iterator holds no threads and at
+ * most <code>prefetchPages</code> pages in memory. A failed fetch is thrown from {@link #hasNext()} after all pages
+ * preceding it have been consumed. This class is not thread-safe for use by multiple consumers.
+ *
+ * @param <P> the page (result) type
+ * @param <T> the item type
+ */
+public class PrefetchingPageIterator<P, T> implements Iterator<T>, Closeable {
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService defaultExecutor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "page-prefetch-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<P> firstPage;
+    private final Predicate<P> hasMorePages;
+    private final Function<P, P> nextPage;
+    private final Function<P, ? extends Collection<T>> pageItems;
+    private final int prefetchPages;
+    private final Executor executor;
+
+    // guarded by this
+    private final Deque<P> readyPages = new ArrayDeque<>();
+    private P lastPage;
+    private boolean fetching;
+    private boolean allPagesFetched;
+    private Throwable failure;
+    private boolean closed;
+
+    private Iterator<T> currentItems = Collections.emptyIterator();
+
+    /**
+     * @param firstPage     fetches the first page
+     * @param hasMorePages  returns true if there are pages following the given page (i.e. the page is truncated)
+     * @param nextPage      fetches the page following the given page
+     * @param pageItems     returns the items in a page
+     * @param prefetchPages the maximum number of pages to fetch ahead of the caller
+     */
+    public PrefetchingPageIterator(Supplier<P> firstPage, Predicate<P> hasMorePages, Function<P, P> nextPage,
+                                   Function<P, ? extends Collection<T>> pageItems, int prefetchPages) {
+        this(firstPage, hasMorePages, nextPage, pageItems, prefetchPages, defaultExecutor);
+    }
+
+    public PrefetchingPageIterator(Supplier<P> firstPage, Predicate<P> hasMorePages, Function<P, P> nextPage,
+                                   Function<P, ? extends Collection<T>> pageItems, int prefetchPages,
+                                   Executor executor) {
+        if (prefetchPages < 0) throw new IllegalArgumentException("prefetchPages must be >= 0");
+        this.firstPage = firstPage;
+        this.hasMorePages = hasMorePages;
+        this.nextPage = nextPage;
+        this.pageItems = pageItems;
+        this.prefetchPages = prefetchPages;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentItems.hasNext()) {
+            P page = takePage();
+            if (page == null) return false;
+            Collection<T> items = pageItems.apply(page);
+            if (items != null) currentItems = items.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return currentItems.next();
+    }
+
+    /**
+     * Stops any further background fetching. A fetch that is already in progress will complete, but its page is
+     * discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        readyPages.clear();
+        currentItems = Collections.emptyIterator();
+    }
+
+    /**
+     * Returns a sequential stream over the remaining items. Closing the stream closes this iterator.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(this::close);
+    }
+
+    private synchronized P takePage() {
+        if (closed) throw new IllegalStateException("iterator is closed");
+        while (readyPages.isEmpty()) {
+            if (failure != null) throw rethrow(failure);
+            if (allPagesFetched) return null;
+            startFetch(); // no-op if a fetch is already running
+            if (!fetching) continue; // the executor ran the fetch in this thread
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("interrupted while waiting for the next page", e);
+            }
+            if (closed) throw new IllegalStateException("iterator is closed");
+        }
+        P page = readyPages.removeFirst();
+        if (readyPages.size() < prefetchPages) startFetch();
+        return page;
+    }
+
+    // must hold lock
+    private void startFetch() {
+        if (fetching || allPagesFetched || failure != null || closed) return;
+        fetching = true;
+        final P previousPage = lastPage;
+        CompletableFuture.supplyAsync(() -> previousPage == null ? firstPage.get() : nextPage.apply(previousPage), executor)
+                .whenComplete(this::fetchComplete);
+    }
+
+    private synchronized void fetchComplete(P page, Throwable t) {
+        fetching = false;
+        if (!closed) {
+            if (t != null) {
+                failure = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            } else {
+                readyPages.addLast(page);
+                lastPage = page;
+                if (!hasMorePages.test(page)) allPagesFetched = true;
+                else if (readyPages.size() < prefetchPages) startFetch();
+            }
+        }
+        notifyAll();
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) throw (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        throw new RuntimeException(t);
+    }
+}
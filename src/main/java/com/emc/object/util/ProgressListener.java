@@ -44,4 +44,14 @@ public interface ProgressListener {
      * @param size number of bytes transferred
      */
     void transferred(long size);
+
+    /**
+     * Reports the part size and number of concurrent part transfers chosen by an adaptive transfer. This is called
+     * when the transfer starts, and again every time the concurrency is adjusted. The default implementation does
+     * nothing.
+     * @param partSize size of each part in bytes
+     * @param concurrency number of parts that may be transferred at the same time
+     */
+    default void partSettingsChanged(long partSize, int concurrency) {
+    }
 }
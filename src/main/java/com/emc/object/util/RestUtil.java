@@ -34,14 +34,13 @@ import java.net.URISyntaxException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.CharacterCodingException;
-import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 public final class RestUtil {
@@ -91,6 +90,11 @@ public final class RestUtil {
     public static final String PROPERTY_VERIFY_READ_CHECKSUM = "com.emc.object.verifyReadChecksum";
     public static final String PROPERTY_VERIFY_WRITE_CHECKSUM = "com.emc.object.verifyWriteChecksum";
     public static final String PROPERTY_GENERATE_CONTENT_MD5 = "com.emc.object.generateContentMd5";
+    /**
+     * Content-length of the request entity, if known (-1 forces chunked encoding). This is carried on the request
+     * rather than in thread-local state, so it is visible to whichever thread writes the entity.
+     */
+    public static final String PROPERTY_ENTITY_SIZE = "com.emc.object.entitySize";
 
     public static final int STATUS_REDIRECT = 301;
     public static final int STATUS_UNAUTHORIZED = 403;
@@ -103,12 +107,9 @@ public final class RestUtil {
     private static final String HEADER_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
     private static final String AMZ_DATE_FORMAT = "yyyyMMdd'T'HHmmss'Z'";
 
-    private static final ThreadLocal<DateFormat> headerFormat = ThreadLocal.withInitial(() -> {
-        DateFormat format = new SimpleDateFormat(HEADER_FORMAT, Locale.ENGLISH);
-        format.setTimeZone(TimeZone.getTimeZone("UTC"));
-        return format;
-    });
-    private static final ThreadLocal<CharsetEncoder> utf8Encoder = ThreadLocal.withInitial(StandardCharsets.UTF_8::newEncoder);
+    // immutable and thread-safe (no per-thread instances needed)
+    private static final DateTimeFormatter headerFormatter = DateTimeFormatter.ofPattern(HEADER_FORMAT, Locale.ENGLISH)
+            .withZone(ZoneId.of("UTC"));
 
     public static <T> String getFirstAsString(Map<String, List<T>> multiValueMap, String key) {
         return getFirstAsString(multiValueMap, key, false);
@@ -208,25 +209,34 @@ public final class RestUtil {
 
     public static String headerFormat(Date date) {
         if (date == null) return null;
-        return headerFormat.get().format(date);
+        return headerFormatter.format(date.toInstant());
     }
 
     public static Date headerParse(String dateString) {
         if (dateString == null) return null;
+        Date date = DateUtil.parseHttpDate(dateString);
+        if (date != null) return date;
         try {
-            return headerFormat.get().parse(dateString);
-        } catch (ParseException e) {
-            throw new RuntimeException("invalid date header: " + dateString, e);
+            return Date.from(Instant.from(headerFormatter.parse(dateString)));
+        } catch (DateTimeParseException e) {
+            try {
+                // numeric offsets (i.e. "+0000") are also valid in HTTP dates
+                return Date.from(Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(dateString)));
+            } catch (DateTimeParseException e2) {
+                throw new RuntimeException("invalid date header: " + dateString, e);
+            }
         }
     }
 
     public static Date amzHeaderParse(String dateString) {
         if (dateString == null) return null;
+        Date date = DateUtil.parseAmzDate(dateString);
+        if (date != null) return date;
         try {
             // convert date
             SimpleDateFormat sdf = new SimpleDateFormat(AMZ_DATE_FORMAT);
             sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-            Date date = sdf.parse(dateString);
+            date = sdf.parse(dateString);
             sdf.applyPattern(HEADER_FORMAT);
             return date;
         } catch (ParseException e) {
@@ -385,12 +395,7 @@ public final class RestUtil {
                 return s;
         }
 
-        ByteBuffer bb = null;
-        try {
-            bb = utf8Encoder.get().encode(CharBuffer.wrap(s));
-        } catch (CharacterCodingException x) {
-            assert false;
-        }
+        ByteBuffer bb = ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
 
         StringBuffer sb = new StringBuffer();
         while (bb.hasRemaining()) {
@@ -434,6 +439,14 @@ public final class RestUtil {
         return sb.toString();
     }
 
+    /**
+     * Compares two keys by their unsigned UTF-8 bytes, which is the order of keys in a bucket listing (unlike
+     * {@link String#compareTo(String)}, which orders by UTF-16 code unit)
+     */
+    public static int compareUtf8(String a, String b) {
+        return Arrays.compareUnsigned(a.getBytes(StandardCharsets.UTF_8), b.getBytes(StandardCharsets.UTF_8));
+    }
+
     private RestUtil() {
     }
 }
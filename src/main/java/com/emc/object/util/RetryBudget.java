@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps retries at a fraction of overall traffic, so that a failing service sees a bounded amount of extra load
+ * instead of every request being multiplied by the retry limit.
+ * <p>
+ * This is a token bucket: every request deposits <code>retryRatio</code> tokens and every retry withdraws one. The
+ * bucket holds at most <code>maxTokens</code> and starts full, so an idle or freshly created client can still retry
+ * a burst of sporadic failures. Once the bucket is empty, retries are only allowed at <code>retryRatio</code> times
+ * the request rate.
+ * <p>
+ * This class is lock-free: it is called on every request, so the bucket is updated with compare-and-set and the
+ * counters are striped.
+ */
+public class RetryBudget {
+    public static final int DEFAULT_MAX_TOKENS = 10;
+
+    // tokens are counted in thousandths, so that repeated deposits of a fractional ratio add up exactly
+    private static final int SCALE = 1000;
+
+    private final double retryRatio;
+    private final long deposit;
+    private final long maxTokens;
+
+    private final AtomicLong tokens;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retriesAllowed = new LongAdder();
+    private final LongAdder retriesRejected = new LongAdder();
+
+    public RetryBudget(double retryRatio) {
+        this(retryRatio, DEFAULT_MAX_TOKENS);
+    }
+
+    /**
+     * @param retryRatio maximum sustained ratio of retries to requests (i.e. 0.1 allows 1 retry per 10 requests)
+     * @param maxTokens  number of retries that may be made in a burst before the ratio applies
+     */
+    public RetryBudget(double retryRatio, int maxTokens) {
+        if (retryRatio <= 0) throw new IllegalArgumentException("retryRatio must be > 0");
+        if (maxTokens < 1) throw new IllegalArgumentException("maxTokens must be >= 1");
+        this.retryRatio = retryRatio;
+        this.deposit = Math.max(1, Math.round(retryRatio * SCALE));
+        this.maxTokens = (long) maxTokens * SCALE;
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    /**
+     * Records a new request (not a retry) and adds its share of tokens to the bucket
+     */
+    public void requestStarted() {
+        requests.increment();
+        long current;
+        do {
+            current = tokens.get();
+            // a full bucket is the common case, so don't contend on the write
+            if (current >= maxTokens) return;
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + deposit)));
+    }
+
+    /**
+     * Withdraws a token for a retry
+     *
+     * @return true if the retry may proceed, false if the budget is exhausted
+     */
+    public boolean tryRetry() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                retriesRejected.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        retriesAllowed.increment();
+        return true;
+    }
+
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    public int getMaxTokens() {
+        return (int) (maxTokens / SCALE);
+    }
+
+    public double getAvailableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getRetriesAllowed() {
+        return retriesAllowed.sum();
+    }
+
+    public long getRetriesRejected() {
+        return retriesRejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{" +
+                "retryRatio=" + retryRatio +
+                ", tokens=" + getAvailableTokens() +
+                ", requests=" + getRequests() +
+                ", retriesAllowed=" + getRetriesAllowed() +
+                ", retriesRejected=" + getRetriesRejected() +
+                '}';
+    }
+}
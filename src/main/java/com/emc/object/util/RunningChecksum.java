@@ -44,6 +44,24 @@ public class RunningChecksum extends ChecksumValue {
         this.digest = MessageDigest.getInstance(algorithm.getDigestName());
     }
 
+    private RunningChecksum(ChecksumAlgorithm algorithm, long offset, MessageDigest digest) {
+        this.algorithm = algorithm;
+        this.offset = offset;
+        this.digest = digest;
+    }
+
+    /**
+     * Returns an independent copy of this checksum in its current state (i.e. to rewind the checksum along with a
+     * stream)
+     */
+    public RunningChecksum copy() {
+        try {
+            return new RunningChecksum(algorithm, offset, (MessageDigest) digest.clone());
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Clone failed", e);
+        }
+    }
+
     /**
      * Updates the checksum with the given buffer's contents
      *
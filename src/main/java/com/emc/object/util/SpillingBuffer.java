@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An output stream that buffers data in memory up to <code>memoryLimit</code> bytes, then moves it to a temporary
+ * file and keeps writing there, so heap use stays bounded no matter how much is written. Call
+ * {@link #writeTo(OutputStream)} to replay the data, and {@link #close()} to delete the temporary file.
+ */
+public class SpillingBuffer extends OutputStream {
+    private final int memoryLimit;
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path file;
+    private OutputStream fileStream;
+    private long size;
+
+    public SpillingBuffer(int memoryLimit) {
+        if (memoryLimit < 0) throw new IllegalArgumentException("memoryLimit must be >= 0");
+        this.memoryLimit = memoryLimit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (memory != null && memory.size() + len > memoryLimit) spill();
+        if (memory != null) memory.write(b, off, len);
+        else fileStream.write(b, off, len);
+        size += len;
+    }
+
+    private void spill() throws IOException {
+        file = Files.createTempFile("ecs-buffer-", ".tmp");
+        fileStream = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        memory.writeTo(fileStream);
+        memory = null;
+    }
+
+    /**
+     * Writes everything buffered so far to <code>out</code> (without copying it into a new array)
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        if (memory != null) {
+            memory.writeTo(out);
+        } else {
+            fileStream.flush();
+            Files.copy(file, out);
+        }
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Whether the data has been moved to a temporary file
+     */
+    public boolean isSpilled() {
+        return file != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        memory = null;
+        if (fileStream != null) {
+            try {
+                fileStream.close();
+            } finally {
+                Files.deleteIfExists(file);
+                fileStream = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates thread pools for transfer utilities that optionally run on virtual threads. Virtual threads require Java
+ * 21+, but this library targets Java 17, so they are created reflectively; on older runtimes, platform threads are
+ * used instead.
+ * <p>
+ * Pools are still bounded (a fixed number of virtual threads), so the configured number of threads continues to limit
+ * the number of concurrent requests, but blocked I/O does not tie up a platform thread.
+ * <p>
+ * To make virtual threads the default for {@link com.emc.object.s3.LargeFileUploader} and
+ * {@link com.emc.object.s3.LargeFileDownloader}, set the system property {@value #PROPERTY_USE_VIRTUAL_THREADS} to
+ * <code>true</code>.
+ */
+public final class VirtualThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    public static final String PROPERTY_USE_VIRTUAL_THREADS = "com.emc.object.useVirtualThreads";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null, builderName = null, builderFactory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns true if the runtime supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns the default for transfer utilities (the {@value #PROPERTY_USE_VIRTUAL_THREADS} system property)
+     */
+    public static boolean isEnabledByDefault() {
+        return Boolean.getBoolean(PROPERTY_USE_VIRTUAL_THREADS);
+    }
+
+    /**
+     * Returns a factory for virtual threads named <code>namePrefix</code>0, <code>namePrefix</code>1, etc., or null if
+     * the runtime does not support virtual threads.
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        if (OF_VIRTUAL == null) return null;
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.warn("could not create virtual thread factory", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a pool of <code>threads</code> threads, which are virtual if <code>virtual</code> is true and the runtime
+     * supports them
+     */
+    public static ExecutorService newFixedThreadPool(int threads, boolean virtual, String namePrefix) {
+        ThreadFactory factory = virtual ? virtualFactory(namePrefix) : null;
+        if (factory == null) return Executors.newFixedThreadPool(threads);
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Like {@link #newFixedThreadPool(int, boolean, String)}, but platform threads are daemon threads, so a pool that is
+     * never shut down does not keep the JVM alive (virtual threads are always daemon threads)
+     */
+    public static ExecutorService newFixedDaemonThreadPool(int threads, boolean virtual, String namePrefix) {
+        ThreadFactory factory = virtual ? virtualFactory(namePrefix) : null;
+        if (factory == null) factory = daemonFactory(namePrefix);
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Returns an unbounded pool, whose threads are virtual if <code>virtual</code> is true and the runtime supports them
+     */
+    public static ExecutorService newCachedThreadPool(boolean virtual, String namePrefix) {
+        ThreadFactory factory = virtual ? virtualFactory(namePrefix) : null;
+        if (factory == null) return Executors.newCachedThreadPool();
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    private static ThreadFactory daemonFactory(String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, namePrefix + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory virtualFactory(String namePrefix) {
+        ThreadFactory factory = factory(namePrefix);
+        if (factory == null) log.info("virtual threads are not supported by this runtime; using platform threads");
+        return factory;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class JfrEventsTest {
+    @Test
+    public void testEventsRecorded() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RequestEvent.class);
+            recording.enable(SigningEvent.class);
+            recording.enable(PartTransferEvent.class);
+            recording.enable(RetryBackoffEvent.class);
+            recording.start();
+
+            RequestEvent requestEvent = new RequestEvent();
+            Assertions.assertTrue(requestEvent.isEnabled());
+            requestEvent.setMethod("PUT");
+            requestEvent.setOperation("PutObject");
+            requestEvent.setRetryNumber(1);
+            requestEvent.setBytesSent(1024);
+            requestEvent.begin();
+            requestEvent.setHost("10.1.1.1");
+            requestEvent.setStatus(200);
+            requestEvent.commit();
+
+            SigningEvent signingEvent = new SigningEvent();
+            signingEvent.begin();
+            signingEvent.complete(String.class, "GET", true);
+
+            PartTransferEvent partEvent = new PartTransferEvent(PartTransferEvent.UPLOAD, "bucket", "key", 3,
+                    1000, 500);
+            partEvent.start();
+            Thread.sleep(5);
+            partEvent.complete(500, true);
+
+            RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+            backoffEvent.begin();
+            backoffEvent.complete("GetObject", 2, 100, new IOException("connection reset"));
+
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        RecordedEvent request = single(events, "com.emc.object.Request");
+        Assertions.assertEquals("PUT", request.getString("method"));
+        Assertions.assertEquals("PutObject", request.getString("operation"));
+        Assertions.assertEquals("10.1.1.1", request.getString("host"));
+        Assertions.assertEquals(200, request.getInt("status"));
+        Assertions.assertEquals(1, request.getInt("retryNumber"));
+        Assertions.assertEquals(1024, request.getLong("bytesSent"));
+        Assertions.assertEquals(-1, request.getLong("bytesReceived"));
+
+        RecordedEvent signing = single(events, "com.emc.object.Signing");
+        Assertions.assertEquals("String", signing.getString("signer"));
+        Assertions.assertTrue(signing.getBoolean("resign"));
+
+        RecordedEvent part = single(events, "com.emc.object.PartTransfer");
+        Assertions.assertEquals(PartTransferEvent.UPLOAD, part.getString("direction"));
+        Assertions.assertEquals("bucket", part.getString("bucket"));
+        Assertions.assertEquals(3, part.getInt("partNumber"));
+        Assertions.assertEquals(1000, part.getLong("offset"));
+        Assertions.assertEquals(500, part.getLong("length"));
+        Assertions.assertTrue(part.getBoolean("success"));
+        Assertions.assertTrue(part.getLong("throughput") > 0);
+        Assertions.assertTrue(part.getDuration().toMillis() >= 5);
+
+        RecordedEvent backoff = single(events, "com.emc.object.RetryBackoff");
+        Assertions.assertEquals("GetObject", backoff.getString("operation"));
+        Assertions.assertEquals(2, backoff.getInt("retryNumber"));
+        Assertions.assertEquals(100, backoff.getDuration("plannedDelay").toMillis());
+        Assertions.assertTrue(backoff.getString("error").contains("connection reset"));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertFalse(new RequestEvent().isEnabled());
+        PartTransferEvent event = new PartTransferEvent(PartTransferEvent.DOWNLOAD, "bucket", "key", -1, 0, 10);
+        event.start();
+        event.complete(10, true); // must be a no-op
+    }
+
+    private List<RecordedEvent> readEvents(Recording recording) throws IOException {
+        Path file = File.createTempFile("jfr-events-test", ".jfr").toPath();
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.emc.object."))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(1, matching.size(), "events named " + name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.*;
+import com.emc.object.s3.request.DeleteObjectsRequest;
+import com.emc.object.s3.request.ListVersionsRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.ws.rs.ProcessingException;
+import java.net.SocketException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class BulkDeleterTest {
+    private final Queue<List<ObjectKey>> batches = new ConcurrentLinkedQueue<>();
+    // keys that fail with the mapped error code the first time they are sent
+    private final Map<String, String> failOnce = new ConcurrentHashMap<>();
+    // keys that always fail with AccessDenied
+    private final Set<String> denied = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean failNextCall = new AtomicBoolean();
+    private final AtomicBoolean resetNextCall = new AtomicBoolean();
+    private S3Client client;
+
+    @BeforeEach
+    public void setUp() {
+        client = Mockito.mock(S3Client.class);
+        Mockito.when(client.deleteObjects(Mockito.any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            Assertions.assertEquals("bucket", request.getBucketName());
+            Assertions.assertEquals(Boolean.TRUE, request.getDeleteObjects().getQuiet());
+            List<ObjectKey> keys = new ArrayList<>(request.getDeleteObjects().getKeys());
+            batches.add(keys);
+            if (failNextCall.compareAndSet(true, false))
+                throw new S3Exception("Please reduce your request rate.", 503, "SlowDown", "req-1");
+            if (resetNextCall.compareAndSet(true, false))
+                throw new ProcessingException(new SocketException("Connection reset"));
+
+            List<AbstractDeleteResult> results = new ArrayList<>();
+            for (ObjectKey key : keys) {
+                String code = failOnce.remove(key.getKey());
+                if (code == null && denied.contains(key.getKey())) code = "AccessDenied";
+                if (code != null) {
+                    DeleteError error = new DeleteError();
+                    error.setKey(key.getKey());
+                    error.setVersionId(key.getVersionId());
+                    error.setCode(code);
+                    results.add(error);
+                }
+            }
+            DeleteObjectsResult result = new DeleteObjectsResult();
+            result.setResults(results);
+            return result;
+        });
+    }
+
+    private static Stream<String> keys(int count) {
+        return IntStream.range(0, count).mapToObj(i -> String.format("key-%05d", i));
+    }
+
+    @Test
+    public void testBatching() {
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withThreads(3).deleteKeys(keys(2500));
+
+        Assertions.assertEquals(2500, result.getDeletedCount());
+        Assertions.assertEquals(0, result.getFailedCount());
+        Assertions.assertEquals(3, result.getBatchCount());
+        Assertions.assertTrue(result.isComplete());
+        List<Integer> sizes = batches.stream().map(List::size).sorted().collect(Collectors.toList());
+        Assertions.assertEquals(Arrays.asList(500, 1000, 1000), sizes);
+        // every key exactly once
+        Assertions.assertEquals(keys(2500).collect(Collectors.toSet()),
+                batches.stream().flatMap(List::stream).map(ObjectKey::getKey).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testTargetedRetry() {
+        failOnce.put("key-00007", "SlowDown");
+        failOnce.put("key-00042", "InternalError");
+        denied.add("key-00099");
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withBatchSize(50).withRetryDelay(1)
+                .deleteKeys(keys(200));
+
+        Assertions.assertEquals(199, result.getDeletedCount());
+        Assertions.assertEquals(2, result.getRetriedCount());
+        Assertions.assertEquals(1, result.getFailedCount());
+        Assertions.assertEquals("key-00099", result.getErrors().get(0).getKey());
+        Assertions.assertEquals("AccessDenied", result.getErrors().get(0).getCode());
+        // only the failed keys are re-sent
+        Assertions.assertEquals(5, batches.size());
+        Assertions.assertTrue(batches.stream().anyMatch(batch -> batch.size() == 2
+                && batch.stream().map(ObjectKey::getKey).collect(Collectors.toSet())
+                .equals(new HashSet<>(Arrays.asList("key-00007", "key-00042")))));
+    }
+
+    @Test
+    public void testRetriesExhausted() {
+        denied.add("key-00003");
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withRetryDelay(1).withMaxRetries(2)
+                .withRetryableErrorCodes(Collections.singleton("AccessDenied"))
+                .deleteKeys(keys(10));
+
+        Assertions.assertEquals(9, result.getDeletedCount());
+        Assertions.assertEquals(2, result.getRetriedCount());
+        Assertions.assertEquals(1, result.getFailedCount());
+        Assertions.assertEquals(3, result.getBatchCount());
+    }
+
+    @Test
+    public void testFailedCallRetried() {
+        failNextCall.set(true);
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withThreads(1).withRetryDelay(1)
+                .deleteKeys(keys(10));
+
+        Assertions.assertEquals(10, result.getDeletedCount());
+        Assertions.assertEquals(10, result.getRetriedCount());
+        Assertions.assertEquals(0, result.getFailedCount());
+        Assertions.assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void testTransportErrorRetried() {
+        resetNextCall.set(true);
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withThreads(1).withRetryDelay(1)
+                .deleteKeys(keys(10));
+
+        Assertions.assertEquals(10, result.getDeletedCount());
+        Assertions.assertEquals(10, result.getRetriedCount());
+        Assertions.assertEquals(0, result.getFailedCount());
+        Assertions.assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void testTransportErrorRetriesExhausted() {
+        Mockito.when(client.deleteObjects(Mockito.any(DeleteObjectsRequest.class)))
+                .thenThrow(new ProcessingException(new SocketException("Connection reset")));
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withRetryDelay(1).withMaxRetries(1)
+                .deleteKeys(keys(10));
+
+        Assertions.assertEquals(0, result.getDeletedCount());
+        Assertions.assertEquals(10, result.getFailedCount());
+        Assertions.assertEquals(BulkDeleter.TRANSPORT_ERROR_CODE, result.getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void testPollWhileRunning() throws Exception {
+        // the second batch blocks until the first batch has been polled
+        CountDownLatch secondBatchStarted = new CountDownLatch(1), polled = new CountDownLatch(1);
+        Mockito.when(client.deleteObjects(Mockito.any(DeleteObjectsRequest.class))).thenAnswer(invocation -> {
+            DeleteObjectsRequest request = invocation.getArgument(0);
+            if ("key-00010".equals(request.getDeleteObjects().getKeys().get(0).getKey())) {
+                secondBatchStarted.countDown();
+                Assertions.assertTrue(polled.await(10, TimeUnit.SECONDS));
+            }
+            return new DeleteObjectsResult();
+        });
+
+        BulkDeleteResult result = new BulkDeleteResult();
+        BulkDeleter deleter = new BulkDeleter(client, "bucket").withThreads(1).withBatchSize(10);
+        CompletableFuture<BulkDeleteResult> run = CompletableFuture.supplyAsync(() -> deleter.deleteKeys(keys(20), result));
+
+        Assertions.assertTrue(secondBatchStarted.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(10, result.getDeletedCount());
+        Assertions.assertEquals(1, result.getBatchCount());
+        Assertions.assertFalse(result.isComplete());
+        polled.countDown();
+
+        Assertions.assertSame(result, run.get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(20, result.getDeletedCount());
+        Assertions.assertTrue(result.isComplete());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> deleter.deleteKeys(keys(1), result));
+    }
+
+    @Test
+    public void testErrorWithoutCode() {
+        Mockito.when(client.deleteObjects(Mockito.any(DeleteObjectsRequest.class)))
+                .thenThrow(new S3Exception("Forbidden", 403, null, "req-1"));
+
+        // an immutable set throws on contains(null)
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").withRetryDelay(1)
+                .withRetryableErrorCodes(Set.of("SlowDown")).deleteKeys(keys(10));
+
+        Assertions.assertEquals(0, result.getDeletedCount());
+        Assertions.assertEquals(0, result.getRetriedCount());
+        Assertions.assertEquals(10, result.getFailedCount());
+        Assertions.assertNull(result.getErrors().get(0).getCode());
+    }
+
+    @Test
+    public void testNullKey() {
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").deleteKeys(Stream.of("key-1", null, "key-2"));
+
+        Assertions.assertEquals(2, result.getDeletedCount());
+        Assertions.assertEquals(1, result.getFailedCount());
+        Assertions.assertNull(result.getErrors().get(0).getKey());
+        Assertions.assertEquals(BulkDeleter.INVALID_KEY_ERROR_CODE, result.getErrors().get(0).getCode());
+        // null keys are never sent
+        Assertions.assertEquals(Arrays.asList("key-1", "key-2"),
+                batches.stream().flatMap(List::stream).map(ObjectKey::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testDeleteAllVersions() {
+        List<AbstractVersion> versions = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            AbstractVersion version = i % 3 == 0 ? new DeleteMarker() : new Version();
+            version.setKey("key-" + (i / 3));
+            version.setVersionId("v" + i);
+            versions.add(version);
+        }
+        Mockito.when(client.streamVersions(Mockito.any(ListVersionsRequest.class))).thenAnswer(invocation -> {
+            ListVersionsRequest request = invocation.getArgument(0);
+            Assertions.assertEquals("bucket", request.getBucketName());
+            Assertions.assertEquals("prefix/", request.getPrefix());
+            return versions.stream();
+        });
+
+        BulkDeleteResult result = new BulkDeleter(client, "bucket").deleteAllVersions("prefix/");
+
+        Assertions.assertEquals(1500, result.getDeletedCount());
+        Assertions.assertEquals(2, batches.size());
+        Set<String> deleted = batches.stream().flatMap(List::stream)
+                .map(key -> key.getKey() + "@" + key.getVersionId()).collect(Collectors.toSet());
+        Assertions.assertEquals(versions.stream().map(version -> version.getKey() + "@" + version.getVersionId())
+                .collect(Collectors.toSet()), deleted);
+    }
+
+    @Test
+    public void testUnexpectedFailure() {
+        Mockito.when(client.deleteObjects(Mockito.any(DeleteObjectsRequest.class)))
+                .thenThrow(new IllegalStateException("boom"));
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new BulkDeleter(client, "bucket").withBatchSize(10).deleteKeys(keys(1000)));
+    }
+
+    @Test
+    public void testInvalidBatchSize() {
+        BulkDeleter deleter = new BulkDeleter(client, "bucket");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> deleter.setBatchSize(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> deleter.setBatchSize(1001));
+    }
+}
@@ -28,9 +28,14 @@ package com.emc.object.s3;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Random;
 import java.util.concurrent.Future;
 
@@ -45,6 +50,7 @@ import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.WriterInterceptorContext;
 
+import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.glassfish.jersey.client.ClientConfig;
 import org.glassfish.jersey.client.ClientRequest;
@@ -60,6 +66,7 @@ import com.emc.object.s3.jersey.ChecksumFilter;
 import com.emc.object.util.ChecksumAlgorithm;
 import com.emc.object.util.ChecksumError;
 import com.emc.object.util.ChecksummedInputStream;
+import com.emc.object.util.FileChannelInputStream;
 import com.emc.object.util.RestUtil;
 import com.emc.object.util.RunningChecksum;
 
@@ -212,6 +219,79 @@ public class ChecksumFilterTest {
         }
     }
 
+    @Test
+    public void testGenerateMd5ForRepeatableEntities() throws Exception {
+        byte[] data = new byte[3 * ChecksumFilter.MD5_BUFFER_MEMORY_LIMIT];
+        new Random().nextBytes(data);
+        File file = File.createTempFile("checksum-filter-test", null);
+        file.deleteOnExit();
+        Files.write(file.toPath(), data);
+
+        assertGeneratedMd5(data, data);
+        assertGeneratedMd5(file, data);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertGeneratedMd5(new FileChannelInputStream(channel, 0, data.length, false), data);
+        }
+    }
+
+    @Test
+    public void testGenerateMd5ForOtherEntities() throws Exception {
+        // small (buffered in memory)
+        byte[] small = new byte[1024];
+        new Random().nextBytes(small);
+        assertGeneratedMd5(new FilterInputStream(new ByteArrayInputStream(small)) {
+        }, small);
+
+        // large (spilled to a temp file)
+        byte[] large = new byte[ChecksumFilter.MD5_BUFFER_MEMORY_LIMIT * 2 + 17];
+        new Random().nextBytes(large);
+        assertGeneratedMd5(new FilterInputStream(new ByteArrayInputStream(large)) {
+        }, large);
+    }
+
+    @Test
+    public void testGenerateMd5WithWriteChecksum() throws Exception {
+        byte[] data = new byte[1024];
+        new Random().nextBytes(data);
+        String correctMd5 = DigestUtils.md5Hex(data);
+
+        // both the generated Content-MD5 and the write checksum must cover the entity
+        for (Object entity : new Object[]{data, new FilterInputStream(new ByteArrayInputStream(data)) {
+        }}) {
+            MockConnector connector = new MockConnector(correctMd5);
+            Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(connector));
+            client.register(new ChecksumFilter(new S3Config()));
+            try {
+                Response response = client.target("http://localhost/test")
+                        .request()
+                        .property(RestUtil.PROPERTY_VERIFY_WRITE_CHECKSUM, Boolean.TRUE)
+                        .property(RestUtil.PROPERTY_GENERATE_CONTENT_MD5, Boolean.TRUE)
+                        .put(Entity.entity(entity, "application/octet-stream"));
+                Assertions.assertEquals(200, response.getStatus());
+                Assertions.assertEquals(Base64.encodeBase64String(DigestUtils.md5(data)), connector.sentContentMd5);
+            } finally {
+                client.close();
+            }
+        }
+    }
+
+    private void assertGeneratedMd5(Object entity, byte[] data) {
+        MockConnector connector = new MockConnector(DigestUtils.md5Hex(data));
+        Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(connector));
+        client.register(new ChecksumFilter(new S3Config()));
+        try {
+            Response response = client.target("http://localhost/test")
+                    .request()
+                    .property(RestUtil.PROPERTY_GENERATE_CONTENT_MD5, Boolean.TRUE)
+                    .put(Entity.entity(entity, "application/octet-stream"));
+            Assertions.assertEquals(200, response.getStatus());
+            Assertions.assertEquals(Base64.encodeBase64String(DigestUtils.md5(data)), connector.sentContentMd5);
+            Assertions.assertArrayEquals(data, connector.sentEntity.toByteArray());
+        } finally {
+            client.close();
+        }
+    }
+
     // -----------------------------------------------------------------------
     // Mock connector: acts as an in-process "server" so tests run without
     // a real HTTP endpoint. Calling request.writeEntity() drains the entity
@@ -221,6 +301,8 @@ public class ChecksumFilterTest {
 
     private static class MockConnector implements Connector, ConnectorProvider {
         private final String responseMd5;
+        private final ByteArrayOutputStream sentEntity = new ByteArrayOutputStream();
+        private String sentContentMd5;
 
         MockConnector(String responseMd5) {
             this.responseMd5 = responseMd5;
@@ -236,12 +318,13 @@ public class ChecksumFilterTest {
             // Provide a sink stream and run the WriterInterceptor chain; this is
             // where ChecksumFilter.aroundWriteTo() stores the RunningChecksum into
             // the request property bag via WriterInterceptorContext.setProperty().
-            request.setStreamProvider(contentLength -> new ByteArrayOutputStream());
+            request.setStreamProvider(contentLength -> sentEntity);
             try {
                 request.writeEntity();
             } catch (IOException e) {
                 throw new ProcessingException(e);
             }
+            sentContentMd5 = request.getHeaderString(RestUtil.HEADER_CONTENT_MD5);
 
             // Return a fake 200 response carrying the configured MD5 header.
             // ChecksumFilter.filter() will pick it up from ClientRequestContext
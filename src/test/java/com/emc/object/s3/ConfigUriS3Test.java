@@ -93,6 +93,17 @@ public class ConfigUriS3Test {
         s3Config.setRetryLimit(5);
         runTests(s3Config);
 
+        s3Config.setListPrefetchPages(4);
+        runTests(s3Config);
+
+        s3Config.setUseStreamingListParser(false);
+        s3Config.setBatchConcurrency(32);
+        s3Config.setRetryJitterEnabled(false);
+        s3Config.setRetryBudgetRatio(0.2f);
+        s3Config.setCircuitBreakerThreshold(5);
+        s3Config.setCircuitBreakerCoolDown(10000);
+        runTests(s3Config);
+
         s3Config.setRootContext("dummyContext");
         runTests(s3Config);
 
@@ -204,6 +215,13 @@ public class ConfigUriS3Test {
         assertEquals(s3Config.getProtocol().toString(), s3Config2.getProtocol().toString());
         assertEquals(s3Config.getRetryBufferSize(), s3Config2.getRetryBufferSize());
         assertEquals(s3Config.getRetryLimit(), s3Config2.getRetryLimit());
+        assertEquals(s3Config.getListPrefetchPages(), s3Config2.getListPrefetchPages());
+        assertEquals(s3Config.isUseStreamingListParser(), s3Config2.isUseStreamingListParser());
+        assertEquals(s3Config.getBatchConcurrency(), s3Config2.getBatchConcurrency());
+        assertEquals(s3Config.isRetryJitterEnabled(), s3Config2.isRetryJitterEnabled());
+        assertEquals(s3Config.getRetryBudgetRatio(), s3Config2.getRetryBudgetRatio(), 0.0001);
+        assertEquals(s3Config.getCircuitBreakerThreshold(), s3Config2.getCircuitBreakerThreshold());
+        assertEquals(s3Config.getCircuitBreakerCoolDown(), s3Config2.getCircuitBreakerCoolDown());
         if (s3Config.getRootContext() == null) s3Config.setRootContext(""); // null or empty string is ok
         if (s3Config2.getRootContext() == null) s3Config2.setRootContext("");
         assertEquals(s3Config.getRootContext(), s3Config2.getRootContext());
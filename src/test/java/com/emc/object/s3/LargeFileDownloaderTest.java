@@ -26,7 +26,10 @@
  */
 package com.emc.object.s3;
 
+import com.emc.object.Range;
 import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.lfd.LargeFileDownloaderJournal;
+import com.emc.object.util.FaultInjectionStream;
 import com.emc.object.util.ProgressListener;
 import com.emc.rest.util.StreamUtil;
 import com.emc.util.RandomInputStream;
@@ -38,7 +41,14 @@ import javax.xml.bind.DatatypeConverter;
 import java.io.*;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class LargeFileDownloaderTest extends AbstractS3ClientTest {
@@ -172,6 +182,373 @@ public class LargeFileDownloaderTest extends AbstractS3ClientTest {
         Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
     }
 
+    @Test
+    public void testHedging() throws Exception {
+        final long partSize = LargeFileDownloader.MIN_PART_SIZE;
+        final StalledStream[] stalled = new StalledStream[1];
+
+        // the first request for the second part stalls until it is cancelled
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile) {
+            @Override
+            protected InputStream readObjectStream(Range range) {
+                InputStream is = super.readObjectStream(range);
+                synchronized (stalled) {
+                    if (range.getFirst() == partSize && stalled[0] == null) return stalled[0] = new StalledStream(is);
+                }
+                return is;
+            }
+        };
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize).withThreads(2);
+        lfd.withHedging(true).withHedgeMultiple(10);
+        final AtomicLong listenerBytes = new AtomicLong();
+        lfd.setProgressListener(new ProgressListener() {
+            @Override
+            public void progress(long completed, long total) {
+            }
+
+            @Override
+            public void transferred(long size) {
+                listenerBytes.addAndGet(size);
+            }
+        });
+        lfd.download();
+
+        // only the stalled part is hedged, and the hedge wins (duplicate bytes must not count as progress)
+        Assert.assertEquals(1, lfd.getHedgeCount());
+        Assert.assertTrue(lfd.getHedgedBytes() > 0);
+        Assert.assertEquals(FILE_SIZE, lfd.getBytesTransferred());
+        Assert.assertEquals(FILE_SIZE, listenerBytes.get());
+
+        // the losing request was stopped
+        Assert.assertNotNull(stalled[0]);
+        Assert.assertTrue(stalled[0].cancelled);
+
+        // verify content
+        DigestInputStream dis = new DigestInputStream(new FileInputStream(destFile), MessageDigest.getInstance("MD5"));
+        StreamUtil.copy(dis, new NullStream(), destFile.length());
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testFailureCancelsActiveParts() throws Exception {
+        final long partSize = LargeFileDownloader.MIN_PART_SIZE;
+        final StalledStream[] stalled = new StalledStream[1];
+
+        // the second part stalls (ignoring interrupts), then the first part fails
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile) {
+            @Override
+            protected InputStream readObjectStream(Range range) {
+                if (range.getFirst() == 0) {
+                    try {
+                        synchronized (stalled) {
+                            while (stalled[0] == null) stalled.wait();
+                        }
+                        stalled[0].reading.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    throw new S3Exception("Access Denied", 403, "AccessDenied", "req-1");
+                }
+                InputStream is = super.readObjectStream(range);
+                synchronized (stalled) {
+                    if (range.getFirst() == partSize && stalled[0] == null) {
+                        stalled[0] = new StalledStream(is, true);
+                        stalled.notifyAll();
+                        return stalled[0];
+                    }
+                }
+                return is;
+            }
+        };
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize).withThreads(2);
+        try {
+            lfd.download();
+            Assert.fail("download should fail");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        // the stalled part was cancelled by closing its stream
+        Assert.assertTrue(stalled[0].closed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOpenStream() throws Exception {
+        long partSize = FILE_SIZE / 5;
+
+        // read ahead 3 parts at a time
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key);
+        lfd.withPartSize(partSize).withThreads(3);
+        DigestInputStream dis;
+        try (InputStream is = lfd.openStream()) {
+            dis = new DigestInputStream(is, MessageDigest.getInstance("MD5"));
+            Assert.assertEquals(FILE_SIZE, StreamUtil.copy(dis, new NullStream(), FILE_SIZE + 1));
+            Assert.assertEquals(-1, is.read());
+        }
+
+        Assert.assertEquals(FILE_SIZE, lfd.getBytesTransferred());
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testOpenStreamLateLoser() throws Exception {
+        final long partSize = LargeFileDownloader.MIN_PART_SIZE;
+        final LateStream[] late = new LateStream[1];
+
+        // the first request for the second part returns bogus data, but only after the hedge has won
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key) {
+            @Override
+            protected InputStream readObjectStream(Range range) {
+                InputStream is = super.readObjectStream(range);
+                synchronized (late) {
+                    if (range.getFirst() == partSize && late[0] == null) return late[0] = new LateStream(is);
+                }
+                return is;
+            }
+        };
+        lfd.withPartSize(partSize).withThreads(2);
+        lfd.withHedging(true).withHedgeMultiple(10);
+        DigestInputStream dis;
+        try (InputStream is = lfd.openStream()) {
+            dis = new DigestInputStream(is, MessageDigest.getInstance("MD5"));
+            Assert.assertEquals(FILE_SIZE, StreamUtil.copy(dis, new NullStream(), FILE_SIZE + 1));
+        }
+
+        // the losing request wrote nothing after the hedge won, and stopped after its first late read
+        Assert.assertEquals(1, lfd.getHedgeCount());
+        Assert.assertNotNull(late[0]);
+        Assert.assertTrue(late[0].closed.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(late[0].lateReads.get() <= 1);
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testOpenStreamEarlyClose() throws Exception {
+        long partSize = FILE_SIZE / 5;
+
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key);
+        lfd.withPartSize(partSize).withThreads(2);
+        InputStream is = lfd.openStream();
+        byte[] buffer = new byte[1024];
+        Assert.assertTrue(is.read(buffer) > 0);
+        is.close();
+
+        // outstanding part requests should be stopped, and the stream unusable
+        try {
+            is.read();
+            Assert.fail("read after close should fail");
+        } catch (IOException e) {
+            // expected
+        }
+        Assert.assertTrue(lfd.getExecutorService().awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testResumeFromJournal() throws Exception {
+        long partSize = FILE_SIZE / 5;
+        File journalFile = LargeFileDownloaderJournal.journalFileFor(destFile);
+        journalFile.deleteOnExit();
+
+        // simulate a download that died after writing the first 3 parts
+        StreamUtil.copy(new FileInputStream(sourceFile), new FileOutputStream(destFile), 3 * partSize);
+        RandomAccessFile raFile = new RandomAccessFile(destFile, "rw");
+        raFile.setLength(FILE_SIZE);
+        raFile.close();
+        S3ObjectMetadata metadata = client.getObjectMetadata(getTestBucket(), key);
+        LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.create(journalFile, getTestBucket(), key,
+                metadata.getVersionId(), metadata.getETag(), FILE_SIZE, partSize);
+        for (int i = 0; i < 3; i++) {
+            journal.partCompleted(i);
+        }
+        journal.close();
+
+        // resume (note the part size from the journal should override this)
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile);
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize * 2).withJournalFile(journalFile);
+        lfd.download();
+
+        // only the missing parts should be downloaded
+        Assert.assertEquals(partSize, lfd.getPartSize());
+        Assert.assertEquals(2 * partSize, lfd.getBytesTransferred());
+        Assert.assertFalse(journalFile.exists());
+
+        // verify content
+        DigestInputStream dis = new DigestInputStream(new FileInputStream(destFile), MessageDigest.getInstance("MD5"));
+        StreamUtil.copy(dis, new NullStream(), destFile.length());
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testStaleJournal() throws Exception {
+        long partSize = FILE_SIZE / 5;
+        File journalFile = LargeFileDownloaderJournal.journalFileFor(destFile);
+        journalFile.deleteOnExit();
+
+        // a journal for a different version of the object must be ignored
+        LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.create(journalFile, getTestBucket(), key,
+                null, "\"not-the-etag\"", FILE_SIZE, partSize);
+        journal.partCompleted(0);
+        journal.close();
+
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile);
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize).withJournalFile(journalFile);
+        lfd.download();
+
+        Assert.assertEquals(FILE_SIZE, lfd.getBytesTransferred());
+        Assert.assertFalse(journalFile.exists());
+
+        // verify content
+        DigestInputStream dis = new DigestInputStream(new FileInputStream(destFile), MessageDigest.getInstance("MD5"));
+        StreamUtil.copy(dis, new NullStream(), destFile.length());
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testRangeRetry() throws Exception {
+        final long partSize = FILE_SIZE / 5;
+        final List<Range> ranges = Collections.synchronizedList(new ArrayList<Range>());
+        final AtomicInteger failures = new AtomicInteger();
+
+        // the third part fails (once) halfway through
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile) {
+            @Override
+            protected InputStream readObjectStream(Range range) {
+                ranges.add(range);
+                InputStream is = super.readObjectStream(range);
+                if (range.getFirst() == 2 * partSize && failures.getAndIncrement() == 0)
+                    is = new FaultInjectionStream(is, (int) partSize / 2, new IOException("injected failure"));
+                return is;
+            }
+        };
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize);
+        lfd.download();
+
+        // only the rest of the failed range should be requested again
+        Assert.assertEquals(6, ranges.size());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(ranges.contains(Range.fromOffsetLength(i * partSize, partSize)));
+        }
+        Assert.assertTrue(ranges.contains(new Range(2 * partSize + partSize / 2, 3 * partSize - 1)));
+        Assert.assertEquals(FILE_SIZE, lfd.getBytesTransferred());
+
+        // verify content
+        DigestInputStream dis = new DigestInputStream(new FileInputStream(destFile), MessageDigest.getInstance("MD5"));
+        StreamUtil.copy(dis, new NullStream(), destFile.length());
+        Assert.assertEquals(md5Hex, DatatypeConverter.printHexBinary(dis.getMessageDigest().digest()).toLowerCase());
+    }
+
+    @Test
+    public void testOverwriteDuringDownload() throws Exception {
+        long partSize = FILE_SIZE / 5;
+        final byte[] newData = new byte[(int) FILE_SIZE];
+        new Random().nextBytes(newData);
+        final AtomicInteger requests = new AtomicInteger();
+
+        // overwrite the object (same size, different content) after the first part
+        LargeFileDownloader lfd = new LargeFileDownloader(client, getTestBucket(), key, destFile) {
+            @Override
+            protected InputStream readObjectStream(Range range) {
+                if (requests.incrementAndGet() == 2) client.putObject(getTestBucket(), key, newData, null);
+                return super.readObjectStream(range);
+            }
+        };
+        lfd.withParallelThreshold(FILE_SIZE).withPartSize(partSize).withThreads(1);
+        try {
+            lfd.download();
+            Assert.fail("download of an overwritten object should fail");
+        } catch (RuntimeException e) {
+            S3Exception s3e = null;
+            for (Throwable t = e; t != null && s3e == null; t = t.getCause()) {
+                if (t instanceof S3Exception) s3e = (S3Exception) t;
+            }
+            Assert.assertNotNull(s3e);
+            Assert.assertEquals(412, s3e.getHttpCode());
+        }
+
+        // the precondition failure is final (no retry, and no data from the new object)
+        Assert.assertEquals(2, requests.get());
+        Assert.assertEquals(partSize, lfd.getBytesTransferred());
+    }
+
+    // blocks all reads until the stream is closed by another thread (i.e. cancelled)
+    static class StalledStream extends FilterInputStream {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final boolean ignoreInterrupts;
+        volatile boolean cancelled;
+
+        StalledStream(InputStream in) {
+            this(in, false);
+        }
+
+        // if ignoreInterrupts is true, the stream can only be stopped by closing it
+        StalledStream(InputStream in, boolean ignoreInterrupts) {
+            super(in);
+            this.ignoreInterrupts = ignoreInterrupts;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return read(new byte[1], 0, 1);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            reading.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (closed.getCount() > 0) {
+                try {
+                    if (!closed.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                        throw new IOException("stalled stream was never cancelled");
+                } catch (InterruptedException e) {
+                    if (!ignoreInterrupts) throw new InterruptedIOException("interrupted while stalled");
+                }
+            }
+            cancelled = true;
+            throw new IOException("stream closed");
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.countDown();
+            super.close();
+        }
+    }
+
+    // stalls until closed, then keeps returning zeros (as if data already in flight arrived after the close)
+    static class LateStream extends FilterInputStream {
+        final CountDownLatch closed = new CountDownLatch(1);
+        final AtomicInteger lateReads = new AtomicInteger();
+
+        LateStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                if (!closed.await(60, TimeUnit.SECONDS)) throw new IOException("late stream was never closed");
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("interrupted while stalled");
+            }
+            lateReads.incrementAndGet();
+            Arrays.fill(b, off, off + len, (byte) 0);
+            return len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed.countDown();
+            super.close();
+        }
+    }
+
     class NullStream extends OutputStream {
         @Override
         public void write(int b) {
@@ -30,6 +30,7 @@ import com.emc.object.s3.bean.*;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.emc.object.s3.lfu.LargeFileMultipartSource;
 import com.emc.object.s3.lfu.LargeFileUpload;
+import com.emc.object.s3.lfu.LargeFileUploaderJournal;
 import com.emc.object.s3.lfu.LargeFileUploaderResumeContext;
 import com.emc.object.s3.lfu.PartMismatchException;
 import com.emc.object.s3.request.*;
@@ -46,9 +47,11 @@ import java.io.*;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class LargeFileUploaderTest extends AbstractS3ClientTest {
@@ -316,6 +319,43 @@ public class LargeFileUploaderTest extends AbstractS3ClientTest {
         Assert.assertEquals(objectMetadata.getUserMetadata(), client.getObjectMetadata(getTestBucket(), key).getUserMetadata());
     }
 
+    @Test
+    public void testLargeFileUploaderStreamParallel() {
+        String key = "large-file-uploader-stream-parallel.bin";
+        int partSize = 100 * 1024; // 100 KiB
+        int size = 20 * partSize + 123;
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+
+        // the first parts wait for each other, so they are guaranteed to be in flight at the same time
+        CountDownLatch partsStarted = new CountDownLatch(2);
+        AtomicInteger concurrentParts = new AtomicInteger(), maxConcurrentParts = new AtomicInteger();
+        LargeFileUploader uploader = new TestLargeFileUploader(client, getTestBucket(), key,
+                new ByteArrayInputStream(data), size) {
+            @Override
+            protected MultipartPartETag uploadPart(String uploadId, int partNumber, InputStream is, long length) {
+                maxConcurrentParts.accumulateAndGet(concurrentParts.incrementAndGet(), Math::max);
+                try {
+                    partsStarted.countDown();
+                    partsStarted.await(10, TimeUnit.SECONDS);
+                    return super.uploadPart(uploadId, partNumber, is, length);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    concurrentParts.decrementAndGet();
+                }
+            }
+        }.withPartSize((long) partSize).withThreads(4).withStreamBuffering(true).withReadAheadParts(2);
+
+        uploader.doMultipartUpload();
+
+        Assert.assertEquals(size, uploader.getBytesTransferred());
+        Assert.assertTrue(uploader.getETag().endsWith("-21"));
+        Assert.assertTrue(maxConcurrentParts.get() > 1);
+        Assert.assertTrue(maxConcurrentParts.get() <= 4);
+        Assert.assertArrayEquals(data, client.readObject(getTestBucket(), key, byte[].class));
+    }
+
     @Test
     public void testAboveThreshold() throws Exception {
         String key = "lfu-mpu-test";
@@ -801,6 +841,72 @@ public class LargeFileUploaderTest extends AbstractS3ClientTest {
         Assert.assertEquals(mockMultipartSource.getMpuETag(), result.getObjectMetadata().getETag());
     }
 
+    @Test
+    public void testJournalWithMissingUpload() throws Exception {
+        String key = "journal-missing-upload";
+        long partSize = 1024 * 1024;
+        File journalFile = LargeFileUploaderJournal.journalFileFor(tempFile);
+        journalFile.deleteOnExit();
+
+        // journal an upload that was aborted on the server
+        String staleUploadId = client.initiateMultipartUpload(getTestBucket(), key);
+        client.abortMultipartUpload(new AbortMultipartUploadRequest(getTestBucket(), key, staleUploadId));
+        LargeFileUploaderJournal journal = LargeFileUploaderJournal.create(journalFile, staleUploadId, getTestBucket(),
+                key, partSize, FILE_SIZE, tempFile.lastModified());
+        journal.partCompleted(1, "d41d8cd98f00b204e9800998ecf8427e", null);
+        journal.close();
+
+        // the journal should be discarded and a new MPU started
+        LargeFileUploader lfu = new TestLargeFileUploader(client, getTestBucket(), key, tempFile)
+                .withPartSize(partSize).withMpuThreshold(FILE_SIZE).withJournalFile(journalFile);
+        lfu.doMultipartUpload();
+
+        Assert.assertFalse(journalFile.exists());
+        Assert.assertNotEquals(staleUploadId, lfu.getResumeContext().getUploadId());
+        Assert.assertEquals(md5Hex, DigestUtils.md5Hex(client.readObject(getTestBucket(), key, byte[].class)));
+    }
+
+    @Test
+    public void testJournalWithDifferentStream() throws Exception {
+        String bucket = getTestBucket();
+        String key = "journal-different-stream";
+        int partSize = 500 * 1024; // 500 KiB
+        int size = 4 * partSize + 123;
+        byte[] data = new byte[size];
+        new Random().nextBytes(data);
+        File journalFile = File.createTempFile("lfu-stream", LargeFileUploaderJournal.JOURNAL_SUFFIX);
+        journalFile.delete();
+        journalFile.deleteOnExit();
+
+        // journal the first part of an upload
+        String uploadId = client.initiateMultipartUpload(bucket, key);
+        byte[] part1 = Arrays.copyOfRange(data, 0, partSize);
+        MultipartPartETag partETag = client.uploadPart(new UploadPartRequest(bucket, key, uploadId, 1, part1));
+        LargeFileUploaderJournal journal = LargeFileUploaderJournal.create(journalFile, uploadId, bucket, key,
+                partSize, size, -1);
+        journal.partCompleted(1, partETag.getETag(), DigestUtils.md5Hex(part1));
+        journal.close();
+
+        // resume from a different stream of the same size
+        byte[] otherData = data.clone();
+        otherData[0] = (byte) ~otherData[0];
+        LargeFileUploader lfu = new TestLargeFileUploader(client, bucket, key, new ByteArrayInputStream(otherData), size)
+                .withPartSize((long) partSize).withMpuThreshold(size).withJournalFile(journalFile);
+        try {
+            lfu.doMultipartUpload();
+            Assert.fail("resuming a journal from a different stream should fail");
+        } catch (RuntimeException e) {
+            Throwable t = e;
+            while (t.getCause() != null && !(t instanceof PartMismatchException)) t = t.getCause();
+            Assert.assertTrue(t instanceof PartMismatchException);
+            Assert.assertEquals(1, ((PartMismatchException) t).getPartNumber());
+        }
+
+        // the upload should have been aborted
+        Assert.assertEquals(0, client.listMultipartUploads(new ListMultipartUploadsRequest(bucket).withPrefix(key))
+                .getUploads().size());
+    }
+
     @Test
     public void testAbort() throws Exception {
         String bucket = getTestBucket();
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.GetObjectMetadataResult;
+import com.emc.object.s3.request.GetObjectMetadataRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class ObjectMetadataBatchTest {
+    private static Stream<GetObjectMetadataRequest> requests(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new GetObjectMetadataRequest("bucket", "key-" + i));
+    }
+
+    private static int index(GetObjectMetadataRequest request) {
+        return Integer.parseInt(request.getKey().substring(4));
+    }
+
+    @Test
+    public void testResults() {
+        // every 3rd key is missing, every 7th fails
+        Function<GetObjectMetadataRequest, S3ObjectMetadata> fetcher = request -> {
+            int i = index(request);
+            if (i % 7 == 0) throw new S3Exception("boom", 500, "InternalError", "req");
+            if (i % 3 == 0) return null;
+            return new S3ObjectMetadata().withContentLength(i);
+        };
+        Stream<GetObjectMetadataRequest> source = requests(100);
+        List<GetObjectMetadataResult> results;
+        ObjectMetadataBatch.Statistics statistics;
+        try (ObjectMetadataBatch batch = new ObjectMetadataBatch(source.iterator(), source, fetcher, 4)) {
+            results = batch.stream().collect(Collectors.toList());
+            statistics = batch.getStatistics();
+        }
+
+        Assertions.assertEquals(100, results.size());
+        Assertions.assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toSet()),
+                results.stream().map(result -> index(result.getRequest())).collect(Collectors.toSet()));
+        for (GetObjectMetadataResult result : results) {
+            int i = index(result.getRequest());
+            Assertions.assertEquals(i % 7 == 0, result.isFailed());
+            Assertions.assertEquals(i % 7 != 0 && i % 3 != 0, result.isFound());
+            if (result.isFound()) Assertions.assertEquals(Long.valueOf(i), result.getObjectMetadata().getContentLength());
+        }
+
+        Assertions.assertEquals(100, statistics.getCount());
+        Assertions.assertEquals(15, statistics.getFailedCount());
+        Assertions.assertEquals(29, statistics.getNotFoundCount());
+        Assertions.assertEquals(56, statistics.getFoundCount());
+        Assertions.assertTrue(statistics.getMinLatencyMillis() <= statistics.getPercentileLatencyMillis(50));
+        Assertions.assertTrue(statistics.getPercentileLatencyMillis(50) <= statistics.getMaxLatencyMillis());
+    }
+
+    @Test
+    public void testCompletionOrderAndConcurrency() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger(), maxRunning = new AtomicInteger();
+        Function<GetObjectMetadataRequest, S3ObjectMetadata> fetcher = request -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                // the first request is slow
+                if (index(request) == 0) Assertions.assertTrue(release.await(10, TimeUnit.SECONDS));
+                return new S3ObjectMetadata();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+        Stream<GetObjectMetadataRequest> source = requests(50);
+        try (ObjectMetadataBatch batch = new ObjectMetadataBatch(source.iterator(), source, fetcher, 3)) {
+            Iterator<GetObjectMetadataResult> results = batch.stream().iterator();
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < 49; i++) {
+                order.add(index(results.next().getRequest()));
+            }
+            // everything else completed while the first request was blocked
+            Assertions.assertFalse(order.contains(0));
+            release.countDown();
+            Assertions.assertEquals(0, index(results.next().getRequest()));
+            Assertions.assertFalse(results.hasNext());
+        }
+        Assertions.assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void testLazySource() {
+        AtomicInteger read = new AtomicInteger();
+        Stream<GetObjectMetadataRequest> source = requests(1000).peek(request -> read.incrementAndGet());
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        source = source.onClose(() -> sourceClosed.set(true));
+        ObjectMetadataBatch batch = new ObjectMetadataBatch(source.iterator(), source, request -> null, 5);
+        try {
+            Iterator<GetObjectMetadataResult> results = batch.stream().iterator();
+            for (int i = 0; i < 10; i++) {
+                results.next();
+            }
+            // outstanding results are bounded by the concurrency
+            Assertions.assertTrue(read.get() <= 15);
+        } finally {
+            batch.close();
+        }
+        Assertions.assertTrue(sourceClosed.get());
+    }
+
+    @Test
+    public void testErrorInFetcher() {
+        AtomicBoolean daemon = new AtomicBoolean(true);
+        Function<GetObjectMetadataRequest, S3ObjectMetadata> fetcher = request -> {
+            if (!Thread.currentThread().isDaemon()) daemon.set(false);
+            if (index(request) == 5) throw new AssertionError("boom");
+            return new S3ObjectMetadata();
+        };
+        Stream<GetObjectMetadataRequest> source = requests(20);
+        List<GetObjectMetadataResult> results;
+        try (ObjectMetadataBatch batch = new ObjectMetadataBatch(source.iterator(), source, fetcher, 4)) {
+            results = batch.stream().collect(Collectors.toList());
+        }
+
+        // the error is reported in its result, and does not stall the batch
+        Assertions.assertEquals(20, results.size());
+        List<GetObjectMetadataResult> failed = results.stream().filter(GetObjectMetadataResult::isFailed)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(1, failed.size());
+        Assertions.assertEquals(5, index(failed.get(0).getRequest()));
+        Assertions.assertTrue(failed.get(0).getException().getCause() instanceof AssertionError);
+        Assertions.assertTrue(daemon.get());
+    }
+
+    @Test
+    public void testSourceFailure() {
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        Stream<GetObjectMetadataRequest> source = requests(20).peek(request -> {
+            if (index(request) == 2) throw new IllegalStateException("bad source");
+        }).onClose(() -> sourceClosed.set(true));
+
+        // the batch is closed (stopping its threads) before the error is thrown
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> new ObjectMetadataBatch(source.iterator(), source, request -> null, 5));
+        Assertions.assertEquals("bad source", e.getMessage());
+        Assertions.assertTrue(sourceClosed.get());
+    }
+
+    @Test
+    public void testEmpty() {
+        ObjectMetadataBatch batch = new ObjectMetadataBatch(Collections.emptyIterator(), null, request -> null, 5);
+        Assertions.assertEquals(0, batch.stream().count());
+        Assertions.assertEquals(0, batch.getStatistics().getCount());
+        Assertions.assertEquals(0.0, batch.getStatistics().getMaxLatencyMillis());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.CommonPrefix;
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.S3Object;
+import com.emc.object.s3.request.ListObjectsRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class ParallelBucketListerTest {
+    private final TreeSet<String> keys = new TreeSet<>(ParallelBucketLister::compareKeys);
+    private final AtomicInteger listCalls = new AtomicInteger();
+    private S3Client client;
+
+    @BeforeEach
+    public void setUp() {
+        keys.addAll(Arrays.asList("a", "b!", "b/1", "b/2", "b/c/1", "b/c/2", "b/c/d/1", "b/c/d/2", "b/c/e",
+                "c/", "c/x", "c0", "d/e/f/g",
+                // UTF-16 and code point order differ for the last two
+                "\u00e9/1", "\ud83d\ude00/1", "\uffff/1"));
+        for (int i = 0; i < 25; i++) {
+            keys.add(String.format("flat/%02d", i));
+        }
+
+        client = Mockito.mock(S3Client.class);
+        Mockito.when(client.listObjects(Mockito.any(ListObjectsRequest.class))).thenAnswer(invocation -> {
+            ListObjectsRequest request = invocation.getArgument(0);
+            return list(request.getPrefix(), request.getDelimiter(), request.getMarker(), request.getMaxKeys());
+        });
+        Mockito.when(client.listMoreObjects(Mockito.any(ListObjectsResult.class))).thenAnswer(invocation -> {
+            ListObjectsResult lastResult = invocation.getArgument(0);
+            return list(lastResult.getPrefix(), lastResult.getDelimiter(), lastResult.getNextMarker(),
+                    lastResult.getMaxKeys());
+        });
+    }
+
+    @Test
+    public void testOrdered() {
+        ParallelBucketLister lister = new ParallelBucketLister(client, new ListObjectsRequest("bucket").withMaxKeys(3));
+        List<String> listed = lister.stream().map(S3Object::getKey).collect(Collectors.toList());
+
+        Assertions.assertEquals(new ArrayList<>(keys), listed);
+        Assertions.assertTrue(listCalls.get() > 10);
+    }
+
+    @Test
+    public void testUnorderedForEach() {
+        ParallelBucketLister lister = new ParallelBucketLister(client, new ListObjectsRequest("bucket").withMaxKeys(2))
+                .withOrdered(false).withThreads(4);
+        Queue<String> listed = new ConcurrentLinkedQueue<>();
+        lister.forEach(object -> listed.add(object.getKey()));
+
+        // exactly once
+        Assertions.assertEquals(keys.size(), listed.size());
+        Assertions.assertEquals(keys, new TreeSet<>(listed));
+    }
+
+    @Test
+    public void testPrefix() {
+        ParallelBucketLister lister = new ParallelBucketLister(client, new ListObjectsRequest("bucket").withPrefix("b/c/"));
+        List<String> listed = lister.stream().map(S3Object::getKey).collect(Collectors.toList());
+
+        Assertions.assertEquals(Arrays.asList("b/c/1", "b/c/2", "b/c/d/1", "b/c/d/2", "b/c/e"), listed);
+    }
+
+    @Test
+    public void testFailure() {
+        Mockito.when(client.listMoreObjects(Mockito.any(ListObjectsResult.class)))
+                .thenThrow(new S3Exception("list failed", 500));
+        ParallelBucketLister lister = new ParallelBucketLister(client, new ListObjectsRequest("bucket").withMaxKeys(2));
+
+        Assertions.assertThrows(S3Exception.class, () -> lister.forEach(object -> {
+        }));
+    }
+
+    // simulates a (delimited) listing over the test keys
+    private ListObjectsResult list(String prefix, String delimiter, String marker, Integer maxKeys) {
+        listCalls.incrementAndGet();
+        if (prefix == null) prefix = "";
+        int limit = maxKeys == null ? 1000 : maxKeys;
+
+        List<S3Object> objects = new ArrayList<>();
+        List<CommonPrefix> prefixes = new ArrayList<>();
+        String lastEntry = null;
+        boolean truncated = false;
+        for (String key : keys) {
+            if (!key.startsWith(prefix)) continue;
+            if (marker != null && ParallelBucketLister.compareKeys(key, marker) <= 0) continue;
+            String commonPrefix = null;
+            if (delimiter != null) {
+                int index = key.indexOf(delimiter, prefix.length());
+                if (index >= 0) commonPrefix = key.substring(0, index + delimiter.length());
+            }
+            if (commonPrefix != null && (commonPrefix.equals(lastEntry)
+                    || (marker != null && ParallelBucketLister.compareKeys(commonPrefix, marker) <= 0))) continue;
+            if (objects.size() + prefixes.size() == limit) {
+                truncated = true;
+                break;
+            }
+            if (commonPrefix != null) {
+                prefixes.add(new CommonPrefix(commonPrefix));
+                lastEntry = commonPrefix;
+            } else {
+                S3Object object = new S3Object();
+                object.setKey(key);
+                objects.add(object);
+                lastEntry = key;
+            }
+        }
+
+        TestListObjectsResult result = new TestListObjectsResult(prefixes);
+        result.setBucketName("bucket");
+        result.setPrefix(prefix);
+        result.setDelimiter(delimiter);
+        result.setMaxKeys(maxKeys);
+        result.setObjects(objects);
+        result.setTruncated(truncated);
+        if (truncated) result.setNextMarker(lastEntry);
+        return result;
+    }
+
+    private static class TestListObjectsResult extends ListObjectsResult {
+        TestListObjectsResult(List<CommonPrefix> commonPrefixes) {
+            set_commonPrefixes(commonPrefixes);
+        }
+    }
+}
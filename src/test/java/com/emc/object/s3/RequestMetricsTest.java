@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.AbstractJerseyClient;
+import com.emc.object.Method;
+import com.emc.object.ObjectRequest;
+import com.emc.object.s3.jersey.MetricsFilter;
+import com.emc.object.s3.request.GenericBucketRequest;
+import com.emc.object.s3.request.GetObjectRequest;
+import com.emc.object.s3.request.PutObjectRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RequestMetricsTest {
+    @Test
+    public void testOperationName() {
+        Assertions.assertEquals("PutObject", MetricsFilter.operationName(new PutObjectRequest("bucket", "key", null)));
+        Assertions.assertEquals("GetObject", MetricsFilter.operationName(new GetObjectRequest("bucket", "key")));
+        Assertions.assertEquals("GET ?versioning",
+                MetricsFilter.operationName(new GenericBucketRequest(Method.GET, "bucket", "versioning")));
+        Assertions.assertEquals("HEAD", MetricsFilter.operationName(new ObjectRequest(Method.HEAD, "", null)));
+    }
+
+    @Test
+    public void testResponseWithEntity() throws Exception {
+        List<RequestMetrics> events = new ArrayList<>();
+        GetObjectRequest request = new GetObjectRequest("bucket", "key");
+        request.property(AbstractJerseyClient.PROP_RETRY_COUNT, 2);
+        MetricsFilter.startAttempt(events::add, request);
+
+        TestClientRequestContexts.StubClientRequestContext requestContext =
+                TestClientRequestContexts.request("GET", new URI("http://10.1.1.1:9020/bucket/key"));
+        requestContext.setProperty(MetricsFilter.PROP_METRICS_RECORDER,
+                request.getProperties().get(MetricsFilter.PROP_METRICS_RECORDER));
+        TestClientRequestContexts.StubClientResponseContext responseContext =
+                TestClientRequestContexts.response(200).withEntityStream(new ByteArrayInputStream(new byte[100]));
+
+        MetricsFilter filter = new MetricsFilter();
+        filter.filter(requestContext);
+        filter.filter(requestContext, responseContext);
+        Assertions.assertEquals(0, events.size()); // body not read yet
+
+        InputStream entity = responseContext.getEntityStream();
+        Assertions.assertEquals(60, entity.read(new byte[60]));
+        Assertions.assertEquals(40, entity.read(new byte[60]));
+        Assertions.assertEquals(-1, entity.read());
+        entity.close();
+
+        Assertions.assertEquals(1, events.size());
+        RequestMetrics metrics = events.get(0);
+        Assertions.assertEquals("GetObject", metrics.getOperation());
+        Assertions.assertEquals("bucket", metrics.getBucketName());
+        Assertions.assertEquals("10.1.1.1", metrics.getHost());
+        Assertions.assertEquals(200, metrics.getStatusCode());
+        Assertions.assertEquals(2, metrics.getRetryCount());
+        Assertions.assertEquals(100, metrics.getBytesReceived());
+        Assertions.assertTrue(metrics.getTimeToFirstByteNanos() >= 0);
+        Assertions.assertTrue(metrics.getTotalTimeNanos() >= metrics.getTimeToFirstByteNanos());
+        Assertions.assertNull(metrics.getError());
+    }
+
+    @Test
+    public void testResponseWithoutEntity() throws Exception {
+        List<RequestMetrics> events = new ArrayList<>();
+        ObjectRequest request = new GenericBucketRequest(Method.HEAD, "bucket", null);
+        MetricsFilter.startAttempt(events::add, request);
+
+        TestClientRequestContexts.StubClientRequestContext requestContext =
+                TestClientRequestContexts.request("HEAD", new URI("http://10.1.1.2:9020/bucket"));
+        requestContext.setProperty(MetricsFilter.PROP_METRICS_RECORDER,
+                request.getProperties().get(MetricsFilter.PROP_METRICS_RECORDER));
+
+        new MetricsFilter().filter(requestContext, TestClientRequestContexts.response(404));
+
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals("HEAD", events.get(0).getOperation());
+        Assertions.assertEquals(404, events.get(0).getStatusCode());
+        Assertions.assertNull(events.get(0).getHost()); // request filter was not called
+    }
+
+    @Test
+    public void testFailureReportedOnce() {
+        List<RequestMetrics> events = new ArrayList<>();
+        MetricsFilter.Recorder recorder =
+                MetricsFilter.startAttempt(events::add, new PutObjectRequest("bucket", "key", null));
+        IOException error = new IOException("connection reset");
+        recorder.complete(error);
+        recorder.complete(null);
+
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(0, events.get(0).getStatusCode());
+        Assertions.assertEquals(-1, events.get(0).getTimeToFirstByteNanos());
+        Assertions.assertSame(error, events.get(0).getError());
+
+        Assertions.assertNull(MetricsFilter.startAttempt(null, new PutObjectRequest("bucket", "key", null)));
+    }
+
+    @Test
+    public void testListenerExceptionIgnored() {
+        MetricsFilter.Recorder recorder = MetricsFilter.startAttempt(metrics -> {
+            throw new IllegalStateException("bad listener");
+        }, new PutObjectRequest("bucket", "key", null));
+        recorder.complete(null);
+    }
+
+    @Test
+    public void testAggregator() {
+        RequestMetricsAggregator aggregator = new RequestMetricsAggregator();
+        for (int i = 1; i <= 100; i++) {
+            aggregator.requestCompleted(new RequestMetrics("PutObject", "bucket", "host", 200, 0,
+                    1000, 0, i * 500_000L, i * 1_000_000L, null));
+        }
+        aggregator.requestCompleted(new RequestMetrics("PutObject", "bucket", "host", 0, 1,
+                0, 0, -1, 5_000_000L, new IOException()));
+        aggregator.requestCompleted(new RequestMetrics("GetObject", "bucket", "host", 503, 0,
+                0, 200, 1_000_000L, 1_000_000L, null));
+
+        RequestMetricsAggregator.OperationStats putStats = aggregator.getStats("PutObject");
+        Assertions.assertEquals(101, putStats.getCount());
+        Assertions.assertEquals(1, putStats.getErrorCount());
+        Assertions.assertEquals(1, putStats.getRetryCount());
+        Assertions.assertEquals(100_000, putStats.getBytesSent());
+        Assertions.assertEquals(100, putStats.getTimeToFirstByte().getCount()); // failure had no response
+        Assertions.assertEquals(101, putStats.getTotalTime().getCount());
+        double p50 = putStats.getTotalTime().getPercentileMillis(50);
+        Assertions.assertTrue(p50 >= 50 && p50 <= 50 * 1.125, "p50: " + p50);
+        Assertions.assertEquals(100.0, putStats.getTotalTime().getMaxMillis(), 0.001);
+
+        RequestMetricsAggregator.OperationStats getStats = aggregator.getStats("GetObject");
+        Assertions.assertEquals(1, getStats.getErrorCount());
+        Assertions.assertEquals(200, getStats.getBytesReceived());
+
+        Assertions.assertEquals(2, aggregator.getAllStats().size());
+        Assertions.assertNull(aggregator.getStats("DeleteObject"));
+    }
+}
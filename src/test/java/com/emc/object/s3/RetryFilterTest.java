@@ -26,10 +26,17 @@
  */
 package com.emc.object.s3;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.ws.rs.ProcessingException;
 
@@ -38,6 +45,9 @@ import org.junit.Test;
 
 import static com.emc.object.ObjectConfig.PROPERTY_DISABLE_HEALTH_CHECK;
 import static com.emc.object.ObjectConfig.PROPERTY_DISABLE_HOST_UPDATE;
+import com.emc.object.EntitySupplier;
+import com.emc.object.s3.jersey.FaultInjectionFilter;
+import com.emc.object.s3.jersey.S3JerseyAsyncClient;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.rest.smart.HostStats;
@@ -140,6 +150,125 @@ public class RetryFilterTest extends AbstractS3ClientTest {
         }
     }
 
+    @Test
+    public void testRetryReopensEntity() throws Exception {
+        S3Config s3Config = ((S3JerseyClient) client).getS3Config();
+        // fail well past the retry buffer, which a mark/reset retry could not recover from
+        int size = s3Config.getRetryBufferSize() + 1024 * 1024;
+        final int failAt = s3Config.getRetryBufferSize() + 512 * 1024;
+        final byte[] data = new byte[size];
+        new Random().nextBytes(data);
+
+        final AtomicInteger opens = new AtomicInteger();
+        EntitySupplier entity = () -> {
+            // the first stream fails part-way through
+            final boolean fail = opens.getAndIncrement() == 0;
+            final InputStream in = new ByteArrayInputStream(data);
+            // not markable, so the only way to retry is to re-open the entity
+            return new InputStream() {
+                private int pos = 0;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] b = new byte[1];
+                    return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (fail && pos + len > failAt) throw new IOException("connection reset");
+                    int count = in.read(b, off, len);
+                    if (count > 0) pos += count;
+                    return count;
+                }
+            };
+        };
+
+        S3ObjectMetadata metadata = new S3ObjectMetadata().withContentLength(size).withContentType("application/octet-stream");
+        client.putObject(new PutObjectRequest(getTestBucket(), "reopen", entity).withObjectMetadata(metadata));
+
+        Assert.assertEquals(2, opens.get());
+        Assert.assertArrayEquals(data, client.readObject(getTestBucket(), "reopen", byte[].class));
+    }
+
+    @Test
+    public void testRetryClosesEntity() throws Exception {
+        // every attempt fails in a request filter, before Jersey writes (and closes) the entity
+        S3Config s3Config = createS3Config().withFaultInjectionRate(1.0f).withRetryLimit(2).withInitialRetryDelay(10);
+        S3Client faultClient = new S3JerseyClient(s3Config);
+        List<AtomicBoolean> streams = Collections.synchronizedList(new ArrayList<AtomicBoolean>());
+        try {
+            faultClient.putObject(closeTrackingPutRequest(streams));
+            Assert.fail("fault injection should fail every attempt");
+        } catch (S3Exception e) {
+            Assert.assertEquals(FaultInjectionFilter.FAULT_INJECTION_ERROR_CODE, e.getErrorCode());
+        } finally {
+            faultClient.destroy();
+        }
+
+        // including the stream of the last attempt, after retries are exhausted
+        assertAllClosed(3, streams);
+    }
+
+    @Test
+    public void testNoRetryClosesEntity() throws Exception {
+        S3Config s3Config = createS3Config().withFaultInjectionRate(1.0f).withRetryEnabled(false);
+        S3JerseyClient faultClient = new S3JerseyClient(s3Config);
+        S3AsyncClient asyncFaultClient = new S3JerseyAsyncClient(faultClient);
+        try {
+            List<AtomicBoolean> streams = Collections.synchronizedList(new ArrayList<AtomicBoolean>());
+            try {
+                faultClient.putObject(closeTrackingPutRequest(streams));
+                Assert.fail("fault injection should fail the request");
+            } catch (S3Exception e) {
+                Assert.assertEquals(FaultInjectionFilter.FAULT_INJECTION_ERROR_CODE, e.getErrorCode());
+            }
+            assertAllClosed(1, streams);
+
+            List<AtomicBoolean> asyncStreams = Collections.synchronizedList(new ArrayList<AtomicBoolean>());
+            try {
+                asyncFaultClient.putObject(closeTrackingPutRequest(asyncStreams)).join();
+                Assert.fail("fault injection should fail the request");
+            } catch (CompletionException e) {
+                Assert.assertTrue(e.getCause() instanceof S3Exception);
+                Assert.assertEquals(FaultInjectionFilter.FAULT_INJECTION_ERROR_CODE,
+                        ((S3Exception) e.getCause()).getErrorCode());
+            }
+            assertAllClosed(1, asyncStreams);
+        } finally {
+            asyncFaultClient.destroy();
+            faultClient.destroy();
+        }
+    }
+
+    // the entity records every stream it opens, and checks that the previous stream was closed first
+    private PutObjectRequest closeTrackingPutRequest(final List<AtomicBoolean> streams) {
+        EntitySupplier entity = () -> {
+            for (AtomicBoolean closed : streams) {
+                Assert.assertTrue(closed.get());
+            }
+            final AtomicBoolean closed = new AtomicBoolean();
+            streams.add(closed);
+            return new ByteArrayInputStream(new byte[1024]) {
+                @Override
+                public void close() throws IOException {
+                    closed.set(true);
+                    super.close();
+                }
+            };
+        };
+
+        S3ObjectMetadata metadata = new S3ObjectMetadata().withContentLength(1024).withContentType("application/octet-stream");
+        return new PutObjectRequest(getTestBucket(), "closed-entity", entity).withObjectMetadata(metadata);
+    }
+
+    private void assertAllClosed(int expectedStreams, List<AtomicBoolean> streams) {
+        Assert.assertEquals(expectedStreams, streams.size());
+        for (AtomicBoolean closed : streams) {
+            Assert.assertTrue(closed.get());
+        }
+    }
+
     @Test
     public void testDifferentNodes() throws Exception {
         int retryTimes = 4;
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.jersey.HostCircuitBreaker;
+import com.emc.object.s3.jersey.RetryPolicy;
+import com.emc.rest.smart.Host;
+import com.emc.rest.smart.LoadBalancer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class RetryPolicyTest {
+    @Test
+    public void testRetryable() {
+        RetryPolicy policy = new RetryPolicy(new S3Config(), null);
+        Assertions.assertTrue(policy.isRetryable(new S3Exception("error", 500)));
+        Assertions.assertTrue(policy.isRetryable(new S3Exception("error", 503)));
+        Assertions.assertFalse(policy.isRetryable(new S3Exception("error", 501)));
+        Assertions.assertFalse(policy.isRetryable(new S3Exception("error", 404)));
+        Assertions.assertTrue(policy.isRetryable(new javax.ws.rs.ProcessingException(new IOException("reset"))));
+        Assertions.assertFalse(policy.isRetryable(new IllegalStateException()));
+    }
+
+    @Test
+    public void testRetryLimitAndBudget() {
+        S3Config s3Config = new S3Config().withRetryLimit(2).withRetryBudgetRatio(0.5f);
+        RetryPolicy policy = new RetryPolicy(s3Config, null);
+        S3Exception error = new S3Exception("error", 500);
+
+        Assertions.assertTrue(policy.shouldRetry(error, 0));
+        Assertions.assertTrue(policy.shouldRetry(error, 1));
+        Assertions.assertFalse(policy.shouldRetry(error, 2));
+        Assertions.assertEquals(2, policy.getRetryCount());
+        Assertions.assertEquals(1, policy.getRetriesExhaustedCount());
+
+        // drain the budget
+        while (policy.getRetryBudget().getAvailableTokens() >= 1) {
+            policy.getRetryBudget().tryRetry();
+        }
+        Assertions.assertFalse(policy.shouldRetry(error, 0));
+        Assertions.assertEquals(1, policy.getRetriesRejectedCount());
+
+        // two requests earn another retry
+        policy.requestStarted();
+        policy.requestStarted();
+        Assertions.assertTrue(policy.shouldRetry(error, 0));
+
+        Assertions.assertFalse(new RetryPolicy(new S3Config().withRetryEnabled(false), null).shouldRetry(error, 0));
+    }
+
+    @Test
+    public void testRetryDelay() {
+        S3Config s3Config = new S3Config().withInitialRetryDelay(100).withRetryJitterEnabled(false);
+        RetryPolicy policy = new RetryPolicy(s3Config, null);
+        Assertions.assertEquals(100, policy.getRetryDelay(1));
+        Assertions.assertEquals(200, policy.getRetryDelay(2));
+        Assertions.assertEquals(400, policy.getRetryDelay(3));
+
+        s3Config.setRetryJitterEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.getRetryDelay(3);
+            Assertions.assertTrue(delay >= 200 && delay <= 400, "delay out of range: " + delay);
+        }
+
+        s3Config.setInitialRetryDelay(0);
+        Assertions.assertEquals(0, policy.getRetryDelay(1));
+    }
+
+    @Test
+    public void testCircuitBreakerCreation() {
+        LoadBalancer loadBalancer = new LoadBalancer(Collections.singletonList(new Host("foo")));
+        Assertions.assertNull(new RetryPolicy(new S3Config(), loadBalancer).getCircuitBreaker());
+        S3Config s3Config = new S3Config().withCircuitBreakerThreshold(3);
+        Assertions.assertNull(new RetryPolicy(s3Config, null).getCircuitBreaker());
+        Assertions.assertNotNull(new RetryPolicy(s3Config, loadBalancer).getCircuitBreaker());
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        Host foo = new Host("foo"), bar = new Host("bar");
+        LoadBalancer loadBalancer = new LoadBalancer(Arrays.asList(foo, bar));
+        HostCircuitBreaker breaker = new HostCircuitBreaker(2, 200, loadBalancer);
+
+        breaker.recordFailure("foo");
+        Assertions.assertEquals(HostCircuitBreaker.State.CLOSED, breaker.getState("foo"));
+        Assertions.assertFalse(breaker.shouldVeto(foo, Collections.emptyMap()));
+
+        // a success resets the count
+        breaker.recordSuccess("foo");
+        breaker.recordFailure("foo");
+        Assertions.assertEquals(HostCircuitBreaker.State.CLOSED, breaker.getState("foo"));
+
+        breaker.recordFailure("foo");
+        Assertions.assertEquals(HostCircuitBreaker.State.OPEN, breaker.getState("foo"));
+        Assertions.assertTrue(breaker.shouldVeto(foo, Collections.emptyMap()));
+        Assertions.assertFalse(breaker.shouldVeto(bar, Collections.emptyMap()));
+        Assertions.assertEquals(1, breaker.getOpenHostCount());
+        Assertions.assertEquals(1, breaker.getTripCount());
+
+        // after the cool-down, a single failure re-opens the breaker
+        Thread.sleep(250);
+        Assertions.assertEquals(HostCircuitBreaker.State.HALF_OPEN, breaker.getState("foo"));
+        Assertions.assertFalse(breaker.shouldVeto(foo, Collections.emptyMap()));
+        breaker.recordFailure("foo");
+        Assertions.assertEquals(HostCircuitBreaker.State.OPEN, breaker.getState("foo"));
+        Assertions.assertEquals(2, breaker.getTripCount());
+
+        // fails open when every host is open
+        breaker.recordFailure("bar");
+        breaker.recordFailure("bar");
+        Assertions.assertEquals(2, breaker.getOpenHostCount());
+        Assertions.assertFalse(breaker.shouldVeto(foo, Collections.emptyMap()));
+        Assertions.assertFalse(breaker.shouldVeto(bar, Collections.emptyMap()));
+
+        // a success closes the breaker
+        Thread.sleep(250);
+        breaker.recordSuccess("foo");
+        Assertions.assertEquals(HostCircuitBreaker.State.CLOSED, breaker.getState("foo"));
+        Assertions.assertEquals(HostCircuitBreaker.State.HALF_OPEN, breaker.getState("bar"));
+    }
+}
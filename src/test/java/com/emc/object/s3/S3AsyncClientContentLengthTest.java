@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.codec.CodecChain;
+import com.emc.codec.encryption.BasicKeyProvider;
+import com.emc.object.EncryptionConfig;
+import com.emc.object.s3.bean.PutObjectResult;
+import com.emc.object.s3.jersey.CodecFilter;
+import com.emc.object.s3.jersey.S3JerseyAsyncClient;
+import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.request.PutObjectRequest;
+import com.emc.object.util.RestUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.KeyPairGenerator;
+import java.util.Random;
+
+/**
+ * Verifies that a stream entity with a known size is sent with a content-length (not chunked) by the async client,
+ * whose requests are written on a different thread than the one that made them.
+ */
+public class S3AsyncClientContentLengthTest {
+    private static final int SIZE = 100 * 1024 + 17;
+
+    private HttpServer server;
+    private volatile String contentLength;
+    private volatile String transferEncoding;
+    private volatile long bodyLength;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) server.stop(0);
+    }
+
+    @Test
+    public void testSizedStream() throws Exception {
+        S3JerseyClient client = new S3JerseyClient(createS3Config());
+        S3JerseyAsyncClient asyncClient = new S3JerseyAsyncClient(client);
+        try {
+            asyncClient.putObject(sizedStreamRequest()).join();
+        } finally {
+            asyncClient.destroy();
+            client.destroy();
+        }
+
+        Assertions.assertEquals(String.valueOf(SIZE), contentLength);
+        Assertions.assertNull(transferEncoding);
+        Assertions.assertEquals(SIZE, bodyLength);
+    }
+
+    @Test
+    public void testSizedStreamWithEncoding() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        EncryptionConfig encryptionConfig = new EncryptionConfig(new BasicKeyProvider(generator.generateKeyPair()));
+        final CodecChain encodeChain = new CodecChain(encryptionConfig.getEncryptionSpec());
+        encodeChain.setProperties(encryptionConfig.getCodecProperties());
+        long encodedSize = encodeChain.getEncodedSize(SIZE);
+
+        // the async client does not support the encryption client, so register the codec filter directly
+        S3JerseyClient client = new S3JerseyClient(createS3Config()) {
+            {
+                this.client.register(new CodecFilter(encodeChain)
+                        .withCodecProperties(encryptionConfig.getCodecProperties()));
+            }
+        };
+        S3JerseyAsyncClient asyncClient = new S3JerseyAsyncClient(client);
+        try {
+            PutObjectRequest request = sizedStreamRequest();
+            request.property(RestUtil.PROPERTY_USER_METADATA, request.getObjectMetadata().getUserMetadata());
+            request.property(RestUtil.PROPERTY_ENCODE_ENTITY, Boolean.TRUE);
+            PutObjectResult result = asyncClient.putObject(request).join();
+            Assertions.assertNotNull(result);
+        } finally {
+            asyncClient.destroy();
+            client.destroy();
+        }
+
+        // the encoded size (set by the codec filter on the request) must reach the writing thread
+        Assertions.assertNotEquals(SIZE, encodedSize);
+        Assertions.assertEquals(String.valueOf(encodedSize), contentLength);
+        Assertions.assertNull(transferEncoding);
+        Assertions.assertEquals(encodedSize, bodyLength);
+    }
+
+    private S3Config createS3Config() {
+        InetSocketAddress address = server.getAddress();
+        return new S3Config(URI.create("http://" + address.getHostString() + ":" + address.getPort()))
+                .withIdentity("test-user").withSecretKey("abcdefghijklmnopqrstuvwxyz0123456789ABCD");
+    }
+
+    private PutObjectRequest sizedStreamRequest() {
+        byte[] data = new byte[SIZE];
+        new Random().nextBytes(data);
+        S3ObjectMetadata metadata = new S3ObjectMetadata().withContentLength(SIZE);
+        return new PutObjectRequest("test-bucket", "sized-stream", new ByteArrayInputStream(data))
+                .withObjectMetadata(metadata);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (HttpExchange ignored = exchange) {
+            contentLength = exchange.getRequestHeaders().getFirst(RestUtil.HEADER_CONTENT_LENGTH);
+            transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+            long count = 0;
+            byte[] buffer = new byte[8192];
+            InputStream in = exchange.getRequestBody();
+            for (int r = in.read(buffer); r != -1; r = in.read(buffer)) {
+                count += r;
+            }
+            bodyLength = count;
+            exchange.getResponseHeaders().set(RestUtil.HEADER_ETAG, "\"b6d81b360a5672d80c27430f39153e2c\"");
+            exchange.sendResponseHeaders(200, -1);
+        }
+    }
+}
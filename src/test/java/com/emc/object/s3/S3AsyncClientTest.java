@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3;
+
+import com.emc.object.s3.bean.GetObjectResult;
+import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.PutObjectResult;
+import com.emc.object.s3.jersey.S3JerseyAsyncClient;
+import com.emc.object.s3.jersey.S3JerseyClient;
+import com.emc.object.s3.request.GetObjectMetadataRequest;
+import com.emc.object.s3.request.GetObjectRequest;
+import com.emc.object.s3.request.ListObjectsRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class S3AsyncClientTest extends AbstractS3ClientTest {
+    protected S3AsyncClient asyncClient;
+
+    @Override
+    protected String getTestBucketPrefix() {
+        return "s3-async-client-test";
+    }
+
+    @Override
+    protected S3Client createS3Client() throws Exception {
+        return new S3JerseyClient(createS3Config());
+    }
+
+    @Before
+    public void createAsyncClient() {
+        asyncClient = new S3JerseyAsyncClient((S3JerseyClient) client);
+    }
+
+    @After
+    public void destroyAsyncClient() {
+        if (asyncClient != null) asyncClient.destroy();
+    }
+
+    @Test
+    public void testPutGetHeadDelete() {
+        String key = "async-object";
+        String content = "Hello Async!";
+
+        PutObjectResult putResult = asyncClient.putObject(getTestBucket(), key, content, "text/plain").join();
+        Assert.assertNotNull(putResult.getETag());
+
+        Assert.assertEquals(content, asyncClient.readObject(getTestBucket(), key, String.class).join());
+
+        S3ObjectMetadata metadata = asyncClient.getObjectMetadata(getTestBucket(), key).join();
+        Assert.assertEquals(content.length(), metadata.getContentLength().longValue());
+        Assert.assertEquals(putResult.getETag(), metadata.getETag());
+
+        asyncClient.deleteObject(getTestBucket(), key).join();
+        Assert.assertFalse(client.listObjects(getTestBucket()).getObjects().iterator().hasNext());
+    }
+
+    @Test
+    public void testManyConcurrentRequests() {
+        int count = 100;
+        List<CompletableFuture<PutObjectResult>> puts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            puts.add(asyncClient.putObject(getTestBucket(), "object-" + i, "content-" + i, "text/plain"));
+        }
+        CompletableFuture.allOf(puts.toArray(new CompletableFuture[0])).join();
+
+        ListObjectsResult result = asyncClient.listObjects(getTestBucket()).join();
+        Assert.assertEquals(count, result.getObjects().size());
+
+        List<CompletableFuture<String>> gets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            gets.add(asyncClient.readObject(getTestBucket(), "object-" + i, String.class));
+        }
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals("content-" + i, gets.get(i).join());
+        }
+    }
+
+    @Test
+    public void testFailedPrecondition() {
+        String key = "async-precondition";
+        client.putObject(getTestBucket(), key, "some content", "text/plain");
+
+        GetObjectRequest request = new GetObjectRequest(getTestBucket(), key).withIfMatch("\"not-the-etag\"");
+        Assert.assertNull(asyncClient.getObject(request, String.class).join());
+
+        GetObjectMetadataRequest headRequest = new GetObjectMetadataRequest(getTestBucket(), key)
+                .withIfMatch("\"not-the-etag\"");
+        Assert.assertNull(asyncClient.getObjectMetadata(headRequest).join());
+
+        GetObjectResult<String> result = asyncClient.getObject(new GetObjectRequest(getTestBucket(), key), String.class).join();
+        Assert.assertEquals("some content", result.getObject());
+    }
+
+    @Test
+    public void testError() {
+        try {
+            asyncClient.readObject(getTestBucket(), "does-not-exist", String.class).join();
+            Assert.fail("reading a missing key should fail");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof S3Exception);
+            Assert.assertEquals(404, ((S3Exception) e.getCause()).getHttpCode());
+            Assert.assertEquals("NoSuchKey", ((S3Exception) e.getCause()).getErrorCode());
+        }
+    }
+
+    @Test
+    public void testDestroyDuringBackoff() throws Exception {
+        // every request fails, and the first retry waits far longer than the test
+        S3Config s3Config = createS3Config().withFaultInjectionRate(1.0f).withRetryLimit(3)
+                .withInitialRetryDelay(60000).withRetryJitterEnabled(false);
+        S3AsyncClient retryingClient = new S3JerseyAsyncClient(s3Config);
+        CompletableFuture<PutObjectResult> future;
+        try {
+            future = retryingClient.putObject(getTestBucket(), "async-backoff", "content", "text/plain");
+            Thread.sleep(1000); // let the first attempt fail
+            Assert.assertFalse(future.isDone());
+        } finally {
+            retryingClient.destroy();
+        }
+
+        // the pending retry is failed instead of being dropped
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail("request should fail when the client is destroyed");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof S3Exception);
+            Assert.assertEquals(500, ((S3Exception) e.getCause()).getHttpCode());
+        }
+    }
+
+    @Test
+    public void testListObjectsPrefixOnlyPages() {
+        // only common prefixes, so every truncated page has no keys
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            prefixes.add("prefix-" + i + "/");
+            client.putObject(getTestBucket(), "prefix-" + i + "/object", "content", "text/plain");
+        }
+
+        List<String> listedPrefixes = new ArrayList<>();
+        ListObjectsRequest request = new ListObjectsRequest(getTestBucket()).withDelimiter("/").withMaxKeys(2);
+        ListObjectsResult result;
+        do {
+            result = asyncClient.listObjects(request).join();
+            Assert.assertTrue(result.getObjects().isEmpty());
+            listedPrefixes.addAll(result.getCommonPrefixes());
+            if (result.isTruncated()) {
+                Assert.assertEquals(result.getCommonPrefixes().get(result.getCommonPrefixes().size() - 1),
+                        result.getNextMarker());
+                request.setMarker(result.getNextMarker());
+            }
+        } while (result.isTruncated());
+
+        Assert.assertEquals(prefixes, listedPrefixes);
+    }
+}
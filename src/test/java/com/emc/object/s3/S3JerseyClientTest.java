@@ -67,6 +67,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class S3JerseyClientTest extends AbstractS3ClientTest {
     private static final Logger log = LoggerFactory.getLogger(S3JerseyClientTest.class);
@@ -925,6 +926,51 @@ public class S3JerseyClientTest extends AbstractS3ClientTest {
         Assert.assertEquals("should be 4 pages", 4, requestCount);
     }
 
+    @Test
+    public void testStreamObjects() {
+        int numObjects = 10;
+
+        this.createTestObjects("foo/", numObjects);
+
+        List<String> keys;
+        try (Stream<S3Object> stream = client.streamObjects(new ListObjectsRequest(getTestBucket()).withMaxKeys(3))) {
+            keys = stream.map(S3Object::getKey).collect(Collectors.toList());
+        }
+
+        Assert.assertEquals("The correct number of objects were NOT returned", numObjects, keys.size());
+        List<String> sortedKeys = new ArrayList<>(keys);
+        Collections.sort(sortedKeys);
+        Assert.assertEquals("objects should be in listing order", sortedKeys, keys);
+
+        // partially consumed stream
+        try (Stream<S3Object> stream = client.streamObjects(new ListObjectsRequest(getTestBucket()).withMaxKeys(3))) {
+            Assert.assertEquals(4, stream.limit(4).count());
+        }
+    }
+
+    @Test
+    public void testListObjectsWithConsumer() {
+        int numObjects = 10;
+
+        this.createTestObjects("foo bar/", numObjects);
+
+        ListObjectsRequest request = new ListObjectsRequest(getTestBucket()).withMaxKeys(4)
+                .withEncodingType(EncodingType.url);
+        List<String> keys = new ArrayList<>();
+        ListObjectsResult result;
+        int requestCount = 0;
+        do {
+            result = client.listObjects(request, object -> keys.add(object.getKey()));
+            Assert.assertTrue("objects should not be collected", result.getObjects().isEmpty());
+            request.setMarker(result.getNextMarker());
+            requestCount++;
+        } while (result.isTruncated());
+
+        Assert.assertEquals("The correct number of objects were NOT returned", numObjects, keys.size());
+        Assert.assertEquals("should be 3 pages", 3, requestCount);
+        for (String key : keys) Assert.assertTrue("key should be decoded: " + key, key.startsWith("foo bar/"));
+    }
+
     @Test
     public void testListObjectsPagingWithPrefix() {
         String myPrefix = "testPrefix/";
@@ -1063,6 +1109,21 @@ public class S3JerseyClientTest extends AbstractS3ClientTest {
         assertForListVersionsPaging(versions.size(), requestCount);
     }
 
+    @Test
+    public void testStreamVersions() {
+        client.setBucketVersioning(getTestBucket(),
+                new VersioningConfiguration().withStatus(VersioningConfiguration.Status.Enabled));
+
+        String key = "prefix/foo", content = "Hello Version Streaming!";
+        client.putObject(getTestBucket(), key, content, null);
+        client.deleteObject(getTestBucket(), key);
+        client.putObject(getTestBucket(), key, content, null);
+
+        try (Stream<AbstractVersion> stream = client.streamVersions(new ListVersionsRequest(getTestBucket()).withMaxKeys(1))) {
+            Assert.assertEquals(3, stream.count());
+        }
+    }
+
     protected void assertForListVersionsPaging(int size, int requestCount) {
         Assert.assertEquals("The correct number of versions were NOT returned", 6, size);
         Assert.assertEquals("should be 3 pages", 3, requestCount);
@@ -1986,6 +2047,70 @@ public class S3JerseyClientTest extends AbstractS3ClientTest {
         Assert.assertEquals(content.length(), offset);
     }
 
+    @Test
+    public void testObjectOutputStreamSinglePut() throws Exception {
+        String key = "output-stream-single";
+        byte[] data = new byte[12345];
+        new Random().nextBytes(data);
+
+        S3ObjectMetadata metadata = new S3ObjectMetadata().withContentType("application/octet-stream");
+        S3ObjectOutputStream out = client.openObjectOutputStream(getTestBucket(), key).withObjectMetadata(metadata);
+        try (OutputStream os = out) {
+            os.write(data);
+        }
+
+        Assert.assertNull(out.getUploadId());
+        Assert.assertFalse(out.getETag().contains("-"));
+        // the ETag is unquoted, as for an MPU
+        Assert.assertEquals(DigestUtils.md5Hex(data), out.getETag());
+        // the caller's metadata is not changed
+        Assert.assertNull(metadata.getContentLength());
+        Assert.assertArrayEquals(data, client.readObject(getTestBucket(), key, byte[].class));
+    }
+
+    @Test
+    public void testObjectOutputStreamMpu() throws Exception {
+        String key = "output-stream-mpu";
+        int partSize = (int) LargeFileUploader.MIN_PART_SIZE;
+        byte[] data = new byte[3 * partSize + 123];
+        new Random().nextBytes(data);
+
+        S3ObjectOutputStream out = client.openObjectOutputStream(getTestBucket(), key)
+                .withPartSize(partSize).withThreads(2)
+                .withObjectMetadata(new S3ObjectMetadata().addUserMetadata("foo", "bar"));
+        try (OutputStream os = out) {
+            // write in odd-sized chunks to cross part boundaries
+            for (int offset = 0; offset < data.length; offset += 100000) {
+                os.write(data, offset, Math.min(100000, data.length - offset));
+            }
+        }
+
+        Assert.assertNotNull(out.getUploadId());
+        Assert.assertEquals(data.length, out.getBytesWritten());
+        Assert.assertTrue(out.getETag().endsWith("-4"));
+        Assert.assertArrayEquals(data, client.readObject(getTestBucket(), key, byte[].class));
+        Assert.assertEquals("bar", client.getObjectMetadata(getTestBucket(), key).getUserMetadata("foo"));
+    }
+
+    @Test
+    public void testObjectOutputStreamAbort() throws Exception {
+        String key = "output-stream-abort";
+        int partSize = (int) LargeFileUploader.MIN_PART_SIZE;
+
+        S3ObjectOutputStream out = client.openObjectOutputStream(getTestBucket(), key).withPartSize(partSize);
+        out.write(new byte[2 * partSize]);
+        out.abort();
+        out.close(); // no-op
+
+        Assert.assertEquals(0, client.listMultipartUploads(getTestBucket()).getUploads().size());
+        try {
+            client.getObjectMetadata(getTestBucket(), key);
+            Assert.fail("object should not exist after abort");
+        } catch (S3Exception e) {
+            Assert.assertEquals(404, e.getHttpCode());
+        }
+    }
+
     @Test
     public void testCopyObject() {
         String key1 = "source-object";
@@ -2514,6 +2639,100 @@ public class S3JerseyClientTest extends AbstractS3ClientTest {
         this.validateMetadataValues(objectMetadata);
     }
 
+    @Test
+    public void testGetObjectMetadataBatch() {
+        List<GetObjectMetadataRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String key = "batch-meta-" + i;
+            if (i % 4 != 0) client.putObject(getTestBucket(), key, "Object Content " + i, "text/plain");
+            requests.add(new GetObjectMetadataRequest(getTestBucket(), key));
+        }
+
+        Map<String, GetObjectMetadataResult> results = new HashMap<>();
+        try (ObjectMetadataBatch batch = client.getObjectMetadata(requests)) {
+            batch.stream().forEach(result -> results.put(result.getRequest().getKey(), result));
+
+            ObjectMetadataBatch.Statistics statistics = batch.getStatistics();
+            Assert.assertEquals(20, statistics.getCount());
+            Assert.assertEquals(15, statistics.getFoundCount());
+            Assert.assertEquals(5, statistics.getNotFoundCount());
+            Assert.assertEquals(0, statistics.getFailedCount());
+            Assert.assertTrue(statistics.getMaxLatencyMillis() >= statistics.getPercentileLatencyMillis(50));
+        }
+
+        Assert.assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            GetObjectMetadataResult result = results.get("batch-meta-" + i);
+            Assert.assertNull(result.getException());
+            if (i % 4 == 0) {
+                Assert.assertFalse(result.isFound());
+            } else {
+                Assert.assertTrue(result.isFound());
+                Assert.assertEquals(Long.valueOf(("Object Content " + i).length()), result.getObjectMetadata().getContentLength());
+            }
+        }
+    }
+
+    @Test
+    public void testGetObjectMetadataBatchFailedCondition() {
+        String key = "batch-meta-condition";
+        client.putObject(getTestBucket(), key, "Object Content", "text/plain");
+        List<GetObjectMetadataRequest> requests = Arrays.asList(
+                new GetObjectMetadataRequest(getTestBucket(), key).withIfMatch("\"not-the-etag\""),
+                new GetObjectMetadataRequest(getTestBucket(), "batch-meta-missing"));
+        List<Map<String, Object>> properties = new ArrayList<>();
+        for (GetObjectMetadataRequest request : requests) {
+            properties.add(new HashMap<>(request.getProperties()));
+        }
+
+        Map<String, GetObjectMetadataResult> results = new HashMap<>();
+        try (ObjectMetadataBatch batch = client.getObjectMetadata(requests)) {
+            batch.stream().forEach(result -> results.put(result.getRequest().getKey(), result));
+        }
+
+        // a failed precondition is an error, not a missing object
+        GetObjectMetadataResult result = results.get(key);
+        Assert.assertTrue(result.isFailed());
+        Assert.assertTrue(result.getException() instanceof S3Exception);
+        Assert.assertEquals(412, ((S3Exception) result.getException()).getHttpCode());
+        result = results.get("batch-meta-missing");
+        Assert.assertFalse(result.isFailed());
+        Assert.assertFalse(result.isFound());
+
+        // the caller's requests are not modified
+        for (int i = 0; i < requests.size(); i++) {
+            Assert.assertEquals(properties.get(i), requests.get(i).getProperties());
+        }
+    }
+
+    @Test
+    public void testRequestMetrics() throws Exception {
+        RequestMetricsAggregator metrics = new RequestMetricsAggregator();
+        S3Client metricsClient = new S3JerseyClient(createS3Config().withRequestMetricsListener(metrics));
+        String key = "request-metrics-test";
+        byte[] data = new byte[10 * 1024];
+        new Random().nextBytes(data);
+        try {
+            metricsClient.putObject(getTestBucket(), key, data, null);
+            Assert.assertArrayEquals(data, metricsClient.readObject(getTestBucket(), key, byte[].class));
+        } finally {
+            metricsClient.destroy();
+        }
+
+        RequestMetricsAggregator.OperationStats putStats = metrics.getStats("PutObject");
+        Assert.assertNotNull(putStats);
+        Assert.assertEquals(1, putStats.getCount());
+        Assert.assertEquals(0, putStats.getErrorCount());
+        Assert.assertTrue(putStats.getBytesSent() >= data.length);
+        Assert.assertEquals(1, putStats.getTotalTime().getCount());
+
+        RequestMetricsAggregator.OperationStats getStats = metrics.getStats("GetObject");
+        Assert.assertNotNull(getStats);
+        Assert.assertEquals(1, getStats.getCount());
+        Assert.assertTrue(getStats.getBytesReceived() >= data.length);
+        Assert.assertTrue(getStats.getTotalTime().getMaxMillis() >= getStats.getTimeToFirstByte().getMaxMillis());
+    }
+
     protected void validateMetadataValues(S3ObjectMetadata objectMetadata) {
         Assert.assertNotNull(objectMetadata);
     }
@@ -1,6 +1,9 @@
 package com.emc.object.s3;
 
+import com.emc.object.Method;
+import com.emc.object.s3.request.PresignedUrlRequest;
 import com.emc.object.s3.request.PutObjectRequest;
+import com.emc.object.s3.request.ResponseHeaderOverride;
 import com.emc.object.util.RestUtil;
 import javax.ws.rs.core.MultivaluedHashMap;
 import org.junit.jupiter.api.Assertions;
@@ -8,6 +11,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.net.URI;
+import java.net.URL;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -125,6 +130,52 @@ public class S3V4AuthUtilTest {
         Assertions.assertEquals(EXPECTED_SIGNING_KEY, signer.hexEncode(signingKey));
     }
 
+    @Test
+    public void testSigningKeyCache() throws Exception {
+        S3Config s3Config = new S3Config(new URI("http://here.com"))
+                .withIdentity(ACCESS_KEY)
+                .withSecretKey(SECRET_KEY);
+        S3SignerV4 signer = new S3SignerV4(s3Config);
+        byte[] signingKey = signer.getSigningKey(V4_DATE, S3Constants.AWS_SERVICE_IAM);
+        signingKey[0]++; // must not corrupt the cached key
+        Assertions.assertEquals(EXPECTED_SIGNING_KEY,
+                signer.hexEncode(signer.getSigningKey(V4_DATE, S3Constants.AWS_SERVICE_IAM)));
+
+        // key depends on secret key, date and service
+        Assertions.assertNotEquals(EXPECTED_SIGNING_KEY,
+                signer.hexEncode(signer.getSigningKey("20150831", S3Constants.AWS_SERVICE_IAM)));
+        Assertions.assertNotEquals(EXPECTED_SIGNING_KEY,
+                signer.hexEncode(signer.getSigningKey(V4_DATE, S3Constants.AWS_SERVICE_S3)));
+        s3Config.setSecretKey(SECRET_KEY + "x");
+        Assertions.assertNotEquals(EXPECTED_SIGNING_KEY,
+                signer.hexEncode(signer.getSigningKey(V4_DATE, S3Constants.AWS_SERVICE_IAM)));
+    }
+
+    @Test
+    public void testSigningKeyCacheEviction() throws Exception {
+        S3Config s3Config = new S3Config(new URI("http://here.com"))
+                .withIdentity(ACCESS_KEY)
+                .withSecretKey(SECRET_KEY);
+        S3SignerV4 signer = new S3SignerV4(s3Config);
+        for (int day = 1; day <= 16; day++) {
+            signer.getSigningKey(String.format("201508%02d", day), S3Constants.AWS_SERVICE_IAM);
+        }
+        signer.getSigningKey("20150801", S3Constants.AWS_SERVICE_IAM); // most recently used
+        signer.getSigningKey("20150817", S3Constants.AWS_SERVICE_IAM);
+
+        // only the least recently used key is evicted
+        Assertions.assertEquals(16, signer.signingKeyCache.size());
+        Assertions.assertTrue(signer.signingKeyCache.keySet().stream().anyMatch(k -> k.startsWith("20150801/")));
+        Assertions.assertFalse(signer.signingKeyCache.keySet().stream().anyMatch(k -> k.startsWith("20150802/")));
+        // the secret key is never held in the cache
+        Assertions.assertFalse(signer.signingKeyCache.keySet().stream().anyMatch(k -> k.contains(SECRET_KEY)));
+
+        // a new secret key starts a new cache
+        s3Config.setSecretKey(SECRET_KEY + "x");
+        signer.getSigningKey(V4_DATE, S3Constants.AWS_SERVICE_IAM);
+        Assertions.assertEquals(1, signer.signingKeyCache.size());
+    }
+
     @Test
     public void testGetSignature() throws Exception {
         S3Config s3Config = new S3Config(new URI("http://here.com"))
@@ -146,4 +197,50 @@ public class S3V4AuthUtilTest {
         S3SignerV4 signer = new S3SignerV4(s3Config);
         Assertions.assertEquals(V4_DATE, signer.getShortDate(AMZ_V4_DATE));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPresignedUrlGenerator() throws Exception {
+        List<String> keys = Arrays.asList("simple", "dir/with space", "double//slash", "plus+key",
+                "\u00fcnicode-\u6f22\u5b57", "/leading", "odd&chars=?#%");
+
+        S3Config pathConfig = new S3Config(new URI("http://here.com:9020")).withRootContext("/root")
+                .withIdentity(ACCESS_KEY).withSecretKey(SECRET_KEY);
+        S3Config vhostConfig = new S3Config(new URI("https://s3.here.com")).withUseVHost(true).withNamespace("ns")
+                .withIdentity(ACCESS_KEY).withSecretKey(SECRET_KEY);
+
+        for (S3Config s3Config : Arrays.asList(pathConfig, vhostConfig)) {
+            // fix the signing date so individually signed URLs are comparable
+            S3SignerV4 signer = new S3SignerV4(s3Config) {
+                @Override
+                protected String getDate(Map<String, String> parameters, Map<String, List<Object>> headers) {
+                    return AMZ_V4_DATE;
+                }
+            };
+            for (Method method : Arrays.asList(Method.GET, Method.PUT)) {
+                PresignedUrlGenerator generator = signer.newPresignedUrlGenerator(method, "testBucket", null);
+                for (String key : keys) {
+                    PresignedUrlRequest request = new PresignedUrlRequest(method, "testBucket", key, null);
+                    Assertions.assertEquals(signer.generatePresignedUrl(request).toString(),
+                            generator.generate(key).toString());
+                    request.setVersionId("v1+2/3");
+                    Assertions.assertEquals(signer.generatePresignedUrl(request).toString(),
+                            generator.generate(key, "v1+2/3").toString());
+                    Assertions.assertEquals(signer.generatePresignedUrl(request).toString(),
+                            generator.generate(request).toString());
+
+                    // requests that don't fit the batch are signed individually
+                    request.headerOverride(ResponseHeaderOverride.CONTENT_TYPE, "text/plain");
+                    Assertions.assertEquals(signer.generatePresignedUrl(request).toString(),
+                            generator.generate(request).toString());
+                }
+
+                // parallel generation keeps the order of the keys
+                List<URL> urls = generator.generateAll(keys);
+                Assertions.assertEquals(keys.size(), urls.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    Assertions.assertEquals(generator.generate(keys.get(i)).toString(), urls.get(i).toString());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.bean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+public class ListResultParserTest {
+    private static final String LIST_OBJECTS_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+            "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">" +
+            "<IsTruncated>true</IsTruncated>" +
+            "<Marker>key%202</Marker>" +
+            "<Contents>" +
+            "<ETag>&quot;396fefef536d5ce46c7537ecf978a360&quot;</ETag>" +
+            "<Key>sourcekey</Key>" +
+            "<LastModified>2050-01-01T00:00:00Z</LastModified>" +
+            "<Owner><ID>ID12345</ID><DisplayName>Foo Bar</DisplayName></Owner>" +
+            "<Size>217</Size>" +
+            "<StorageClass>STANDARD</StorageClass>" +
+            "<Unknown><Nested>ignored</Nested></Unknown>" +
+            "</Contents>" +
+            "<Contents>" +
+            "<ETag>&quot;396fefef536d5ce46c7537ecf978a361&quot;</ETag>" +
+            "<Key>key%20with%20spaces</Key>" +
+            "<LastModified>2050-01-01T00:00:00.123Z</LastModified>" +
+            "<Size>124</Size>" +
+            "<StorageClass>GLACIER</StorageClass>" +
+            "</Contents>" +
+            "<Name>bucket</Name>" +
+            "<Prefix>my</Prefix>" +
+            "<Delimiter>/</Delimiter>" +
+            "<MaxKeys>1000</MaxKeys>" +
+            "<CommonPrefixes><Prefix>photos/</Prefix></CommonPrefixes>" +
+            "<CommonPrefixes><Prefix>videos%20space/</Prefix></CommonPrefixes>" +
+            "<EncodingType>url</EncodingType>" +
+            "</ListBucketResult>";
+
+    private static final String LIST_VERSIONS_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+            "<ListVersionsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">" +
+            "<Name>bucket</Name>" +
+            "<Prefix>my</Prefix>" +
+            "<KeyMarker>key2</KeyMarker>" +
+            "<VersionIdMarker>t46ZenlYTZBnj</VersionIdMarker>" +
+            "<NextKeyMarker>key3</NextKeyMarker>" +
+            "<NextVersionIdMarker>d-d309mfjFrUmoQ0DBsVqmcMV15OI.</NextVersionIdMarker>" +
+            "<MaxKeys>1000</MaxKeys>" +
+            "<Delimiter>/</Delimiter>" +
+            "<IsTruncated>true</IsTruncated>" +
+            "<DeleteMarker>" +
+            "<Key>key%20with%20spaces</Key>" +
+            "<VersionId>qDhprLU80sAlCFLu2DWgXAEDgKzWarn-HS_JU0TvYqs.</VersionId>" +
+            "<IsLatest>true</IsLatest>" +
+            "<LastModified>2050-01-01T00:00:00Z</LastModified>" +
+            "<Owner><ID>ID12345</ID><DisplayName>Foo Bar</DisplayName></Owner>" +
+            "</DeleteMarker>" +
+            "<Version>" +
+            "<Key>sourcekey</Key>" +
+            "<VersionId>wxxQ7ezLaL5JN2Sislq66Syxxo0k7uHTUpb9qiiMxNg.</VersionId>" +
+            "<IsLatest>false</IsLatest>" +
+            "<LastModified>2050-01-01T00:00:00Z</LastModified>" +
+            "<ETag>&quot;396fefef536d5ce46c7537ecf978a360&quot;</ETag>" +
+            "<Size>217</Size>" +
+            "<Owner><ID>ID12345</ID><DisplayName>Foo Bar</DisplayName></Owner>" +
+            "<StorageClass>STANDARD</StorageClass>" +
+            "</Version>" +
+            "<CommonPrefixes><Prefix>photos/</Prefix></CommonPrefixes>" +
+            "<EncodingType>url</EncodingType>" +
+            "</ListVersionsResult>";
+
+    private static final String LIST_PARTS_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<ListPartsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">\n" +
+            "  <Bucket>example-bucket</Bucket>\n" +
+            "  <Key>example%20object</Key>\n" +
+            "  <UploadId>XXBsb2FkIElEIGZvciBlbHZpbmcncyVcdS1tb3ZpZS5tMnRzEEEwbG9hZA</UploadId>\n" +
+            "  <Initiator><ID>arn:aws:iam::111122223333:user/some-user</ID><DisplayName>umat</DisplayName></Initiator>\n" +
+            "  <Owner><ID>75aa57f09aa0c8caeab4f8c24e99d10f8e7faeebf76c078efc7c6caea54ba06a</ID>" +
+            "<DisplayName>someName</DisplayName></Owner>\n" +
+            "  <StorageClass>STANDARD</StorageClass>\n" +
+            "  <PartNumberMarker>1</PartNumberMarker>\n" +
+            "  <NextPartNumberMarker>3</NextPartNumberMarker>\n" +
+            "  <MaxParts>2</MaxParts>\n" +
+            "  <IsTruncated>true</IsTruncated>\n" +
+            "  <Part>\n" +
+            "    <PartNumber>2</PartNumber>\n" +
+            "    <LastModified>2010-11-10T20:48:34.000Z</LastModified>\n" +
+            "    <ETag>\"7778aef83f66abc1fa1e8477f296d394\"</ETag>\n" +
+            "    <Size>10485760</Size>\n" +
+            "  </Part>\n" +
+            "  <Part>\n" +
+            "    <PartNumber>3</PartNumber>\n" +
+            "    <LastModified>2010-11-10T20:48:33.000Z</LastModified>\n" +
+            "    <ETag>\"aaaa18db4cc2f85cedef654fccc4a4x8\"</ETag>\n" +
+            "    <Size>10485760</Size>\n" +
+            "  </Part>\n" +
+            "  <EncodingType>url</EncodingType>\n" +
+            "</ListPartsResult>";
+
+    private static final String QUERY_OBJECTS_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+            "<BucketQueryResult>" +
+            "<Name>s3-metadata-search-test</Name>" +
+            "<Marker>m1</Marker>" +
+            "<NextMarker>NO MORE PAGES</NextMarker>" +
+            "<MaxKeys>1000</MaxKeys>" +
+            "<ObjectMatches>" +
+            "<object>" +
+            "<objectName>object1</objectName>" +
+            "<objectId>5c5e56696ee4413109b37a4e3e602032c3642378e410b90c4f19e4b08fb1ec16</objectId>" +
+            "<versionId>0</versionId>" +
+            "<queryMds><type>SYSMD</type><mdMap>" +
+            "<entry><key>ctype</key><value>application/octet-stream</value></entry>" +
+            "<entry><key>size</key><value>0</value></entry>" +
+            "</mdMap></queryMds>" +
+            "<queryMds><type>USERMD</type><mdMap>" +
+            "<entry><key>x-amz-meta-string1</key><value>test &amp; more</value></entry>" +
+            "</mdMap></queryMds>" +
+            "</object>" +
+            "<object><objectName>object2</objectName><objectId>abc</objectId><versionId>1</versionId></object>" +
+            "</ObjectMatches>" +
+            "<CommonPrefixMatches>" +
+            "<PrefixGroups>prefix/</PrefixGroups>" +
+            "<PrefixGroups>prefix2/</PrefixGroups>" +
+            "</CommonPrefixMatches>" +
+            "</BucketQueryResult>";
+
+    @Test
+    public void testListObjects() throws Exception {
+        ListObjectsResult result = ListResultParser.parse(ListObjectsResult.class, stream(LIST_OBJECTS_XML));
+
+        Assertions.assertEquals("bucket", result.getBucketName());
+        Assertions.assertEquals("my", result.getPrefix());
+        Assertions.assertEquals("/", result.getDelimiter());
+        Assertions.assertEquals("key 2", result.getMarker());
+        Assertions.assertNull(result.getNextMarker());
+        Assertions.assertEquals(Integer.valueOf(1000), result.getMaxKeys());
+        Assertions.assertEquals(EncodingType.url, result.getEncodingType());
+        Assertions.assertTrue(result.isTruncated());
+        Assertions.assertEquals(Arrays.asList("photos/", "videos space/"), result.getCommonPrefixes());
+        Assertions.assertEquals(2, result.getObjects().size());
+
+        S3Object object = result.getObjects().get(0);
+        Assertions.assertEquals("sourcekey", object.getKey());
+        Assertions.assertEquals(new Date(2524608000000L), object.getLastModified());
+        Assertions.assertEquals("\"396fefef536d5ce46c7537ecf978a360\"", object.getETag());
+        Assertions.assertEquals(Long.valueOf(217), object.getSize());
+        Assertions.assertEquals(StorageClass.STANDARD, object.getStorageClass());
+        Assertions.assertEquals("ID12345", object.getOwner().getId());
+        Assertions.assertEquals("Foo Bar", object.getOwner().getDisplayName());
+
+        object = result.getObjects().get(1);
+        Assertions.assertEquals("key with spaces", object.getKey());
+        Assertions.assertEquals(new Date(2524608000123L), object.getLastModified());
+        Assertions.assertNull(object.getStorageClass()); // unknown enum value
+        Assertions.assertNull(object.getOwner());
+    }
+
+    @Test
+    public void testListObjectsConsumer() throws Exception {
+        List<S3Object> objects = new ArrayList<>();
+        ListObjectsResult result = ListResultParser.parseListObjects(stream(LIST_OBJECTS_XML), EncodingType.url,
+                objects::add);
+
+        // entries go to the consumer (already decoded), everything else stays in the result
+        Assertions.assertTrue(result.getObjects().isEmpty());
+        Assertions.assertEquals(Arrays.asList("photos/", "videos space/"), result.getCommonPrefixes());
+        Assertions.assertEquals("key 2", result.getMarker());
+        Assertions.assertEquals(2, objects.size());
+        Assertions.assertEquals("sourcekey", objects.get(0).getKey());
+        Assertions.assertEquals("key with spaces", objects.get(1).getKey());
+    }
+
+    @Test
+    public void testListVersions() throws Exception {
+        List<AbstractVersion> versions = new ArrayList<>();
+        ListVersionsResult consumed = ListResultParser.parseListVersions(stream(LIST_VERSIONS_XML), EncodingType.url,
+                versions::add);
+        ListVersionsResult result = ListResultParser.parse(ListVersionsResult.class, stream(LIST_VERSIONS_XML));
+
+        Assertions.assertTrue(consumed.getVersions().isEmpty());
+        for (List<AbstractVersion> list : Arrays.asList(versions, result.getVersions())) {
+            Assertions.assertEquals(2, list.size());
+            Assertions.assertInstanceOf(DeleteMarker.class, list.get(0));
+            Assertions.assertEquals("key with spaces", list.get(0).getKey());
+            Assertions.assertTrue(list.get(0).isLatest());
+            Assertions.assertEquals("ID12345", list.get(0).getOwner().getId());
+
+            Version version = Assertions.assertInstanceOf(Version.class, list.get(1));
+            Assertions.assertEquals("sourcekey", version.getKey());
+            Assertions.assertEquals("wxxQ7ezLaL5JN2Sislq66Syxxo0k7uHTUpb9qiiMxNg.", version.getVersionId());
+            Assertions.assertFalse(version.isLatest());
+            Assertions.assertEquals(new Date(2524608000000L), version.getLastModified());
+            Assertions.assertEquals("396fefef536d5ce46c7537ecf978a360", version.getRawETag());
+            Assertions.assertEquals(Long.valueOf(217), version.getSize());
+            Assertions.assertEquals(StorageClass.STANDARD, version.getStorageClass());
+        }
+
+        Assertions.assertEquals("bucket", result.getBucketName());
+        Assertions.assertEquals("key2", result.getKeyMarker());
+        Assertions.assertEquals("t46ZenlYTZBnj", result.getVersionIdMarker());
+        Assertions.assertEquals("key3", result.getNextKeyMarker());
+        Assertions.assertEquals("d-d309mfjFrUmoQ0DBsVqmcMV15OI.", result.getNextVersionIdMarker());
+        Assertions.assertTrue(result.isTruncated());
+        Assertions.assertEquals(Arrays.asList("photos/"), result.getCommonPrefixes());
+    }
+
+    @Test
+    public void testListParts() throws Exception {
+        ListPartsResult result = ListResultParser.parse(ListPartsResult.class, stream(LIST_PARTS_XML));
+
+        Assertions.assertEquals("example-bucket", result.getBucketName());
+        Assertions.assertEquals("example object", result.getKey());
+        Assertions.assertEquals("XXBsb2FkIElEIGZvciBlbHZpbmcncyVcdS1tb3ZpZS5tMnRzEEEwbG9hZA", result.getUploadId());
+        Assertions.assertEquals("umat", result.getInitiator().getDisplayName());
+        Assertions.assertEquals("someName", result.getOwner().getDisplayName());
+        Assertions.assertEquals(StorageClass.STANDARD, result.getStorageClass());
+        Assertions.assertEquals("1", result.getPartNumberMarker());
+        Assertions.assertEquals("3", result.getNextPartNumberMarker());
+        Assertions.assertEquals(Integer.valueOf(2), result.getMaxParts());
+        Assertions.assertTrue(result.isTruncated());
+        Assertions.assertEquals(2, result.getParts().size());
+        MultipartPart part = result.getParts().get(1);
+        Assertions.assertEquals(Integer.valueOf(3), part.getPartNumber());
+        Assertions.assertEquals(new Date(1289422113000L), part.getLastModified());
+        Assertions.assertEquals("aaaa18db4cc2f85cedef654fccc4a4x8", part.getRawETag());
+        Assertions.assertEquals(Long.valueOf(10485760), part.getSize());
+    }
+
+    @Test
+    public void testQueryObjects() throws Exception {
+        QueryObjectsResult result = ListResultParser.parse(QueryObjectsResult.class, stream(QUERY_OBJECTS_XML));
+
+        Assertions.assertEquals("s3-metadata-search-test", result.getBucketName());
+        Assertions.assertEquals("m1", result.getMarker());
+        Assertions.assertFalse(result.isTruncated());
+        Assertions.assertEquals(Integer.valueOf(1000), result.getMaxKeys());
+        Assertions.assertEquals(Arrays.asList("prefix/", "prefix2/"), result.getPrefixGroups());
+        Assertions.assertEquals(2, result.getObjects().size());
+
+        QueryObject object = result.getObjects().get(0);
+        Assertions.assertEquals("object1", object.getObjectName());
+        Assertions.assertEquals("0", object.getVersionId());
+        Assertions.assertEquals(2, object.getQueryMds().size());
+        Assertions.assertEquals(QueryMetadataType.SYSMD, object.getQueryMds().get(0).getType());
+        Assertions.assertEquals("application/octet-stream", object.getQueryMds().get(0).getMdMap().get("ctype"));
+        Assertions.assertEquals("test & more", object.getQueryMds().get(1).getMdMap().get("x-amz-meta-string1"));
+        Assertions.assertTrue(result.getObjects().get(1).getQueryMds().isEmpty());
+    }
+
+    @Test
+    public void testUnexpectedRoot() {
+        Assertions.assertThrows(XMLStreamException.class,
+                () -> ListResultParser.parse(ListObjectsResult.class, stream(LIST_VERSIONS_XML)));
+    }
+
+    @Test
+    public void testMatchesJaxb() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(ListObjectsResult.class, ListVersionsResult.class,
+                ListPartsResult.class, QueryObjectsResult.class, CanonicalUser.class, Version.class, DeleteMarker.class);
+
+        ListObjectsResult objects = (ListObjectsResult) context.createUnmarshaller()
+                .unmarshal(new StringReader(LIST_OBJECTS_XML));
+        ListObjectsResult parsedObjects = ListResultParser.parse(ListObjectsResult.class, stream(LIST_OBJECTS_XML));
+        Assertions.assertEquals(objects.getMarker(), parsedObjects.getMarker());
+        Assertions.assertEquals(objects.getCommonPrefixes(), parsedObjects.getCommonPrefixes());
+        Assertions.assertEquals(objects.getObjects().size(), parsedObjects.getObjects().size());
+        for (int i = 0; i < objects.getObjects().size(); i++) {
+            S3Object object = objects.getObjects().get(i), parsed = parsedObjects.getObjects().get(i);
+            Assertions.assertEquals(object.getKey(), parsed.getKey());
+            Assertions.assertEquals(object.getLastModified(), parsed.getLastModified());
+            Assertions.assertEquals(object.getETag(), parsed.getETag());
+            Assertions.assertEquals(object.getSize(), parsed.getSize());
+            Assertions.assertEquals(object.getStorageClass(), parsed.getStorageClass());
+            Assertions.assertEquals(object.getOwner(), parsed.getOwner());
+        }
+
+        ListVersionsResult versions = (ListVersionsResult) context.createUnmarshaller()
+                .unmarshal(new StringReader(LIST_VERSIONS_XML));
+        ListVersionsResult parsedVersions = ListResultParser.parse(ListVersionsResult.class, stream(LIST_VERSIONS_XML));
+        Assertions.assertEquals(versions.getNextVersionIdMarker(), parsedVersions.getNextVersionIdMarker());
+        Assertions.assertEquals(versions.getVersions().size(), parsedVersions.getVersions().size());
+        for (int i = 0; i < versions.getVersions().size(); i++) {
+            AbstractVersion version = versions.getVersions().get(i), parsed = parsedVersions.getVersions().get(i);
+            Assertions.assertEquals(version.getClass(), parsed.getClass());
+            Assertions.assertEquals(version.getKey(), parsed.getKey());
+            Assertions.assertEquals(version.getVersionId(), parsed.getVersionId());
+            Assertions.assertEquals(version.getLastModified(), parsed.getLastModified());
+        }
+
+        ListPartsResult parts = (ListPartsResult) context.createUnmarshaller()
+                .unmarshal(new StringReader(LIST_PARTS_XML));
+        ListPartsResult parsedParts = ListResultParser.parse(ListPartsResult.class, stream(LIST_PARTS_XML));
+        Assertions.assertEquals(parts.getKey(), parsedParts.getKey());
+        Assertions.assertEquals(parts.getInitiator(), parsedParts.getInitiator());
+        Assertions.assertEquals(parts.getParts().size(), parsedParts.getParts().size());
+        for (int i = 0; i < parts.getParts().size(); i++) {
+            Assertions.assertEquals(parts.getParts().get(i).getETag(), parsedParts.getParts().get(i).getETag());
+            Assertions.assertEquals(parts.getParts().get(i).getLastModified(),
+                    parsedParts.getParts().get(i).getLastModified());
+        }
+
+        QueryObjectsResult query = (QueryObjectsResult) context.createUnmarshaller()
+                .unmarshal(new StringReader(QUERY_OBJECTS_XML));
+        QueryObjectsResult parsedQuery = ListResultParser.parse(QueryObjectsResult.class, stream(QUERY_OBJECTS_XML));
+        Assertions.assertEquals(query.getObjects(), parsedQuery.getObjects());
+        Assertions.assertEquals(query.getPrefixGroups(), parsedQuery.getPrefixGroups());
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
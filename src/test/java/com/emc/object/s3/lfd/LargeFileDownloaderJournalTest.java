@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.lfd;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+public class LargeFileDownloaderJournalTest {
+    @Test
+    public void testCreateAndLoad() throws Exception {
+        File file = tempFile();
+        try (LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.create(file, "bucket", "a/b c",
+                null, "\"etag\"", 10000, 4096)) {
+            journal.partCompleted(0);
+            journal.partCompleted(2);
+        }
+
+        LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals("a/b c", journal.getKey());
+        Assertions.assertNull(journal.getVersionId());
+        Assertions.assertEquals(4096, journal.getPartSize());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(0, 2)), journal.getCompletedParts());
+        Assertions.assertTrue(journal.isPartCompleted(2));
+        Assertions.assertFalse(journal.isPartCompleted(1));
+
+        Assertions.assertTrue(journal.matches("bucket", "a/b c", null, "\"etag\"", 10000));
+        Assertions.assertFalse(journal.matches("bucket", "a/b c", "v1", "\"etag\"", 10000));
+        Assertions.assertFalse(journal.matches("bucket", "a/b c", null, "\"etag2\"", 10000));
+        Assertions.assertFalse(journal.matches("bucket", "a/b c", null, null, 10000));
+        Assertions.assertFalse(journal.matches("bucket", "a/b c", null, "\"etag\"", 10001));
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        File file = tempFile();
+        try (LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.create(file, "bucket", "key",
+                "v1", "etag", 10000, 4096)) {
+            journal.partCompleted(1);
+        }
+        long goodLength = file.length();
+
+        // simulate a crash in the middle of writing a record
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("P\t0".getBytes(StandardCharsets.UTF_8));
+        }
+
+        LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals(1, journal.getCompletedParts().size());
+
+        journal.openForAppend();
+        Assertions.assertEquals(goodLength, file.length());
+        journal.partCompleted(0);
+        journal.close();
+
+        journal = LargeFileDownloaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(0, 1)), journal.getCompletedParts());
+
+        journal.delete();
+        Assertions.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testDashValues() throws Exception {
+        // "-" is not changed by URL encoding, so it must not be confused with null
+        File file = tempFile();
+        LargeFileDownloaderJournal.create(file, "-", "-", "-", "-", 10000, 4096).close();
+
+        LargeFileDownloaderJournal journal = LargeFileDownloaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals("-", journal.getBucket());
+        Assertions.assertEquals("-", journal.getKey());
+        Assertions.assertEquals("-", journal.getVersionId());
+        Assertions.assertEquals("-", journal.getETag());
+        Assertions.assertTrue(journal.matches("-", "-", "-", "-", 10000));
+        Assertions.assertFalse(journal.matches("-", "-", null, "-", 10000));
+    }
+
+    private File tempFile() throws Exception {
+        File file = File.createTempFile("lfd-journal-test", LargeFileDownloaderJournal.JOURNAL_SUFFIX);
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.s3.lfu;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class LargeFileUploaderJournalTest {
+    @Test
+    public void testCreateAndLoad() throws Exception {
+        File file = tempFile();
+        String key = "my dir/key\twith tab";
+        try (LargeFileUploaderJournal journal = LargeFileUploaderJournal.create(file, "upload-1", "bucket", key,
+                4096, 10000, 12345)) {
+            journal.partCompleted(1, "\"etag1\"", "md5-1");
+            journal.partCompleted(3, "etag3", null);
+        }
+
+        LargeFileUploaderJournal journal = LargeFileUploaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals("upload-1", journal.getUploadId());
+        Assertions.assertEquals("bucket", journal.getBucket());
+        Assertions.assertEquals(key, journal.getKey());
+        Assertions.assertEquals(4096, journal.getPartSize());
+        Assertions.assertTrue(journal.matches("bucket", key, 10000, 12345));
+        Assertions.assertFalse(journal.matches("bucket", key, 10000, 12346));
+        Assertions.assertFalse(journal.matches("bucket", key, 10001, 12345));
+        Assertions.assertFalse(journal.matches("bucket2", key, 10000, 12345));
+
+        Assertions.assertEquals(2, journal.getParts().size());
+        Assertions.assertEquals("\"etag1\"", journal.getParts().get(1).getETag());
+        Assertions.assertEquals("etag3", journal.getParts().get(3).getETag());
+        Assertions.assertEquals("md5-1", journal.getPartMd5s().get(1));
+        Assertions.assertNull(journal.getPartMd5s().get(3));
+    }
+
+    @Test
+    public void testTornRecord() throws Exception {
+        File file = tempFile();
+        try (LargeFileUploaderJournal journal = LargeFileUploaderJournal.create(file, "upload-1", "bucket", "key",
+                4096, 10000, -1)) {
+            journal.partCompleted(1, "etag1", "md5-1");
+        }
+        long goodLength = file.length();
+
+        // simulate a crash in the middle of writing a record
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("P\t2\tetag2\tmd".getBytes(StandardCharsets.UTF_8));
+        }
+
+        LargeFileUploaderJournal journal = LargeFileUploaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals(1, journal.getParts().size());
+
+        // appending should discard the torn record
+        journal.openForAppend();
+        Assertions.assertEquals(goodLength, file.length());
+        journal.partCompleted(2, "etag2", "md5-2");
+        journal.close();
+
+        journal = LargeFileUploaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals(2, journal.getParts().size());
+        Assertions.assertEquals("etag2", journal.getParts().get(2).getETag());
+
+        journal.delete();
+        Assertions.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testCorruptRecord() throws Exception {
+        File file = tempFile();
+        try (LargeFileUploaderJournal journal = LargeFileUploaderJournal.create(file, "upload-1", "bucket", "key",
+                4096, 10000, -1)) {
+            journal.partCompleted(1, "etag1", null);
+        }
+        // a complete line with a bad CRC (and any records after it) should be ignored
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write("P\t2\tetag2\t-\tdeadbeef\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        LargeFileUploaderJournal journal = LargeFileUploaderJournal.load(file);
+        Assertions.assertNotNull(journal);
+        Assertions.assertEquals(1, journal.getParts().size());
+    }
+
+    @Test
+    public void testMissingOrInvalid() throws Exception {
+        File file = tempFile();
+        Assertions.assertTrue(file.delete());
+        Assertions.assertNull(LargeFileUploaderJournal.load(file));
+
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("not a journal\n".getBytes(StandardCharsets.UTF_8));
+        }
+        Assertions.assertNull(LargeFileUploaderJournal.load(file));
+    }
+
+    private File tempFile() throws Exception {
+        File file = File.createTempFile("lfu-journal-test", LargeFileUploaderJournal.JOURNAL_SUFFIX);
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AimdConcurrencyControllerTest {
+    @Test
+    public void testSlowStartAndDecrease() throws Exception {
+        List<Integer> changes = new ArrayList<>();
+        AimdConcurrencyController controller = new AimdConcurrencyController(1, 2, 16, changes::add);
+        Assertions.assertEquals(2, controller.getLimit());
+
+        // first round succeeds - limit should double
+        completeRound(controller, true);
+        Assertions.assertEquals(4, controller.getLimit());
+
+        // a failed part should halve the limit
+        completeRound(controller, false);
+        Assertions.assertEquals(2, controller.getLimit());
+
+        Assertions.assertEquals(2, changes.size());
+        Assertions.assertEquals(4, changes.get(0).intValue());
+        Assertions.assertEquals(2, changes.get(1).intValue());
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    public void testLimits() throws Exception {
+        AimdConcurrencyController controller = new AimdConcurrencyController(1, 100, 3, null);
+        Assertions.assertEquals(3, controller.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            completeRound(controller, false);
+            Assertions.assertTrue(controller.getLimit() >= 1);
+        }
+        Assertions.assertEquals(1, controller.getLimit());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyController(0, 1, 1, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AimdConcurrencyController(4, 4, 2, null));
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        AimdConcurrencyController controller = new AimdConcurrencyController(1, 1, 1, null);
+        Assertions.assertEquals("foo", controller.execute(3, () -> "foo"));
+        Assertions.assertThrows(IllegalStateException.class, () -> controller.execute(3, () -> {
+            throw new IllegalStateException();
+        }));
+        Assertions.assertEquals(0, controller.getInFlight());
+    }
+
+    @Test
+    public void testChoosePartSize() {
+        long mb = 1024 * 1024;
+        // 8 threads * 4 parts each = 32 parts
+        Assertions.assertEquals(32 * mb, AimdConcurrencyController.choosePartSize(1024 * mb, 8, 4 * mb, 128 * mb, 10000));
+        // bounded by min and max
+        Assertions.assertEquals(4 * mb, AimdConcurrencyController.choosePartSize(10 * mb, 8, 4 * mb, 128 * mb, 10000));
+        Assertions.assertEquals(128 * mb, AimdConcurrencyController.choosePartSize(1024 * 1024 * mb, 8, 4 * mb, 128 * mb, 1000000));
+        // max parts takes precedence over max part size
+        long huge = 5L * 1024 * 1024 * mb;
+        Assertions.assertTrue(AimdConcurrencyController.choosePartSize(huge, 8, 4 * mb, 128 * mb, 10000) * 10000 >= huge);
+    }
+
+    private void completeRound(AimdConcurrencyController controller, boolean success) throws Exception {
+        int limit = controller.getLimit();
+        for (int i = 0; i < limit; i++) controller.acquire();
+        for (int i = 0; i < limit; i++) controller.release(1024 * 1024, 1_000_000, success);
+    }
+}
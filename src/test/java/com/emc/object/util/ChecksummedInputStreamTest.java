@@ -64,4 +64,26 @@ public class ChecksummedInputStreamTest {
             // expected
         }
     }
+
+    @Test
+    public void testMarkReset() throws Exception {
+        byte[] data = new byte[1024];
+        new Random().nextBytes(data);
+
+        ChecksummedInputStream stream = new ChecksummedInputStream(new ByteArrayInputStream(data),
+                new RunningChecksum(ChecksumAlgorithm.MD5));
+        Assertions.assertTrue(stream.markSupported());
+
+        // read half, then rewind (as for a retry)
+        stream.mark(data.length);
+        Assertions.assertEquals(512, stream.read(new byte[512]));
+        stream.reset();
+
+        byte[] buffer = new byte[1024];
+        int total = 0, n;
+        while ((n = stream.read(buffer)) >= 0) total += n;
+        stream.close();
+        Assertions.assertEquals(data.length, total);
+        Assertions.assertEquals(DigestUtils.md5Hex(data), stream.getChecksum().getHexValue());
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class DateUtilTest {
+    private static final long MIN_TIME = -12212553600000L; // 1583-01-01T00:00:00Z
+    private static final long MAX_TIME = 253402300799999L; // 9999-12-31T23:59:59.999Z
+
+    @Test
+    public void testMatchesFormatters() throws Exception {
+        SimpleDateFormat dateTimeFormat = utcFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+        SimpleDateFormat millisFormat = utcFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        SimpleDateFormat dateFormat = utcFormat("yyyy-MM-dd");
+        SimpleDateFormat amzFormat = utcFormat("yyyyMMdd'T'HHmmss'Z'");
+        SimpleDateFormat httpFormat = utcFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'");
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long time = MIN_TIME + (long) (random.nextDouble() * (MAX_TIME - MIN_TIME));
+            Date millisDate = new Date(time);
+            Date date = new Date(time - time % 1000 - (time % 1000 < 0 ? 1000 : 0));
+
+            Assertions.assertEquals(millisDate, DateUtil.parseIso8601DateTime(millisFormat.format(millisDate)));
+            Assertions.assertEquals(date, DateUtil.parseIso8601DateTime(dateTimeFormat.format(date)));
+            Assertions.assertEquals(date, DateUtil.parseAmzDate(amzFormat.format(date)));
+            Assertions.assertEquals(date, DateUtil.parseHttpDate(httpFormat.format(date)));
+            String day = dateFormat.format(date);
+            Assertions.assertEquals(dateFormat.parse(day), DateUtil.parseIso8601Date(day));
+        }
+    }
+
+    @Test
+    public void testFallbackForms() {
+        // anything not in the exact form (or out of range) is left to the lenient parsers
+        Assertions.assertNull(DateUtil.parseIso8601DateTime(null));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-01-01T00:00:00+02:00"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-01-01T00:00:00.1Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-01-01 00:00:00Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-02-29T00:00:00Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-01-01T24:00:00Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-01-01T00:00:60Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("1582-10-15T00:00:00Z"));
+        Assertions.assertNull(DateUtil.parseIso8601DateTime("2050-0a-01T00:00:00Z"));
+        Assertions.assertNull(DateUtil.parseIso8601Date("2050-13-01"));
+        Assertions.assertNull(DateUtil.parseAmzDate("20500101T000000"));
+        Assertions.assertNull(DateUtil.parseHttpDate("Mon, 01 Jan 2050 00:00:00 GMT")); // was a Saturday
+        Assertions.assertNull(DateUtil.parseHttpDate("Sat, 01 Jan 2050 00:00:00 UTC"));
+        Assertions.assertNull(DateUtil.parseHttpDate("Sat, 01 jan 2050 00:00:00 GMT"));
+
+        Assertions.assertEquals(new Date(2524608000000L), DateUtil.parseHttpDate("Sat, 01 Jan 2050 00:00:00 GMT"));
+    }
+
+    @Test
+    public void testAdapters() throws Exception {
+        Iso8601DateTimeAdapter adapter = new Iso8601DateTimeAdapter();
+        Date expected = new Date(2524608000000L); // 2050-01-01T00:00:00Z
+        Assertions.assertEquals(expected, adapter.unmarshal("2050-01-01T00:00:00Z"));
+        Assertions.assertEquals(new Date(2524608000123L), adapter.unmarshal("2050-01-01T00:00:00.123Z"));
+        // offsets still go through the lenient path
+        Assertions.assertEquals(expected, adapter.unmarshal("2050-01-01T02:00:00+02:00"));
+        Assertions.assertEquals(new Date(2524608000123L), adapter.unmarshal("2049-12-31T21:30:00.123-0230"));
+
+        Assertions.assertEquals(expected, new Iso8601DateAdapter().unmarshal("2050-01-01"));
+        Assertions.assertEquals(expected, RestUtil.headerParse("Sat, 01 Jan 2050 00:00:00 GMT"));
+        Assertions.assertEquals(expected, RestUtil.headerParse("Sat, 01 Jan 2050 00:00:00 +0000"));
+        Assertions.assertEquals(expected, RestUtil.amzHeaderParse("20500101T000000Z"));
+    }
+
+    private static SimpleDateFormat utcFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.ENGLISH);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
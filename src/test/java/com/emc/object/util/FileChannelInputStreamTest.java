@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import com.emc.object.s3.lfu.LargeFileMultipartFileSource;
+import com.emc.rest.util.StreamUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FileChannelInputStreamTest {
+    @Test
+    public void testSegments() throws Exception {
+        File file = createTempFile("0123456789Hello Middle!3456789".getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            Assertions.assertEquals("Hello Middle!",
+                    StreamUtil.readAsString(new FileChannelInputStream(channel, 10, 13, false)));
+            Assertions.assertEquals("0123456789",
+                    StreamUtil.readAsString(new FileChannelInputStream(channel, 0, 10, false)));
+            Assertions.assertEquals("3456789",
+                    StreamUtil.readAsString(new FileChannelInputStream(channel, 23, 7, false)));
+            // shared channel should still be open
+            Assertions.assertTrue(channel.isOpen());
+        }
+    }
+
+    @Test
+    public void testLargeSegmentAndMarkReset() throws Exception {
+        byte[] data = new byte[3 * DirectBufferPool.DEFAULT_BUFFER_SIZE + 123];
+        new Random().nextBytes(data);
+        File file = createTempFile(data);
+
+        int offset = 1000, length = data.length - 2000;
+        byte[] expected = Arrays.copyOfRange(data, offset, offset + length);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try (InputStream is = new FileChannelInputStream(channel, offset, length, true)) {
+            Assertions.assertTrue(is.markSupported());
+            is.mark(length);
+            byte[] first = new byte[length];
+            Assertions.assertEquals(length, readFully(is, first));
+            Assertions.assertArrayEquals(expected, first);
+            Assertions.assertEquals(-1, is.read());
+
+            // simulate a retry
+            is.reset();
+            byte[] second = new byte[length];
+            Assertions.assertEquals(length, readFully(is, second));
+            Assertions.assertArrayEquals(expected, second);
+        }
+        Assertions.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testMultipartFileSource() throws Exception {
+        byte[] data = new byte[100 * 1024 + 7];
+        new Random().nextBytes(data);
+        File file = createTempFile(data);
+
+        try (LargeFileMultipartFileSource source = new LargeFileMultipartFileSource(file)) {
+            Assertions.assertEquals(data.length, source.getTotalSize());
+            int partSize = 10 * 1024;
+            for (int offset = 0; offset < data.length; offset += partSize) {
+                int length = Math.min(partSize, data.length - offset);
+                byte[] part = new byte[length];
+                try (InputStream is = source.getPartDataStream(offset, length)) {
+                    Assertions.assertEquals(length, readFully(is, part));
+                }
+                Assertions.assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length), part);
+            }
+        }
+    }
+
+    @Test
+    public void testInterruptedReaderDoesNotBreakOthers() throws Exception {
+        byte[] data = new byte[4 * DirectBufferPool.DEFAULT_BUFFER_SIZE];
+        new Random().nextBytes(data);
+        File file = createTempFile(data);
+        int half = data.length / 2;
+
+        try (LargeFileMultipartFileSource source = new LargeFileMultipartFileSource(file)) {
+            InputStream first = source.getPartDataStream(0, half);
+            byte[] firstPart = new byte[half];
+            // start reading the first part
+            int read = first.read(firstPart, 0, 1000);
+            Assertions.assertTrue(read > 0);
+
+            // the second part is read on an interrupted thread, which closes the shared channel
+            AtomicReference<Throwable> secondError = new AtomicReference<>();
+            Thread second = new Thread(() -> {
+                try (InputStream is = source.getPartDataStream(half, half)) {
+                    Thread.currentThread().interrupt();
+                    readFully(is, new byte[half]);
+                } catch (Throwable t) {
+                    secondError.set(t);
+                }
+            });
+            second.start();
+            second.join();
+            Assertions.assertInstanceOf(ClosedByInterruptException.class, secondError.get());
+
+            // the first part should continue on a re-opened channel
+            int total = read + readRemaining(first, firstPart, read);
+            first.close();
+            Assertions.assertEquals(half, total);
+            Assertions.assertArrayEquals(Arrays.copyOfRange(data, 0, half), firstPart);
+        }
+    }
+
+    @Test
+    public void testClosedChannelWithoutProvider() throws Exception {
+        File file = createTempFile(new byte[1000]);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try (InputStream is = new FileChannelInputStream(channel, 0, 1000, false)) {
+            channel.close();
+            Assertions.assertThrows(ClosedChannelException.class, () -> is.read(new byte[100]));
+        }
+    }
+
+    private int readRemaining(InputStream is, byte[] buffer, int offset) throws Exception {
+        int total = 0, c;
+        while (offset + total < buffer.length
+                && (c = is.read(buffer, offset + total, buffer.length - offset - total)) >= 0) total += c;
+        return total;
+    }
+
+    private File createTempFile(byte[] data) throws Exception {
+        File file = File.createTempFile("file-channel-test", null);
+        file.deleteOnExit();
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private int readFully(InputStream is, byte[] buffer) throws Exception {
+        int total = 0, c;
+        while (total < buffer.length && (c = is.read(buffer, total, buffer.length - total)) >= 0) total += c;
+        return total;
+    }
+}
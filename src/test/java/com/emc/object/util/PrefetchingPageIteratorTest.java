@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class PrefetchingPageIteratorTest {
+    private static final int PAGE_SIZE = 10;
+
+    // a page is identified by its index; pageCount pages in total
+    private PrefetchingPageIterator<Integer, Integer> pages(int pageCount, int prefetchPages, AtomicInteger fetchCount,
+                                                            int failingPage) {
+        return new PrefetchingPageIterator<>(
+                () -> fetch(0, fetchCount, failingPage),
+                page -> page < pageCount - 1,
+                page -> fetch(page + 1, fetchCount, failingPage),
+                page -> IntStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE).boxed().collect(Collectors.toList()),
+                prefetchPages);
+    }
+
+    private PrefetchingPageIterator<Integer, Integer> pages(int pageCount, int prefetchPages, IntUnaryOperator fetch,
+                                                            Executor executor) {
+        return new PrefetchingPageIterator<>(
+                () -> fetch.applyAsInt(0),
+                page -> page < pageCount - 1,
+                page -> fetch.applyAsInt(page + 1),
+                page -> IntStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE).boxed().collect(Collectors.toList()),
+                prefetchPages, executor);
+    }
+
+    private Integer fetch(int page, AtomicInteger fetchCount, int failingPage) {
+        fetchCount.incrementAndGet();
+        if (page == failingPage) throw new IllegalStateException("page " + page + " failed");
+        return page;
+    }
+
+    @Test
+    public void testAllItemsInOrder() {
+        for (int prefetchPages : new int[]{0, 1, 3}) {
+            AtomicInteger fetchCount = new AtomicInteger();
+            try (Stream<Integer> stream = pages(7, prefetchPages, fetchCount, -1).stream()) {
+                List<Integer> items = stream.collect(Collectors.toList());
+                Assertions.assertEquals(IntStream.range(0, 7 * PAGE_SIZE).boxed().collect(Collectors.toList()), items);
+            }
+            Assertions.assertEquals(7, fetchCount.get());
+        }
+    }
+
+    @Test
+    public void testLazyAndBounded() {
+        // fetch in the calling thread, so the fetch count is exact as soon as each call returns
+        AtomicInteger fetchCount = new AtomicInteger();
+        PrefetchingPageIterator<Integer, Integer> iterator = pages(100, 2, page -> {
+            fetchCount.incrementAndGet();
+            return page;
+        }, Runnable::run);
+        Assertions.assertEquals(0, fetchCount.get());
+
+        // first page plus 2 prefetched pages
+        Assertions.assertEquals(0, iterator.next().intValue());
+        Assertions.assertEquals(3, fetchCount.get());
+
+        // nothing more is fetched until a prefetched page is taken
+        for (int i = 1; i < PAGE_SIZE; i++) {
+            Assertions.assertEquals(i, iterator.next().intValue());
+        }
+        Assertions.assertEquals(3, fetchCount.get());
+        Assertions.assertEquals(PAGE_SIZE, iterator.next().intValue());
+        Assertions.assertEquals(4, fetchCount.get());
+
+        iterator.close();
+        Assertions.assertThrows(IllegalStateException.class, iterator::hasNext);
+    }
+
+    @Test
+    public void testBackgroundFetch() throws Exception {
+        // each page is held by a gate, and signals when its fetch has started
+        int pageCount = 3;
+        CountDownLatch[] started = new CountDownLatch[pageCount], gates = new CountDownLatch[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            started[i] = new CountDownLatch(1);
+            gates[i] = new CountDownLatch(1);
+        }
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            PrefetchingPageIterator<Integer, Integer> iterator = pages(pageCount, 1, page -> {
+                started[page].countDown();
+                try {
+                    if (!gates[page].await(10, TimeUnit.SECONDS)) throw new IllegalStateException("gate not opened");
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return page;
+            }, executor);
+            Assertions.assertEquals(1, started[0].getCount());
+
+            gates[0].countDown();
+            Assertions.assertEquals(0, iterator.next().intValue());
+
+            // the next page is fetched in the background while the caller works through the current one
+            Assertions.assertTrue(started[1].await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < PAGE_SIZE; i++) {
+                Assertions.assertEquals(i, iterator.next().intValue());
+            }
+            Assertions.assertEquals(1, started[2].getCount());
+
+            gates[1].countDown();
+            gates[2].countDown();
+            List<Integer> rest = new ArrayList<>();
+            iterator.forEachRemaining(rest::add);
+            Assertions.assertEquals(IntStream.range(PAGE_SIZE, pageCount * PAGE_SIZE).boxed().collect(Collectors.toList()), rest);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        AtomicInteger fetchCount = new AtomicInteger();
+        PrefetchingPageIterator<Integer, Integer> iterator = pages(10, 3, fetchCount, 2);
+        List<Integer> items = new ArrayList<>();
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, () -> {
+            while (iterator.hasNext()) items.add(iterator.next());
+        });
+        Assertions.assertEquals("page 2 failed", e.getMessage());
+        // the pages before the failure are still delivered
+        Assertions.assertEquals(2 * PAGE_SIZE, items.size());
+        Assertions.assertEquals(3, fetchCount.get());
+    }
+}
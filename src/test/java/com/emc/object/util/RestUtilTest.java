@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Test;
 
 import java.net.URI;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.Map;
 
 public class RestUtilTest {
@@ -168,4 +169,26 @@ public class RestUtilTest {
         Assertions.assertEquals("x", RestUtil.join(",", Arrays.asList("x")));
         Assertions.assertEquals("x,y", RestUtil.join(",", Arrays.asList("x","y")));
     }
+
+    @Test
+    public void testCompareUtf8() {
+        Assertions.assertEquals(0, RestUtil.compareUtf8("abc", "abc"));
+        Assertions.assertTrue(RestUtil.compareUtf8("ab", "abc") < 0);
+        Assertions.assertTrue(RestUtil.compareUtf8("\u00e9", "z") > 0);
+
+        // a supplementary character sorts after U+FFxx in UTF-8, but before it in UTF-16
+        Assertions.assertTrue("\ud83d\ude00".compareTo("\uff61") < 0);
+        Assertions.assertTrue(RestUtil.compareUtf8("\ud83d\ude00", "\uff61") > 0);
+        Assertions.assertTrue(RestUtil.compareUtf8("a/\uff61", "a/\ud83d\ude00") < 0);
+    }
+
+    @Test
+    public void testHeaderDates() throws Exception {
+        Date date = new Date(1445032800000L); // 2015-10-16T22:00:00Z
+        Assertions.assertEquals("Fri, 16 Oct 2015 22:00:00 UTC", RestUtil.headerFormat(date));
+        Assertions.assertEquals(date, RestUtil.headerParse("Fri, 16 Oct 2015 22:00:00 UTC"));
+        Assertions.assertEquals(date, RestUtil.headerParse("Fri, 16 Oct 2015 22:00:00 GMT"));
+        Assertions.assertEquals(date, RestUtil.headerParse("Fri, 16 Oct 2015 22:00:00 +0000"));
+        Assertions.assertEquals(date, RestUtil.headerParse(RestUtil.headerFormat(date)));
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class RetryBudgetTest {
+    @Test
+    public void testBurstThenRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 5);
+
+        // starts full - a burst of maxTokens retries is allowed
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(budget.tryRetry());
+        }
+        Assertions.assertFalse(budget.tryRetry());
+
+        // then 1 retry per 10 requests
+        for (int i = 0; i < 10; i++) {
+            budget.requestStarted();
+        }
+        Assertions.assertTrue(budget.tryRetry());
+        Assertions.assertFalse(budget.tryRetry());
+
+        Assertions.assertEquals(10, budget.getRequests());
+        Assertions.assertEquals(6, budget.getRetriesAllowed());
+        Assertions.assertEquals(2, budget.getRetriesRejected());
+    }
+
+    @Test
+    public void testTokensCapped() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+        for (int i = 0; i < 100; i++) {
+            budget.requestStarted();
+        }
+        Assertions.assertEquals(2.0, budget.getAvailableTokens());
+        Assertions.assertTrue(budget.tryRetry());
+        Assertions.assertTrue(budget.tryRetry());
+        Assertions.assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    public void testConcurrentRetries() throws Exception {
+        RetryBudget budget = new RetryBudget(0.1, 50);
+        int threads = 8, attempts = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attempts; i++) {
+                        budget.tryRetry();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // no token is granted twice and none is lost
+        Assertions.assertEquals(50, budget.getRetriesAllowed());
+        Assertions.assertEquals(threads * attempts - 50, budget.getRetriesRejected());
+        Assertions.assertEquals(0.0, budget.getAvailableTokens());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 0));
+    }
+}
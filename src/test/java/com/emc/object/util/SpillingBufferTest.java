@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025, DELL Corporation.
+ * Redistribution and use in source and binary forms, with or without modification,
+ * are permitted provided that the following conditions are met:
+ *
+ * + Redistributions of source code must retain the above copyright notice,
+ *   this list of conditions and the following disclaimer.
+ * + Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * + The name of DELL Corporation may not be used to endorse or promote
+ *   products derived from this software without specific prior written
+ *   permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS
+ * BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.emc.object.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+public class SpillingBufferTest {
+    @Test
+    public void testInMemory() throws Exception {
+        byte[] data = new byte[1000];
+        new Random().nextBytes(data);
+        try (SpillingBuffer buffer = new SpillingBuffer(1000)) {
+            buffer.write(data, 0, 500);
+            buffer.write(data, 500, 500);
+            Assertions.assertFalse(buffer.isSpilled());
+            Assertions.assertEquals(1000, buffer.getSize());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            buffer.writeTo(out);
+            Assertions.assertArrayEquals(data, out.toByteArray());
+        }
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        byte[] data = new byte[100 * 1024];
+        new Random().nextBytes(data);
+        SpillingBuffer buffer = new SpillingBuffer(10 * 1024);
+        try {
+            for (int i = 0; i < data.length; i += 1000) {
+                buffer.write(data, i, Math.min(1000, data.length - i));
+            }
+            Assertions.assertTrue(buffer.isSpilled());
+            Assertions.assertEquals(data.length, buffer.getSize());
+
+            // may be replayed more than once
+            for (int i = 0; i < 2; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                buffer.writeTo(out);
+                Assertions.assertArrayEquals(data, out.toByteArray());
+            }
+        } finally {
+            buffer.close();
+        }
+    }
+}